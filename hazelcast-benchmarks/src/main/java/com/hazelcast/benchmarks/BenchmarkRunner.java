@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks;
+
+import com.eclipsesource.json.JsonArray;
+import com.eclipsesource.json.JsonObject;
+import com.eclipsesource.json.JsonValue;
+import com.hazelcast.instance.BuildInfo;
+import com.hazelcast.instance.BuildInfoProvider;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import static com.hazelcast.nio.IOUtil.closeResource;
+
+/**
+ * Runs the benchmarks with fixed settings and writes the results as a baseline file, or compares two baselines.
+ * <pre>
+ * java -jar benchmarks.jar run &lt;baseline.json&gt; [benchmark regexp]
+ * java -jar benchmarks.jar compare &lt;old baseline.json&gt; &lt;new baseline.json&gt; [threshold percent]
+ * </pre>
+ * A baseline is a JSON object with the {@value #FORMAT_VERSION} format version, the Hazelcast version and build,
+ * the environment (JVM, OS, processors) and the run settings, followed by one result per line: the benchmark,
+ * its parameters, the mode, the score with its 99.9% confidence error, the unit and the number of samples.
+ * Results of different environments or settings are not comparable; {@code compare} warns when they differ.
+ * <p/>
+ * A result is reported as a regression when it is more than the threshold (default {@value #DEFAULT_THRESHOLD}%)
+ * worse than the baseline and the difference is larger than the sum of both errors. The exit code is 1 if there
+ * is any regression, so the comparison can gate a build.
+ */
+public final class BenchmarkRunner {
+
+    static final int FORMAT_VERSION = 1;
+    static final double DEFAULT_THRESHOLD = 10;
+
+    private static final int FORKS = 2;
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASUREMENT_ITERATIONS = 10;
+    private static final int ITERATION_SECONDS = 1;
+    private static final String[] JVM_ARGS = {
+            "-Xms2g", "-Xmx2g", "-XX:+UseParallelGC",
+            "-Dhazelcast.logging.type=none",
+            "-Dhazelcast.version.check.enabled=false",
+    };
+    private static final double HUNDRED_PERCENT = 100d;
+    private static final String UTF_8 = "UTF-8";
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length >= 2 && "run".equals(args[0])) {
+            run(new File(args[1]), args.length > 2 ? args[2] : BenchmarkRunner.class.getPackage().getName() + ".*");
+        } else if (args.length >= 3 && "compare".equals(args[0])) {
+            double threshold = args.length > 3 ? Double.parseDouble(args[3]) : DEFAULT_THRESHOLD;
+            boolean regressed = compare(read(new File(args[1])), read(new File(args[2])), threshold);
+            System.exit(regressed ? 1 : 0);
+        } else {
+            System.err.println("Usage: run <baseline.json> [benchmark regexp]");
+            System.err.println("       compare <old baseline.json> <new baseline.json> [threshold percent]");
+            System.exit(2);
+        }
+    }
+
+    static void run(File output, String include) throws RunnerException, IOException {
+        Options options = new OptionsBuilder()
+                .include(include)
+                .forks(FORKS)
+                .warmupIterations(WARMUP_ITERATIONS)
+                .warmupTime(TimeValue.seconds(ITERATION_SECONDS))
+                .measurementIterations(MEASUREMENT_ITERATIONS)
+                .measurementTime(TimeValue.seconds(ITERATION_SECONDS))
+                .threads(1)
+                .jvmArgs(JVM_ARGS)
+                .shouldFailOnError(true)
+                .build();
+        Collection<RunResult> results = new Runner(options).run();
+
+        List<JsonObject> rendered = new ArrayList<JsonObject>(results.size());
+        for (RunResult result : results) {
+            rendered.add(toJson(result));
+        }
+        write(output, header(), rendered);
+    }
+
+    static JsonObject header() {
+        BuildInfo buildInfo = BuildInfoProvider.getBuildInfo();
+        JsonObject environment = new JsonObject()
+                .add("java.version", System.getProperty("java.version"))
+                .add("java.vm.name", System.getProperty("java.vm.name"))
+                .add("os.name", System.getProperty("os.name"))
+                .add("os.arch", System.getProperty("os.arch"))
+                .add("availableProcessors", Runtime.getRuntime().availableProcessors());
+        JsonArray jvmArgs = new JsonArray();
+        for (String jvmArg : JVM_ARGS) {
+            jvmArgs.add(jvmArg);
+        }
+        JsonObject settings = new JsonObject()
+                .add("forks", FORKS)
+                .add("warmupIterations", WARMUP_ITERATIONS)
+                .add("measurementIterations", MEASUREMENT_ITERATIONS)
+                .add("iterationSeconds", ITERATION_SECONDS)
+                .add("threads", 1)
+                .add("jvmArgs", jvmArgs);
+        return new JsonObject()
+                .add("formatVersion", FORMAT_VERSION)
+                .add("hazelcastVersion", buildInfo.getVersion())
+                .add("hazelcastBuild", buildInfo.getBuild())
+                .add("environment", environment)
+                .add("settings", settings);
+    }
+
+    static JsonObject toJson(RunResult runResult) {
+        BenchmarkParams params = runResult.getParams();
+        Result primary = runResult.getPrimaryResult();
+        JsonObject paramValues = new JsonObject();
+        for (String key : new TreeSet<String>(params.getParamsKeys())) {
+            paramValues.add(key, params.getParam(key));
+        }
+        return new JsonObject()
+                .add("benchmark", params.getBenchmark())
+                .add("params", paramValues)
+                .add("mode", params.getMode().shortLabel())
+                .add("score", primary.getScore())
+                .add("error", Double.isNaN(primary.getScoreError()) ? 0 : primary.getScoreError())
+                .add("unit", primary.getScoreUnit())
+                .add("samples", primary.getStatistics().getN());
+    }
+
+    /**
+     * Writes the header members on a line each and the results one per line, so baselines diff well.
+     */
+    static void write(File file, JsonObject header, List<JsonObject> results) throws IOException {
+        Writer writer = new OutputStreamWriter(new FileOutputStream(file), UTF_8);
+        try {
+            writer.write("{\n");
+            for (String name : header.names()) {
+                writer.write(JsonValue.valueOf(name) + ": " + header.get(name) + ",\n");
+            }
+            writer.write("\"results\": [\n");
+            for (int i = 0; i < results.size(); i++) {
+                writer.write(results.get(i).toString());
+                writer.write(i < results.size() - 1 ? ",\n" : "\n");
+            }
+            writer.write("]\n}\n");
+            writer.flush();
+        } finally {
+            closeResource(writer);
+        }
+    }
+
+    static JsonObject read(File file) throws IOException {
+        Reader reader = new InputStreamReader(new FileInputStream(file), UTF_8);
+        try {
+            JsonObject baseline = JsonValue.readFrom(reader).asObject();
+            int formatVersion = baseline.get("formatVersion").asInt();
+            if (formatVersion != FORMAT_VERSION) {
+                throw new IOException("Unsupported baseline format version " + formatVersion + " in " + file);
+            }
+            return baseline;
+        } finally {
+            closeResource(reader);
+        }
+    }
+
+    /**
+     * Prints the change of every result of the old baseline.
+     *
+     * @return true if any result regressed.
+     */
+    static boolean compare(JsonObject oldBaseline, JsonObject newBaseline, double threshold) {
+        for (String name : new String[]{"environment", "settings"}) {
+            if (!oldBaseline.get(name).equals(newBaseline.get(name))) {
+                System.out.println("WARNING: the " + name + " of the baselines differ, the results may not be comparable");
+            }
+        }
+
+        Map<String, JsonObject> newResults = byKey(newBaseline);
+        boolean regressed = false;
+        for (Map.Entry<String, JsonObject> entry : byKey(oldBaseline).entrySet()) {
+            JsonObject newResult = newResults.remove(entry.getKey());
+            if (newResult == null) {
+                System.out.println(entry.getKey() + ": missing");
+                continue;
+            }
+            Verdict verdict = verdict(entry.getValue(), newResult, threshold);
+            regressed |= verdict == Verdict.REGRESSION;
+            System.out.println(String.format("%s: %.3f -> %.3f %s (%+.1f%%) %s", entry.getKey(),
+                    entry.getValue().get("score").asDouble(), newResult.get("score").asDouble(),
+                    newResult.get("unit").asString(), change(entry.getValue(), newResult), verdict));
+        }
+        for (String key : newResults.keySet()) {
+            System.out.println(key + ": new");
+        }
+        return regressed;
+    }
+
+    static Verdict verdict(JsonObject oldResult, JsonObject newResult, double threshold) {
+        double oldScore = oldResult.get("score").asDouble();
+        double newScore = newResult.get("score").asDouble();
+        double errors = oldResult.get("error").asDouble() + newResult.get("error").asDouble();
+        if (Math.abs(newScore - oldScore) <= errors || Math.abs(change(oldResult, newResult)) <= threshold) {
+            return Verdict.SAME;
+        }
+        // throughput gets better when it goes up, all other modes measure time
+        boolean higherIsBetter = "thrpt".equals(oldResult.get("mode").asString());
+        return (newScore > oldScore) == higherIsBetter ? Verdict.IMPROVEMENT : Verdict.REGRESSION;
+    }
+
+    private static double change(JsonObject oldResult, JsonObject newResult) {
+        double oldScore = oldResult.get("score").asDouble();
+        return (newResult.get("score").asDouble() - oldScore) / oldScore * HUNDRED_PERCENT;
+    }
+
+    private static Map<String, JsonObject> byKey(JsonObject baseline) {
+        Map<String, JsonObject> results = new LinkedHashMap<String, JsonObject>();
+        for (JsonValue value : baseline.get("results").asArray()) {
+            JsonObject result = value.asObject();
+            results.put(result.get("benchmark").asString() + result.get("params") + " " + result.get("mode").asString(),
+                    result);
+        }
+        return results;
+    }
+
+    enum Verdict {
+        SAME, IMPROVEMENT, REGRESSION
+    }
+}
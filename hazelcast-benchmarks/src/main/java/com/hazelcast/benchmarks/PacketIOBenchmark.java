@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.nio.Packet;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.nio.tcp.DefaultPacketReader;
+import com.hazelcast.nio.tcp.DefaultPacketWriter;
+import com.hazelcast.nio.tcp.PacketWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes packets with the {@link PacketWriter} used by the {@code WriteHandler} and reads them back with the
+ * {@link DefaultPacketReader} used by the {@code SocketPacketReader}, through socket sized buffers.
+ * <p/>
+ * {@link #loopback()} sends the bytes over a non-blocking loopback socket like the IO threads do, without the
+ * selectors; {@link #inMemory()} hands the buffer over directly and measures the framing alone.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PacketIOBenchmark {
+
+    private static final int PACKETS_PER_INVOCATION = 128;
+    // the default of hazelcast.socket.send.buffer.size and hazelcast.socket.receive.buffer.size
+    private static final int SOCKET_BUFFER_SIZE = 32 * 1024;
+    private static final int PARTITION_ID = 1;
+
+    @Param({"64", "1024", "16384"})
+    public int payloadSize;
+
+    private SerializationService serializationService;
+    private Data data;
+    private PacketWriter packetWriter;
+    private CountingPacketReader packetReader;
+    private ByteBuffer outBuffer;
+    private ByteBuffer inBuffer;
+    private ServerSocketChannel serverChannel;
+    private SocketChannel outChannel;
+    private SocketChannel inChannel;
+
+    @Setup
+    public void setUp() throws IOException {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        data = serializationService.toData(new byte[payloadSize]);
+        packetWriter = new DefaultPacketWriter();
+        packetReader = new CountingPacketReader();
+        outBuffer = ByteBuffer.allocate(SOCKET_BUFFER_SIZE);
+        inBuffer = ByteBuffer.allocate(SOCKET_BUFFER_SIZE);
+
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.socket().bind(new InetSocketAddress("127.0.0.1", 0));
+        outChannel = SocketChannel.open(serverChannel.socket().getLocalSocketAddress());
+        inChannel = serverChannel.accept();
+        outChannel.socket().setTcpNoDelay(true);
+        outChannel.configureBlocking(false);
+        inChannel.configureBlocking(false);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        outChannel.close();
+        inChannel.close();
+        serverChannel.close();
+        serializationService.destroy();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PACKETS_PER_INVOCATION)
+    public long loopback() throws Exception {
+        long expected = packetReader.count + PACKETS_PER_INVOCATION;
+        int written = 0;
+        Packet packet = null;
+        while (packetReader.count < expected) {
+            while (written < PACKETS_PER_INVOCATION && outBuffer.hasRemaining()) {
+                if (packet == null) {
+                    packet = new Packet(data, PARTITION_ID);
+                }
+                if (!packetWriter.writePacket(packet, outBuffer)) {
+                    break;
+                }
+                packet = null;
+                written++;
+            }
+            outBuffer.flip();
+            outChannel.write(outBuffer);
+            outBuffer.compact();
+
+            if (inChannel.read(inBuffer) > 0) {
+                inBuffer.flip();
+                packetReader.readPacket(inBuffer);
+                inBuffer.compact();
+            }
+        }
+        return packetReader.count;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PACKETS_PER_INVOCATION)
+    public long inMemory() throws Exception {
+        long expected = packetReader.count + PACKETS_PER_INVOCATION;
+        int written = 0;
+        Packet packet = null;
+        while (packetReader.count < expected) {
+            while (written < PACKETS_PER_INVOCATION) {
+                if (packet == null) {
+                    packet = new Packet(data, PARTITION_ID);
+                }
+                if (!packetWriter.writePacket(packet, outBuffer)) {
+                    break;
+                }
+                packet = null;
+                written++;
+            }
+            outBuffer.flip();
+            packetReader.readPacket(outBuffer);
+            outBuffer.compact();
+        }
+        return packetReader.count;
+    }
+
+    /**
+     * Counts the packets instead of dispatching them to the node.
+     */
+    private static final class CountingPacketReader extends DefaultPacketReader {
+
+        long count;
+
+        CountingPacketReader() {
+            super(null, null);
+        }
+
+        @Override
+        protected void handlePacket(Packet packet) {
+            count++;
+        }
+    }
+}
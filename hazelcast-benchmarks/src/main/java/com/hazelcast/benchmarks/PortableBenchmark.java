@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.Portable;
+import com.hazelcast.nio.serialization.PortableFactory;
+import com.hazelcast.nio.serialization.PortableReader;
+import com.hazelcast.nio.serialization.PortableWriter;
+import com.hazelcast.nio.serialization.SerializationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes and reads a portable with several fields, either in the order of its class definition (the common case
+ * the portable readers and writers are optimized for) or in reverse order, which falls back to the field lookup
+ * by name.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PortableBenchmark {
+
+    static final int FACTORY_ID = 1;
+    static final int CLASS_ID = 1;
+
+    @Param({"true", "false"})
+    public boolean readInOrder;
+
+    private SerializationService serializationService;
+    private WidePortable value;
+    private Data data;
+
+    @Setup
+    public void setUp() {
+        final boolean inOrder = readInOrder;
+        serializationService = new DefaultSerializationServiceBuilder()
+                .addPortableFactory(FACTORY_ID, new PortableFactory() {
+                    @Override
+                    public Portable create(int classId) {
+                        return new WidePortable(inOrder);
+                    }
+                })
+                .build();
+        value = new WidePortable(inOrder);
+        value.init();
+        data = serializationService.toData(value);
+    }
+
+    @TearDown
+    public void tearDown() {
+        serializationService.destroy();
+    }
+
+    @Benchmark
+    public Data toData() {
+        return serializationService.toData(value);
+    }
+
+    @Benchmark
+    public Object toObject() {
+        return serializationService.toObject(data);
+    }
+
+    public static class WidePortable implements Portable {
+
+        private static final int SAMPLE_INT = 42;
+        private static final short SAMPLE_SHORT = 7;
+
+        private final boolean readInOrder;
+
+        long id;
+        String name;
+        int age;
+        boolean active;
+        double score;
+        short rank;
+        long createdAt;
+        String city;
+
+        WidePortable(boolean readInOrder) {
+            this.readInOrder = readInOrder;
+        }
+
+        void init() {
+            id = 1;
+            name = "Joe";
+            age = SAMPLE_INT;
+            active = true;
+            score = 1d / SAMPLE_INT;
+            rank = SAMPLE_SHORT;
+            createdAt = System.currentTimeMillis();
+            city = "Istanbul";
+        }
+
+        @Override
+        public int getFactoryId() {
+            return FACTORY_ID;
+        }
+
+        @Override
+        public int getClassId() {
+            return CLASS_ID;
+        }
+
+        @Override
+        public void writePortable(PortableWriter writer) throws IOException {
+            writer.writeLong("id", id);
+            writer.writeUTF("name", name);
+            writer.writeInt("age", age);
+            writer.writeBoolean("active", active);
+            writer.writeDouble("score", score);
+            writer.writeShort("rank", rank);
+            writer.writeLong("createdAt", createdAt);
+            writer.writeUTF("city", city);
+        }
+
+        @Override
+        public void readPortable(PortableReader reader) throws IOException {
+            if (readInOrder) {
+                id = reader.readLong("id");
+                name = reader.readUTF("name");
+                age = reader.readInt("age");
+                active = reader.readBoolean("active");
+                score = reader.readDouble("score");
+                rank = reader.readShort("rank");
+                createdAt = reader.readLong("createdAt");
+                city = reader.readUTF("city");
+            } else {
+                city = reader.readUTF("city");
+                createdAt = reader.readLong("createdAt");
+                rank = reader.readShort("rank");
+                score = reader.readDouble("score");
+                active = reader.readBoolean("active");
+                age = reader.readInt("age");
+                name = reader.readUTF("name");
+                id = reader.readLong("id");
+            }
+        }
+    }
+}
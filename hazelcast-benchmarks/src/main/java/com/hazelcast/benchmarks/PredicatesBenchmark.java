@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.query.impl.QueryEntry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluation of {@link Predicates} against entries, the full scan path of a query. A new {@link QueryEntry} is
+ * created per evaluation like the query engine does; with the BINARY format this includes deserializing the value.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PredicatesBenchmark {
+
+    private static final int ENTRY_COUNT = 1024;
+    private static final int AGE_RANGE = 100;
+    private static final int LOW_AGE = 20;
+    private static final int HIGH_AGE = 40;
+
+    @Param({"equal", "between", "like", "in", "and", "or"})
+    public String predicateType;
+
+    @Param({"BINARY", "OBJECT"})
+    public String inMemoryFormat;
+
+    private SerializationService serializationService;
+    private Predicate predicate;
+    private Data[] keys;
+    private Object[] values;
+
+    @Setup
+    public void setUp() {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        predicate = createPredicate(predicateType);
+        boolean binary = "BINARY".equals(inMemoryFormat);
+        keys = new Data[ENTRY_COUNT];
+        values = new Object[ENTRY_COUNT];
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            Person person = new Person(i, "name-" + i, i % AGE_RANGE, i % 2 == 0);
+            keys[i] = serializationService.toData(i);
+            values[i] = binary ? serializationService.toData(person) : person;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        serializationService.destroy();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ENTRY_COUNT)
+    public int apply() {
+        int matches = 0;
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            if (predicate.apply(new QueryEntry(serializationService, keys[i], keys[i], values[i]))) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    static Predicate createPredicate(String type) {
+        if ("equal".equals(type)) {
+            return Predicates.equal("age", LOW_AGE);
+        } else if ("between".equals(type)) {
+            return Predicates.between("age", LOW_AGE, HIGH_AGE);
+        } else if ("like".equals(type)) {
+            return Predicates.like("name", "name-1%");
+        } else if ("in".equals(type)) {
+            return Predicates.in("age", LOW_AGE, HIGH_AGE, AGE_RANGE - 1);
+        } else if ("and".equals(type)) {
+            return Predicates.and(Predicates.equal("active", true), Predicates.greaterThan("age", HIGH_AGE));
+        } else if ("or".equals(type)) {
+            return Predicates.or(Predicates.equal("age", LOW_AGE), Predicates.lessThan("id", LOW_AGE));
+        }
+        throw new IllegalArgumentException("Unknown predicate: " + type);
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.RecordStore;
+import com.hazelcast.map.impl.proxy.MapProxyImpl;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.spi.NodeEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Put and get directly on the {@code DefaultRecordStore} of a single partition, without the operation and
+ * invocation overhead. The record store is not thread-safe, so this benchmark must run with a single thread;
+ * it stands in for the partition thread.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RecordStoreBenchmark {
+
+    private static final String MAP_NAME = "recordStoreBenchmark";
+    private static final int PARTITION_ID = 0;
+
+    @Param({"1000", "100000"})
+    public int keyCount;
+
+    @Param({"BINARY", "OBJECT"})
+    public String inMemoryFormat;
+
+    private HazelcastInstance instance;
+    private RecordStore recordStore;
+    private Data[] keys;
+    private Data value;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        Config config = new Config();
+        config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
+        config.getMapConfig(MAP_NAME).setInMemoryFormat(InMemoryFormat.valueOf(inMemoryFormat));
+        instance = Hazelcast.newHazelcastInstance(config);
+
+        MapProxyImpl map = (MapProxyImpl) instance.getMap(MAP_NAME);
+        NodeEngine nodeEngine = map.getNodeEngine();
+        MapService mapService = (MapService) map.getService();
+        recordStore = mapService.getMapServiceContext().getRecordStore(PARTITION_ID, MAP_NAME);
+
+        SerializationService serializationService = nodeEngine.getSerializationService();
+        value = serializationService.toData(new Person(1, "Joe", 1, true));
+        keys = new Data[keyCount];
+        for (int i = 0; i < keyCount; i++) {
+            keys[i] = serializationService.toData("key-" + i);
+            recordStore.put(keys[i], value, -1);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        instance.shutdown();
+    }
+
+    @Benchmark
+    public Object put() {
+        return recordStore.put(nextKey(), value, -1);
+    }
+
+    @Benchmark
+    public Object get() {
+        return recordStore.get(nextKey(), false);
+    }
+
+    private Data nextKey() {
+        int i = index;
+        index = i + 1 == keyCount ? 0 : i + 1;
+        return keys[i];
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.spi.impl.operationexecutor.classic.DefaultScheduleQueue;
+import com.hazelcast.spi.impl.operationexecutor.classic.ScheduleQueue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hand-off of tasks through the {@link DefaultScheduleQueue} of a partition thread.
+ * <p/>
+ * {@link #handOff()} and {@link #handOffUrgent()} measure the round trip to a consumer thread which takes the
+ * tasks like a partition thread does, including its wake-up. {@link #addAndTake()} measures the queue alone,
+ * without a second thread.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ScheduleQueueBenchmark {
+
+    private static final int BATCH_SIZE = 1024;
+    private static final Object TASK = new Object();
+    private static final Object STOP = new Object();
+
+    private final AtomicLong processed = new AtomicLong();
+    private ScheduleQueue consumerQueue;
+    private ScheduleQueue localQueue;
+    private Thread consumer;
+    private long sent;
+
+    @Setup
+    public void setUp() {
+        consumerQueue = new DefaultScheduleQueue();
+        localQueue = new DefaultScheduleQueue();
+        consumer = new Thread(new Consumer(), "ScheduleQueueBenchmark-consumer");
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        consumerQueue.add(STOP);
+        consumer.join();
+    }
+
+    @Benchmark
+    public long handOff() {
+        consumerQueue.add(TASK);
+        return awaitProcessed();
+    }
+
+    @Benchmark
+    public long handOffUrgent() {
+        consumerQueue.addUrgent(TASK);
+        return awaitProcessed();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int addAndTake() throws InterruptedException {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            localQueue.add(TASK);
+        }
+        int taken = 0;
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            if (localQueue.take() == TASK) {
+                taken++;
+            }
+        }
+        return taken;
+    }
+
+    private long awaitProcessed() {
+        long expected = ++sent;
+        long current;
+        do {
+            current = processed.get();
+        } while (current < expected);
+        return current;
+    }
+
+    private final class Consumer implements Runnable {
+        @Override
+        public void run() {
+            try {
+                for (; ; ) {
+                    Object task = consumerQueue.take();
+                    if (task == STOP) {
+                        return;
+                    }
+                    processed.incrementAndGet();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.DataSerializable;
+import com.hazelcast.nio.serialization.DataSerializableFactory;
+import com.hazelcast.nio.serialization.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.nio.serialization.Portable;
+import com.hazelcast.nio.serialization.PortableFactory;
+import com.hazelcast.nio.serialization.PortableReader;
+import com.hazelcast.nio.serialization.PortableWriter;
+import com.hazelcast.nio.serialization.SerializationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round-trips of a single value per serialization type through the {@code SerializationServiceImpl}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SerializationBenchmark {
+
+    static final int FACTORY_ID = 1;
+    static final int CLASS_ID = 1;
+
+    private static final int BYTE_ARRAY_LENGTH = 1024;
+    private static final int SAMPLE_AGE = 42;
+
+    @Param({"Long", "String", "byte[]", "Serializable", "DataSerializable", "IdentifiedDataSerializable", "Portable"})
+    public String type;
+
+    private SerializationService serializationService;
+    private Object value;
+    private Data data;
+
+    @Setup
+    public void setUp() {
+        serializationService = new DefaultSerializationServiceBuilder()
+                .addDataSerializableFactory(FACTORY_ID, new SampleDataSerializableFactory())
+                .addPortableFactory(FACTORY_ID, new SamplePortableFactory())
+                .build();
+        value = createValue(type);
+        data = serializationService.toData(value);
+    }
+
+    @TearDown
+    public void tearDown() {
+        serializationService.destroy();
+    }
+
+    @Benchmark
+    public Data toData() {
+        return serializationService.toData(value);
+    }
+
+    @Benchmark
+    public Object toObject() {
+        return serializationService.toObject(data);
+    }
+
+    @Benchmark
+    public Object roundTrip() {
+        return serializationService.toObject(serializationService.toData(value));
+    }
+
+    static Object createValue(String type) {
+        if ("Long".equals(type)) {
+            return Long.MAX_VALUE;
+        } else if ("String".equals(type)) {
+            return "The quick brown fox jumps over the lazy dog";
+        } else if ("byte[]".equals(type)) {
+            byte[] bytes = new byte[BYTE_ARRAY_LENGTH];
+            Arrays.fill(bytes, (byte) 1);
+            return bytes;
+        } else if ("Serializable".equals(type)) {
+            return new Person(1, "Joe", SAMPLE_AGE, true);
+        } else if ("DataSerializable".equals(type)) {
+            return new SampleDataSerializable(1, "Joe", SAMPLE_AGE);
+        } else if ("IdentifiedDataSerializable".equals(type)) {
+            return new SampleIdentifiedDataSerializable(1, "Joe", SAMPLE_AGE);
+        } else if ("Portable".equals(type)) {
+            return new SamplePortable(1, "Joe", SAMPLE_AGE);
+        }
+        throw new IllegalArgumentException("Unknown type: " + type);
+    }
+
+    public static class SampleDataSerializable implements DataSerializable {
+
+        long id;
+        String name;
+        int age;
+
+        public SampleDataSerializable() {
+        }
+
+        SampleDataSerializable(long id, String name, int age) {
+            this.id = id;
+            this.name = name;
+            this.age = age;
+        }
+
+        @Override
+        public void writeData(ObjectDataOutput out) throws IOException {
+            out.writeLong(id);
+            out.writeUTF(name);
+            out.writeInt(age);
+        }
+
+        @Override
+        public void readData(ObjectDataInput in) throws IOException {
+            id = in.readLong();
+            name = in.readUTF();
+            age = in.readInt();
+        }
+    }
+
+    public static class SampleIdentifiedDataSerializable extends SampleDataSerializable
+            implements IdentifiedDataSerializable {
+
+        public SampleIdentifiedDataSerializable() {
+        }
+
+        SampleIdentifiedDataSerializable(long id, String name, int age) {
+            super(id, name, age);
+        }
+
+        @Override
+        public int getFactoryId() {
+            return FACTORY_ID;
+        }
+
+        @Override
+        public int getId() {
+            return CLASS_ID;
+        }
+    }
+
+    public static class SamplePortable implements Portable {
+
+        long id;
+        String name;
+        int age;
+
+        public SamplePortable() {
+        }
+
+        SamplePortable(long id, String name, int age) {
+            this.id = id;
+            this.name = name;
+            this.age = age;
+        }
+
+        @Override
+        public int getFactoryId() {
+            return FACTORY_ID;
+        }
+
+        @Override
+        public int getClassId() {
+            return CLASS_ID;
+        }
+
+        @Override
+        public void writePortable(PortableWriter writer) throws IOException {
+            writer.writeLong("id", id);
+            writer.writeUTF("name", name);
+            writer.writeInt("age", age);
+        }
+
+        @Override
+        public void readPortable(PortableReader reader) throws IOException {
+            id = reader.readLong("id");
+            name = reader.readUTF("name");
+            age = reader.readInt("age");
+        }
+    }
+
+    static class SampleDataSerializableFactory implements DataSerializableFactory {
+        @Override
+        public IdentifiedDataSerializable create(int typeId) {
+            return typeId == CLASS_ID ? new SampleIdentifiedDataSerializable() : null;
+        }
+    }
+
+    static class SamplePortableFactory implements PortableFactory {
+        @Override
+        public Portable create(int classId) {
+            return classId == CLASS_ID ? new SamplePortable() : null;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.query.impl.ComparisonType;
+import com.hazelcast.query.impl.IndexImpl;
+import com.hazelcast.query.impl.QueryEntry;
+import com.hazelcast.query.impl.QueryableEntry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Range queries on an ordered index, which keeps its entries in a {@code SortedIndexStore}.
+ * Every query iterates its result, like the query engine does, since the result sets are lazy.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SortedIndexBenchmark {
+
+    // moves the range of consecutive queries so they don't hit the same part of the tree
+    private static final int QUERY_STRIDE = 7919;
+
+    @Param({"100000"})
+    public int entryCount;
+
+    @Param({"10", "1000"})
+    public int rangeSize;
+
+    private SerializationService serializationService;
+    private IndexImpl index;
+    private long queryCount;
+
+    @Setup
+    public void setUp() {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        index = new IndexImpl("id", true);
+        for (int i = 0; i < entryCount; i++) {
+            Data key = serializationService.toData(i);
+            index.saveEntryIndex(new QueryEntry(serializationService, key, key, new Person(i, "name-" + i, i, true)));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        serializationService.destroy();
+    }
+
+    @Benchmark
+    public int between() {
+        long from = nextFrom();
+        return count(index.getSubRecordsBetween(from, from + rangeSize - 1));
+    }
+
+    @Benchmark
+    public int greaterThan() {
+        return count(index.getSubRecords(ComparisonType.GREATER, (long) entryCount - rangeSize - 1));
+    }
+
+    private long nextFrom() {
+        return (queryCount++ * QUERY_STRIDE) % (entryCount - rangeSize);
+    }
+
+    private static int count(Set<QueryableEntry> results) {
+        int count = 0;
+        for (QueryableEntry ignored : results) {
+            count++;
+        }
+        return count;
+    }
+}
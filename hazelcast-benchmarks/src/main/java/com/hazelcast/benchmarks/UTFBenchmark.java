@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.nio.BufferObjectDataInput;
+import com.hazelcast.nio.BufferObjectDataOutput;
+import com.hazelcast.nio.serialization.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.SerializationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code writeUTF} and {@code readUTF} of the byte array based data output and input, over string lengths and
+ * charsets.
+ * <p/>
+ * The lengths cover a short string, the longest string which still fits into a single UTF chunk (16383 chars), which
+ * is encoded and decoded straight from the buffers, and a string which needs a second chunk. The charsets cover the
+ * pure ASCII fast path and the one, two and three byte encodings, the latter also for surrogate pairs.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UTFBenchmark {
+
+    private static final int ASCII_RANGE = 0x80;
+    private static final int LATIN1_START = 0xA0;
+    private static final int LATIN1_RANGE = 0x60;
+    private static final int CJK_START = 0x4E00;
+    private static final int CJK_RANGE = 0x5000;
+    private static final int SUPPLEMENTARY_START = 0x1F600;
+    private static final int SUPPLEMENTARY_RANGE = 0x50;
+    private static final int PRINTABLE_ASCII_START = 0x20;
+    private static final int PRINTABLE_ASCII_RANGE = ASCII_RANGE - PRINTABLE_ASCII_START - 1;
+
+    @Param({"16", "16383", "20000"})
+    public int length;
+
+    @Param({"ASCII", "LATIN1", "CJK", "SURROGATE_PAIRS"})
+    public String charset;
+
+    private SerializationService serializationService;
+    private BufferObjectDataOutput out;
+    private BufferObjectDataInput in;
+    private String value;
+
+    @Setup
+    public void setUp() throws IOException {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        value = createString(length, charset);
+        out = serializationService.createObjectDataOutput(length * 4);
+        out.writeUTF(value);
+        in = serializationService.createObjectDataInput(out.toByteArray());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        out.close();
+        in.close();
+        serializationService.destroy();
+    }
+
+    @Benchmark
+    public BufferObjectDataOutput writeUTF() throws IOException {
+        out.clear();
+        out.writeUTF(value);
+        return out;
+    }
+
+    @Benchmark
+    public String readUTF() throws IOException {
+        in.position(0);
+        return in.readUTF();
+    }
+
+    static String createString(int length, String charset) {
+        StringBuilder sb = new StringBuilder(length);
+        int i = 0;
+        while (sb.length() < length) {
+            if ("ASCII".equals(charset)) {
+                sb.append((char) (PRINTABLE_ASCII_START + i % PRINTABLE_ASCII_RANGE));
+            } else if ("LATIN1".equals(charset)) {
+                sb.append((char) (LATIN1_START + i % LATIN1_RANGE));
+            } else if ("CJK".equals(charset)) {
+                sb.append((char) (CJK_START + i % CJK_RANGE));
+            } else if ("SURROGATE_PAIRS".equals(charset)) {
+                if (sb.length() + 2 <= length) {
+                    sb.appendCodePoint(SUPPLEMENTARY_START + i % SUPPLEMENTARY_RANGE);
+                } else {
+                    // an odd length ends with a single ASCII char
+                    sb.append('x');
+                }
+            } else {
+                throw new IllegalArgumentException("Unknown charset: " + charset);
+            }
+            i++;
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks.load;
+
+import static com.hazelcast.util.Preconditions.checkNotNegative;
+import static com.hazelcast.util.Preconditions.checkNotNull;
+
+/**
+ * A change of the cluster at a given second of a load test, e.g. to measure the load during migrations.
+ */
+public final class ClusterEvent {
+
+    /**
+     * The kind of change.
+     */
+    public enum Type {
+        /**
+         * Starts a new member, which migrates partitions to it.
+         */
+        START_MEMBER,
+        /**
+         * Terminates the most recently started member without a graceful shutdown, which promotes backups.
+         */
+        KILL_MEMBER
+    }
+
+    private final Type type;
+    private final int second;
+
+    public ClusterEvent(Type type, int second) {
+        this.type = checkNotNull(type, "type can't be null");
+        this.second = checkNotNegative(second, "second can't be negative");
+    }
+
+    /**
+     * Parses an event in the {@code TYPE@second} format, e.g. {@code KILL_MEMBER@30}.
+     *
+     * @param text the event.
+     * @return the parsed event.
+     */
+    public static ClusterEvent parse(String text) {
+        int separator = text.indexOf('@');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Cluster event must be in the TYPE@second format: " + text);
+        }
+        return new ClusterEvent(Type.valueOf(text.substring(0, separator).trim()),
+                Integer.parseInt(text.substring(separator + 1).trim()));
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public int getSecond() {
+        return second;
+    }
+
+    @Override
+    public String toString() {
+        return type + "@" + second;
+    }
+}
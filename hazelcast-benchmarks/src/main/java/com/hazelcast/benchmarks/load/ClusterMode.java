@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks.load;
+
+/**
+ * Where the members of a load test run.
+ */
+public enum ClusterMode {
+
+    /**
+     * Members in the load generator JVM, connected through the mock network of the
+     * {@code TestHazelcastInstanceFactory}. Clients are not supported.
+     */
+    EMBEDDED,
+
+    /**
+     * Members in the load generator JVM, connected over loopback TCP like in production.
+     */
+    LOOPBACK,
+
+    /**
+     * Members in forked JVMs, connected over loopback TCP. The load is generated by clients, at least one is needed.
+     */
+    FORKED
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks.load;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.instance.TestUtil;
+import com.hazelcast.internal.metrics.MetricsRegistry;
+import com.hazelcast.test.TestEnvironment;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Members in the load generator JVM, created by a {@link TestHazelcastInstanceFactory} like in the tests.
+ * With {@link ClusterMode#LOOPBACK} the factory is created with the real network, as if the tests ran with
+ * {@code -Dhazelcast.test.use.network=true}.
+ */
+class EmbeddedLoadCluster extends LoadCluster {
+
+    private final boolean loopback;
+    private final TestHazelcastInstanceFactory factory;
+    private final List<HazelcastInstance> members = new ArrayList<HazelcastInstance>();
+    private int startedMemberCount;
+
+    EmbeddedLoadCluster(LoadConfig config, boolean loopback) {
+        super(config);
+        this.loopback = loopback;
+        this.factory = newFactory(maxMemberCount, loopback);
+    }
+
+    private static TestHazelcastInstanceFactory newFactory(int maxMemberCount, boolean loopback) {
+        // the factory picks the network when it is created
+        String previous = System.getProperty(TestEnvironment.HAZELCAST_TEST_USE_NETWORK);
+        System.setProperty(TestEnvironment.HAZELCAST_TEST_USE_NETWORK, String.valueOf(loopback));
+        try {
+            return new TestHazelcastInstanceFactory(maxMemberCount);
+        } finally {
+            if (previous == null) {
+                System.clearProperty(TestEnvironment.HAZELCAST_TEST_USE_NETWORK);
+            } else {
+                System.setProperty(TestEnvironment.HAZELCAST_TEST_USE_NETWORK, previous);
+            }
+        }
+    }
+
+    @Override
+    synchronized List<HazelcastInstance> getMembers() {
+        return new ArrayList<HazelcastInstance>(members);
+    }
+
+    @Override
+    synchronized int getMemberCount() {
+        return members.size();
+    }
+
+    @Override
+    void startMember() {
+        int memberIndex;
+        synchronized (this) {
+            memberIndex = startedMemberCount++;
+        }
+        Config memberConfig = loopback
+                ? newMemberConfig(getPort(memberIndex), config.getBasePort(), maxMemberCount)
+                : addIndex(new Config());
+        HazelcastInstance member = factory.newHazelcastInstance(memberConfig);
+        synchronized (this) {
+            members.add(member);
+        }
+    }
+
+    @Override
+    void killMember() {
+        HazelcastInstance member;
+        synchronized (this) {
+            if (members.isEmpty()) {
+                return;
+            }
+            member = members.remove(members.size() - 1);
+        }
+        member.getLifecycleService().terminate();
+    }
+
+    @Override
+    Map<String, Long> sampleMetrics(List<String> names) {
+        Map<String, Long> values = new LinkedHashMap<String, Long>();
+        HazelcastInstance member;
+        synchronized (this) {
+            if (members.isEmpty()) {
+                return values;
+            }
+            member = members.get(0);
+        }
+        MetricsRegistry metricsRegistry = TestUtil.getNode(member).nodeEngine.getMetricsRegistry();
+        for (String name : names) {
+            values.put(name, metricsRegistry.getGauge(name).readLong());
+        }
+        return values;
+    }
+
+    @Override
+    void shutdown() {
+        super.shutdown();
+        synchronized (this) {
+            members.clear();
+        }
+        factory.terminateAll();
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks.load;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.ascii.rest.HttpCommandProcessor;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.logging.Logger;
+import com.hazelcast.util.EmptyStatement;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.nio.IOUtil.closeResource;
+
+/**
+ * Members in forked JVMs on this machine, started with the class path of this JVM and {@link ForkedMember} as
+ * main class. The output of a member goes to {@code hazelcast-load-member-<port>.log} in the temp directory.
+ * The metrics are sampled from the REST endpoint of the members.
+ */
+class ForkedLoadCluster extends LoadCluster {
+
+    private static final long START_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(120);
+    private static final long POLL_INTERVAL_MILLIS = 100;
+    private static final int HTTP_TIMEOUT_MILLIS = 1000;
+    private static final int HTTP_OK = 200;
+    private static final int COPY_BUFFER_SIZE = 8192;
+
+    private final ILogger logger = Logger.getLogger(ForkedLoadCluster.class);
+    private final List<Process> processes = new ArrayList<Process>();
+    private final List<Integer> ports = new ArrayList<Integer>();
+    private int startedMemberCount;
+
+    ForkedLoadCluster(LoadConfig config) {
+        super(config);
+    }
+
+    @Override
+    List<HazelcastInstance> getMembers() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    synchronized int getMemberCount() {
+        return processes.size();
+    }
+
+    @Override
+    void startMember() throws IOException, InterruptedException {
+        int port;
+        synchronized (this) {
+            port = getPort(startedMemberCount++);
+        }
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        ProcessBuilder builder = new ProcessBuilder(java,
+                "-cp", System.getProperty("java.class.path"),
+                "-Dhazelcast.version.check.enabled=false",
+                ForkedMember.class.getName(),
+                String.valueOf(port), String.valueOf(config.getBasePort()), String.valueOf(maxMemberCount));
+        builder.redirectErrorStream(true);
+        Process process = builder.start();
+        File log = new File(System.getProperty("java.io.tmpdir"), "hazelcast-load-member-" + port + ".log");
+        startOutputCopier(process.getInputStream(), log, port);
+        synchronized (this) {
+            processes.add(process);
+            ports.add(port);
+        }
+        awaitListening(port);
+        logger.info("Started member on port " + port + ", output in " + log);
+    }
+
+    @Override
+    void killMember() {
+        Process process;
+        synchronized (this) {
+            if (processes.isEmpty()) {
+                return;
+            }
+            process = processes.remove(processes.size() - 1);
+            ports.remove(ports.size() - 1);
+        }
+        process.destroy();
+    }
+
+    @Override
+    Map<String, Long> sampleMetrics(List<String> names) {
+        Map<String, Long> values = new LinkedHashMap<String, Long>();
+        int port;
+        synchronized (this) {
+            if (ports.isEmpty()) {
+                return values;
+            }
+            port = ports.get(0);
+        }
+        Set<String> wanted = new HashSet<String>(names);
+        HttpURLConnection connection = null;
+        BufferedReader reader = null;
+        try {
+            URL url = new URL("http", LOOPBACK_ADDRESS, port, HttpCommandProcessor.URI_METRICS);
+            connection = (HttpURLConnection) url.openConnection();
+            connection.setConnectTimeout(HTTP_TIMEOUT_MILLIS);
+            connection.setReadTimeout(HTTP_TIMEOUT_MILLIS);
+            if (connection.getResponseCode() != HTTP_OK) {
+                return values;
+            }
+            reader = new BufferedReader(new InputStreamReader(connection.getInputStream(), "UTF-8"));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int separator = line.lastIndexOf(' ');
+                if (separator > 0 && wanted.contains(line.substring(0, separator))) {
+                    values.put(line.substring(0, separator), (long) Double.parseDouble(line.substring(separator + 1)));
+                }
+            }
+        } catch (IOException e) {
+            logger.finest("Could not read the metrics of the member on port " + port, e);
+        } finally {
+            closeResource(reader);
+            if (connection != null) {
+                connection.disconnect();
+            }
+        }
+        return values;
+    }
+
+    @Override
+    void shutdown() {
+        super.shutdown();
+        List<Process> destroyed;
+        synchronized (this) {
+            destroyed = new ArrayList<Process>(processes);
+            processes.clear();
+            ports.clear();
+        }
+        for (Process process : destroyed) {
+            process.destroy();
+        }
+        for (Process process : destroyed) {
+            try {
+                process.waitFor();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static void awaitListening(int port) throws IOException, InterruptedException {
+        long deadline = System.currentTimeMillis() + START_TIMEOUT_MILLIS;
+        while (true) {
+            Socket socket = new Socket();
+            try {
+                socket.connect(new InetSocketAddress(LOOPBACK_ADDRESS, port), HTTP_TIMEOUT_MILLIS);
+                return;
+            } catch (IOException e) {
+                if (System.currentTimeMillis() > deadline) {
+                    throw new IOException("Member on port " + port + " did not start in time", e);
+                }
+                Thread.sleep(POLL_INTERVAL_MILLIS);
+            } finally {
+                try {
+                    socket.close();
+                } catch (IOException ignored) {
+                    EmptyStatement.ignore(ignored);
+                }
+            }
+        }
+    }
+
+    /**
+     * Copies the output of a member to its log file, otherwise the member blocks once the pipe is full.
+     */
+    private static void startOutputCopier(final InputStream in, final File log, int port) throws IOException {
+        final OutputStream out = new FileOutputStream(log);
+        Thread copier = new Thread("hazelcast-load-member-" + port + "-output") {
+            @Override
+            public void run() {
+                byte[] buffer = new byte[COPY_BUFFER_SIZE];
+                try {
+                    int read;
+                    while ((read = in.read(buffer)) != -1) {
+                        out.write(buffer, 0, read);
+                    }
+                } catch (IOException ignored) {
+                    // the member is gone
+                    EmptyStatement.ignore(ignored);
+                } finally {
+                    closeResource(out);
+                    closeResource(in);
+                }
+            }
+        };
+        copier.setDaemon(true);
+        copier.start();
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks.load;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.instance.GroupProperties;
+
+/**
+ * The main class of a member forked by the {@link ForkedLoadCluster}.
+ * <p/>
+ * The member publishes its metrics every second on the REST endpoint, which is where the load generator samples
+ * them. It runs until the process is destroyed; the shutdown hook is disabled so that this is a kill, not a
+ * graceful shutdown.
+ */
+public final class ForkedMember {
+
+    private ForkedMember() {
+    }
+
+    /**
+     * @param args the port of the member, the port of the first member and the maximum number of members.
+     */
+    public static void main(String[] args) {
+        int port = Integer.parseInt(args[0]);
+        int basePort = Integer.parseInt(args[1]);
+        int maxMemberCount = Integer.parseInt(args[2]);
+
+        Config config = LoadCluster.newMemberConfig(port, basePort, maxMemberCount);
+        config.setProperty(GroupProperties.PROP_SHUTDOWNHOOK_ENABLED, "false");
+        config.setProperty(GroupProperties.PROP_REST_ENABLED, "true");
+        config.setProperty(GroupProperties.PROP_METRICS_REST_ENABLED, "true");
+        config.setProperty(GroupProperties.PROP_METRICS_PUBLISH_PERIOD_SECONDS, "1");
+        Hazelcast.newHazelcastInstance(config);
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks.load;
+
+import com.hazelcast.client.HazelcastClient;
+import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.JoinConfig;
+import com.hazelcast.config.MapIndexConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.instance.GroupProperties;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The members and clients of a load test, see {@link ClusterMode}.
+ * <p/>
+ * Members are numbered in start order; member {@code i} listens on {@code basePort + i} in the modes with a network.
+ */
+abstract class LoadCluster {
+
+    static final String LOOPBACK_ADDRESS = "127.0.0.1";
+
+    protected final LoadConfig config;
+    protected final int maxMemberCount;
+    protected final List<HazelcastInstance> clients = new ArrayList<HazelcastInstance>();
+
+    LoadCluster(LoadConfig config) {
+        this.config = config;
+        int startedMembers = 0;
+        for (ClusterEvent event : config.getEvents()) {
+            if (event.getType() == ClusterEvent.Type.START_MEMBER) {
+                startedMembers++;
+            }
+        }
+        this.maxMemberCount = config.getMemberCount() + startedMembers;
+    }
+
+    static LoadCluster newLoadCluster(LoadConfig config) {
+        switch (config.getMode()) {
+            case EMBEDDED:
+                if (config.getClientCount() > 0) {
+                    throw new IllegalArgumentException("Clients need the " + ClusterMode.LOOPBACK + " or "
+                            + ClusterMode.FORKED + " mode");
+                }
+                return new EmbeddedLoadCluster(config, false);
+            case LOOPBACK:
+                return new EmbeddedLoadCluster(config, true);
+            case FORKED:
+                if (config.getClientCount() == 0) {
+                    throw new IllegalArgumentException("The " + ClusterMode.FORKED + " mode needs at least one client");
+                }
+                return new ForkedLoadCluster(config);
+            default:
+                throw new IllegalArgumentException("Unknown mode: " + config.getMode());
+        }
+    }
+
+    /**
+     * Starts the initial members and the clients.
+     */
+    void start() throws Exception {
+        for (int i = 0; i < config.getMemberCount(); i++) {
+            startMember();
+        }
+        for (int i = 0; i < config.getClientCount(); i++) {
+            clients.add(HazelcastClient.newHazelcastClient(newClientConfig()));
+        }
+    }
+
+    /**
+     * Returns the instances to generate the load with: the clients if there are any, the members otherwise.
+     * Killed members are not included.
+     */
+    List<HazelcastInstance> getLoadInstances() {
+        return clients.isEmpty() ? getMembers() : Collections.unmodifiableList(clients);
+    }
+
+    /**
+     * Returns the running members of this JVM.
+     */
+    abstract List<HazelcastInstance> getMembers();
+
+    abstract int getMemberCount();
+
+    abstract void startMember() throws Exception;
+
+    /**
+     * Terminates the most recently started member that is still running.
+     */
+    abstract void killMember();
+
+    /**
+     * Reads the given metrics of the oldest running member.
+     *
+     * @return the values by name, a metric which could not be read is missing.
+     */
+    abstract Map<String, Long> sampleMetrics(List<String> names);
+
+    void shutdown() {
+        for (HazelcastInstance client : clients) {
+            client.getLifecycleService().terminate();
+        }
+        clients.clear();
+    }
+
+    int getPort(int memberIndex) {
+        return config.getBasePort() + memberIndex;
+    }
+
+    ClientConfig newClientConfig() {
+        ClientConfig clientConfig = new ClientConfig();
+        for (int i = 0; i < maxMemberCount; i++) {
+            clientConfig.getNetworkConfig().addAddress(LOOPBACK_ADDRESS + ":" + getPort(i));
+        }
+        return clientConfig;
+    }
+
+    /**
+     * Creates the config of a member which joins the other members of the load test over loopback TCP.
+     */
+    static Config newMemberConfig(int port, int basePort, int maxMemberCount) {
+        Config memberConfig = new Config();
+        memberConfig.setProperty(GroupProperties.PROP_WAIT_SECONDS_BEFORE_JOIN, "0");
+        memberConfig.getNetworkConfig().setPort(port).setPortAutoIncrement(false);
+        JoinConfig join = memberConfig.getNetworkConfig().getJoin();
+        join.getMulticastConfig().setEnabled(false);
+        join.getTcpIpConfig().setEnabled(true);
+        for (int i = 0; i < maxMemberCount; i++) {
+            join.getTcpIpConfig().addMember(LOOPBACK_ADDRESS + ":" + (basePort + i));
+        }
+        memberConfig.getNetworkConfig().getInterfaces().setEnabled(true).addInterface(LOOPBACK_ADDRESS);
+        addIndex(memberConfig);
+        return memberConfig;
+    }
+
+    /**
+     * Adds the ordered index on {@code id} which the {@link LoadOperation#MAP_QUERY} range queries use.
+     */
+    static Config addIndex(Config memberConfig) {
+        memberConfig.getMapConfig(LoadTarget.MAP_NAME)
+                .addMapIndexConfig(new MapIndexConfig("id", true));
+        return memberConfig;
+    }
+}
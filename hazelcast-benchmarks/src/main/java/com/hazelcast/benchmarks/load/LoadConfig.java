@@ -0,0 +1,283 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks.load;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.hazelcast.util.Preconditions.checkNotNegative;
+import static com.hazelcast.util.Preconditions.checkNotNull;
+import static com.hazelcast.util.Preconditions.checkPositive;
+
+/**
+ * The settings of a load test: the cluster, the workload mix and the cluster events during the run.
+ * <p/>
+ * The defaults are a three member embedded cluster and a read heavy map workload with some queue and topic traffic.
+ * {@link #parse(String...)} reads the settings from {@code name=value} arguments, e.g.
+ * {@code mode=FORKED members=3 clients=2 mix=MAP_GET:80,MAP_PUT:20 events=START_MEMBER@20,KILL_MEMBER@40}.
+ */
+public class LoadConfig {
+
+    /**
+     * The metrics sampled from a member every report interval.
+     */
+    public static final List<String> DEFAULT_METRICS = Collections.unmodifiableList(Arrays.asList(
+            "partitions.migrationQueueSize",
+            "partitions.activeMigrations",
+            "operation.queueSize",
+            "operation.priorityQueueSize",
+            "operation.invocations.pending",
+            "operation.completedCount"));
+
+    private static final int DEFAULT_MEMBER_COUNT = 3;
+    private static final int DEFAULT_THREAD_COUNT = 8;
+    private static final int DEFAULT_DURATION_SECONDS = 60;
+    private static final int DEFAULT_WARMUP_SECONDS = 5;
+    private static final int DEFAULT_KEY_COUNT = 10000;
+    private static final int DEFAULT_VALUE_SIZE = 100;
+    private static final int DEFAULT_BASE_PORT = 5701;
+    private static final int DEFAULT_GET_WEIGHT = 60;
+    private static final int DEFAULT_PUT_WEIGHT = 20;
+    private static final int DEFAULT_OTHER_WEIGHT = 5;
+
+    private ClusterMode mode = ClusterMode.EMBEDDED;
+    private int memberCount = DEFAULT_MEMBER_COUNT;
+    private int clientCount;
+    private int threadCount = DEFAULT_THREAD_COUNT;
+    private int durationSeconds = DEFAULT_DURATION_SECONDS;
+    private int warmupSeconds = DEFAULT_WARMUP_SECONDS;
+    private int reportIntervalSeconds = 1;
+    private int keyCount = DEFAULT_KEY_COUNT;
+    private int valueSize = DEFAULT_VALUE_SIZE;
+    private int basePort = DEFAULT_BASE_PORT;
+    private final Map<LoadOperation, Integer> mix = new EnumMap<LoadOperation, Integer>(LoadOperation.class);
+    private final List<ClusterEvent> events = new ArrayList<ClusterEvent>();
+    private final List<String> metrics = new ArrayList<String>(DEFAULT_METRICS);
+
+    public LoadConfig() {
+        mix.put(LoadOperation.MAP_GET, DEFAULT_GET_WEIGHT);
+        mix.put(LoadOperation.MAP_PUT, DEFAULT_PUT_WEIGHT);
+        mix.put(LoadOperation.MAP_QUERY, DEFAULT_OTHER_WEIGHT);
+        mix.put(LoadOperation.QUEUE_OFFER, DEFAULT_OTHER_WEIGHT);
+        mix.put(LoadOperation.QUEUE_POLL, DEFAULT_OTHER_WEIGHT);
+        mix.put(LoadOperation.TOPIC_PUBLISH, DEFAULT_OTHER_WEIGHT);
+    }
+
+    /**
+     * Parses the settings from {@code name=value} arguments; unspecified settings keep their defaults.
+     *
+     * @param args the arguments.
+     * @return the parsed config.
+     */
+    public static LoadConfig parse(String... args) {
+        LoadConfig config = new LoadConfig();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Argument must be in the name=value format: " + arg);
+            }
+            config.set(arg.substring(0, separator).trim(), arg.substring(separator + 1).trim());
+        }
+        return config;
+    }
+
+    private void set(String name, String value) {
+        if ("mode".equals(name)) {
+            setMode(ClusterMode.valueOf(value));
+        } else if ("members".equals(name)) {
+            setMemberCount(Integer.parseInt(value));
+        } else if ("clients".equals(name)) {
+            setClientCount(Integer.parseInt(value));
+        } else if ("threads".equals(name)) {
+            setThreadCount(Integer.parseInt(value));
+        } else if ("duration".equals(name)) {
+            setDurationSeconds(Integer.parseInt(value));
+        } else if ("warmup".equals(name)) {
+            setWarmupSeconds(Integer.parseInt(value));
+        } else if ("interval".equals(name)) {
+            setReportIntervalSeconds(Integer.parseInt(value));
+        } else if ("keys".equals(name)) {
+            setKeyCount(Integer.parseInt(value));
+        } else if ("valueSize".equals(name)) {
+            setValueSize(Integer.parseInt(value));
+        } else if ("basePort".equals(name)) {
+            setBasePort(Integer.parseInt(value));
+        } else if ("mix".equals(name)) {
+            mix.clear();
+            for (String weight : value.split(",")) {
+                String[] parts = weight.split(":");
+                setWeight(LoadOperation.valueOf(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+            }
+        } else if ("events".equals(name)) {
+            for (String event : value.split(",")) {
+                addEvent(ClusterEvent.parse(event));
+            }
+        } else if ("metrics".equals(name)) {
+            metrics.clear();
+            metrics.addAll(Arrays.asList(value.split(",")));
+        } else {
+            throw new IllegalArgumentException("Unknown setting: " + name);
+        }
+    }
+
+    public ClusterMode getMode() {
+        return mode;
+    }
+
+    public LoadConfig setMode(ClusterMode mode) {
+        this.mode = checkNotNull(mode, "mode can't be null");
+        return this;
+    }
+
+    public int getMemberCount() {
+        return memberCount;
+    }
+
+    public LoadConfig setMemberCount(int memberCount) {
+        this.memberCount = checkPositive(memberCount, "memberCount must be positive");
+        return this;
+    }
+
+    public int getClientCount() {
+        return clientCount;
+    }
+
+    public LoadConfig setClientCount(int clientCount) {
+        this.clientCount = checkNotNegative(clientCount, "clientCount can't be negative");
+        return this;
+    }
+
+    public int getThreadCount() {
+        return threadCount;
+    }
+
+    public LoadConfig setThreadCount(int threadCount) {
+        this.threadCount = checkPositive(threadCount, "threadCount must be positive");
+        return this;
+    }
+
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public LoadConfig setDurationSeconds(int durationSeconds) {
+        this.durationSeconds = checkPositive(durationSeconds, "durationSeconds must be positive");
+        return this;
+    }
+
+    public int getWarmupSeconds() {
+        return warmupSeconds;
+    }
+
+    /**
+     * Sets the seconds of load before the measurement starts; the cluster event seconds count from the end of the warmup.
+     */
+    public LoadConfig setWarmupSeconds(int warmupSeconds) {
+        this.warmupSeconds = checkNotNegative(warmupSeconds, "warmupSeconds can't be negative");
+        return this;
+    }
+
+    public int getReportIntervalSeconds() {
+        return reportIntervalSeconds;
+    }
+
+    public LoadConfig setReportIntervalSeconds(int reportIntervalSeconds) {
+        this.reportIntervalSeconds = checkPositive(reportIntervalSeconds, "reportIntervalSeconds must be positive");
+        return this;
+    }
+
+    public int getKeyCount() {
+        return keyCount;
+    }
+
+    public LoadConfig setKeyCount(int keyCount) {
+        this.keyCount = checkPositive(keyCount, "keyCount must be positive");
+        return this;
+    }
+
+    public int getValueSize() {
+        return valueSize;
+    }
+
+    public LoadConfig setValueSize(int valueSize) {
+        this.valueSize = checkNotNegative(valueSize, "valueSize can't be negative");
+        return this;
+    }
+
+    public int getBasePort() {
+        return basePort;
+    }
+
+    /**
+     * Sets the first port of the members in the {@link ClusterMode#LOOPBACK} and {@link ClusterMode#FORKED} modes.
+     */
+    public LoadConfig setBasePort(int basePort) {
+        this.basePort = checkPositive(basePort, "basePort must be positive");
+        return this;
+    }
+
+    public Map<LoadOperation, Integer> getMix() {
+        return mix;
+    }
+
+    /**
+     * Sets the relative weight of an operation in the mix, 0 removes it.
+     */
+    public LoadConfig setWeight(LoadOperation operation, int weight) {
+        checkNotNegative(weight, "weight can't be negative");
+        if (weight == 0) {
+            mix.remove(operation);
+        } else {
+            mix.put(operation, weight);
+        }
+        return this;
+    }
+
+    public List<ClusterEvent> getEvents() {
+        return events;
+    }
+
+    public LoadConfig addEvent(ClusterEvent event) {
+        events.add(checkNotNull(event, "event can't be null"));
+        return this;
+    }
+
+    public List<String> getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public String toString() {
+        return "LoadConfig{"
+                + "mode=" + mode
+                + ", memberCount=" + memberCount
+                + ", clientCount=" + clientCount
+                + ", threadCount=" + threadCount
+                + ", durationSeconds=" + durationSeconds
+                + ", warmupSeconds=" + warmupSeconds
+                + ", reportIntervalSeconds=" + reportIntervalSeconds
+                + ", keyCount=" + keyCount
+                + ", valueSize=" + valueSize
+                + ", mix=" + mix
+                + ", events=" + events
+                + '}';
+    }
+}
@@ -0,0 +1,337 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks.load;
+
+import com.hazelcast.benchmarks.Person;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.Message;
+import com.hazelcast.core.MessageListener;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.logging.Logger;
+import com.hazelcast.monitor.impl.LatencyHistogram;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.hazelcast.nio.IOUtil.closeResource;
+
+/**
+ * Boots a cluster as configured by a {@link LoadConfig}, runs the workload mix against it with a number of
+ * threads and reports the throughput and latency percentiles per operation and interval.
+ * <p/>
+ * Every thread picks its operations at random by their weight in the mix and records their latency in a
+ * {@link LatencyHistogram} per operation; the reporter swaps the histograms every interval. Operations that fail,
+ * e.g. while a member is killed, are counted as errors and not recorded. The cluster events run on their own thread
+ * so a member which takes a while to join doesn't delay the reporting, which is what makes the impact of migrations
+ * visible in the intervals.
+ * <pre>
+ * java -cp benchmarks.jar com.hazelcast.benchmarks.load.LoadGenerator mode=LOOPBACK members=3 clients=2 \
+ *     duration=120 events=START_MEMBER@30,KILL_MEMBER@60 report=load.json
+ * </pre>
+ */
+public class LoadGenerator {
+
+    private static final int PRELOAD_BATCH_SIZE = 1000;
+    private static final long NANOS_PER_MICRO = 1000;
+    private static final String REPORT_ARGUMENT = "report=";
+
+    private final ILogger logger = Logger.getLogger(LoadGenerator.class);
+    private final LoadConfig config;
+    private final LoadOperation[] operations;
+    private final int[] cumulativeWeights;
+    private final Map<LoadOperation, Recorder> recorders = new EnumMap<LoadOperation, Recorder>(LoadOperation.class);
+    private final AtomicLong receivedMessages = new AtomicLong();
+
+    private volatile LoadTarget[] targets;
+    private volatile boolean stopped;
+
+    public LoadGenerator(LoadConfig config) {
+        if (config.getMix().isEmpty()) {
+            throw new IllegalArgumentException("The workload mix is empty");
+        }
+        this.config = config;
+        this.operations = config.getMix().keySet().toArray(new LoadOperation[0]);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += config.getMix().get(operations[i]);
+            cumulativeWeights[i] = total;
+            recorders.put(operations[i], new Recorder());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> settings = new ArrayList<String>();
+        String reportFile = null;
+        for (String arg : args) {
+            if (arg.startsWith(REPORT_ARGUMENT)) {
+                reportFile = arg.substring(REPORT_ARGUMENT.length());
+            } else {
+                settings.add(arg);
+            }
+        }
+        LoadReport report = new LoadGenerator(LoadConfig.parse(settings.toArray(new String[0]))).run();
+        System.out.print(report.toText());
+        if (reportFile != null) {
+            Writer writer = new OutputStreamWriter(new FileOutputStream(new File(reportFile)), "UTF-8");
+            try {
+                report.toJson().writeTo(writer);
+                writer.flush();
+            } finally {
+                closeResource(writer);
+            }
+        }
+        System.exit(0);
+    }
+
+    /**
+     * Runs the load test; blocks for the warmup and the duration plus the time to boot and shut down the cluster.
+     *
+     * @return the report of the measurement.
+     */
+    public LoadReport run() throws Exception {
+        LoadCluster cluster = LoadCluster.newLoadCluster(config);
+        ExecutorService eventExecutor = Executors.newSingleThreadExecutor();
+        List<Thread> workers = new ArrayList<Thread>();
+        try {
+            logger.info("Starting the cluster: " + config);
+            cluster.start();
+            updateTargets(cluster);
+            preload(targets[0]);
+            String listenerId = targets[0].getTopic().addMessageListener(new CountingListener());
+
+            for (int i = 0; i < config.getThreadCount(); i++) {
+                Thread worker = new Worker(i);
+                workers.add(worker);
+                worker.start();
+            }
+
+            logger.info("Warming up for " + config.getWarmupSeconds() + " seconds");
+            TimeUnit.SECONDS.sleep(config.getWarmupSeconds());
+            swapHistograms();
+            LoadReport report = measure(cluster, eventExecutor);
+
+            stopped = true;
+            for (Thread worker : workers) {
+                worker.join();
+            }
+            targets[0].getTopic().removeMessageListener(listenerId);
+            logger.info("Received " + receivedMessages.get() + " topic messages");
+            return report;
+        } finally {
+            stopped = true;
+            eventExecutor.shutdownNow();
+            cluster.shutdown();
+        }
+    }
+
+    private LoadReport measure(final LoadCluster cluster, ExecutorService eventExecutor) throws InterruptedException {
+        LoadReport report = new LoadReport(config);
+        List<ClusterEvent> pendingEvents = new LinkedList<ClusterEvent>(config.getEvents());
+        final List<String> firedEvents = new ArrayList<String>();
+        Map<LoadOperation, LatencyHistogram> totals = new EnumMap<LoadOperation, LatencyHistogram>(LoadOperation.class);
+        Map<LoadOperation, Long> totalErrors = new EnumMap<LoadOperation, Long>(LoadOperation.class);
+        for (LoadOperation operation : operations) {
+            totals.put(operation, new LatencyHistogram());
+            totalErrors.put(operation, 0L);
+        }
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(config.getReportIntervalSeconds());
+        long start = System.nanoTime();
+        long intervalStart = start;
+        long end = start + TimeUnit.SECONDS.toNanos(config.getDurationSeconds());
+        while (intervalStart < end) {
+            long intervalEnd = Math.min(intervalStart + intervalNanos, end);
+            int elapsedSeconds = (int) TimeUnit.NANOSECONDS.toSeconds(intervalEnd - start);
+            fireEvents(cluster, eventExecutor, pendingEvents, elapsedSeconds, firedEvents);
+            TimeUnit.NANOSECONDS.sleep(intervalEnd - System.nanoTime());
+
+            Map<LoadOperation, LoadReport.Stats> stats = new EnumMap<LoadOperation, LoadReport.Stats>(LoadOperation.class);
+            for (Map.Entry<LoadOperation, Recorder> entry : recorders.entrySet()) {
+                LoadOperation operation = entry.getKey();
+                LatencyHistogram histogram = entry.getValue().swap();
+                long errors = entry.getValue().errors.getAndSet(0);
+                totals.get(operation).add(histogram);
+                totalErrors.put(operation, totalErrors.get(operation) + errors);
+                stats.put(operation, new LoadReport.Stats(histogram, errors));
+            }
+            List<String> events;
+            synchronized (firedEvents) {
+                events = new ArrayList<String>(firedEvents);
+                firedEvents.clear();
+            }
+            double seconds = (double) (System.nanoTime() - intervalStart) / TimeUnit.SECONDS.toNanos(1);
+            report.addInterval(new LoadReport.Interval(elapsedSeconds, seconds, stats, cluster.getMemberCount(),
+                    cluster.sampleMetrics(config.getMetrics()), events));
+            intervalStart = intervalEnd;
+        }
+
+        Map<LoadOperation, LoadReport.Stats> totalStats = new EnumMap<LoadOperation, LoadReport.Stats>(LoadOperation.class);
+        for (LoadOperation operation : operations) {
+            totalStats.put(operation, new LoadReport.Stats(totals.get(operation), totalErrors.get(operation)));
+        }
+        report.setTotals(totalStats, (double) (System.nanoTime() - start) / TimeUnit.SECONDS.toNanos(1));
+        return report;
+    }
+
+    /**
+     * Submits the events which are due by the end of the coming interval.
+     */
+    private void fireEvents(final LoadCluster cluster, ExecutorService eventExecutor, List<ClusterEvent> pendingEvents,
+                            int intervalEndSecond, final List<String> firedEvents) {
+        for (final ClusterEvent event : new ArrayList<ClusterEvent>(pendingEvents)) {
+            if (event.getSecond() > intervalEndSecond) {
+                continue;
+            }
+            pendingEvents.remove(event);
+            eventExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    runEvent(cluster, event, firedEvents);
+                }
+            });
+        }
+    }
+
+    private void runEvent(LoadCluster cluster, ClusterEvent event, List<String> firedEvents) {
+        logger.info("Cluster event " + event);
+        try {
+            if (event.getType() == ClusterEvent.Type.START_MEMBER) {
+                cluster.startMember();
+            } else {
+                cluster.killMember();
+            }
+            updateTargets(cluster);
+            synchronized (firedEvents) {
+                firedEvents.add(event.toString());
+            }
+        } catch (Exception e) {
+            logger.warning("Cluster event " + event + " failed", e);
+        }
+    }
+
+    private void updateTargets(LoadCluster cluster) {
+        List<HazelcastInstance> instances = cluster.getLoadInstances();
+        if (instances.isEmpty()) {
+            return;
+        }
+        LoadTarget[] newTargets = new LoadTarget[instances.size()];
+        for (int i = 0; i < newTargets.length; i++) {
+            newTargets[i] = new LoadTarget(instances.get(i), config.getValueSize());
+        }
+        targets = newTargets;
+    }
+
+    private void preload(LoadTarget target) {
+        logger.info("Loading " + config.getKeyCount() + " entries");
+        Map<Integer, Person> batch = new HashMap<Integer, Person>();
+        for (int key = 0; key < config.getKeyCount(); key++) {
+            batch.put(key, target.newValue(key));
+            if (batch.size() == PRELOAD_BATCH_SIZE) {
+                target.getMap().putAll(batch);
+                batch.clear();
+            }
+        }
+        target.getMap().putAll(batch);
+    }
+
+    private void swapHistograms() {
+        for (Recorder recorder : recorders.values()) {
+            recorder.swap();
+            recorder.errors.set(0);
+        }
+    }
+
+    private LoadOperation nextOperation(Random random) {
+        int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    /**
+     * The latencies and errors of an operation in the current interval.
+     */
+    private static final class Recorder {
+
+        final AtomicReference<LatencyHistogram> histogram = new AtomicReference<LatencyHistogram>(new LatencyHistogram());
+        final AtomicLong errors = new AtomicLong();
+
+        /**
+         * Returns the histogram of the ending interval. A recording which started before the swap may still end up
+         * in the returned histogram after it is read; that loss is negligible at interval granularity.
+         */
+        LatencyHistogram swap() {
+            return histogram.getAndSet(new LatencyHistogram());
+        }
+    }
+
+    private final class Worker extends Thread {
+
+        private final int index;
+        private final Random random;
+
+        Worker(int index) {
+            super("hazelcast-load-worker-" + index);
+            this.index = index;
+            this.random = new Random(index);
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            while (!stopped) {
+                LoadTarget[] current = targets;
+                LoadTarget target = current[index % current.length];
+                LoadOperation operation = nextOperation(random);
+                Recorder recorder = recorders.get(operation);
+                int key = random.nextInt(config.getKeyCount());
+                long start = System.nanoTime();
+                try {
+                    operation.run(target, key);
+                    recorder.histogram.get().record((System.nanoTime() - start) / NANOS_PER_MICRO);
+                } catch (Exception e) {
+                    recorder.errors.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    private final class CountingListener implements MessageListener<byte[]> {
+        @Override
+        public void onMessage(Message<byte[]> message) {
+            receivedMessages.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks.load;
+
+import com.hazelcast.query.Predicates;
+
+/**
+ * The operations of a load test workload. Each one is executed against the data structures of a {@link LoadTarget}.
+ */
+public enum LoadOperation {
+
+    MAP_GET {
+        @Override
+        void run(LoadTarget target, int key) {
+            target.getMap().get(key);
+        }
+    },
+
+    MAP_PUT {
+        @Override
+        void run(LoadTarget target, int key) {
+            target.getMap().set(key, target.newValue(key));
+        }
+    },
+
+    /**
+     * A range query over {@link #QUERY_RANGE} ids, which uses the ordered index on {@code id}.
+     */
+    MAP_QUERY {
+        @Override
+        void run(LoadTarget target, int key) {
+            target.getMap().values(Predicates.between("id", (long) key, (long) key + QUERY_RANGE - 1));
+        }
+    },
+
+    QUEUE_OFFER {
+        @Override
+        void run(LoadTarget target, int key) {
+            target.getQueue().offer(target.getPayload());
+        }
+    },
+
+    QUEUE_POLL {
+        @Override
+        void run(LoadTarget target, int key) {
+            target.getQueue().poll();
+        }
+    },
+
+    TOPIC_PUBLISH {
+        @Override
+        void run(LoadTarget target, int key) {
+            target.getTopic().publish(target.getPayload());
+        }
+    };
+
+    static final int QUERY_RANGE = 10;
+
+    abstract void run(LoadTarget target, int key);
+}
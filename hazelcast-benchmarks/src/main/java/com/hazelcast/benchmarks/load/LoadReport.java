@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks.load;
+
+import com.eclipsesource.json.JsonArray;
+import com.eclipsesource.json.JsonObject;
+import com.hazelcast.monitor.impl.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The results of a load test: per operation throughput and latency percentiles for the whole run and per report
+ * interval, together with the member count, the sampled cluster metrics and the cluster events of every interval.
+ * Latencies are in microseconds.
+ */
+public class LoadReport {
+
+    private static final double P50 = 50;
+    private static final double P90 = 90;
+    private static final double P99 = 99;
+    private static final double P999 = 99.9;
+    private static final double MAX = 100;
+
+    private final String config;
+    private final List<Interval> intervals = new ArrayList<Interval>();
+    private final Map<LoadOperation, Stats> totals = new EnumMap<LoadOperation, Stats>(LoadOperation.class);
+    private double totalSeconds;
+
+    LoadReport(LoadConfig config) {
+        this.config = config.toString();
+    }
+
+    void addInterval(Interval interval) {
+        intervals.add(interval);
+    }
+
+    void setTotals(Map<LoadOperation, Stats> totals, double seconds) {
+        this.totals.putAll(totals);
+        this.totalSeconds = seconds;
+    }
+
+    public List<Interval> getIntervals() {
+        return Collections.unmodifiableList(intervals);
+    }
+
+    public Map<LoadOperation, Stats> getTotals() {
+        return Collections.unmodifiableMap(totals);
+    }
+
+    public double getTotalSeconds() {
+        return totalSeconds;
+    }
+
+    public String toText() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(config).append('\n');
+        sb.append(String.format("%-8s %-14s %10s %8s %8s %8s %8s %8s %8s%n",
+                "second", "operation", "ops/s", "errors", "p50", "p90", "p99", "p99.9", "max"));
+        for (Interval interval : intervals) {
+            for (Map.Entry<LoadOperation, Stats> entry : interval.stats.entrySet()) {
+                appendStats(sb, String.valueOf(interval.second), entry.getKey(), entry.getValue(), interval.seconds);
+            }
+            sb.append(String.format("%-8d members=%d", interval.second, interval.memberCount));
+            for (Map.Entry<String, Long> metric : interval.metrics.entrySet()) {
+                sb.append(' ').append(metric.getKey()).append('=').append(metric.getValue());
+            }
+            for (String event : interval.events) {
+                sb.append(" event=").append(event);
+            }
+            sb.append('\n');
+        }
+        for (Map.Entry<LoadOperation, Stats> entry : totals.entrySet()) {
+            appendStats(sb, "total", entry.getKey(), entry.getValue(), totalSeconds);
+        }
+        return sb.toString();
+    }
+
+    private static void appendStats(StringBuilder sb, String second, LoadOperation operation, Stats stats,
+                                    double seconds) {
+        sb.append(String.format("%-8s %-14s %10.0f %8d %8d %8d %8d %8d %8d%n", second, operation,
+                stats.getThroughput(seconds), stats.errors, stats.p50, stats.p90, stats.p99, stats.p999, stats.max));
+    }
+
+    public JsonObject toJson() {
+        JsonArray intervalsJson = new JsonArray();
+        for (Interval interval : intervals) {
+            JsonObject metrics = new JsonObject();
+            for (Map.Entry<String, Long> metric : interval.metrics.entrySet()) {
+                metrics.add(metric.getKey(), metric.getValue());
+            }
+            JsonArray events = new JsonArray();
+            for (String event : interval.events) {
+                events.add(event);
+            }
+            intervalsJson.add(new JsonObject()
+                    .add("second", interval.second)
+                    .add("operations", toJson(interval.stats, interval.seconds))
+                    .add("memberCount", interval.memberCount)
+                    .add("metrics", metrics)
+                    .add("events", events));
+        }
+        return new JsonObject()
+                .add("config", config)
+                .add("seconds", totalSeconds)
+                .add("totals", toJson(totals, totalSeconds))
+                .add("intervals", intervalsJson);
+    }
+
+    private static JsonObject toJson(Map<LoadOperation, Stats> stats, double seconds) {
+        JsonObject json = new JsonObject();
+        for (Map.Entry<LoadOperation, Stats> entry : stats.entrySet()) {
+            Stats s = entry.getValue();
+            json.add(entry.getKey().name(), new JsonObject()
+                    .add("count", s.count)
+                    .add("errors", s.errors)
+                    .add("throughput", s.getThroughput(seconds))
+                    .add("p50", s.p50)
+                    .add("p90", s.p90)
+                    .add("p99", s.p99)
+                    .add("p99.9", s.p999)
+                    .add("max", s.max));
+        }
+        return json;
+    }
+
+    /**
+     * The count, errors and latency percentiles of an operation in microseconds.
+     */
+    public static final class Stats {
+
+        final long count;
+        final long errors;
+        final long p50;
+        final long p90;
+        final long p99;
+        final long p999;
+        final long max;
+
+        Stats(LatencyHistogram histogram, long errors) {
+            this.count = histogram.getCount();
+            this.errors = errors;
+            this.p50 = histogram.getValueAtPercentile(P50);
+            this.p90 = histogram.getValueAtPercentile(P90);
+            this.p99 = histogram.getValueAtPercentile(P99);
+            this.p999 = histogram.getValueAtPercentile(P999);
+            this.max = histogram.getValueAtPercentile(MAX);
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        public long getP50() {
+            return p50;
+        }
+
+        public long getP99() {
+            return p99;
+        }
+
+        public long getMax() {
+            return max;
+        }
+
+        public double getThroughput(double seconds) {
+            return seconds > 0 ? count / seconds : 0;
+        }
+    }
+
+    /**
+     * A report interval, numbered by the second of the measurement at which it ended.
+     */
+    public static final class Interval {
+
+        final int second;
+        final double seconds;
+        final Map<LoadOperation, Stats> stats;
+        final int memberCount;
+        final Map<String, Long> metrics;
+        final List<String> events;
+
+        Interval(int second, double seconds, Map<LoadOperation, Stats> stats, int memberCount,
+                 Map<String, Long> metrics, List<String> events) {
+            this.second = second;
+            this.seconds = seconds;
+            this.stats = stats;
+            this.memberCount = memberCount;
+            this.metrics = metrics;
+            this.events = events;
+        }
+
+        public int getSecond() {
+            return second;
+        }
+
+        public Map<LoadOperation, Stats> getStats() {
+            return Collections.unmodifiableMap(stats);
+        }
+
+        public int getMemberCount() {
+            return memberCount;
+        }
+
+        public Map<String, Long> getMetrics() {
+            return Collections.unmodifiableMap(metrics);
+        }
+
+        public List<String> getEvents() {
+            return Collections.unmodifiableList(events);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks.load;
+
+import com.hazelcast.benchmarks.Person;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.core.IQueue;
+import com.hazelcast.core.ITopic;
+
+import java.util.Arrays;
+
+/**
+ * The data structures of a single member or client that the {@link LoadOperation}s run against.
+ */
+final class LoadTarget {
+
+    static final String MAP_NAME = "load-map";
+    static final String QUEUE_NAME = "load-queue";
+    static final String TOPIC_NAME = "load-topic";
+
+    private static final int AGE_RANGE = 100;
+
+    private final HazelcastInstance instance;
+    private final IMap<Integer, Person> map;
+    private final IQueue<byte[]> queue;
+    private final ITopic<byte[]> topic;
+    private final String name;
+    private final byte[] payload;
+
+    LoadTarget(HazelcastInstance instance, int valueSize) {
+        this.instance = instance;
+        this.map = instance.getMap(MAP_NAME);
+        this.queue = instance.getQueue(QUEUE_NAME);
+        this.topic = instance.getTopic(TOPIC_NAME);
+        char[] chars = new char[valueSize];
+        Arrays.fill(chars, 'x');
+        this.name = new String(chars);
+        this.payload = new byte[valueSize];
+    }
+
+    HazelcastInstance getInstance() {
+        return instance;
+    }
+
+    IMap<Integer, Person> getMap() {
+        return map;
+    }
+
+    IQueue<byte[]> getQueue() {
+        return queue;
+    }
+
+    ITopic<byte[]> getTopic() {
+        return topic;
+    }
+
+    byte[] getPayload() {
+        return payload;
+    }
+
+    Person newValue(int key) {
+        return new Person(key, name, key % AGE_RANGE, true);
+    }
+}
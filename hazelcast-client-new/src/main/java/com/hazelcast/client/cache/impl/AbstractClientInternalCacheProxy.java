@@ -32,6 +32,7 @@ import com.hazelcast.client.impl.protocol.codec.CacheAddInvalidationListenerCode
 import com.hazelcast.client.impl.protocol.codec.CacheClearCodec;
 import com.hazelcast.client.impl.protocol.codec.CacheGetAndRemoveCodec;
 import com.hazelcast.client.impl.protocol.codec.CacheGetAndReplaceCodec;
+import com.hazelcast.client.impl.protocol.codec.CachePutAllCodec;
 import com.hazelcast.client.impl.protocol.codec.CachePutCodec;
 import com.hazelcast.client.impl.protocol.codec.CachePutIfAbsentCodec;
 import com.hazelcast.client.impl.protocol.codec.CacheRemoveAllCodec;
@@ -40,6 +41,7 @@ import com.hazelcast.client.impl.protocol.codec.CacheRemoveCodec;
 import com.hazelcast.client.impl.protocol.codec.CacheRemoveEntryListenerCodec;
 import com.hazelcast.client.impl.protocol.codec.CacheRemoveInvalidationListenerCodec;
 import com.hazelcast.client.impl.protocol.codec.CacheReplaceCodec;
+import com.hazelcast.client.nearcache.ClientNearCacheExecutor;
 import com.hazelcast.client.spi.ClientClusterService;
 import com.hazelcast.client.spi.ClientContext;
 import com.hazelcast.client.spi.ClientExecutionService;
@@ -67,16 +69,19 @@ import com.hazelcast.util.executor.CompletedFuture;
 import javax.cache.CacheException;
 import javax.cache.configuration.CacheEntryListenerConfiguration;
 import javax.cache.expiry.ExpiryPolicy;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 import static com.hazelcast.cache.impl.CacheProxyUtil.validateNotNull;
@@ -139,22 +144,6 @@ abstract class AbstractClientInternalCacheProxy<K, V>
         }
     }
 
-    private static class ClientNearCacheExecutor
-            implements NearCacheExecutor {
-
-        private ClientExecutionService clientExecutionService;
-
-        private ClientNearCacheExecutor(ClientExecutionService clientExecutionService) {
-            this.clientExecutionService = clientExecutionService;
-        }
-
-        @Override
-        public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
-            return clientExecutionService.scheduleWithFixedDelay(command, initialDelay, delay, unit);
-        }
-
-    }
-
     private NearCacheExecutor createNearCacheExecutor(ClientExecutionService clientExecutionService) {
         return new ClientNearCacheExecutor(clientExecutionService);
     }
@@ -338,6 +327,67 @@ abstract class AbstractClientInternalCacheProxy<K, V>
         return new ClientDelegatingFuture<Boolean>(future, clientContext.getSerializationService());
     }
 
+    protected void putAllInternal(Map<? extends K, ? extends V> map, ExpiryPolicy expiryPolicy) {
+        final Map<Integer, Map<Data, Data>> entriesPerPartition = new HashMap<Integer, Map<Data, Data>>();
+        final Map<Data, V> nearCacheValues = nearCache != null && cacheOnUpdate ? new HashMap<Data, V>() : null;
+        for (Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            final K key = entry.getKey();
+            final V value = entry.getValue();
+            validateNotNull(key, value);
+            CacheProxyUtil.validateConfiguredTypes(cacheConfig, key, value);
+            final Data keyData = toData(key);
+            final Data valueData = toData(value);
+            final int partitionId = clientContext.getPartitionService().getPartitionId(keyData);
+            Map<Data, Data> entries = entriesPerPartition.get(partitionId);
+            if (entries == null) {
+                entries = new HashMap<Data, Data>();
+                entriesPerPartition.put(partitionId, entries);
+            }
+            entries.put(keyData, valueData);
+            if (nearCacheValues != null) {
+                nearCacheValues.put(keyData, value);
+            }
+        }
+        if (entriesPerPartition.isEmpty()) {
+            return;
+        }
+
+        final Data expiryPolicyData = toData(expiryPolicy);
+        final int completionId = nextCompletionId();
+        // every put publishes its own event, so sync listeners see one completion per entry
+        registerCompletionLatch(completionId, map.size());
+        final HazelcastClientInstanceImpl client = (HazelcastClientInstanceImpl) clientContext.getHazelcastInstance();
+        try {
+            final List<Future> futures = new ArrayList<Future>(entriesPerPartition.size());
+            for (Map.Entry<Integer, Map<Data, Data>> partitionEntries : entriesPerPartition.entrySet()) {
+                ClientMessage request = CachePutAllCodec.encodeRequest(nameWithPrefix, partitionEntries.getValue(),
+                        expiryPolicyData, completionId);
+                futures.add(new ClientInvocation(client, request, partitionEntries.getKey()).invoke());
+            }
+            for (Future future : futures) {
+                future.get();
+            }
+            waitCompletionLatch(completionId, null);
+        } catch (Throwable t) {
+            if (t instanceof IllegalStateException) {
+                close();
+            }
+            deregisterCompletionLatch(completionId);
+            // some of the partitions may have been written, so none of the near cached values can be trusted
+            invalidateNearCache(entriesPerPartition.values());
+            throw ExceptionUtil.rethrowAllowedTypeFirst(t, CacheException.class);
+        }
+        for (Map<Data, Data> entries : entriesPerPartition.values()) {
+            for (Map.Entry<Data, Data> entry : entries.entrySet()) {
+                if (nearCacheValues != null) {
+                    storeInNearCache(entry.getKey(), entry.getValue(), nearCacheValues.get(entry.getKey()));
+                } else {
+                    invalidateNearCache(entry.getKey());
+                }
+            }
+        }
+    }
+
     protected void removeAllKeysInternal(Set<? extends K> keys) {
         final Set<Data> keysData;
         if (keys != null) {
@@ -396,6 +446,14 @@ abstract class AbstractClientInternalCacheProxy<K, V>
             nearCache.invalidate(key);
         }
     }
+
+    private void invalidateNearCache(Collection<Map<Data, Data>> entriesPerPartition) {
+        for (Map<Data, Data> entries : entriesPerPartition) {
+            for (Data key : entries.keySet()) {
+                invalidateNearCache(key);
+            }
+        }
+    }
     //endregion internal base operations
 
     protected void addListenerLocally(String regId, CacheEntryListenerConfiguration<K, V> cacheEntryListenerConfiguration) {
@@ -82,6 +82,44 @@ public class ClientProperties {
      */
     public static final String PROP_INVOCATION_TIMEOUT_SECONDS_DEFAULT = "120";
 
+    /**
+     * Maximum number of requests sent to a member in a single batch frame. The requests that queue up for a
+     * connection while its IO thread is busy writing are sent together in one frame, the member executes them as a
+     * batch and answers with multi-response frames. No request is held back to wait for others, batches only form
+     * under load. 0 or 1 disables batching; all members must be able to handle batch frames.
+     */
+    public static final String PROP_REQUEST_BATCH_MAX_SIZE = "hazelcast.client.request.batch.max.size";
+
+    /**
+     * Default maximum batch size, batching is disabled unless the user specifies it explicitly.
+     */
+    public static final String PROP_REQUEST_BATCH_MAX_SIZE_DEFAULT = "0";
+
+    /**
+     * Number of connections a smart client opens to each member. Partition operations are spread over them, so a
+     * large request or response doesn't hold up the small ones sent to the same member behind it. Listener
+     * registrations, heartbeats and all other traffic use the first connection.
+     */
+    public static final String PROP_CONNECTIONS_PER_MEMBER = "hazelcast.client.connections.per.member";
+
+    /**
+     * Default number of connections per member.
+     */
+    public static final String PROP_CONNECTIONS_PER_MEMBER_DEFAULT = "1";
+
+    /**
+     * How partition operations are spread over the connections to a member, when there are more than one.
+     * <code>PARTITION</code> sends all operations of a partition over the same connection, which keeps the operations
+     * of a key in the order they were sent. <code>ROUND_ROBIN</code> spreads them evenly regardless of their partition,
+     * so operations sent asynchronously to the same key may overtake each other.
+     */
+    public static final String PROP_CONNECTION_AFFINITY = "hazelcast.client.connection.affinity";
+
+    /**
+     * Default connection affinity.
+     */
+    public static final String PROP_CONNECTION_AFFINITY_DEFAULT = "PARTITION";
+
 
     private final ClientProperty heartbeatTimeout;
     private final ClientProperty heartbeatInterval;
@@ -89,6 +127,9 @@ public class ClientProperties {
     private final ClientProperty eventQueueCapacity;
     private final ClientProperty invocationTimeout;
     private final ClientProperty shuffleMemberList;
+    private final ClientProperty requestBatchMaxSize;
+    private final ClientProperty connectionsPerMember;
+    private final ClientProperty connectionAffinity;
 
 
     public ClientProperties(ClientConfig clientConfig) {
@@ -100,6 +141,11 @@ public class ClientProperties {
                 PROP_INVOCATION_TIMEOUT_SECONDS_DEFAULT);
         shuffleMemberList = new ClientProperty(clientConfig, PROP_SHUFFLE_MEMBER_LIST,
                 PROP_SHUFFLE_INITIAL_MEMBER_LIST_DEFAULT);
+        requestBatchMaxSize = new ClientProperty(clientConfig, PROP_REQUEST_BATCH_MAX_SIZE,
+                PROP_REQUEST_BATCH_MAX_SIZE_DEFAULT);
+        connectionsPerMember = new ClientProperty(clientConfig, PROP_CONNECTIONS_PER_MEMBER,
+                PROP_CONNECTIONS_PER_MEMBER_DEFAULT);
+        connectionAffinity = new ClientProperty(clientConfig, PROP_CONNECTION_AFFINITY, PROP_CONNECTION_AFFINITY_DEFAULT);
     }
 
     public ClientProperty getHeartbeatTimeout() {
@@ -126,6 +172,18 @@ public class ClientProperties {
         return shuffleMemberList;
     }
 
+    public ClientProperty getRequestBatchMaxSize() {
+        return requestBatchMaxSize;
+    }
+
+    public ClientProperty getConnectionsPerMember() {
+        return connectionsPerMember;
+    }
+
+    public ClientProperty getConnectionAffinity() {
+        return connectionAffinity;
+    }
+
     /**
      * A single client property.
      */
@@ -61,6 +61,19 @@ public interface ClientConnectionManager {
      */
     Connection getOrConnect(Address address, Authenticator authenticator) throws IOException;
 
+    /**
+     * Returns the connection to send a partition operation over. When more than one connection per member is
+     * configured, it is chosen by the partition or round-robin, and opened if needed. Otherwise it is the
+     * connection returned by {@link #getOrConnect(Address, Authenticator)}.
+     *
+     * @param address       to be connected
+     * @param authenticator Authenticator implementation to send appropriate Authentication Request after connection
+     * @param partitionId   partition of the operation
+     * @return associated connection if available, creates new connection otherwise
+     * @throws IOException if connection is not established
+     */
+    Connection getOrConnect(Address address, Authenticator authenticator, int partitionId) throws IOException;
+
     /**
      * Destroys the connection
      * Clears related resources of given connection.
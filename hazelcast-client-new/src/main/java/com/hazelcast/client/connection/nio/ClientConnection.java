@@ -68,7 +68,8 @@ public class ClientConnection implements Connection, Closeable {
         this.socketChannelWrapper = socketChannelWrapper;
         this.connectionId = connectionId;
         this.readHandler = new ClientReadHandler(this, in, socket.getReceiveBufferSize());
-        this.writeHandler = new ClientWriteHandler(this, out, socket.getSendBufferSize());
+        int requestBatchMaxSize = client.getClientProperties().getRequestBatchMaxSize().getInteger();
+        this.writeHandler = new ClientWriteHandler(this, out, socket.getSendBufferSize(), requestBatchMaxSize);
     }
 
     public void incrementPacketCount() {
@@ -169,6 +170,10 @@ public class ClientConnection implements Connection, Closeable {
         return readHandler;
     }
 
+    public ClientWriteHandler getWriteHandler() {
+        return writeHandler;
+    }
+
     public void setRemoteEndpoint(Address remoteEndpoint) {
         this.remoteEndpoint = remoteEndpoint;
     }
@@ -27,6 +27,7 @@ import com.hazelcast.client.connection.ClientConnectionManager;
 import com.hazelcast.client.impl.HazelcastClientInstanceImpl;
 import com.hazelcast.client.impl.protocol.ClientMessage;
 import com.hazelcast.client.impl.protocol.codec.ClientPingCodec;
+import com.hazelcast.client.impl.protocol.util.ClientMessageBatch;
 import com.hazelcast.client.spi.ClientInvocationService;
 import com.hazelcast.client.spi.impl.ClientExecutionServiceImpl;
 import com.hazelcast.client.spi.impl.ClientInvocation;
@@ -46,6 +47,7 @@ import com.hazelcast.nio.tcp.InSelectorImpl;
 import com.hazelcast.nio.tcp.SocketChannelWrapper;
 import com.hazelcast.nio.tcp.SocketChannelWrapperFactory;
 import com.hazelcast.util.Clock;
+import com.hazelcast.util.ConstructorFunction;
 import com.hazelcast.util.ExceptionUtil;
 
 import java.io.IOException;
@@ -58,11 +60,13 @@ import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import static com.hazelcast.client.config.ClientProperties.PROP_HEARTBEAT_INTERVAL_DEFAULT;
 import static com.hazelcast.client.config.ClientProperties.PROP_HEARTBEAT_TIMEOUT_DEFAULT;
 import static com.hazelcast.client.config.SocketOptions.DEFAULT_BUFFER_SIZE_BYTE;
 import static com.hazelcast.client.config.SocketOptions.KILO_BYTE;
+import static com.hazelcast.util.ConcurrencyUtil.getOrPutIfAbsent;
 
 public class ClientConnectionManagerImpl implements ClientConnectionManager {
 
@@ -94,6 +98,20 @@ public class ClientConnectionManagerImpl implements ClientConnectionManager {
     private final ConcurrentMap<Address, ClientConnection> connections
             = new ConcurrentHashMap<Address, ClientConnection>();
 
+    // the additional connections per member; index 0 is unused, it stands for the connection in connections
+    private final ConcurrentMap<Address, AtomicReferenceArray<ClientConnection>> secondaryConnections
+            = new ConcurrentHashMap<Address, AtomicReferenceArray<ClientConnection>>();
+    private final ConstructorFunction<Address, AtomicReferenceArray<ClientConnection>> secondaryConnectionsConstructor
+            = new ConstructorFunction<Address, AtomicReferenceArray<ClientConnection>>() {
+                @Override
+                public AtomicReferenceArray<ClientConnection> createNew(Address address) {
+                    return new AtomicReferenceArray<ClientConnection>(connectionsPerMember);
+                }
+            };
+    private final int connectionsPerMember;
+    private final boolean partitionAffinity;
+    private final AtomicInteger roundRobinCounter = new AtomicInteger();
+
     private final Set<ConnectionListener> connectionListeners = new CopyOnWriteArraySet<ConnectionListener>();
     private final Set<ConnectionHeartbeatListener> heartbeatListeners =
             new CopyOnWriteArraySet<ConnectionHeartbeatListener>();
@@ -117,6 +135,17 @@ public class ClientConnectionManagerImpl implements ClientConnectionManager {
         int interval = clientProperties.getHeartbeatInterval().getInteger();
         heartBeatInterval = interval > 0 ? interval : Integer.parseInt(PROP_HEARTBEAT_INTERVAL_DEFAULT);
 
+        connectionsPerMember = networkConfig.isSmartRouting()
+                ? Math.max(1, clientProperties.getConnectionsPerMember().getInteger()) : 1;
+        String affinity = clientProperties.getConnectionAffinity().getString();
+        if ("PARTITION".equalsIgnoreCase(affinity)) {
+            partitionAffinity = true;
+        } else if ("ROUND_ROBIN".equalsIgnoreCase(affinity)) {
+            partitionAffinity = false;
+        } else {
+            throw new IllegalArgumentException("Unknown " + ClientProperties.PROP_CONNECTION_AFFINITY + ": " + affinity);
+        }
+
         executionService = (ClientExecutionServiceImpl) client.getClientExecutionService();
 
         inSelector = new InSelectorImpl(
@@ -171,6 +200,15 @@ public class ClientConnectionManagerImpl implements ClientConnectionManager {
         for (ClientConnection connection : connections.values()) {
             connection.close();
         }
+        for (AtomicReferenceArray<ClientConnection> lanes : secondaryConnections.values()) {
+            for (int lane = 1; lane < lanes.length(); lane++) {
+                ClientConnection connection = lanes.get(lane);
+                if (connection != null) {
+                    connection.close();
+                }
+            }
+        }
+        secondaryConnections.clear();
         inSelector.shutdown();
         outSelector.shutdown();
         connectionLockMap.clear();
@@ -205,6 +243,49 @@ public class ClientConnectionManagerImpl implements ClientConnectionManager {
         return connection;
     }
 
+    @Override
+    public ClientConnection getOrConnect(Address target, Authenticator authenticator, int partitionId) throws IOException {
+        ClientConnection primary = getOrConnect(target, authenticator);
+        if (connectionsPerMember == 1) {
+            return primary;
+        }
+        int lane = partitionAffinity && partitionId >= 0
+                ? partitionId % connectionsPerMember
+                : (roundRobinCounter.getAndIncrement() & Integer.MAX_VALUE) % connectionsPerMember;
+        if (lane == 0) {
+            return primary;
+        }
+
+        Address endpoint = primary.getEndPoint();
+        AtomicReferenceArray<ClientConnection> lanes
+                = getOrPutIfAbsent(secondaryConnections, endpoint, secondaryConnectionsConstructor);
+        ClientConnection connection = lanes.get(lane);
+        if (connection != null) {
+            return connection;
+        }
+        synchronized (lanes) {
+            connection = lanes.get(lane);
+            if (connection == null) {
+                try {
+                    connection = createSocketConnection(addressTranslator.translate(target));
+                    authenticate(authenticator, connection);
+                } catch (IOException e) {
+                    // the member is still reachable over the first connection
+                    LOGGER.finest("Could not open an additional connection to " + target, e);
+                    return primary;
+                }
+                lanes.set(lane, connection);
+                if (secondaryConnections.get(endpoint) != lanes) {
+                    // the member was disconnected meanwhile
+                    lanes.set(lane, null);
+                    destroySecondaryConnection(connection);
+                    return primary;
+                }
+            }
+        }
+        return connection;
+    }
+
     private void authenticate(Authenticator authenticator, ClientConnection connection) throws IOException {
         try {
             authenticator.authenticate(connection);
@@ -266,11 +347,21 @@ public class ClientConnectionManagerImpl implements ClientConnectionManager {
     public void destroyConnection(final Connection connection) {
         Address endpoint = connection.getEndPoint();
         if (endpoint != null) {
-            final ClientConnection conn = connections.remove(endpoint);
-            if (conn == null) {
+            final ClientConnection conn = (ClientConnection) connection;
+            if (!connections.remove(endpoint, conn)) {
+                AtomicReferenceArray<ClientConnection> lanes = secondaryConnections.get(endpoint);
+                if (lanes != null) {
+                    for (int lane = 1; lane < lanes.length(); lane++) {
+                        if (lanes.compareAndSet(lane, conn, null)) {
+                            destroySecondaryConnection(conn);
+                            return;
+                        }
+                    }
+                }
                 return;
             }
             conn.close();
+            destroySecondaryConnections(endpoint);
             for (ConnectionListener connectionListener : connectionListeners) {
                 connectionListener.connectionRemoved(conn);
             }
@@ -281,8 +372,39 @@ public class ClientConnectionManagerImpl implements ClientConnectionManager {
         }
     }
 
+    /**
+     * Closes the additional connections to the member, they go along with the first one.
+     */
+    private void destroySecondaryConnections(Address endpoint) {
+        AtomicReferenceArray<ClientConnection> lanes = secondaryConnections.remove(endpoint);
+        if (lanes == null) {
+            return;
+        }
+        for (int lane = 1; lane < lanes.length(); lane++) {
+            ClientConnection connection = lanes.getAndSet(lane, null);
+            if (connection != null) {
+                destroySecondaryConnection(connection);
+            }
+        }
+    }
+
+    /**
+     * The connection listeners only see the first connection to a member, so losing an additional one doesn't
+     * look like losing the member. Only the invocations sent over it are notified.
+     */
+    private void destroySecondaryConnection(ClientConnection connection) {
+        connection.close();
+        client.getInvocationService().cleanConnectionResources(connection);
+    }
+
     @Override
     public void handleClientMessage(ClientMessage message, Connection connection) {
+        if (ClientMessageBatch.isBatch(message)) {
+            for (ClientMessage response : ClientMessageBatch.decode(message)) {
+                handleClientMessage(response, connection);
+            }
+            return;
+        }
         final ClientConnection conn = (ClientConnection) connection;
         ClientInvocationService invocationService = client.getInvocationService();
         conn.incrementPacketCount();
@@ -335,6 +457,26 @@ public class ClientConnectionManagerImpl implements ClientConnectionManager {
                     }
                 }
             }
+            for (AtomicReferenceArray<ClientConnection> lanes : secondaryConnections.values()) {
+                for (int lane = 1; lane < lanes.length(); lane++) {
+                    ClientConnection connection = lanes.get(lane);
+                    if (connection != null) {
+                        checkSecondaryConnection(connection, now);
+                    }
+                }
+            }
+        }
+
+        private void checkSecondaryConnection(ClientConnection connection, long now) {
+            if (now - connection.lastReadTime() > heartBeatTimeout) {
+                LOGGER.warning("Heartbeat failed to connection : " + connection);
+                destroyConnection(connection);
+            } else if (now - connection.lastReadTime() > heartBeatInterval) {
+                ClientMessage request = ClientPingCodec.encodeRequest();
+                ClientInvocation clientInvocation = new ClientInvocation(client, request, connection);
+                clientInvocation.setBypassHeartbeatCheck(true);
+                clientInvocation.invoke();
+            }
         }
 
         private void fireHeartBeatStarted(ClientConnection connection) {
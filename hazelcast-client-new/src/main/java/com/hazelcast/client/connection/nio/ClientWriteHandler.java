@@ -16,16 +16,23 @@
 
 package com.hazelcast.client.connection.nio;
 
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.util.ClientMessageBatch;
 import com.hazelcast.nio.SocketWritable;
 import com.hazelcast.nio.tcp.IOSelector;
 import com.hazelcast.util.Clock;
+import com.hazelcast.util.counters.SwCounter;
 
 import java.nio.ByteBuffer;
 import java.nio.channels.SelectionKey;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import static com.hazelcast.util.counters.SwCounter.newSwCounter;
+
 public class ClientWriteHandler extends AbstractClientSelectionHandler implements Runnable {
 
     private final Queue<SocketWritable> writeQueue = new ConcurrentLinkedQueue<SocketWritable>();
@@ -34,6 +41,15 @@ public class ClientWriteHandler extends AbstractClientSelectionHandler implement
 
     private final ByteBuffer buffer;
 
+    private final int batchMaxSize;
+
+    private final List<ClientMessage> batch;
+
+    // only written by the IO thread
+    private final SwCounter batchCount = newSwCounter();
+
+    private final SwCounter batchedMessageCount = newSwCounter();
+
     private boolean ready;
 
     private SocketWritable lastWritable;
@@ -41,8 +57,17 @@ public class ClientWriteHandler extends AbstractClientSelectionHandler implement
     private volatile long lastHandle;
 
     public ClientWriteHandler(ClientConnection connection, IOSelector ioSelector, int bufferSize) {
+        this(connection, ioSelector, bufferSize, 0);
+    }
+
+    /**
+     * @param batchMaxSize maximum number of queued messages sent in a single batch frame, 0 or 1 to send each on its own
+     */
+    public ClientWriteHandler(ClientConnection connection, IOSelector ioSelector, int bufferSize, int batchMaxSize) {
         super(connection, ioSelector);
-        buffer = ByteBuffer.allocate(bufferSize);
+        this.buffer = ByteBuffer.allocate(bufferSize);
+        this.batchMaxSize = batchMaxSize;
+        this.batch = batchMaxSize > 1 ? new ArrayList<ClientMessage>(batchMaxSize) : null;
     }
 
     @Override
@@ -107,8 +132,30 @@ public class ClientWriteHandler extends AbstractClientSelectionHandler implement
         }
     }
 
+    /**
+     * Takes the next writable from the queue. When batching is enabled and further requests are queued behind a
+     * request, they are taken as well and sent together in a single batch frame.
+     */
     private SocketWritable poll() {
-        return writeQueue.poll();
+        SocketWritable writable = writeQueue.poll();
+        if (batch == null || !isBatchable(writable) || !isBatchable(writeQueue.peek())) {
+            return writable;
+        }
+        batch.add((ClientMessage) writable);
+        while (batch.size() < batchMaxSize && isBatchable(writeQueue.peek())) {
+            // this is the only consumer of the queue, so the peeked message is polled
+            batch.add((ClientMessage) writeQueue.poll());
+        }
+        ClientMessage batchFrame = ClientMessageBatch.encode(batch);
+        batchCount.inc();
+        batchedMessageCount.inc(batch.size());
+        batch.clear();
+        return batchFrame;
+    }
+
+    private boolean isBatchable(SocketWritable writable) {
+        // requests are only batched on authenticated connections, the member has to know the client for a batch
+        return writable instanceof ClientMessage && !writable.isUrgent() && connection.getRemoteEndpoint() != null;
     }
 
     @Override
@@ -134,4 +181,18 @@ public class ClientWriteHandler extends AbstractClientSelectionHandler implement
     long getLastHandle() {
         return lastHandle;
     }
+
+    /**
+     * @return the number of batch frames sent
+     */
+    public long getBatchCount() {
+        return batchCount.get();
+    }
+
+    /**
+     * @return the number of messages sent in batch frames
+     */
+    public long getBatchedMessageCount() {
+        return batchedMessageCount.get();
+    }
 }
@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+
+/**
+ * Decodes the response of a client message to the value a {@link com.hazelcast.client.util.ClientDelegatingFuture}
+ * completes with. A {@link com.hazelcast.nio.serialization.Data} value is deserialized by the future, any other value
+ * is returned as is.
+ *
+ * @param <T> type of the decoded value
+ */
+public interface ClientMessageDecoder<T> {
+
+    T decodeClientMessage(ClientMessage clientMessage);
+}
@@ -70,6 +70,8 @@ import com.hazelcast.core.MultiMap;
 import com.hazelcast.core.PartitionService;
 import com.hazelcast.core.ReplicatedMap;
 import com.hazelcast.executor.impl.DistributedExecutorService;
+import com.hazelcast.internal.metrics.MetricsRegistry;
+import com.hazelcast.internal.metrics.impl.MetricsRegistryImpl;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.logging.Logger;
 import com.hazelcast.logging.LoggingService;
@@ -131,6 +133,7 @@ public class HazelcastClientInstanceImpl implements HazelcastInstance, Serializa
     private final LoadBalancer loadBalancer;
     private final ClientExtension clientExtension;
     private final Credentials credentials;
+    private final MetricsRegistryImpl metricsRegistry;
 
     public HazelcastClientInstanceImpl(ClientConfig config) {
         this.config = config;
@@ -143,6 +146,7 @@ public class HazelcastClientInstanceImpl implements HazelcastInstance, Serializa
         threadGroup = new ThreadGroup(instanceName);
         lifecycleService = new LifecycleServiceImpl(this);
         clientProperties = new ClientProperties(config);
+        metricsRegistry = new MetricsRegistryImpl(Logger.getLogger(MetricsRegistryImpl.class));
         serializationService = clientExtension.createSerializationService();
         proxyManager = new ProxyManager(this);
         executionService = initExecutorService();
@@ -495,6 +499,10 @@ public class HazelcastClientInstanceImpl implements HazelcastInstance, Serializa
         return nearCacheManager;
     }
 
+    public MetricsRegistry getMetricsRegistry() {
+        return metricsRegistry;
+    }
+
     public ThreadGroup getThreadGroup() {
         return threadGroup;
     }
@@ -526,5 +534,6 @@ public class HazelcastClientInstanceImpl implements HazelcastInstance, Serializa
         listenerService.shutdown();
         serializationService.destroy();
         nearCacheManager.destroyAllNearCaches();
+        metricsRegistry.shutdown();
     }
 }
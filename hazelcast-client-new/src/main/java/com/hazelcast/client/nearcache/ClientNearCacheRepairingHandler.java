@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.nearcache;
+
+import com.hazelcast.client.spi.ClientPartitionService;
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.map.impl.NearCache;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.util.counters.MwCounter;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static com.hazelcast.util.counters.MwCounter.newMwCounter;
+
+/**
+ * Applies the batched invalidations of a map to its near cache and repairs the near cache when invalidations were
+ * lost.
+ * <p/>
+ * Every batch carries the partition of its keys, the invalidation sequence of its last key and the UUID of the
+ * sequence on the partition owner. The last seen sequence and UUID are kept per partition. When a batch does not
+ * continue the last seen sequence, or comes with another UUID because the partition moved to another member, the
+ * invalidations in between may be lost, so all entries of that partition are dropped from the near cache instead
+ * of just the keys of the batch.
+ * <p/>
+ * A batch without keys is sent when the partition was cleared. Its sequence also covers the keys the member dropped
+ * from the batch it replaced, and since it invalidates everything a gap before it is no loss. The map is cleared
+ * partition by partition, so the whole near cache is cleared on the first of these batches, the ones of the other
+ * partitions then find it (almost) empty instead of each scanning it for the keys of their partition.
+ * <p/>
+ * The batches of a partition are always handled by the same event thread, since events are dispatched by partition id.
+ * <p/>
+ * Losses are only noticed when the next batch of the same partition arrives. A lost batch that is never followed
+ * by another one of its partition stays unnoticed until the entries expire.
+ */
+public class ClientNearCacheRepairingHandler {
+
+    private final NearCache nearCache;
+    private final ClientPartitionService partitionService;
+    private final AtomicReferenceArray<PartitionSequence> partitionSequences;
+
+    @Probe
+    private final MwCounter invalidationsReceived = newMwCounter();
+    @Probe
+    private final MwCounter batchesReceived = newMwCounter();
+    @Probe
+    private final MwCounter repairs = newMwCounter();
+
+    public ClientNearCacheRepairingHandler(NearCache nearCache, ClientPartitionService partitionService) {
+        this.nearCache = nearCache;
+        this.partitionService = partitionService;
+        this.partitionSequences = new AtomicReferenceArray<PartitionSequence>(partitionService.getPartitionCount());
+    }
+
+    /**
+     * Applies an invalidation batch. A batch without keys invalidates all keys, its partition was cleared.
+     */
+    public void handle(Collection<Data> keys, int partitionId, String partitionUuid, long sequence) {
+        batchesReceived.inc();
+        invalidationsReceived.inc(keys.size());
+
+        if (keys.isEmpty()) {
+            updateSequence(partitionId, partitionUuid, sequence);
+            nearCache.clear();
+            return;
+        }
+        boolean repairNeeded = isRepairNeeded(keys.size(), partitionId, partitionUuid, sequence);
+        if (repairNeeded) {
+            repairs.inc();
+            invalidatePartition(partitionId);
+            return;
+        }
+        for (Data key : keys) {
+            nearCache.invalidate(key);
+        }
+    }
+
+    /**
+     * Forgets all sequences, e.g. when the listener is registered again and the near cache was cleared.
+     */
+    public void reset() {
+        for (int i = 0; i < partitionSequences.length(); i++) {
+            partitionSequences.set(i, null);
+        }
+    }
+
+    public long getInvalidationsReceived() {
+        return invalidationsReceived.get();
+    }
+
+    public long getBatchesReceived() {
+        return batchesReceived.get();
+    }
+
+    public long getRepairs() {
+        return repairs.get();
+    }
+
+    private void invalidatePartition(int partitionId) {
+        for (Data key : nearCache.keySet()) {
+            if (partitionService.getPartitionId(key) == partitionId) {
+                nearCache.invalidate(key);
+            }
+        }
+    }
+
+    private void updateSequence(int partitionId, String partitionUuid, long sequence) {
+        PartitionSequence last = partitionSequences.get(partitionId);
+        if (last == null || !last.uuid.equals(partitionUuid) || sequence > last.sequence) {
+            partitionSequences.set(partitionId, new PartitionSequence(partitionUuid, sequence));
+        }
+    }
+
+    private boolean isRepairNeeded(int keyCount, int partitionId, String partitionUuid, long sequence) {
+        PartitionSequence last = partitionSequences.get(partitionId);
+        if (last != null && last.uuid.equals(partitionUuid) && sequence <= last.sequence) {
+            // an old or duplicate batch, invalidating its keys once more is harmless
+            return false;
+        }
+        partitionSequences.set(partitionId, new PartitionSequence(partitionUuid, sequence));
+        if (last == null) {
+            return false;
+        }
+        if (!last.uuid.equals(partitionUuid)) {
+            return true;
+        }
+        long firstSequence = sequence - keyCount + 1;
+        return firstSequence > last.sequence + 1;
+    }
+
+    private static final class PartitionSequence {
+        final String uuid;
+        final long sequence;
+
+        PartitionSequence(String uuid, long sequence) {
+            this.uuid = uuid;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.proxy;
+
+import com.hazelcast.client.reactive.Subscriber;
+import com.hazelcast.client.reactive.Subscription;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.logging.Logger;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Base of the subscriptions of the client side publishers.
+ * <p/>
+ * Subclasses produce items with {@link #emit(Object)} from any thread. The items are buffered and handed to the
+ * subscriber on the executor of the subscription, as far as the subscriber requested them. A single drain task
+ * at a time delivers the signals, so they are never concurrent and always in order, and the executor threads are
+ * only used while there is something to deliver.
+ *
+ * @param <T> type of the published items
+ */
+abstract class AbstractSubscription<T> implements Subscription, Runnable {
+
+    private static final ILogger LOGGER = Logger.getLogger(AbstractSubscription.class);
+
+    private final Subscriber<? super T> subscriber;
+    private final Executor executor;
+    private final Queue<T> buffer = new ConcurrentLinkedQueue<T>();
+    private final AtomicInteger bufferSize = new AtomicInteger();
+    private final AtomicLong demand = new AtomicLong();
+    private final AtomicInteger drainRequests = new AtomicInteger();
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    private volatile boolean cancelled;
+    private volatile boolean completed;
+    private volatile Throwable error;
+
+    // only accessed by the drain task
+    private boolean subscribed;
+    private boolean terminated;
+
+    AbstractSubscription(Subscriber<? super T> subscriber, Executor executor) {
+        this.subscriber = subscriber;
+        this.executor = executor;
+    }
+
+    /**
+     * Hands the subscription to the subscriber.
+     */
+    final void start() {
+        drain();
+    }
+
+    @Override
+    public final void request(long n) {
+        if (n <= 0) {
+            fail(new IllegalArgumentException("Requested number of items must be positive, but was " + n));
+            return;
+        }
+        long current;
+        long next;
+        do {
+            current = demand.get();
+            next = current + n < 0 ? Long.MAX_VALUE : current + n;
+        } while (!demand.compareAndSet(current, next));
+        if (!cancelled) {
+            onRequest();
+        }
+        drain();
+    }
+
+    @Override
+    public final void cancel() {
+        cancelled = true;
+        release();
+        drain();
+    }
+
+    final boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * @return the number of requested items which are not produced yet.
+     */
+    final long getOutstandingDemand() {
+        return demand.get() - bufferSize.get();
+    }
+
+    final int getBufferSize() {
+        return bufferSize.get();
+    }
+
+    /**
+     * Buffers an item for delivery.
+     */
+    final void emit(T item) {
+        buffer.offer(item);
+        bufferSize.incrementAndGet();
+        drain();
+    }
+
+    /**
+     * Terminates the subscription with an error, items which are not delivered yet are discarded.
+     */
+    final void fail(Throwable t) {
+        if (error == null) {
+            error = t;
+        }
+        release();
+        drain();
+    }
+
+    /**
+     * Terminates the subscription after the buffered items are delivered.
+     */
+    final void complete() {
+        completed = true;
+        release();
+        drain();
+    }
+
+    /**
+     * Called after the subscriber requested more items.
+     */
+    void onRequest() {
+    }
+
+    /**
+     * Called once when the subscription is cancelled or terminated, to release what it holds on the cluster.
+     */
+    abstract void onRelease();
+
+    /**
+     * Called for every buffered item which is not delivered because the subscription was cancelled or failed.
+     */
+    void onDiscard(T item) {
+    }
+
+    private void release() {
+        if (released.compareAndSet(false, true)) {
+            try {
+                onRelease();
+            } catch (Exception e) {
+                LOGGER.warning("Could not release " + this, e);
+            }
+        }
+    }
+
+    private void drain() {
+        if (drainRequests.getAndIncrement() == 0) {
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                LOGGER.warning("Executor rejected the delivery of " + this + ", cancelling it", e);
+                drainRequests.set(0);
+                cancelled = true;
+                release();
+            }
+        }
+    }
+
+    @Override
+    public final void run() {
+        int missed = 1;
+        do {
+            if (!subscribed) {
+                subscribed = true;
+                subscriber.onSubscribe(this);
+            }
+            deliver();
+            missed = drainRequests.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void deliver() {
+        while (!terminated) {
+            if (cancelled || error != null) {
+                discardBuffer();
+                if (error != null && !cancelled) {
+                    terminated = true;
+                    subscriber.onError(error);
+                }
+                return;
+            }
+            T item = demand.get() > 0 ? buffer.poll() : null;
+            if (item == null) {
+                if (completed && buffer.isEmpty()) {
+                    terminated = true;
+                    subscriber.onComplete();
+                }
+                return;
+            }
+            bufferSize.decrementAndGet();
+            if (demand.get() != Long.MAX_VALUE) {
+                demand.decrementAndGet();
+            }
+            try {
+                subscriber.onNext(item);
+            } catch (Throwable t) {
+                LOGGER.warning("Subscriber " + subscriber + " failed to handle an item, cancelling its subscription", t);
+                cancel();
+            }
+        }
+    }
+
+    /**
+     * Discards the buffered items, can be called from any thread once the subscription is cancelled.
+     */
+    final void discardBuffer() {
+        T item;
+        while ((item = buffer.poll()) != null) {
+            bufferSize.decrementAndGet();
+            onDiscard(item);
+        }
+    }
+}
@@ -16,6 +16,8 @@
 
 package com.hazelcast.client.proxy;
 
+import com.hazelcast.cache.impl.nearcache.NearCacheContext;
+import com.hazelcast.client.impl.ClientMessageDecoder;
 import com.hazelcast.client.impl.protocol.ClientMessage;
 import com.hazelcast.client.impl.protocol.codec.MapAddEntryListenerCodec;
 import com.hazelcast.client.impl.protocol.codec.MapAddEntryListenerToKeyCodec;
@@ -23,7 +25,7 @@ import com.hazelcast.client.impl.protocol.codec.MapAddEntryListenerToKeyWithPred
 import com.hazelcast.client.impl.protocol.codec.MapAddEntryListenerWithPredicateCodec;
 import com.hazelcast.client.impl.protocol.codec.MapAddIndexCodec;
 import com.hazelcast.client.impl.protocol.codec.MapAddInterceptorCodec;
-import com.hazelcast.client.impl.protocol.codec.MapAddNearCacheEntryListenerCodec;
+import com.hazelcast.client.impl.protocol.codec.MapAddNearCacheInvalidationListenerCodec;
 import com.hazelcast.client.impl.protocol.codec.MapAddPartitionLostListenerCodec;
 import com.hazelcast.client.impl.protocol.codec.MapClearCodec;
 import com.hazelcast.client.impl.protocol.codec.MapContainsKeyCodec;
@@ -74,8 +76,13 @@ import com.hazelcast.client.impl.protocol.codec.MapUnlockCodec;
 import com.hazelcast.client.impl.protocol.codec.MapValuesCodec;
 import com.hazelcast.client.impl.protocol.codec.MapValuesWithPagingPredicateCodec;
 import com.hazelcast.client.impl.protocol.codec.MapValuesWithPredicateCodec;
-import com.hazelcast.client.nearcache.ClientHeapNearCache;
-import com.hazelcast.client.nearcache.ClientNearCache;
+import com.hazelcast.client.nearcache.ClientNearCacheExecutor;
+import com.hazelcast.client.nearcache.ClientNearCacheRepairingHandler;
+import com.hazelcast.client.reactive.Publisher;
+import com.hazelcast.client.reactive.ReactiveMap;
+import com.hazelcast.client.reactive.Subscriber;
+import com.hazelcast.client.spi.ClientContext;
+import com.hazelcast.client.spi.ClientPartitionService;
 import com.hazelcast.client.spi.ClientProxy;
 import com.hazelcast.client.spi.EventHandler;
 import com.hazelcast.client.spi.impl.ClientInvocation;
@@ -99,7 +106,13 @@ import com.hazelcast.map.EntryProcessor;
 import com.hazelcast.map.MapInterceptor;
 import com.hazelcast.map.MapPartitionLostEvent;
 import com.hazelcast.map.impl.ListenerAdapter;
+import com.hazelcast.map.impl.NearCache;
+import com.hazelcast.map.impl.NearCachePreloader;
 import com.hazelcast.map.impl.SimpleEntryView;
+import com.hazelcast.map.listener.EntryAddedListener;
+import com.hazelcast.map.listener.EntryEvictedListener;
+import com.hazelcast.map.listener.EntryRemovedListener;
+import com.hazelcast.map.listener.EntryUpdatedListener;
 import com.hazelcast.map.listener.MapListener;
 import com.hazelcast.map.listener.MapPartitionLostListener;
 import com.hazelcast.mapreduce.Collator;
@@ -115,6 +128,7 @@ import com.hazelcast.mapreduce.aggregation.Aggregation;
 import com.hazelcast.mapreduce.aggregation.Supplier;
 import com.hazelcast.monitor.LocalMapStats;
 import com.hazelcast.monitor.impl.LocalMapStatsImpl;
+import com.hazelcast.nio.Address;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.nio.serialization.SerializationService;
 import com.hazelcast.query.PagingPredicate;
@@ -134,23 +148,62 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.hazelcast.map.impl.ListenerAdapters.createListenerAdapter;
 import static com.hazelcast.util.Preconditions.checkNotNull;
+import static com.hazelcast.util.Preconditions.checkPositive;
 import static com.hazelcast.util.SortingUtil.getSortedQueryResultSet;
 
-public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V> {
+public class ClientMapProxy<K, V> extends ClientProxy implements ReactiveMap<K, V> {
 
     protected static final String NULL_KEY_IS_NOT_ALLOWED = "Null key is not allowed!";
     protected static final String NULL_VALUE_IS_NOT_ALLOWED = "Null value is not allowed!";
 
+    private static final ClientMessageDecoder<Boolean> CONTAINS_KEY_RESPONSE_DECODER = new ClientMessageDecoder<Boolean>() {
+        @Override
+        public Boolean decodeClientMessage(ClientMessage clientMessage) {
+            return MapContainsKeyCodec.decodeResponse(clientMessage).response;
+        }
+    };
+
+    private static final ClientMessageDecoder<Boolean> REPLACE_IF_SAME_RESPONSE_DECODER = new ClientMessageDecoder<Boolean>() {
+        @Override
+        public Boolean decodeClientMessage(ClientMessage clientMessage) {
+            return MapReplaceIfSameCodec.decodeResponse(clientMessage).response;
+        }
+    };
+
+    private static final ClientMessageDecoder<Boolean> REMOVE_IF_SAME_RESPONSE_DECODER = new ClientMessageDecoder<Boolean>() {
+        @Override
+        public Boolean decodeClientMessage(ClientMessage clientMessage) {
+            return MapRemoveIfSameCodec.decodeResponse(clientMessage).response;
+        }
+    };
+
+    private static final ClientMessageDecoder<Void> VOID_RESPONSE_DECODER = new ClientMessageDecoder<Void>() {
+        @Override
+        public Void decodeClientMessage(ClientMessage clientMessage) {
+            return null;
+        }
+    };
+
     private final String name;
     private final AtomicBoolean nearCacheInitialized = new AtomicBoolean();
-    private volatile ClientHeapNearCache<Data> nearCache;
+    // latencies of the get, put and remove calls of this proxy which went to the cluster, as seen by the client
+    private final LocalMapStatsImpl clientStats = new LocalMapStatsImpl();
+    private volatile NearCache nearCache;
+    private volatile ClientNearCacheRepairingHandler nearCacheRepairingHandler;
+    private volatile String nearCacheRegistrationId;
+    private volatile Future<Integer> nearCachePreloadFuture;
 
     public ClientMapProxy(String serviceName, String name) {
         super(serviceName, name);
@@ -166,7 +219,7 @@ public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V> {
         if (nearCache != null) {
             Object cached = nearCache.get(keyData);
             if (cached != null) {
-                if (cached.equals(ClientNearCache.NULL_OBJECT)) {
+                if (cached.equals(NearCache.NULL_OBJECT)) {
                     return false;
                 }
                 return true;
@@ -198,17 +251,19 @@ public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V> {
         if (nearCache != null) {
             Object cached = nearCache.get(keyData);
             if (cached != null) {
-                if (cached.equals(ClientHeapNearCache.NULL_OBJECT)) {
+                if (cached.equals(NearCache.NULL_OBJECT)) {
                     return null;
                 }
-                return (V) cached;
+                return toObject(cached);
             }
         }
+        long startNanos = System.nanoTime();
         ClientMessage request = MapGetCodec.encodeRequest(name, keyData, ThreadUtil.getThreadId());
 
         ClientMessage response = invoke(request, keyData);
         MapGetCodec.ResponseParameters resultParameters = MapGetCodec.decodeResponse(response);
         V result = toObject(resultParameters.response);
+        clientStats.incrementGetsNanos(System.nanoTime() - startNanos);
         if (nearCache != null) {
             nearCache.put(keyData, result);
         }
@@ -226,9 +281,11 @@ public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V> {
         final Data keyData = toData(key);
         invalidateNearCache(keyData);
 
+        long startNanos = System.nanoTime();
         ClientMessage request = MapRemoveCodec.encodeRequest(name, keyData, ThreadUtil.getThreadId());
         ClientMessage response = invoke(request, keyData);
         MapRemoveCodec.ResponseParameters resultParameters = MapRemoveCodec.decodeResponse(response);
+        clientStats.incrementRemovesNanos(System.nanoTime() - startNanos);
         return toObject(resultParameters.response);
     }
 
@@ -268,14 +325,14 @@ public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V> {
     }
 
     @Override
-    public Future<V> getAsync(final K key) {
+    public ICompletableFuture<V> getAsync(final K key) {
         checkNotNull(key, NULL_KEY_IS_NOT_ALLOWED);
         initNearCache();
         final Data keyData = toData(key);
         SerializationService serializationService = getContext().getSerializationService();
         if (nearCache != null) {
             Object cached = nearCache.get(keyData);
-            if (cached != null && !ClientNearCache.NULL_OBJECT.equals(cached)) {
+            if (cached != null && !NearCache.NULL_OBJECT.equals(cached)) {
                 return new CompletedFuture<V>(serializationService,
                         cached, getContext().getExecutionService().getAsyncExecutor());
             }
@@ -313,12 +370,12 @@ public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V> {
     }
 
     @Override
-    public Future<V> putAsync(final K key, final V value) {
+    public ICompletableFuture<V> putAsync(final K key, final V value) {
         return putAsync(key, value, -1, TimeUnit.MILLISECONDS);
     }
 
     @Override
-    public Future<V> putAsync(final K key, final V value, final long ttl, final TimeUnit timeunit) {
+    public ICompletableFuture<V> putAsync(final K key, final V value, final long ttl, final TimeUnit timeunit) {
         checkNotNull(key, NULL_KEY_IS_NOT_ALLOWED);
         checkNotNull(value, NULL_VALUE_IS_NOT_ALLOWED);
 
@@ -336,7 +393,7 @@ public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V> {
     }
 
     @Override
-    public Future<V> removeAsync(final K key) {
+    public ICompletableFuture<V> removeAsync(final K key) {
         checkNotNull(key, NULL_KEY_IS_NOT_ALLOWED);
         final Data keyData = toData(key);
         invalidateNearCache(keyData);
@@ -349,6 +406,148 @@ public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V> {
         }
     }
 
+    @Override
+    public ICompletableFuture<Boolean> removeAsync(final K key, final V value) {
+        checkNotNull(key, NULL_KEY_IS_NOT_ALLOWED);
+        checkNotNull(value, NULL_VALUE_IS_NOT_ALLOWED);
+        final Data keyData = toData(key);
+        final Data valueData = toData(value);
+        invalidateNearCache(keyData);
+        ClientMessage request = MapRemoveIfSameCodec.encodeRequest(name, keyData, valueData, ThreadUtil.getThreadId());
+        return invokeAsync(request, keyData, REMOVE_IF_SAME_RESPONSE_DECODER);
+    }
+
+    @Override
+    public ICompletableFuture<Void> deleteAsync(final K key) {
+        checkNotNull(key, NULL_KEY_IS_NOT_ALLOWED);
+        final Data keyData = toData(key);
+        invalidateNearCache(keyData);
+        ClientMessage request = MapDeleteCodec.encodeRequest(name, keyData, ThreadUtil.getThreadId());
+        return invokeAsync(request, keyData, VOID_RESPONSE_DECODER);
+    }
+
+    @Override
+    public ICompletableFuture<Boolean> containsKeyAsync(final K key) {
+        checkNotNull(key, NULL_KEY_IS_NOT_ALLOWED);
+        initNearCache();
+        final Data keyData = toData(key);
+        if (nearCache != null) {
+            Object cached = nearCache.get(keyData);
+            if (cached != null) {
+                return new CompletedFuture<Boolean>(getContext().getSerializationService(),
+                        !NearCache.NULL_OBJECT.equals(cached), getContext().getExecutionService().getAsyncExecutor());
+            }
+        }
+        ClientMessage request = MapContainsKeyCodec.encodeRequest(name, keyData, ThreadUtil.getThreadId());
+        return invokeAsync(request, keyData, CONTAINS_KEY_RESPONSE_DECODER);
+    }
+
+    @Override
+    public ICompletableFuture<Void> setAsync(final K key, final V value) {
+        return setAsync(key, value, -1, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public ICompletableFuture<Void> setAsync(final K key, final V value, final long ttl, final TimeUnit timeunit) {
+        checkNotNull(key, NULL_KEY_IS_NOT_ALLOWED);
+        checkNotNull(value, NULL_VALUE_IS_NOT_ALLOWED);
+        final Data keyData = toData(key);
+        final Data valueData = toData(value);
+        invalidateNearCache(keyData);
+        ClientMessage request = MapSetCodec.encodeRequest(name, keyData, valueData,
+                ThreadUtil.getThreadId(), getTimeInMillis(ttl, timeunit));
+        return invokeAsync(request, keyData, VOID_RESPONSE_DECODER);
+    }
+
+    @Override
+    public ICompletableFuture<V> putIfAbsentAsync(final K key, final V value) {
+        return putIfAbsentAsync(key, value, -1, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public ICompletableFuture<V> putIfAbsentAsync(final K key, final V value, final long ttl, final TimeUnit timeunit) {
+        checkNotNull(key, NULL_KEY_IS_NOT_ALLOWED);
+        checkNotNull(value, NULL_VALUE_IS_NOT_ALLOWED);
+        final Data keyData = toData(key);
+        final Data valueData = toData(value);
+        invalidateNearCache(keyData);
+        ClientMessage request = MapPutIfAbsentCodec.encodeRequest(name, keyData, valueData,
+                ThreadUtil.getThreadId(), getTimeInMillis(ttl, timeunit));
+        try {
+            final ClientInvocationFuture future = invokeOnKeyOwner(request, keyData);
+            return new ClientDelegatingFuture<V>(future, getContext().getSerializationService());
+        } catch (Exception e) {
+            throw ExceptionUtil.rethrow(e);
+        }
+    }
+
+    @Override
+    public ICompletableFuture<V> replaceAsync(final K key, final V value) {
+        checkNotNull(key, NULL_KEY_IS_NOT_ALLOWED);
+        checkNotNull(value, NULL_VALUE_IS_NOT_ALLOWED);
+        final Data keyData = toData(key);
+        final Data valueData = toData(value);
+        invalidateNearCache(keyData);
+        ClientMessage request = MapReplaceCodec.encodeRequest(name, keyData, valueData, ThreadUtil.getThreadId());
+        try {
+            final ClientInvocationFuture future = invokeOnKeyOwner(request, keyData);
+            return new ClientDelegatingFuture<V>(future, getContext().getSerializationService());
+        } catch (Exception e) {
+            throw ExceptionUtil.rethrow(e);
+        }
+    }
+
+    @Override
+    public ICompletableFuture<Boolean> replaceAsync(final K key, final V oldValue, final V newValue) {
+        checkNotNull(key, NULL_KEY_IS_NOT_ALLOWED);
+        checkNotNull(oldValue, NULL_VALUE_IS_NOT_ALLOWED);
+        checkNotNull(newValue, NULL_VALUE_IS_NOT_ALLOWED);
+        final Data keyData = toData(key);
+        final Data oldValueData = toData(oldValue);
+        final Data newValueData = toData(newValue);
+        invalidateNearCache(keyData);
+        ClientMessage request = MapReplaceIfSameCodec.encodeRequest(name, keyData, oldValueData, newValueData,
+                ThreadUtil.getThreadId());
+        return invokeAsync(request, keyData, REPLACE_IF_SAME_RESPONSE_DECODER);
+    }
+
+    private <T> ICompletableFuture<T> invokeAsync(ClientMessage request, Data keyData, ClientMessageDecoder<T> decoder) {
+        try {
+            final ClientInvocationFuture future = invokeOnKeyOwner(request, keyData);
+            return new ClientDelegatingFuture<T>(future, getContext().getSerializationService(), decoder);
+        } catch (Exception e) {
+            throw ExceptionUtil.rethrow(e);
+        }
+    }
+
+    /**
+     * Returns a publisher of the entry events of this map. Each subscriber registers its own entry listener.
+     * <p/>
+     * Events are buffered until the subscriber requests them and are delivered on the given executor. When more than
+     * <code>bufferCapacity</code> events are waiting for demand, the subscription fails with an
+     * {@link IllegalStateException} and its listener is removed, so a slow subscriber can't exhaust the memory.
+     *
+     * @param includeValue   <code>true</code> if the events should contain the values.
+     * @param bufferCapacity maximum number of events waiting for demand.
+     * @param executor       the executor to deliver the signals on.
+     * @return the publisher of the entry events of this map.
+     */
+    @Override
+    public Publisher<EntryEvent<K, V>> entryEventPublisher(final boolean includeValue, final int bufferCapacity,
+                                                           final Executor executor) {
+        checkPositive(bufferCapacity, "bufferCapacity must be positive");
+        checkNotNull(executor, "executor cannot be null");
+        return new Publisher<EntryEvent<K, V>>() {
+            @Override
+            public void subscribe(Subscriber<? super EntryEvent<K, V>> subscriber) {
+                checkNotNull(subscriber, "subscriber cannot be null");
+                EntryEventSubscription subscription = new EntryEventSubscription(subscriber, executor, bufferCapacity);
+                subscription.register(includeValue);
+                subscription.start();
+            }
+        };
+    }
+
     @Override
     public boolean tryRemove(K key, long timeout, TimeUnit timeunit) {
         checkNotNull(key, NULL_KEY_IS_NOT_ALLOWED);
@@ -384,10 +583,12 @@ public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V> {
         final Data valueData = toData(value);
         invalidateNearCache(keyData);
 
+        long startNanos = System.nanoTime();
         ClientMessage request = MapPutCodec.encodeRequest(name, keyData, valueData,
                 ThreadUtil.getThreadId(), getTimeInMillis(ttl, timeunit));
         ClientMessage response = invoke(request, keyData);
         MapPutCodec.ResponseParameters resultParameters = MapPutCodec.decodeResponse(response);
+        clientStats.incrementPutsNanos(System.nanoTime() - startNanos);
         return toObject(resultParameters.response);
     }
 
@@ -778,8 +979,8 @@ public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V> {
             while (iterator.hasNext()) {
                 Data key = iterator.next();
                 Object cached = nearCache.get(key);
-                if (cached != null && !ClientHeapNearCache.NULL_OBJECT.equals(cached)) {
-                    result.put((K) toObject(key), (V) cached);
+                if (cached != null && !NearCache.NULL_OBJECT.equals(cached)) {
+                    result.put((K) toObject(key), (V) toObject(cached));
                     iterator.remove();
                 }
             }
@@ -787,11 +988,7 @@ public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V> {
         if (keySet.isEmpty()) {
             return result;
         }
-        ClientMessage request = MapGetAllCodec.encodeRequest(name, keySet);
-        ClientMessage response = invoke(request);
-        MapGetAllCodec.ResponseParameters resultParameters = MapGetAllCodec.decodeResponse(response);
-
-        for (Entry<Data, Data> entry : resultParameters.map.entrySet()) {
+        for (Entry<Data, Data> entry : getAllData(keySet).entrySet()) {
 
             final V value = toObject(entry.getValue());
             final K key = toObject(entry.getKey());
@@ -803,6 +1000,95 @@ public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V> {
         return result;
     }
 
+    /**
+     * Returns the entries of the keys as the members reply, instead of waiting for all of them like
+     * {@link #getAll(Set)}. Near cached entries come first. Iterating blocks until the next member replied.
+     *
+     * @param keys keys to get.
+     * @return an iterator over the found entries.
+     */
+    public Iterator<Entry<K, V>> getAllStreaming(Set<K> keys) {
+        initNearCache();
+        Set<Data> keySet = new HashSet<Data>(keys.size());
+        List<Entry<Data, Data>> cachedEntries = new ArrayList<Entry<Data, Data>>();
+        for (Object key : keys) {
+            Data keyData = toData(key);
+            Object cached = nearCache != null ? nearCache.get(keyData) : null;
+            if (cached != null && !NearCache.NULL_OBJECT.equals(cached)) {
+                cachedEntries.add(new AbstractMap.SimpleImmutableEntry<Data, Data>(keyData, toData(cached)));
+            } else {
+                keySet.add(keyData);
+            }
+        }
+        Map<Address, Set<Data>> groups = groupKeysByOwner(keySet);
+        final StreamingGetAllIterator iterator = new StreamingGetAllIterator(cachedEntries, groups.size());
+        for (Entry<Address, Set<Data>> group : groups.entrySet()) {
+            ClientMessage request = MapGetAllCodec.encodeRequest(name, group.getValue());
+            invokeOnMember(request, group.getKey()).andThen(iterator);
+        }
+        return iterator;
+    }
+
+    /**
+     * Fetches the entries of the keys. With smart routing the keys are sent straight to the members owning them,
+     * one request per member and all in parallel, so the members don't need to forward them again.
+     */
+    private Map<Data, Data> getAllData(Set<Data> keys) {
+        Map<Address, Set<Data>> groups = groupKeysByOwner(keys);
+        List<ClientInvocationFuture> futures = new ArrayList<ClientInvocationFuture>(groups.size());
+        for (Entry<Address, Set<Data>> group : groups.entrySet()) {
+            ClientMessage request = MapGetAllCodec.encodeRequest(name, group.getValue());
+            futures.add(invokeOnMember(request, group.getKey()));
+        }
+        Map<Data, Data> result = new HashMap<Data, Data>();
+        try {
+            for (ClientInvocationFuture future : futures) {
+                result.putAll(MapGetAllCodec.decodeResponse(future.get()).map);
+            }
+        } catch (Exception e) {
+            throw ExceptionUtil.rethrow(e);
+        }
+        return result;
+    }
+
+    /**
+     * Groups the keys by the member owning them. Keys without a known owner, or all keys when routing is not smart,
+     * are grouped under the {@code null} address and sent to any member.
+     */
+    private Map<Address, Set<Data>> groupKeysByOwner(Collection<Data> keys) {
+        Map<Address, Set<Data>> groups = new HashMap<Address, Set<Data>>();
+        if (keys.isEmpty()) {
+            return groups;
+        }
+        if (!getContext().getClientConfig().isSmartRouting()) {
+            groups.put(null, new HashSet<Data>(keys));
+            return groups;
+        }
+        ClientPartitionService partitionService = getContext().getPartitionService();
+        for (Data key : keys) {
+            Address owner = partitionService.getPartitionOwner(partitionService.getPartitionId(key));
+            Set<Data> group = groups.get(owner);
+            if (group == null) {
+                group = new HashSet<Data>();
+                groups.put(owner, group);
+            }
+            group.add(key);
+        }
+        return groups;
+    }
+
+    /**
+     * Invokes a request covering the keys of several partitions on the given member, or on any member if it is
+     * {@code null}. The request is deliberately not bound to a partition: the member handles it on a generic thread
+     * and fans it out to the partition threads itself, which it can't do from a partition thread.
+     */
+    private ClientInvocationFuture invokeOnMember(ClientMessage request, Address member) {
+        ClientInvocation invocation = member == null
+                ? new ClientInvocation(getClient(), request)
+                : new ClientInvocation(getClient(), request, member);
+        return invocation.invoke();
+    }
+
     @Override
     public Collection<V> values() {
         ClientMessage request = MapValuesCodec.encodeRequest(name);
@@ -961,11 +1247,10 @@ public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V> {
     @Override
     public LocalMapStats getLocalMapStats() {
         initNearCache();
-        LocalMapStatsImpl localMapStats = new LocalMapStatsImpl();
         if (nearCache != null) {
-            localMapStats.setNearCacheStats(nearCache.getNearCacheStats());
+            clientStats.setNearCacheStats(nearCache.getNearCacheStats());
         }
-        return localMapStats;
+        return clientStats;
     }
 
     @Override
@@ -1121,8 +1406,23 @@ public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V> {
             map.put(keyData, toData(entry.getValue()));
         }
 
-        ClientMessage request = MapPutAllCodec.encodeRequest(name, map);
-        invoke(request);
+        Map<Address, Set<Data>> groups = groupKeysByOwner(map.keySet());
+        List<ClientInvocationFuture> futures = new ArrayList<ClientInvocationFuture>(groups.size());
+        for (Entry<Address, Set<Data>> group : groups.entrySet()) {
+            Map<Data, Data> entries = new HashMap<Data, Data>(group.getValue().size());
+            for (Data keyData : group.getValue()) {
+                entries.put(keyData, map.get(keyData));
+            }
+            ClientMessage request = MapPutAllCodec.encodeRequest(name, entries);
+            futures.add(invokeOnMember(request, group.getKey()));
+        }
+        try {
+            for (ClientInvocationFuture future : futures) {
+                future.get();
+            }
+        } catch (Exception e) {
+            throw ExceptionUtil.rethrow(e);
+        }
     }
 
     @Override
@@ -1132,6 +1432,15 @@ public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V> {
         invoke(request);
     }
 
+    @Override
+    protected void onInitialize() {
+        // start preloading as soon as the proxy is created, not only on its first use
+        NearCacheConfig nearCacheConfig = getContext().getClientConfig().getNearCacheConfig(name);
+        if (nearCacheConfig != null && nearCacheConfig.getPreloaderConfig().isEnabled()) {
+            initNearCache();
+        }
+    }
+
     @Override
     protected void onDestroy() {
         destroyNearCache();
@@ -1142,6 +1451,10 @@ public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V> {
             removeNearCacheInvalidationListener();
             nearCache.destroy();
         }
+        ClientNearCacheRepairingHandler repairingHandler = nearCacheRepairingHandler;
+        if (repairingHandler != null) {
+            getContext().getMetricsRegistry().deregister(repairingHandler);
+        }
     }
 
     @Override
@@ -1188,28 +1501,56 @@ public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V> {
                 return;
             }
 
-            nearCache = new ClientHeapNearCache<Data>(name, getContext(), nearCacheConfig);
-            if (nearCache.isInvalidateOnChange()) {
+            ClientContext context = getContext();
+            NearCacheContext nearCacheContext = new NearCacheContext(context.getSerializationService(),
+                    new ClientNearCacheExecutor(context.getExecutionService()));
+            nearCache = new NearCache(name, nearCacheConfig, nearCacheContext, null);
+            if (nearCacheConfig.isInvalidateOnChange()) {
                 addNearCacheInvalidateListener();
             }
+            final NearCachePreloader preloader = nearCache.startPreloader(context.getHazelcastInstance().getName());
+            if (preloader != null) {
+                int maxSize = nearCacheConfig.getMaxSize();
+                final int maxKeys = maxSize <= 0 ? Integer.MAX_VALUE : maxSize;
+                // like on the members, the keys are loaded in the background instead of blocking the proxy creation
+                nearCachePreloadFuture = context.getExecutionService().submit(new Callable<Integer>() {
+                    @Override
+                    public Integer call() {
+                        return preloader.loadKeys(new NearCacheKeyLoader(), maxKeys);
+                    }
+                });
+            }
         }
     }
 
+    /**
+     * Returns the future of the near cache preloading, which completes with the number of preloaded keys once they
+     * are in the near cache.
+     *
+     * @return the future, or {@code null} if the near cache of this map is not preloaded
+     */
+    public Future<Integer> getNearCachePreloadFuture() {
+        return nearCachePreloadFuture;
+    }
+
     private void addNearCacheInvalidateListener() {
         try {
-            ClientMessage request = MapAddNearCacheEntryListenerCodec.encodeRequest(name, false);
+            nearCacheRepairingHandler = new ClientNearCacheRepairingHandler(nearCache, getContext().getPartitionService());
+            getContext().getMetricsRegistry()
+                    .scanAndRegister(nearCacheRepairingHandler, "map[" + name + "].nearCacheInvalidation");
+            ClientMessage request = MapAddNearCacheInvalidationListenerCodec.encodeRequest(name);
             EventHandler handler = new ClientMapAddNearCacheEventHandler();
             String registrationId = getContext().getListenerService().startListening(request, null, handler);
-            nearCache.setId(registrationId);
+            nearCacheRegistrationId = registrationId;
         } catch (Exception e) {
-            Logger.getLogger(ClientHeapNearCache.class).severe(
+            Logger.getLogger(NearCache.class).severe(
                     "-----------------\n Near Cache is not initialized!!! \n-----------------", e);
         }
     }
 
     private void removeNearCacheInvalidationListener() {
-        if (nearCache != null && nearCache.getId() != null) {
-            String registrationId = nearCache.getId();
+        String registrationId = nearCacheRegistrationId;
+        if (nearCache != null && registrationId != null) {
             ClientMessage request = MapRemoveEntryListenerCodec.encodeRequest(name, registrationId);
             getContext().getListenerService().stopListening(request, registrationId);
         }
@@ -1316,7 +1657,7 @@ public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V> {
         }
     }
 
-    private class ClientMapAddNearCacheEventHandler extends MapAddNearCacheEntryListenerCodec.AbstractEventHandler
+    private class ClientMapAddNearCacheEventHandler extends MapAddNearCacheInvalidationListenerCodec.AbstractEventHandler
             implements EventHandler<ClientMessage> {
 
         @Override
@@ -1326,29 +1667,159 @@ public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V> {
 
         @Override
         public void onListenerRegister() {
+            nearCacheRepairingHandler.reset();
             invalidateNearCache();
         }
 
         @Override
-        public void handle(Data key, Data value, Data oldValue, Data mergingValue,
-                           int eventType, String uuid, int numberOfAffectedEntries) {
-            EntryEventType entryEventType = EntryEventType.getByType(eventType);
-            switch (entryEventType) {
-                case ADDED:
-                case REMOVED:
-                case UPDATED:
-                case MERGED:
-                case EVICTED:
-                    nearCache.remove(key);
-                    break;
-                case CLEAR_ALL:
-                case EVICT_ALL:
-                    nearCache.clear();
-                    break;
-                default:
-                    throw new IllegalArgumentException("Not a known event type " + entryEventType);
+        public void handle(Collection<Data> keys, int partitionId, String partitionUuid, long sequence) {
+            nearCacheRepairingHandler.handle(keys, partitionId, partitionUuid, sequence);
+        }
+    }
+
+    /**
+     * Buffers the entry events of its listener until the subscriber requests them.
+     */
+    private final class EntryEventSubscription extends AbstractSubscription<EntryEvent<K, V>>
+            implements EntryAddedListener<K, V>, EntryUpdatedListener<K, V>, EntryRemovedListener<K, V>,
+            EntryEvictedListener<K, V> {
+
+        private final int bufferCapacity;
+        private volatile String registrationId;
+        private volatile boolean released;
+
+        EntryEventSubscription(Subscriber<? super EntryEvent<K, V>> subscriber, Executor executor, int bufferCapacity) {
+            super(subscriber, executor);
+            this.bufferCapacity = bufferCapacity;
+        }
+
+        void register(boolean includeValue) {
+            registrationId = addEntryListener(this, includeValue);
+            if (released) {
+                // overflowed while registering, before the id was known to onRelease
+                removeEntryListener(registrationId);
+            }
+        }
+
+        @Override
+        public void entryAdded(EntryEvent<K, V> event) {
+            offer(event);
+        }
+
+        @Override
+        public void entryUpdated(EntryEvent<K, V> event) {
+            offer(event);
+        }
+
+        @Override
+        public void entryRemoved(EntryEvent<K, V> event) {
+            offer(event);
+        }
+
+        @Override
+        public void entryEvicted(EntryEvent<K, V> event) {
+            offer(event);
+        }
+
+        private void offer(EntryEvent<K, V> event) {
+            if (isCancelled()) {
+                return;
+            }
+            if (getBufferSize() >= bufferCapacity) {
+                fail(new IllegalStateException("Subscriber of the entry events of " + name + " fell behind by more than "
+                        + bufferCapacity + " events"));
+                return;
+            }
+            emit(event);
+        }
+
+        @Override
+        void onRelease() {
+            released = true;
+            String id = registrationId;
+            if (id != null) {
+                removeEntryListener(id);
+            }
+        }
+    }
+
+    /**
+     * Fetches the values of the preloaded keys with one getAll per batch and puts them into the near cache.
+     */
+    private class NearCacheKeyLoader implements NearCachePreloader.KeyLoader {
+
+        @Override
+        public void load(List<Data> keys) {
+            for (Entry<Data, Data> entry : getAllData(new HashSet<Data>(keys)).entrySet()) {
+                nearCache.put(entry.getKey(), entry.getValue());
             }
         }
     }
 
+    /**
+     * Iterates over the entries of a streaming getAll, one member reply after the other as they arrive.
+     */
+    private final class StreamingGetAllIterator implements Iterator<Entry<K, V>>, ExecutionCallback<ClientMessage> {
+
+        private final BlockingQueue<Object> replies = new LinkedBlockingQueue<Object>();
+        private int pendingReplies;
+        private Iterator<Entry<Data, Data>> current;
+
+        StreamingGetAllIterator(List<Entry<Data, Data>> cachedEntries, int pendingReplies) {
+            this.current = cachedEntries.iterator();
+            this.pendingReplies = pendingReplies;
+        }
+
+        @Override
+        public void onResponse(ClientMessage response) {
+            replies.offer(MapGetAllCodec.decodeResponse(response).map.entrySet());
+        }
+
+        @Override
+        public void onFailure(Throwable t) {
+            replies.offer(t);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean hasNext() {
+            while (!current.hasNext()) {
+                if (pendingReplies == 0) {
+                    return false;
+                }
+                Object reply;
+                try {
+                    reply = replies.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new HazelcastException("Interrupted while waiting for the getAll replies of " + name, e);
+                }
+                pendingReplies--;
+                if (reply instanceof Throwable) {
+                    pendingReplies = 0;
+                    throw ExceptionUtil.rethrow((Throwable) reply);
+                }
+                current = ((Set<Entry<Data, Data>>) reply).iterator();
+            }
+            return true;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Entry<Data, Data> entry = current.next();
+            V value = toObject(entry.getValue());
+            if (nearCache != null) {
+                nearCache.put(entry.getKey(), value);
+            }
+            return new AbstractMap.SimpleImmutableEntry<K, V>((K) toObject(entry.getKey()), value);
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
 }
@@ -38,39 +38,73 @@ import com.hazelcast.client.impl.protocol.codec.QueueRemoveCodec;
 import com.hazelcast.client.impl.protocol.codec.QueueRemoveListenerCodec;
 import com.hazelcast.client.impl.protocol.codec.QueueSizeCodec;
 import com.hazelcast.client.impl.protocol.codec.QueueTakeCodec;
+import com.hazelcast.client.reactive.Publisher;
+import com.hazelcast.client.reactive.ReactiveQueue;
+import com.hazelcast.client.reactive.Subscriber;
 import com.hazelcast.client.spi.ClientClusterService;
 import com.hazelcast.client.spi.ClientProxy;
 import com.hazelcast.client.spi.EventHandler;
+import com.hazelcast.client.spi.impl.ClientInvocation;
+import com.hazelcast.client.spi.impl.ClientInvocationFuture;
 import com.hazelcast.collection.impl.queue.QueueIterator;
+import com.hazelcast.core.ExecutionCallback;
 import com.hazelcast.core.HazelcastException;
-import com.hazelcast.core.IQueue;
 import com.hazelcast.core.ItemEvent;
 import com.hazelcast.core.ItemEventType;
 import com.hazelcast.core.ItemListener;
 import com.hazelcast.core.Member;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.logging.Logger;
 import com.hazelcast.monitor.LocalQueueStats;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.nio.serialization.SerializationService;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.hazelcast.util.Preconditions.checkNotNull;
 
 /**
  * @author ali 5/19/13
  */
-public final class ClientQueueProxy<E> extends ClientProxy implements IQueue<E> {
+public final class ClientQueueProxy<E> extends ClientProxy implements ReactiveQueue<E> {
+
+    private static final long PUBLISHER_POLL_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(30);
+    private static final int OFFER_BACK_ATTEMPTS = 3;
+    private static final ILogger LOGGER = Logger.getLogger(ClientQueueProxy.class);
 
     private final String name;
+    // the item publisher subscriptions which are not released yet
+    private final Set<QueueItemSubscription> subscriptions =
+            Collections.newSetFromMap(new ConcurrentHashMap<QueueItemSubscription, Boolean>());
 
     public ClientQueueProxy(String serviceName, String name) {
         super(serviceName, name);
         this.name = name;
     }
 
+    /**
+     * Cancels the item publisher subscriptions and puts the items they took but did not deliver back to the queue
+     * while the client is still connected.
+     */
+    @Override
+    protected void onShutdown() {
+        for (QueueItemSubscription subscription : subscriptions) {
+            subscription.shutdown();
+        }
+    }
+
     @Override
     public String addItemListener(final ItemListener<E> listener, final boolean includeValue) {
         ClientMessage request = QueueAddListenerCodec.encodeRequest(name, includeValue);
@@ -341,6 +375,32 @@ public final class ClientQueueProxy<E> extends ClientProxy implements IQueue<E>
         invoke(request);
     }
 
+    /**
+     * Returns a publisher which takes the items of this queue as far as its subscribers request them.
+     * <p/>
+     * Every subscriber polls the queue on its own, with at most one poll in flight at a time, which waits on the
+     * cluster and not in a client thread. An item is only taken for a request of its subscriber. Items are delivered
+     * on the given executor. Items which were already taken but not delivered when their subscription was cancelled
+     * or failed are offered back to the queue, in the order they were taken, so they are not lost with the client.
+     * They end up at the tail of the queue.
+     *
+     * @param executor the executor to deliver the signals on.
+     * @return the publisher of the items of this queue.
+     */
+    @Override
+    public Publisher<E> itemPublisher(final Executor executor) {
+        checkNotNull(executor, "executor cannot be null");
+        return new Publisher<E>() {
+            @Override
+            public void subscribe(Subscriber<? super E> subscriber) {
+                checkNotNull(subscriber, "subscriber cannot be null");
+                QueueItemSubscription subscription = new QueueItemSubscription(subscriber, executor);
+                subscriptions.add(subscription);
+                subscription.start();
+            }
+        };
+    }
+
     protected <T> T invoke(ClientMessage req) {
         return super.invoke(req, getPartitionKey());
     }
@@ -361,4 +421,160 @@ public final class ClientQueueProxy<E> extends ClientProxy implements IQueue<E>
     public String toString() {
         return "IQueue{" + "name='" + getName() + '\'' + '}';
     }
+
+    private ClientInvocationFuture invokeAsync(ClientMessage request) {
+        int partitionId = getContext().getPartitionService().getPartitionId(getPartitionKey());
+        return new ClientInvocation(getClient(), request, partitionId).invoke();
+    }
+
+    /**
+     * Polls the queue while its subscriber has outstanding demand.
+     */
+    private final class QueueItemSubscription extends AbstractSubscription<E> implements ExecutionCallback<ClientMessage> {
+
+        private final AtomicBoolean polling = new AtomicBoolean();
+        private final Queue<Data> offerBackQueue = new ConcurrentLinkedQueue<Data>();
+        private final AtomicBoolean offeringBack = new AtomicBoolean();
+
+        QueueItemSubscription(Subscriber<? super E> subscriber, Executor executor) {
+            super(subscriber, executor);
+        }
+
+        @Override
+        void onRequest() {
+            poll();
+        }
+
+        @Override
+        void onRelease() {
+            subscriptions.remove(this);
+        }
+
+        @Override
+        void onDiscard(E item) {
+            offerBack(toData(item));
+        }
+
+        private void poll() {
+            if (isCancelled() || getOutstandingDemand() <= 0 || !polling.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                invokeAsync(QueuePollCodec.encodeRequest(name, PUBLISHER_POLL_TIMEOUT_MILLIS)).andThen(this);
+            } catch (Exception e) {
+                polling.set(false);
+                fail(e);
+            }
+        }
+
+        @Override
+        public void onResponse(ClientMessage response) {
+            Data item = QueuePollCodec.decodeResponse(response).response;
+            polling.set(false);
+            if (item != null) {
+                if (isCancelled()) {
+                    offerBack(item);
+                    return;
+                }
+                E e = toObject(item);
+                emit(e);
+            }
+            poll();
+        }
+
+        @Override
+        public void onFailure(Throwable t) {
+            polling.set(false);
+            fail(t);
+        }
+
+        /**
+         * Puts an item which was taken from the queue but not delivered back into the queue. The items are offered
+         * one at a time so the ones discarded together keep their order, though they end up at the tail of the queue.
+         * An offer which does not succeed within the timeout is retried, an item which can not be put back at all is
+         * logged as lost.
+         */
+        private void offerBack(Data item) {
+            offerBackQueue.offer(item);
+            offerBackNext();
+        }
+
+        private void offerBackNext() {
+            if (!offeringBack.compareAndSet(false, true)) {
+                return;
+            }
+            Data item = offerBackQueue.poll();
+            if (item == null) {
+                offeringBack.set(false);
+                if (!offerBackQueue.isEmpty()) {
+                    offerBackNext();
+                }
+                return;
+            }
+            offerBack(item, 1);
+        }
+
+        private void offerBack(final Data item, final int attempt) {
+            ExecutionCallback<ClientMessage> callback = new ExecutionCallback<ClientMessage>() {
+                @Override
+                public void onResponse(ClientMessage response) {
+                    if (QueueOfferCodec.decodeResponse(response).response) {
+                        offeredBack();
+                    } else {
+                        retryOfferBack(item, attempt, null);
+                    }
+                }
+
+                @Override
+                public void onFailure(Throwable t) {
+                    retryOfferBack(item, attempt, t);
+                }
+            };
+            try {
+                invokeAsync(QueueOfferCodec.encodeRequest(name, item, PUBLISHER_POLL_TIMEOUT_MILLIS)).andThen(callback);
+            } catch (Exception e) {
+                retryOfferBack(item, attempt, e);
+            }
+        }
+
+        private void retryOfferBack(Data item, int attempt, Throwable t) {
+            if (attempt < OFFER_BACK_ATTEMPTS) {
+                offerBack(item, attempt + 1);
+                return;
+            }
+            String message = "Could not offer a taken item back to " + name + " in " + attempt + " attempts, the item is lost";
+            if (t == null) {
+                LOGGER.severe(message + " since the queue is full");
+            } else {
+                LOGGER.severe(message, t);
+            }
+            offeredBack();
+        }
+
+        private void offeredBack() {
+            offeringBack.set(false);
+            offerBackNext();
+        }
+
+        /**
+         * Cancels the subscription and offers its undelivered items back in the calling thread, since the client
+         * closes its connections right after.
+         */
+        void shutdown() {
+            cancel();
+            discardBuffer();
+            Data item;
+            while ((item = offerBackQueue.poll()) != null) {
+                try {
+                    ClientMessage response = invoke(QueueOfferCodec.encodeRequest(name, item, 0));
+                    if (!QueueOfferCodec.decodeResponse(response).response) {
+                        LOGGER.severe("Could not offer a taken item back to " + name
+                                + " on shutdown since the queue is full, the item is lost");
+                    }
+                } catch (Exception e) {
+                    LOGGER.severe("Could not offer a taken item back to " + name + " on shutdown, the item is lost", e);
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.reactive;
+
+/**
+ * A source of a potentially unbounded number of items, published to a {@link Subscriber} according to the demand
+ * the subscriber signals through its {@link Subscription}.
+ *
+ * @param <T> type of the published items
+ */
+public interface Publisher<T> {
+
+    /**
+     * Starts publishing to the given subscriber. Every call creates a new independent {@link Subscription},
+     * handed to {@link Subscriber#onSubscribe(Subscription)}.
+     *
+     * @param subscriber the subscriber to publish to.
+     */
+    void subscribe(Subscriber<? super T> subscriber);
+}
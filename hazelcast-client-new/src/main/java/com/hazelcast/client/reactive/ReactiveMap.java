@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.reactive;
+
+import com.hazelcast.core.EntryEvent;
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.core.ICompletableFuture;
+import com.hazelcast.core.IMap;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An {@link IMap} with an asynchronous variant of each of its single entry operations and a {@link Publisher} of
+ * its entry events. The map proxies of the client implement it:
+ * <pre>
+ *   ReactiveMap&lt;String, Order&gt; map = (ReactiveMap&lt;String, Order&gt;) client.&lt;String, Order&gt;getMap("orders");
+ *   map.putIfAbsentAsync(id, order).andThen(callback, executor);
+ * </pre>
+ * The returned futures complete on the executor passed to
+ * {@link ICompletableFuture#andThen(ExecutionCallback, Executor)}; no thread waits for the response of the cluster.
+ * The bulk operations, like {@link #getAll(java.util.Set)} and {@link #putAll(java.util.Map)}, have no asynchronous
+ * variant.
+ *
+ * @param <K> type of the map keys
+ * @param <V> type of the map values
+ */
+public interface ReactiveMap<K, V> extends IMap<K, V> {
+
+    @Override
+    ICompletableFuture<V> getAsync(K key);
+
+    @Override
+    ICompletableFuture<V> putAsync(K key, V value);
+
+    @Override
+    ICompletableFuture<V> putAsync(K key, V value, long ttl, TimeUnit timeunit);
+
+    @Override
+    ICompletableFuture<V> removeAsync(K key);
+
+    /**
+     * Asynchronously checks whether the key is mapped, like {@link #containsKey(Object)}.
+     *
+     * @return a future of <code>true</code> if the key is mapped.
+     */
+    ICompletableFuture<Boolean> containsKeyAsync(K key);
+
+    /**
+     * Asynchronously puts the value without returning the old one, like {@link #set(Object, Object)}.
+     *
+     * @return a future which completes with <code>null</code> once the value is put.
+     */
+    ICompletableFuture<Void> setAsync(K key, V value);
+
+    /**
+     * Asynchronously puts the value with a time to live without returning the old one, like
+     * {@link #set(Object, Object, long, TimeUnit)}.
+     *
+     * @return a future which completes with <code>null</code> once the value is put.
+     */
+    ICompletableFuture<Void> setAsync(K key, V value, long ttl, TimeUnit timeunit);
+
+    /**
+     * Asynchronously puts the value if the key is not mapped yet, like {@link #putIfAbsent(Object, Object)}.
+     *
+     * @return a future of the value the key was mapped to, <code>null</code> if the value was put.
+     */
+    ICompletableFuture<V> putIfAbsentAsync(K key, V value);
+
+    /**
+     * Asynchronously puts the value with a time to live if the key is not mapped yet, like
+     * {@link #putIfAbsent(Object, Object, long, TimeUnit)}.
+     *
+     * @return a future of the value the key was mapped to, <code>null</code> if the value was put.
+     */
+    ICompletableFuture<V> putIfAbsentAsync(K key, V value, long ttl, TimeUnit timeunit);
+
+    /**
+     * Asynchronously replaces the value of the key if it is mapped, like {@link #replace(Object, Object)}.
+     *
+     * @return a future of the replaced value, <code>null</code> if the key was not mapped.
+     */
+    ICompletableFuture<V> replaceAsync(K key, V value);
+
+    /**
+     * Asynchronously replaces the value of the key if it is mapped to the old value, like
+     * {@link #replace(Object, Object, Object)}.
+     *
+     * @return a future of <code>true</code> if the value was replaced.
+     */
+    ICompletableFuture<Boolean> replaceAsync(K key, V oldValue, V newValue);
+
+    /**
+     * Asynchronously removes the key if it is mapped to the value, like {@link #remove(Object, Object)}.
+     *
+     * @return a future of <code>true</code> if the entry was removed.
+     */
+    ICompletableFuture<Boolean> removeAsync(K key, V value);
+
+    /**
+     * Asynchronously removes the key without returning the old value, like {@link #delete(Object)}.
+     *
+     * @return a future which completes with <code>null</code> once the key is removed.
+     */
+    ICompletableFuture<Void> deleteAsync(K key);
+
+    /**
+     * Returns a publisher of the entry events of this map. Each subscriber registers its own entry listener.
+     * <p/>
+     * Events are buffered until the subscriber requests them and are delivered on the given executor. When more than
+     * <code>bufferCapacity</code> events are waiting for demand, the subscription fails with an
+     * {@link IllegalStateException} and its listener is removed, so a slow subscriber can't exhaust the memory.
+     *
+     * @param includeValue   <code>true</code> if the events should contain the values.
+     * @param bufferCapacity maximum number of events waiting for demand.
+     * @param executor       the executor to deliver the signals on.
+     * @return the publisher of the entry events of this map.
+     */
+    Publisher<EntryEvent<K, V>> entryEventPublisher(boolean includeValue, int bufferCapacity, Executor executor);
+}
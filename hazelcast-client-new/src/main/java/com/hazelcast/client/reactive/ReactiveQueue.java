@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.reactive;
+
+import com.hazelcast.core.IQueue;
+
+import java.util.concurrent.Executor;
+
+/**
+ * An {@link IQueue} whose items can be consumed through a {@link Publisher}. The queue proxies of the client
+ * implement it:
+ * <pre>
+ *   ReactiveQueue&lt;Order&gt; queue = (ReactiveQueue&lt;Order&gt;) client.&lt;Order&gt;getQueue("orders");
+ *   queue.itemPublisher(executor).subscribe(subscriber);
+ * </pre>
+ *
+ * @param <E> type of the queue items
+ */
+public interface ReactiveQueue<E> extends IQueue<E> {
+
+    /**
+     * Returns a publisher which takes the items of this queue as far as its subscribers request them. No thread is
+     * blocked while a subscriber waits for an item.
+     *
+     * @param executor the executor to deliver the signals on.
+     * @return the publisher of the items of this queue.
+     */
+    Publisher<E> itemPublisher(Executor executor);
+}
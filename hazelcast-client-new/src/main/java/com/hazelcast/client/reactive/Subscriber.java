@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.reactive;
+
+/**
+ * Receives the items of a {@link Publisher}.
+ * <p/>
+ * Signals are never delivered concurrently, {@link #onError(Throwable)} and {@link #onComplete()} are terminal.
+ * No items are delivered before they are requested through {@link Subscription#request(long)}.
+ *
+ * @param <T> type of the received items
+ */
+public interface Subscriber<T> {
+
+    /**
+     * Invoked once, before any other signal.
+     *
+     * @param subscription the subscription to request items with, or to cancel.
+     */
+    void onSubscribe(Subscription subscription);
+
+    void onNext(T item);
+
+    void onError(Throwable t);
+
+    void onComplete();
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.reactive;
+
+/**
+ * The link between a {@link Publisher} and one of its {@link Subscriber}s.
+ */
+public interface Subscription {
+
+    /**
+     * Adds the given number of items to the demand of the subscriber. The demand is capped at
+     * {@link Long#MAX_VALUE}, which means unbounded.
+     *
+     * @param n the number of additional items, must be positive.
+     */
+    void request(long n);
+
+    /**
+     * Stops the publishing. Signals which were already in progress may still be delivered.
+     */
+    void cancel();
+}
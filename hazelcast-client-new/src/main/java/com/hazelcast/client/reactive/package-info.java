@@ -0,0 +1,24 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * Non-blocking, backpressure aware publishers of client side data structure contents and events.
+ * <p/>
+ * The interfaces mirror the Reactive Streams contracts, so adapting them to a Reactive Streams implementation is
+ * a one-to-one delegation. Signals are delivered on the executor chosen by the caller and no thread is blocked
+ * while a subscriber waits for items.
+ */
+package com.hazelcast.client.reactive;
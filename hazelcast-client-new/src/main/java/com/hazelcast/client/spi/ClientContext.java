@@ -20,6 +20,7 @@ import com.hazelcast.cache.impl.nearcache.NearCacheManager;
 import com.hazelcast.client.config.ClientConfig;
 import com.hazelcast.client.impl.HazelcastClientInstanceImpl;
 import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.metrics.MetricsRegistry;
 import com.hazelcast.nio.serialization.SerializationService;
 
 public final class ClientContext {
@@ -31,6 +32,7 @@ public final class ClientContext {
     private final ClientExecutionService executionService;
     private final ClientListenerService listenerService;
     private final NearCacheManager nearCacheManager;
+    private final MetricsRegistry metricsRegistry;
     private final ClientTransactionManagerService transactionManager;
     private final ProxyManager proxyManager;
     private final ClientConfig clientConfig;
@@ -43,6 +45,7 @@ public final class ClientContext {
         this.executionService = client.getClientExecutionService();
         this.listenerService = client.getListenerService();
         this.nearCacheManager = client.getNearCacheManager();
+        this.metricsRegistry = client.getMetricsRegistry();
         this.proxyManager = proxyManager;
         this.clientConfig = client.getClientConfig();
         this.transactionManager = client.getTransactionManager();
@@ -84,6 +87,10 @@ public final class ClientContext {
         return nearCacheManager;
     }
 
+    public MetricsRegistry getMetricsRegistry() {
+        return metricsRegistry;
+    }
+
     public void removeProxy(ClientProxy proxy) {
         proxyManager.removeProxy(proxy.getServiceName(), proxy.getName());
     }
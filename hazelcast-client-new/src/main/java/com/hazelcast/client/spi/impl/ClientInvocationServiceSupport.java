@@ -33,16 +33,13 @@ import com.hazelcast.nio.Address;
 import com.hazelcast.nio.Connection;
 import com.hazelcast.nio.ConnectionListener;
 import com.hazelcast.spi.exception.TargetDisconnectedException;
+import com.hazelcast.util.ConcurrentInt2ObjectHashMap;
 import com.hazelcast.util.ConstructorFunction;
 
 import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
-import java.util.Iterator;
-import java.util.Map;
 import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -61,10 +58,10 @@ abstract class ClientInvocationServiceSupport implements ClientInvocationService
     protected final ClientExecutionService executionService;
     private final ILogger logger = Logger.getLogger(ClientInvocationService.class);
     private final ResponseThread responseThread;
-    private final ConcurrentMap<Integer, ClientInvocation> callIdMap
-            = new ConcurrentHashMap<Integer, ClientInvocation>();
-    private final ConcurrentMap<Integer, ClientInvocation> eventHandlerMap
-            = new ConcurrentHashMap<Integer, ClientInvocation>();
+    private final ConcurrentInt2ObjectHashMap<ClientInvocation> callIdMap
+            = new ConcurrentInt2ObjectHashMap<ClientInvocation>();
+    private final ConcurrentInt2ObjectHashMap<ClientInvocation> eventHandlerMap
+            = new ConcurrentInt2ObjectHashMap<ClientInvocation>();
     private final AtomicInteger callIdIncrementer = new AtomicInteger();
 
     private volatile boolean isShutdown;
@@ -154,7 +151,7 @@ abstract class ClientInvocationServiceSupport implements ClientInvocationService
     @Override
     public boolean removeEventHandler(Integer callId) {
         if (callId != null) {
-            return eventHandlerMap.remove(callId) != null;
+            return eventHandlerMap.remove(callId.intValue()) != null;
 
         }
         return false;
@@ -162,21 +159,18 @@ abstract class ClientInvocationServiceSupport implements ClientInvocationService
 
 
     public void cleanResources(ConstructorFunction<Object, Throwable> responseCtor, ClientConnection connection) {
-        final Iterator<Map.Entry<Integer, ClientInvocation>> iter = callIdMap.entrySet().iterator();
-        while (iter.hasNext()) {
-            final Map.Entry<Integer, ClientInvocation> entry = iter.next();
-            final ClientInvocation invocation = entry.getValue();
-            if (connection.equals(invocation.getSendConnection())) {
-                iter.remove();
+        for (int callId : callIdMap.keys()) {
+            final ClientInvocation invocation = callIdMap.get(callId);
+            if (invocation != null && connection.equals(invocation.getSendConnection())
+                    && callIdMap.remove(callId, invocation)) {
+                eventHandlerMap.remove(callId, invocation);
                 invocation.notifyException(responseCtor.createNew(null));
-                eventHandlerMap.remove(entry.getKey());
             }
         }
-        final Iterator<ClientInvocation> iterator = eventHandlerMap.values().iterator();
-        while (iterator.hasNext()) {
-            final ClientInvocation invocation = iterator.next();
-            if (connection.equals(invocation.getSendConnection())) {
-                iterator.remove();
+        for (int callId : eventHandlerMap.keys()) {
+            final ClientInvocation invocation = eventHandlerMap.get(callId);
+            if (invocation != null && connection.equals(invocation.getSendConnection())
+                    && eventHandlerMap.remove(callId, invocation)) {
                 invocation.notifyException(responseCtor.createNew(null));
             }
         }
@@ -196,13 +190,12 @@ abstract class ClientInvocationServiceSupport implements ClientInvocationService
         removeListenerInvocation.invoke();
 
         final Address remoteEndpoint = connection.getEndPoint();
-        final Iterator<ClientInvocation> iterator = eventHandlerMap.values().iterator();
         final TargetDisconnectedException response = new TargetDisconnectedException(remoteEndpoint);
 
-        while (iterator.hasNext()) {
-            final ClientInvocation clientInvocation = iterator.next();
-            if (clientInvocation.getSendConnection().equals(connection)) {
-                iterator.remove();
+        for (int callId : eventHandlerMap.keys()) {
+            final ClientInvocation clientInvocation = eventHandlerMap.get(callId);
+            if (clientInvocation != null && clientInvocation.getSendConnection().equals(connection)
+                    && eventHandlerMap.remove(callId, clientInvocation)) {
                 clientInvocation.notifyException(response);
             }
         }
@@ -47,7 +47,14 @@ public final class ClientSmartInvocationServiceImpl extends ClientInvocationServ
             throw new IOException("Partition does not have owner. partitionId : " + partitionId);
         }
         invocation.getClientMessage().setPartitionId(partitionId);
-        Connection connection = getConnection(owner);
+        Connection connection;
+        if (invocation.getHandler() == null) {
+            ensureOwnerConnectionAvailable();
+            connection = connectionManager.getOrConnect(owner, authenticator, partitionId);
+        } else {
+            // listener registrations stay on the first connection, their events come back over it
+            connection = getConnection(owner);
+        }
         send(invocation, (ClientConnection) connection);
     }
 
@@ -16,6 +16,7 @@
 
 package com.hazelcast.client.util;
 
+import com.hazelcast.client.impl.ClientMessageDecoder;
 import com.hazelcast.client.impl.protocol.ClientMessage;
 import com.hazelcast.client.impl.protocol.codec.ExecutorServiceSubmitToPartitionCodec;
 import com.hazelcast.client.spi.impl.ClientInvocationFuture;
@@ -33,26 +34,46 @@ import java.util.concurrent.TimeoutException;
 
 public class ClientDelegatingFuture<V> implements ICompletableFuture<V> {
 
+    private static final ClientMessageDecoder<Data> DATA_RESPONSE_DECODER = new ClientMessageDecoder<Data>() {
+        @Override
+        public Data decodeClientMessage(ClientMessage clientMessage) {
+            return ExecutorServiceSubmitToPartitionCodec.decodeResponse(clientMessage).response;
+        }
+    };
+
     private final ClientInvocationFuture future;
     private final SerializationService serializationService;
+    // the decoded value is deserialized if it is data, so its type may differ from V
+    private final ClientMessageDecoder<?> decoder;
     private final V defaultValue;
     private final Object mutex = new Object();
     private Throwable error;
     private V deserializedValue;
-    private Data valueData;
+    // the decoded response, serialized if it is data
+    private Object valueData;
     private volatile boolean done;
 
     public ClientDelegatingFuture(ClientInvocationFuture clientInvocationFuture,
                                   SerializationService serializationService, V defaultValue) {
         this.future = clientInvocationFuture;
         this.serializationService = serializationService;
+        this.decoder = DATA_RESPONSE_DECODER;
         this.defaultValue = defaultValue;
     }
 
     public ClientDelegatingFuture(ClientInvocationFuture clientInvocationFuture,
                                   SerializationService serializationService) {
+        this(clientInvocationFuture, serializationService, DATA_RESPONSE_DECODER);
+    }
+
+    /**
+     * @param decoder decodes the response message of the invocation, for responses other than a single nullable data.
+     */
+    public ClientDelegatingFuture(ClientInvocationFuture clientInvocationFuture,
+                                  SerializationService serializationService, ClientMessageDecoder<?> decoder) {
         this.future = clientInvocationFuture;
         this.serializationService = serializationService;
+        this.decoder = decoder;
         this.defaultValue = null;
     }
 
@@ -150,8 +171,8 @@ public class ClientDelegatingFuture<V> implements ICompletableFuture<V> {
         }
     }
 
-    private Data resolveMessageToValue(ClientMessage message) {
-        return ExecutorServiceSubmitToPartitionCodec.decodeResponse(message).response;
+    private Object resolveMessageToValue(ClientMessage message) {
+        return decoder.decodeClientMessage(message);
     }
 
     protected void setError(Throwable error) {
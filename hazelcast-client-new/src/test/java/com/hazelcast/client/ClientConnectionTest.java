@@ -19,14 +19,18 @@ package com.hazelcast.client;
 import com.hazelcast.client.config.ClientConfig;
 import com.hazelcast.client.config.ClientProperties;
 import com.hazelcast.client.connection.ClientConnectionManager;
+import com.hazelcast.client.connection.nio.ClientConnection;
+import com.hazelcast.client.connection.nio.ClientWriteHandler;
 import com.hazelcast.client.impl.ClientTestUtil;
 import com.hazelcast.client.impl.HazelcastClientInstanceImpl;
 import com.hazelcast.core.Client;
 import com.hazelcast.core.Hazelcast;
 import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
 import com.hazelcast.nio.Address;
 import com.hazelcast.nio.Connection;
 import com.hazelcast.nio.ConnectionListener;
+import com.hazelcast.nio.SocketWritable;
 import com.hazelcast.test.HazelcastSerialClassRunner;
 import com.hazelcast.test.HazelcastTestSupport;
 import com.hazelcast.test.annotation.QuickTest;
@@ -37,10 +41,17 @@ import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
 import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import static java.util.concurrent.TimeUnit.MINUTES;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 @RunWith(HazelcastSerialClassRunner.class)
 @Category(QuickTest.class)
@@ -126,6 +137,105 @@ public class ClientConnectionTest extends HazelcastTestSupport {
         assertEquals("connection removed should be called only once", 1, listener.count.get());
     }
 
+    @Test
+    public void testRequestBatching() throws Exception {
+        HazelcastInstance server = Hazelcast.newHazelcastInstance();
+        ClientConfig config = new ClientConfig();
+        config.setProperty(ClientProperties.PROP_REQUEST_BATCH_MAX_SIZE, "64");
+        // no heartbeat may be queued together with the puts
+        config.setProperty(ClientProperties.PROP_HEARTBEAT_INTERVAL, String.valueOf(MINUTES.toMillis(10)));
+        HazelcastInstance client = HazelcastClient.newHazelcastClient(config);
+        IMap<Integer, Integer> map = client.getMap(randomMapName());
+        map.put(-1, -1);
+
+        ClientConnectionManager connectionManager = ClientTestUtil.getHazelcastClientInstanceImpl(client).getConnectionManager();
+        ClientConnection connection = (ClientConnection) connectionManager.getConnection(getAddress(server));
+        ClientWriteHandler writeHandler = connection.getWriteHandler();
+        long batchCount = writeHandler.getBatchCount();
+        long batchedMessageCount = writeHandler.getBatchedMessageCount();
+
+        // stalls the write handler, so the puts are queued behind the blocker
+        BlockingWritable blocker = new BlockingWritable();
+        assertTrue(connection.write(blocker));
+        assertOpenEventually(blocker.entered);
+        List<Future<Integer>> futures = putAsync(map, 100);
+        blocker.release.countDown();
+        assertPut(map, futures);
+
+        // 100 queued requests are sent as one full batch of 64 and one of 36
+        assertEquals(batchCount + 2, writeHandler.getBatchCount());
+        assertEquals(batchedMessageCount + 100, writeHandler.getBatchedMessageCount());
+    }
+
+    @Test
+    public void testMultipleConnectionsPerMember_partitionAffinity() throws Exception {
+        testMultipleConnectionsPerMember("PARTITION");
+    }
+
+    @Test
+    public void testMultipleConnectionsPerMember_roundRobinAffinity() throws Exception {
+        testMultipleConnectionsPerMember("ROUND_ROBIN");
+    }
+
+    private void testMultipleConnectionsPerMember(String affinity) throws Exception {
+        HazelcastInstance server1 = Hazelcast.newHazelcastInstance();
+        HazelcastInstance server2 = Hazelcast.newHazelcastInstance();
+        ClientConfig config = new ClientConfig();
+        config.setProperty(ClientProperties.PROP_CONNECTIONS_PER_MEMBER, "4");
+        config.setProperty(ClientProperties.PROP_CONNECTION_AFFINITY, affinity);
+        HazelcastInstance client = HazelcastClient.newHazelcastClient(config);
+
+        putAsyncAndVerify(client);
+
+        // every connection is authenticated as an endpoint of its own
+        assertEquals(4, getNode(server1).clientEngine.getClientEndpointCount());
+        assertEquals(4, getNode(server2).clientEngine.getClientEndpointCount());
+    }
+
+    private static void putAsyncAndVerify(HazelcastInstance client) throws Exception {
+        IMap<Integer, Integer> map = client.getMap(randomMapName());
+        assertPut(map, putAsync(map, 1000));
+    }
+
+    private static List<Future<Integer>> putAsync(IMap<Integer, Integer> map, int count) {
+        List<Future<Integer>> futures = new ArrayList<Future<Integer>>(count);
+        for (int i = 0; i < count; i++) {
+            futures.add(map.putAsync(i, i));
+        }
+        return futures;
+    }
+
+    private static void assertPut(IMap<Integer, Integer> map, List<Future<Integer>> futures) throws Exception {
+        for (Future<Integer> future : futures) {
+            future.get();
+        }
+
+        for (int i = 0; i < futures.size(); i++) {
+            assertEquals(i, (int) map.get(i));
+        }
+    }
+
+    /**
+     * Blocks the IO thread writing it until released, it writes nothing.
+     */
+    private static class BlockingWritable implements SocketWritable {
+
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public boolean writeTo(ByteBuffer destination) {
+            entered.countDown();
+            assertOpenEventually(release);
+            return true;
+        }
+
+        @Override
+        public boolean isUrgent() {
+            return false;
+        }
+    }
+
     private class CountingConnectionRemoveListener implements ConnectionListener {
 
         final AtomicInteger count = new AtomicInteger();
@@ -25,6 +25,7 @@ import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.ListenerConfig;
 import com.hazelcast.config.MapIndexConfig;
 import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.config.NearCachePreloaderConfig;
 import com.hazelcast.config.QueryCacheConfig;
 import com.hazelcast.config.SerializationConfig;
 import com.hazelcast.config.SerializerConfig;
@@ -233,6 +234,12 @@ public class XmlClientConfigBuilderTest {
         assertEquals("LFU", nearCacheConfig.getEvictionPolicy());
         assertTrue(nearCacheConfig.isInvalidateOnChange());
         assertEquals(InMemoryFormat.OBJECT, nearCacheConfig.getInMemoryFormat());
+
+        NearCachePreloaderConfig preloaderConfig = nearCacheConfig.getPreloaderConfig();
+        assertTrue(preloaderConfig.isEnabled());
+        assertEquals("/tmp/near-cache", preloaderConfig.getDirectory());
+        assertEquals(30, preloaderConfig.getStoreInitialDelaySeconds());
+        assertEquals(60, preloaderConfig.getStoreIntervalSeconds());
     }
 
     @Test
@@ -19,12 +19,16 @@ package com.hazelcast.client.map;
 import com.hazelcast.client.HazelcastClient;
 import com.hazelcast.client.config.ClientConfig;
 import com.hazelcast.client.config.ClientProperties;
+import com.hazelcast.client.impl.HazelcastClientProxy;
+import com.hazelcast.client.proxy.ClientMapProxy;
+import com.hazelcast.client.spi.ClientPartitionService;
 import com.hazelcast.core.EntryAdapter;
 import com.hazelcast.core.Hazelcast;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.IMap;
 import com.hazelcast.instance.TestUtil;
 import com.hazelcast.map.impl.MapService;
+import com.hazelcast.nio.Address;
 import com.hazelcast.query.PagingPredicate;
 import com.hazelcast.spi.EventRegistration;
 import com.hazelcast.spi.EventService;
@@ -38,10 +42,14 @@ import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 
+import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
 
 /**
@@ -153,6 +161,46 @@ public class ClientMapIssueTest extends HazelcastTestSupport {
         assertOpenEventually(latch);
     }
 
+    @Test
+    public void testGetAllAndPutAll_whenKeysOwnedByDifferentMembers() throws Exception {
+        final HazelcastInstance instance1 = Hazelcast.newHazelcastInstance();
+        final HazelcastInstance instance2 = Hazelcast.newHazelcastInstance();
+        final HazelcastInstance client = HazelcastClient.newHazelcastClient();
+        final ClientPartitionService partitionService = ((HazelcastClientProxy) client).client.getClientPartitionService();
+        final Address address1 = getAddress(instance1);
+        final Address address2 = getAddress(instance2);
+
+        final Map<String, String> entries = new HashMap<String, String>();
+        for (int i = 0; i < 10; i++) {
+            String key1 = generateKeyOwnedBy(instance1);
+            String key2 = generateKeyOwnedBy(instance2);
+            entries.put(key1, key1);
+            entries.put(key2, key2);
+        }
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                Set<Address> owners = new HashSet<Address>();
+                for (String key : entries.keySet()) {
+                    owners.add(partitionService.getPartitionOwner(partitionService.getPartitionId(key)));
+                }
+                assertEquals(new HashSet<Address>(asList(address1, address2)), owners);
+            }
+        });
+
+        ClientMapProxy<String, String> map = (ClientMapProxy<String, String>) client.<String, String>getMap(randomMapName());
+        map.putAll(entries);
+
+        assertEquals(entries, map.getAll(entries.keySet()));
+        Map<String, String> streamed = new HashMap<String, String>();
+        Iterator<Map.Entry<String, String>> iterator = map.getAllStreaming(entries.keySet());
+        while (iterator.hasNext()) {
+            Map.Entry<String, String> entry = iterator.next();
+            streamed.put(entry.getKey(), entry.getValue());
+        }
+        assertEquals(entries, streamed);
+    }
+
     @Test
     public void testMapPagingEntries() {
         final HazelcastInstance instance1 = Hazelcast.newHazelcastInstance();
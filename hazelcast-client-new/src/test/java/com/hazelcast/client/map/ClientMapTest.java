@@ -18,6 +18,7 @@ package com.hazelcast.client.map;
 
 import com.hazelcast.client.HazelcastClient;
 import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.client.proxy.ClientMapProxy;
 import com.hazelcast.config.Config;
 import com.hazelcast.config.MapStoreConfig;
 import com.hazelcast.core.EntryAdapter;
@@ -54,6 +55,7 @@ import java.io.Serializable;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
@@ -238,6 +240,32 @@ public class ClientMapTest {
         assertEquals(m2.get(3), 3);
     }
 
+    @Test
+    public void testGetAllStreaming() {
+        IMap<Integer, Integer> clientMap = client.getMap(randomString());
+        ClientMapProxy<Integer, Integer> map = (ClientMapProxy<Integer, Integer>) clientMap;
+        Map<Integer, Integer> entries = new HashMap<Integer, Integer>();
+        for (int i = 0; i < 100; i++) {
+            entries.put(i, i);
+        }
+        map.putAll(entries);
+
+        Set<Integer> keys = new HashSet<Integer>();
+        for (int i = 50; i < 150; i++) {
+            keys.add(i);
+        }
+        Map<Integer, Integer> result = new HashMap<Integer, Integer>();
+        Iterator<Map.Entry<Integer, Integer>> iterator = map.getAllStreaming(keys);
+        while (iterator.hasNext()) {
+            Map.Entry<Integer, Integer> entry = iterator.next();
+            result.put(entry.getKey(), entry.getValue());
+        }
+        assertEquals(50, result.size());
+        for (int i = 50; i < 100; i++) {
+            assertEquals(i, (int) result.get(i));
+        }
+    }
+
     @Test
     public void testAsyncGet() throws Exception {
         final IMap map = createMap();
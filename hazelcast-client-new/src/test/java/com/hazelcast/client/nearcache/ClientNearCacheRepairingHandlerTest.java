@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.nearcache;
+
+import com.hazelcast.cache.impl.nearcache.NearCacheContext;
+import com.hazelcast.client.spi.ClientPartitionService;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.map.impl.NearCache;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class ClientNearCacheRepairingHandlerTest {
+
+    private static final String UUID = "uuid";
+
+    private final Map<Data, Integer> partitions = new HashMap<Data, Integer>();
+
+    private NearCache nearCache;
+    private ClientNearCacheRepairingHandler handler;
+    private Data key1;
+    private Data key2;
+    private Data key3;
+
+    @Before
+    public void setup() {
+        SerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+        ClientPartitionService partitionService = mock(ClientPartitionService.class);
+        when(partitionService.getPartitionCount()).thenReturn(2);
+        when(partitionService.getPartitionId(any())).thenAnswer(new Answer<Integer>() {
+            @Override
+            public Integer answer(InvocationOnMock invocation) throws Throwable {
+                return partitions.get(invocation.getArguments()[0]);
+            }
+        });
+
+        NearCacheConfig nearCacheConfig = new NearCacheConfig();
+        nearCacheConfig.setInMemoryFormat(InMemoryFormat.OBJECT);
+        nearCache = new NearCache("map", nearCacheConfig, new NearCacheContext(serializationService, null), null);
+        handler = new ClientNearCacheRepairingHandler(nearCache, partitionService);
+
+        key1 = serializationService.toData(1);
+        key2 = serializationService.toData(2);
+        key3 = serializationService.toData(3);
+        partitions.put(key1, 0);
+        partitions.put(key2, 0);
+        partitions.put(key3, 1);
+        nearCache.put(key1, "value1");
+        nearCache.put(key2, "value2");
+        nearCache.put(key3, "value3");
+    }
+
+    @Test
+    public void testConsecutiveBatches_invalidateOnlyTheirKeys() {
+        handler.handle(Collections.singletonList(key1), 0, UUID, 1);
+        nearCache.put(key1, "value1");
+        handler.handle(Collections.singletonList(key1), 0, UUID, 2);
+
+        assertNull(nearCache.get(key1));
+        assertNotNull(nearCache.get(key2));
+        assertNotNull(nearCache.get(key3));
+        assertEquals(0, handler.getRepairs());
+        assertEquals(2, handler.getBatchesReceived());
+        assertEquals(2, handler.getInvalidationsReceived());
+    }
+
+    @Test
+    public void testSequenceGap_invalidatesPartition() {
+        handler.handle(Collections.singletonList(key1), 0, UUID, 1);
+        nearCache.put(key1, "value1");
+        // sequences 2 and 3 are lost
+        handler.handle(Collections.singletonList(key1), 0, UUID, 4);
+
+        assertNull(nearCache.get(key1));
+        assertNull(nearCache.get(key2));
+        assertNotNull(nearCache.get(key3));
+        assertEquals(1, handler.getRepairs());
+    }
+
+    @Test
+    public void testBatchContinuingSequence_doesNotRepair() {
+        handler.handle(Collections.singletonList(key1), 0, UUID, 1);
+        handler.handle(Arrays.asList(key1, key1), 0, UUID, 3);
+
+        assertNotNull(nearCache.get(key2));
+        assertEquals(0, handler.getRepairs());
+    }
+
+    @Test
+    public void testUuidChange_invalidatesPartition() {
+        handler.handle(Collections.singletonList(key3), 1, UUID, 1);
+        nearCache.put(key3, "value3");
+        handler.handle(Collections.singletonList(key3), 1, "newUuid", 2);
+
+        assertNull(nearCache.get(key3));
+        assertNotNull(nearCache.get(key1));
+        assertEquals(1, handler.getRepairs());
+    }
+
+    @Test
+    public void testBatchWithoutKeys_clearsNearCache() {
+        handler.handle(Collections.singletonList(key1), 0, UUID, 1);
+        handler.handle(Collections.<Data>emptyList(), 0, UUID, 2);
+
+        assertNull(nearCache.get(key1));
+        assertNull(nearCache.get(key2));
+        assertNull(nearCache.get(key3));
+        assertEquals(0, handler.getRepairs());
+    }
+
+    @Test
+    public void testBatchWithoutKeys_afterDroppedKeys_doesNotRepair() {
+        handler.handle(Collections.singletonList(key1), 0, UUID, 1);
+        // the member queued sequences 2 and 3, then the partition was cleared
+        handler.handle(Collections.<Data>emptyList(), 0, UUID, 4);
+        nearCache.put(key2, "value2");
+        handler.handle(Collections.singletonList(key1), 0, UUID, 5);
+
+        assertNotNull(nearCache.get(key2));
+        assertEquals(0, handler.getRepairs());
+    }
+
+    @Test
+    public void testBatchAfterBatchWithoutKeys_continuesSequence() {
+        handler.handle(Collections.<Data>emptyList(), 0, UUID, 1);
+        nearCache.put(key1, "value1");
+        nearCache.put(key2, "value2");
+        handler.handle(Collections.singletonList(key1), 0, UUID, 2);
+
+        assertNull(nearCache.get(key1));
+        assertNotNull(nearCache.get(key2));
+        assertEquals(0, handler.getRepairs());
+    }
+
+    @Test
+    public void testReset_forgetsSequences() {
+        handler.handle(Collections.singletonList(key1), 0, UUID, 1);
+        handler.reset();
+        handler.handle(Collections.singletonList(key1), 0, UUID, 5);
+
+        assertNotNull(nearCache.get(key2));
+        assertEquals(0, handler.getRepairs());
+    }
+}
@@ -0,0 +1,191 @@
+package com.hazelcast.client.proxy;
+
+import com.hazelcast.client.reactive.Subscriber;
+import com.hazelcast.client.reactive.Subscription;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class AbstractSubscriptionTest {
+
+    private static final Executor CALLER_RUNS = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+    };
+
+    @Test
+    public void testItemsAreDeliveredAsRequested() {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        TestSubscription subscription = new TestSubscription(subscriber);
+        subscription.start();
+        assertNotNull(subscriber.subscription);
+
+        subscription.emit(1);
+        subscription.emit(2);
+        subscription.emit(3);
+        assertTrue(subscriber.items.isEmpty());
+        assertEquals(3, subscription.getBufferSize());
+
+        subscriber.subscription.request(2);
+        assertEquals(Arrays.asList(1, 2), subscriber.items);
+        assertEquals(1, subscription.getBufferSize());
+
+        subscriber.subscription.request(5);
+        assertEquals(Arrays.asList(1, 2, 3), subscriber.items);
+        assertEquals(4, subscription.getOutstandingDemand());
+    }
+
+    @Test
+    public void testComplete_afterBufferedItems() {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        TestSubscription subscription = new TestSubscription(subscriber);
+        subscription.start();
+        subscription.emit(1);
+        subscription.complete();
+        assertFalse(subscriber.completed);
+        assertEquals(1, subscription.releaseCount);
+
+        subscriber.subscription.request(1);
+        assertEquals(Arrays.asList(1), subscriber.items);
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    public void testFail_discardsBufferedItems() {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        TestSubscription subscription = new TestSubscription(subscriber);
+        subscription.start();
+        subscription.emit(1);
+        subscription.emit(2);
+        IllegalStateException error = new IllegalStateException();
+        subscription.fail(error);
+
+        assertEquals(error, subscriber.error);
+        assertTrue(subscriber.items.isEmpty());
+        assertEquals(Arrays.asList(1, 2), subscription.discarded);
+        assertEquals(1, subscription.releaseCount);
+    }
+
+    @Test
+    public void testCancel_releasesOnce() {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        TestSubscription subscription = new TestSubscription(subscriber);
+        subscription.start();
+        subscription.emit(1);
+        subscriber.subscription.cancel();
+        subscriber.subscription.cancel();
+        subscription.complete();
+
+        assertTrue(subscription.isCancelled());
+        assertEquals(1, subscription.releaseCount);
+        assertEquals(Arrays.asList(1), subscription.discarded);
+        assertFalse(subscriber.completed);
+        assertNull(subscriber.error);
+    }
+
+    @Test
+    public void testRequest_nonPositive_fails() {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        TestSubscription subscription = new TestSubscription(subscriber);
+        subscription.start();
+        subscriber.subscription.request(0);
+
+        assertTrue(subscriber.error instanceof IllegalArgumentException);
+    }
+
+    @Test
+    public void testRequest_unbounded_doesNotOverflow() {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        TestSubscription subscription = new TestSubscription(subscriber);
+        subscription.start();
+        subscriber.subscription.request(Long.MAX_VALUE);
+        subscriber.subscription.request(Long.MAX_VALUE);
+        subscription.emit(1);
+
+        assertEquals(Arrays.asList(1), subscriber.items);
+        assertEquals(Long.MAX_VALUE, subscription.getOutstandingDemand());
+    }
+
+    @Test
+    public void testFailingSubscriber_isCancelled() {
+        RecordingSubscriber subscriber = new RecordingSubscriber() {
+            @Override
+            public void onNext(Integer item) {
+                throw new RuntimeException("expected");
+            }
+        };
+        TestSubscription subscription = new TestSubscription(subscriber);
+        subscription.start();
+        subscriber.subscription.request(2);
+        subscription.emit(1);
+        subscription.emit(2);
+
+        assertTrue(subscription.isCancelled());
+        assertEquals(1, subscription.releaseCount);
+    }
+
+    private static class TestSubscription extends AbstractSubscription<Integer> {
+
+        final List<Integer> discarded = new ArrayList<Integer>();
+        int releaseCount;
+
+        TestSubscription(Subscriber<? super Integer> subscriber) {
+            super(subscriber, CALLER_RUNS);
+        }
+
+        @Override
+        void onRelease() {
+            releaseCount++;
+        }
+
+        @Override
+        void onDiscard(Integer item) {
+            discarded.add(item);
+        }
+    }
+
+    private static class RecordingSubscriber implements Subscriber<Integer> {
+
+        final List<Integer> items = new ArrayList<Integer>();
+        Subscription subscription;
+        Throwable error;
+        boolean completed;
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(Integer item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            error = t;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
@@ -168,4 +168,31 @@ public interface CacheStatistics {
      */
     float getAverageRemoveTime();
 
+    /**
+     * The time to execute gets at the given percentile, e.g. 99.9 for the time which 99.9% of the gets did not
+     * exceed. The time is rounded up by at most 12.5%.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the time in microseconds at the percentile, 0 if there were no gets
+     */
+    long getGetTimeAtPercentile(double percentile);
+
+    /**
+     * The time to execute puts at the given percentile, e.g. 99.9 for the time which 99.9% of the puts did not
+     * exceed. The time is rounded up by at most 12.5%.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the time in microseconds at the percentile, 0 if there were no puts
+     */
+    long getPutTimeAtPercentile(double percentile);
+
+    /**
+     * The time to execute removes at the given percentile, e.g. 99.9 for the time which 99.9% of the removes did
+     * not exceed. The time is rounded up by at most 12.5%.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the time in microseconds at the percentile, 0 if there were no removes
+     */
+    long getRemoveTimeAtPercentile(double percentile);
+
 }
@@ -218,10 +218,7 @@ abstract class AbstractCacheProxy<K, V>
     public void putAll(Map<? extends K, ? extends V> map, ExpiryPolicy expiryPolicy) {
         ensureOpen();
         validateNotNull(map);
-        //TODO implement putAllOperationFactory
-        for (Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
-            put(entry.getKey(), entry.getValue(), expiryPolicy);
-        }
+        putAllInternal(map, expiryPolicy);
     }
 
     @Override
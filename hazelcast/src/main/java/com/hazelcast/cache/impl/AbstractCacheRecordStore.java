@@ -17,6 +17,7 @@
 package com.hazelcast.cache.impl;
 
 import com.hazelcast.cache.CacheNotExistsException;
+import com.hazelcast.cache.impl.eviction.EvictionCandidate;
 import com.hazelcast.cache.impl.eviction.EvictionChecker;
 import com.hazelcast.cache.impl.eviction.EvictionListener;
 import com.hazelcast.cache.impl.eviction.EvictionPolicyEvaluator;
@@ -52,10 +53,12 @@ import javax.cache.integration.CacheWriter;
 import javax.cache.integration.CacheWriterException;
 import javax.cache.processor.EntryProcessor;
 import java.io.Closeable;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
@@ -77,6 +80,8 @@ public abstract class AbstractCacheRecordStore<R extends CacheRecord, CRM extend
 
     protected static final int DEFAULT_INITIAL_CAPACITY = 1000;
     protected static final String SOURCE_NOT_AVAILABLE = "<NA>";
+    protected static final int EXPIRATION_SAMPLE_COUNT = 20;
+    protected static final int EXPIRED_SAMPLE_PERCENTAGE_TO_CONTINUE = 25;
 
     protected final String name;
     protected final int partitionId;
@@ -221,6 +226,54 @@ public abstract class AbstractCacheRecordStore<R extends CacheRecord, CRM extend
         return evictedCount;
     }
 
+    @Override
+    public boolean isExpirable() {
+        return hasExpiringEntry;
+    }
+
+    @Override
+    public int evictExpiredEntries(int maxScanCount, boolean backup) {
+        if (!hasExpiringEntry || records.isEmpty()) {
+            return 0;
+        }
+        final long now = Clock.currentTimeMillis();
+        final List<EvictionCandidate<Data, R>> expiredCandidates = new ArrayList<EvictionCandidate<Data, R>>();
+        int scannedCount = 0;
+        int expiredCount = 0;
+        while (scannedCount < maxScanCount) {
+            final int sampleCount = Math.min(EXPIRATION_SAMPLE_COUNT, maxScanCount - scannedCount);
+            int sampledCount = 0;
+            final Iterable<EvictionCandidate<Data, R>> samples = records.sample(sampleCount);
+            for (EvictionCandidate<Data, R> candidate : samples) {
+                sampledCount++;
+                if (candidate.getEvictable().isExpiredAt(now)) {
+                    expiredCandidates.add(candidate);
+                }
+            }
+            // remove after sampling, the sampling iterator walks the live table
+            for (EvictionCandidate<Data, R> candidate : expiredCandidates) {
+                final Data key = candidate.getAccessor();
+                final R record = candidate.getEvictable();
+                if (backup) {
+                    if (records.remove(key) != null) {
+                        expiredCount++;
+                    }
+                } else if (processExpiredEntry(key, record, record.getExpirationTime(), now) == null) {
+                    expiredCount++;
+                }
+            }
+            scannedCount += sampledCount;
+            final int expiredInSample = expiredCandidates.size();
+            expiredCandidates.clear();
+            // continue only while it pays off: when few of the samples are expired, so are few of the records
+            if (sampledCount < sampleCount
+                    || expiredInSample * ONE_HUNDRED_PERCENT < sampledCount * EXPIRED_SAMPLE_PERCENTAGE_TO_CONTINUE) {
+                break;
+            }
+        }
+        return expiredCount;
+    }
+
     protected Data toData(Object obj) {
         if (obj instanceof Data) {
             return (Data) obj;
@@ -35,6 +35,7 @@ import com.hazelcast.spi.Operation;
 import com.hazelcast.spi.OperationService;
 import com.hazelcast.spi.PartitionMigrationEvent;
 import com.hazelcast.spi.PostJoinAwareService;
+import com.hazelcast.spi.impl.NodeEngineImpl;
 import com.hazelcast.util.ConcurrencyUtil;
 import com.hazelcast.util.ConstructorFunction;
 
@@ -67,6 +68,7 @@ public abstract class AbstractCacheService
 
     protected NodeEngine nodeEngine;
     protected CachePartitionSegment[] segments;
+    protected CacheExpirationManager expirationManager;
 
     @Override
     public final void init(NodeEngine nodeEngine, Properties properties) {
@@ -76,6 +78,11 @@ public abstract class AbstractCacheService
         for (int i = 0; i < partitionCount; i++) {
             segments[i] = new CachePartitionSegment(this, i);
         }
+        expirationManager = new CacheExpirationManager(this, nodeEngine);
+        expirationManager.start();
+        if (nodeEngine instanceof NodeEngineImpl) {
+            ((NodeEngineImpl) nodeEngine).getMetricsRegistry().scanAndRegister(expirationManager, "cache.expiration");
+        }
         postInit(nodeEngine, properties);
     }
 
@@ -30,14 +30,19 @@ import com.hazelcast.util.ExceptionUtil;
 import javax.cache.CacheException;
 import javax.cache.configuration.CacheEntryListenerConfiguration;
 import javax.cache.expiry.ExpiryPolicy;
+import java.util.AbstractMap;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -235,6 +240,56 @@ abstract class AbstractInternalCacheProxy<K, V>
             throw ExceptionUtil.rethrowAllowedTypeFirst(t, CacheException.class);
         }
     }
+
+    /**
+     * Puts the entries with one operation per partition, all partitions in parallel.
+     */
+    protected void putAllInternal(Map<? extends K, ? extends V> map, ExpiryPolicy expiryPolicy) {
+        final NodeEngine nodeEngine = getNodeEngine();
+        final Map<Integer, List<Map.Entry<Data, Data>>> entriesPerPartition =
+                new HashMap<Integer, List<Map.Entry<Data, Data>>>();
+        for (Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            final K key = entry.getKey();
+            final V value = entry.getValue();
+            validateNotNull(key, value);
+            CacheProxyUtil.validateConfiguredTypes(cacheConfig, key, value);
+            final Data keyData = serializationService.toData(key);
+            final Data valueData = serializationService.toData(value);
+            final int partitionId = getPartitionId(nodeEngine, keyData);
+            List<Map.Entry<Data, Data>> entries = entriesPerPartition.get(partitionId);
+            if (entries == null) {
+                entries = new ArrayList<Map.Entry<Data, Data>>();
+                entriesPerPartition.put(partitionId, entries);
+            }
+            entries.add(new AbstractMap.SimpleImmutableEntry<Data, Data>(keyData, valueData));
+        }
+        if (entriesPerPartition.isEmpty()) {
+            return;
+        }
+
+        // every put publishes its own event, so sync listeners see one completion per entry
+        final Integer completionId = registerCompletionLatch(map.size());
+        final OperationService operationService = nodeEngine.getOperationService();
+        try {
+            final List<Future> futures = new ArrayList<Future>(entriesPerPartition.size());
+            for (Map.Entry<Integer, List<Map.Entry<Data, Data>>> partitionEntries : entriesPerPartition.entrySet()) {
+                final Operation operation = operationProvider.createPutAllOperation(partitionEntries.getValue(),
+                        expiryPolicy, completionId);
+                futures.add(operationService.invokeOnPartition(getServiceName(), operation, partitionEntries.getKey()));
+            }
+            for (Future future : futures) {
+                future.get();
+            }
+            waitCompletionLatch(completionId);
+        } catch (Throwable t) {
+            if (t instanceof IllegalStateException) {
+                close();
+            }
+            throw ExceptionUtil.rethrowAllowedTypeFirst(t, CacheException.class);
+        } finally {
+            deregisterCompletionLatch(completionId);
+        }
+    }
     //endregion internal base operations
 
     //region Listener operations
@@ -38,6 +38,7 @@ import com.hazelcast.cache.impl.operation.CacheLoadAllOperation;
 import com.hazelcast.cache.impl.operation.CacheLoadAllOperationFactory;
 import com.hazelcast.cache.impl.operation.CacheManagementConfigOperation;
 import com.hazelcast.cache.impl.operation.CachePutAllBackupOperation;
+import com.hazelcast.cache.impl.operation.CachePutAllOperation;
 import com.hazelcast.cache.impl.operation.CachePutBackupOperation;
 import com.hazelcast.cache.impl.operation.CachePutIfAbsentOperation;
 import com.hazelcast.cache.impl.operation.CachePutOperation;
@@ -101,8 +102,9 @@ public final class CacheDataSerializerHook
     public static final short REMOVE_ALL = 34;
     public static final short REMOVE_ALL_BACKUP = 35;
     public static final short REMOVE_ALL_FACTORY = 36;
+    public static final short PUT_ALL = 37;
 
-    private static final int LEN = 37;
+    private static final int LEN = 38;
 
     public int getFactoryId() {
         return F_ID;
@@ -293,6 +295,11 @@ public final class CacheDataSerializerHook
                 return new CacheRemoveAllOperationFactory();
             }
         };
+        constructors[PUT_ALL] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new CachePutAllOperation();
+            }
+        };
         return new ArrayDataSerializableFactory(constructors);
     }
 }
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.cache.impl;
+
+import com.hazelcast.cache.impl.operation.CacheClearExpiredOperation;
+import com.hazelcast.instance.GroupProperties;
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.nio.Address;
+import com.hazelcast.partition.InternalPartitionService;
+import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.OperationService;
+import com.hazelcast.util.Clock;
+import com.hazelcast.util.counters.MwCounter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.util.counters.MwCounter.newMwCounter;
+
+/**
+ * Removes expired cache records in the background.
+ * <p/>
+ * Expired records are removed lazily when they are accessed, so the records of rarely accessed caches would
+ * otherwise stay in memory long after they expired. Every {@link GroupProperties#PROP_CACHE_EXPIRATION_TASK_PERIOD_SECONDS}
+ * a task picks the partitions of this member which hold caches with expiring records, least recently cleaned first,
+ * and sends a {@link CacheClearExpiredOperation} to each of them. The operation runs on the partition thread and checks
+ * at most {@link GroupProperties#PROP_CACHE_EXPIRATION_MAX_SCAN_COUNT} sampled records per cache, so it never iterates
+ * over a whole record store and never holds the partition thread for long.
+ * <p/>
+ * A partition gets no new operation while its previous one is pending. An operation which fails before it runs,
+ * e.g. because the partition is migrating, can't report that, so a cleanup pending for more than
+ * {@value #STALE_CLEANUP_PERIODS} periods is considered lost and the partition gets a new operation.
+ */
+public class CacheExpirationManager {
+
+    private static final int CLEANUP_OPERATION_COUNT_PER_PARTITION_THREAD = 3;
+    private static final int STALE_CLEANUP_PERIODS = 3;
+
+    private final AbstractCacheService cacheService;
+    private final NodeEngine nodeEngine;
+    private final int periodSeconds;
+    private final int maxScanCount;
+
+    @Probe
+    private final MwCounter cleanupOperationCount = newMwCounter();
+    @Probe
+    private final MwCounter expiredRecordCount = newMwCounter();
+
+    private volatile ScheduledFuture cleanupTask;
+
+    public CacheExpirationManager(AbstractCacheService cacheService, NodeEngine nodeEngine) {
+        this.cacheService = cacheService;
+        this.nodeEngine = nodeEngine;
+        GroupProperties groupProperties = nodeEngine.getGroupProperties();
+        this.periodSeconds = groupProperties.CACHE_EXPIRATION_TASK_PERIOD_SECONDS.getInteger();
+        this.maxScanCount = groupProperties.CACHE_EXPIRATION_MAX_SCAN_COUNT.getInteger();
+    }
+
+    public void start() {
+        if (periodSeconds <= 0 || maxScanCount <= 0) {
+            return;
+        }
+        cleanupTask = nodeEngine.getExecutionService()
+                .scheduleAtFixedRate(ICacheService.SERVICE_NAME + ":clearExpiredRecords",
+                        new ClearExpiredRecordsTask(),
+                        periodSeconds,
+                        periodSeconds,
+                        TimeUnit.SECONDS);
+    }
+
+    public void shutdown() {
+        ScheduledFuture task = cleanupTask;
+        if (task != null) {
+            task.cancel(false);
+        }
+    }
+
+    /**
+     * Called by {@link CacheClearExpiredOperation} when it finished the cleanup of a partition.
+     */
+    public void onCleanupFinished(int expiredCount) {
+        if (expiredCount > 0) {
+            expiredRecordCount.inc(expiredCount);
+        }
+    }
+
+    private static boolean hasExpirableCache(CachePartitionSegment segment) {
+        Iterator<ICacheRecordStore> iterator = segment.cacheIterator();
+        while (iterator.hasNext()) {
+            ICacheRecordStore cache = iterator.next();
+            if (cache.isExpirable() && cache.size() > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private class ClearExpiredRecordsTask implements Runnable {
+
+        @Override
+        public void run() {
+            InternalPartitionService partitionService = nodeEngine.getPartitionService();
+            Address thisAddress = nodeEngine.getThisAddress();
+            List<CleanupCandidate> candidates = Collections.emptyList();
+            for (int partitionId = 0; partitionId < partitionService.getPartitionCount(); partitionId++) {
+                if (!partitionService.getPartition(partitionId, false).isOwnerOrBackup(thisAddress)) {
+                    continue;
+                }
+                CachePartitionSegment segment = cacheService.getSegment(partitionId);
+                if (!segment.hasAnyCache() || !hasExpirableCache(segment)) {
+                    continue;
+                }
+                if (candidates.isEmpty()) {
+                    candidates = new ArrayList<CleanupCandidate>();
+                }
+                candidates.add(new CleanupCandidate(segment));
+            }
+            if (candidates.isEmpty()) {
+                return;
+            }
+
+            // least recently cleaned partitions first, so that all partitions get their turn
+            Collections.sort(candidates);
+            OperationService operationService = nodeEngine.getOperationService();
+            int maxCleanupOperationCount = CLEANUP_OPERATION_COUNT_PER_PARTITION_THREAD
+                    * operationService.getPartitionOperationThreadCount();
+            int cleanupOperations = 0;
+            long now = Clock.currentTimeMillis();
+            long staleAfterMillis = TimeUnit.SECONDS.toMillis(periodSeconds) * STALE_CLEANUP_PERIODS;
+            for (CleanupCandidate candidate : candidates) {
+                if (cleanupOperations >= maxCleanupOperationCount) {
+                    break;
+                }
+                CachePartitionSegment segment = candidate.segment;
+                if (segment.tryStartCleanup(now, staleAfterMillis)) {
+                    operationService.executeOperation(createCleanupOperation(segment.getPartitionId()));
+                    cleanupOperations++;
+                }
+            }
+            cleanupOperationCount.inc(cleanupOperations);
+        }
+
+        private Operation createCleanupOperation(int partitionId) {
+            return new CacheClearExpiredOperation(CacheExpirationManager.this, maxScanCount)
+                    .setNodeEngine(nodeEngine)
+                    .setCallerUuid(nodeEngine.getLocalMember().getUuid())
+                    .setPartitionId(partitionId)
+                    .setValidateTarget(false)
+                    .setService(cacheService);
+        }
+    }
+
+    /**
+     * A partition segment with a snapshot of its last cleanup time, which keeps the sort order stable
+     * while cleanups finish concurrently.
+     */
+    private static final class CleanupCandidate implements Comparable<CleanupCandidate> {
+
+        final CachePartitionSegment segment;
+        final long lastCleanupTime;
+
+        CleanupCandidate(CachePartitionSegment segment) {
+            this.segment = segment;
+            this.lastCleanupTime = segment.getLastCleanupTime();
+        }
+
+        @Override
+        public int compareTo(CleanupCandidate other) {
+            return lastCleanupTime < other.lastCleanupTime ? -1 : (lastCleanupTime == other.lastCleanupTime ? 0 : 1);
+        }
+    }
+}
@@ -24,6 +24,7 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * <h1>Cache Partition Segment</h1>
@@ -47,6 +48,9 @@ public final class CachePartitionSegment {
     private final ConcurrentMap<String, ICacheRecordStore> caches =
             new ConcurrentHashMap<String, ICacheRecordStore>();
     private final Object mutex = new Object();
+    // start time of the running expiration cleanup, 0 if none is running
+    private final AtomicLong cleanupStartTime = new AtomicLong();
+    private volatile long lastCleanupTime;
 
     CachePartitionSegment(final AbstractCacheService cacheService,
                           final int partitionId) {
@@ -111,4 +115,31 @@ public final class CachePartitionSegment {
     public boolean hasCache(String name) {
         return caches.containsKey(name);
     }
+
+    /**
+     * Marks this segment as having a running expiration cleanup.
+     * <p/>
+     * A cleanup which was started before <tt>staleAfterMillis</tt> is taken over, since its operation may have
+     * failed before it could finish the cleanup, e.g. because the partition was migrating.
+     *
+     * @param now              the current time in milliseconds.
+     * @param staleAfterMillis the time after which a running cleanup is considered lost.
+     * @return <tt>true</tt> if marked, <tt>false</tt> if a cleanup is already running.
+     */
+    public boolean tryStartCleanup(long now, long staleAfterMillis) {
+        long startTime = cleanupStartTime.get();
+        if (startTime != 0 && now - startTime < staleAfterMillis) {
+            return false;
+        }
+        return cleanupStartTime.compareAndSet(startTime, now);
+    }
+
+    public void finishCleanup(long now) {
+        lastCleanupTime = now;
+        cleanupStartTime.set(0);
+    }
+
+    public long getLastCleanupTime() {
+        return lastCleanupTime;
+    }
 }
@@ -112,6 +112,7 @@ public class CacheService extends AbstractCacheService {
 
     @Override
     public void shutdown(boolean terminate) {
+        expirationManager.shutdown();
         if (!terminate) {
             if (cacheBatchInvalidationMessageSenderScheduler != null) {
                 cacheBatchInvalidationMessageSenderScheduler.cancel(true);
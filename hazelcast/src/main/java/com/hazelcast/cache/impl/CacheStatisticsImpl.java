@@ -17,6 +17,7 @@
 package com.hazelcast.cache.impl;
 
 import com.hazelcast.cache.CacheStatistics;
+import com.hazelcast.monitor.impl.LatencyHistogram;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.DataSerializable;
@@ -66,6 +67,11 @@ public class CacheStatisticsImpl
     private volatile long getCacheTimeTakenNanos;
     private volatile long removeTimeTakenNanos;
 
+    // in microseconds
+    private final LatencyHistogram getTimeHistogram = new LatencyHistogram();
+    private final LatencyHistogram putTimeHistogram = new LatencyHistogram();
+    private final LatencyHistogram removeTimeHistogram = new LatencyHistogram();
+
     public CacheStatisticsImpl() {
     }
 
@@ -173,6 +179,42 @@ public class CacheStatisticsImpl
         return ((1f * cacheRemoveTimeTakenNanos) / cacheGets) / NANOSECONDS_IN_A_MICROSECOND;
     }
 
+    @Override
+    public long getGetTimeAtPercentile(double percentile) {
+        return getTimeHistogram.getValueAtPercentile(percentile);
+    }
+
+    @Override
+    public long getPutTimeAtPercentile(double percentile) {
+        return putTimeHistogram.getValueAtPercentile(percentile);
+    }
+
+    @Override
+    public long getRemoveTimeAtPercentile(double percentile) {
+        return removeTimeHistogram.getValueAtPercentile(percentile);
+    }
+
+    /**
+     * Returns a copy of the histogram of the get times in microseconds.
+     */
+    public LatencyHistogram getGetTimeHistogram() {
+        return getTimeHistogram.copy();
+    }
+
+    /**
+     * Returns a copy of the histogram of the put times in microseconds.
+     */
+    public LatencyHistogram getPutTimeHistogram() {
+        return putTimeHistogram.copy();
+    }
+
+    /**
+     * Returns a copy of the histogram of the remove times in microseconds.
+     */
+    public LatencyHistogram getRemoveTimeHistogram() {
+        return removeTimeHistogram.copy();
+    }
+
     /**
      * Implementation of {@link javax.cache.management.CacheStatisticsMXBean#clear()}.
      * @see javax.cache.management.CacheStatisticsMXBean#clear()
@@ -187,6 +229,9 @@ public class CacheStatisticsImpl
         getCacheTimeTakenNanos = 0;
         putTimeTakenNanos = 0;
         removeTimeTakenNanos = 0;
+        getTimeHistogram.reset();
+        putTimeHistogram.reset();
+        removeTimeHistogram.reset();
     }
 
     /**
@@ -249,6 +294,7 @@ public class CacheStatisticsImpl
      * @param duration the time taken in nanoseconds.
      */
     public void addGetTimeNanos(long duration) {
+        getTimeHistogram.record(duration / NANOSECONDS_IN_A_MICROSECOND);
         for (;;) {
             long nanos = getCacheTimeTakenNanos;
             if (nanos <= Long.MAX_VALUE - duration) {
@@ -271,6 +317,7 @@ public class CacheStatisticsImpl
      * @param duration the time taken in nanoseconds.
      */
     public void addPutTimeNanos(long duration) {
+        putTimeHistogram.record(duration / NANOSECONDS_IN_A_MICROSECOND);
         for (;;) {
             long nanos = putTimeTakenNanos;
             if (nanos <= Long.MAX_VALUE - duration) {
@@ -293,6 +340,7 @@ public class CacheStatisticsImpl
      * @param duration the time taken in nanoseconds.
      */
     public void addRemoveTimeNanos(long duration) {
+        removeTimeHistogram.record(duration / NANOSECONDS_IN_A_MICROSECOND);
         for (;;) {
             long nanos = removeTimeTakenNanos;
             if (nanos <= Long.MAX_VALUE - duration) {
@@ -326,6 +374,9 @@ public class CacheStatisticsImpl
         PUT_TIME_TAKEN_NANOS_UPDATER.addAndGet(this, other.getCachePutTimeTakenNanos());
         GET_CACHE_TIME_TAKEN_NANOS_UPDATER.addAndGet(this, other.getCacheGetTimeTakenNanos());
         REMOVE_TIME_TAKEN_NANOS_UPDATER.addAndGet(this, other.getCacheRemoveTimeTakenNanos());
+        getTimeHistogram.add(other.getTimeHistogram);
+        putTimeHistogram.add(other.putTimeHistogram);
+        removeTimeHistogram.add(other.removeTimeHistogram);
         return this;
     }
 
@@ -343,6 +394,10 @@ public class CacheStatisticsImpl
         out.writeLong(putTimeTakenNanos);
         out.writeLong(getCacheTimeTakenNanos);
         out.writeLong(removeTimeTakenNanos);
+
+        getTimeHistogram.writeData(out);
+        putTimeHistogram.writeData(out);
+        removeTimeHistogram.writeData(out);
     }
 
     @Override
@@ -359,5 +414,9 @@ public class CacheStatisticsImpl
         putTimeTakenNanos = in.readLong();
         getCacheTimeTakenNanos = in.readLong();
         removeTimeTakenNanos = in.readLong();
+
+        getTimeHistogram.readData(in);
+        putTimeHistogram.readData(in);
+        removeTimeHistogram.readData(in);
     }
 }
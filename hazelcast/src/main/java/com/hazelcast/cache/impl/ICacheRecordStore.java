@@ -422,4 +422,21 @@ public interface ICacheRecordStore {
      */
     int evictIfRequired();
 
+    /**
+     * Returns <tt>true</tt> if this record store may contain records which expire.
+     * @return <tt>true</tt> if expiring records may exist, <tt>false</tt> otherwise.
+     */
+    boolean isExpirable();
+
+    /**
+     * Removes expired records by checking random samples of the records, without iterating over the whole store.
+     * <p>Sampling continues while a noticeable share of the sampled records turns out to be expired, but never
+     * checks more than <code>maxScanCount</code> records in one call.</p>
+     * @param maxScanCount the maximum number of records to check.
+     * @param backup <tt>true</tt> if this record store is a backup replica; expired records of a backup are removed
+     *               silently, without events and statistics.
+     * @return the number of removed expired records.
+     */
+    int evictExpiredEntries(int maxScanCount, boolean backup);
+
 }
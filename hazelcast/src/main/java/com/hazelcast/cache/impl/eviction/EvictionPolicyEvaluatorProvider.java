@@ -18,6 +18,7 @@ package com.hazelcast.cache.impl.eviction;
 
 import com.hazelcast.cache.impl.eviction.impl.evaluator.LFUEvictionPolicyEvaluator;
 import com.hazelcast.cache.impl.eviction.impl.evaluator.LRUEvictionPolicyEvaluator;
+import com.hazelcast.cache.impl.eviction.impl.evaluator.RandomEvictionPolicyEvaluator;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -40,6 +41,7 @@ public final class EvictionPolicyEvaluatorProvider {
     private static void init() {
         EVICTION_POLICY_EVALUATOR_MAP.put(EvictionPolicyType.LRU, new LRUEvictionPolicyEvaluator());
         EVICTION_POLICY_EVALUATOR_MAP.put(EvictionPolicyType.LFU, new LFUEvictionPolicyEvaluator());
+        EVICTION_POLICY_EVALUATOR_MAP.put(EvictionPolicyType.RANDOM, new RandomEvictionPolicyEvaluator());
     }
 
     /**
@@ -29,7 +29,12 @@ public enum EvictionPolicyType {
     /**
      * Least Frequently Used
      */
-    LFU
+    LFU,
+
+    /**
+     * Random
+     */
+    RANDOM
 
     // TODO Maybe another "CUSTOM" type for user defined eviction policies
 
@@ -102,6 +102,9 @@ public class DefaultNearCache<K, V> implements NearCache<K, V> {
                 return new NearCacheDataRecordStore<K, V>(nearCacheConfig, nearCacheContext);
             case OBJECT:
                 return new NearCacheObjectRecordStore<K, V>(nearCacheConfig, nearCacheContext);
+            case NATIVE:
+                throw new IllegalArgumentException("Near cache in memory format " + inMemoryFormat
+                        + " requires the Hazelcast Enterprise HD memory store");
             default:
                 throw new IllegalArgumentException("Invalid in memory format: " + inMemoryFormat);
         }
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.cache.impl.nearcache.impl.record;
+
+import com.hazelcast.internal.storage.DataRef;
+
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Implementation of {@link com.hazelcast.cache.impl.nearcache.NearCacheRecord} to store a reference
+ * to a value kept in a native {@link com.hazelcast.internal.storage.Storage}.
+ * <p/>
+ * The reference is read by concurrent readers while it is replaced, so it is kept in a volatile field.
+ */
+public class NearCacheNativeRecord extends AbstractNearCacheRecord<DataRef> {
+
+    private static final AtomicReferenceFieldUpdater<NearCacheNativeRecord, DataRef> VALUE_REF_UPDATER =
+            AtomicReferenceFieldUpdater.newUpdater(NearCacheNativeRecord.class, DataRef.class, "valueRef");
+
+    private final int hash;
+    private volatile DataRef valueRef;
+
+    public NearCacheNativeRecord(DataRef value, int hash, long creationTime, long expiryTime) {
+        super(null, creationTime, expiryTime);
+        this.valueRef = value;
+        this.hash = hash;
+    }
+
+    @Override
+    public DataRef getValue() {
+        return valueRef;
+    }
+
+    @Override
+    public void setValue(DataRef value) {
+        this.valueRef = value;
+    }
+
+    /**
+     * Replaces the reference to the value, so concurrent writers never give up the same reference twice.
+     *
+     * @param value the new reference
+     * @return the replaced reference
+     */
+    public DataRef getAndSetValue(DataRef value) {
+        return VALUE_REF_UPDATER.getAndSet(this, value);
+    }
+
+    /**
+     * Gets the hash the values of this record are put to the native storage with.
+     * It is taken from the first value and kept for the lifetime of the record.
+     *
+     * @return the hash of the values in the native storage
+     */
+    public int getHash() {
+        return hash;
+    }
+
+}
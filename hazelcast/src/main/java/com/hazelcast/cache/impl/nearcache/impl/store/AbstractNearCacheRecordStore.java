@@ -202,6 +202,14 @@ public abstract class AbstractNearCacheRecordStore<
         record.incrementAccessHit();
     }
 
+    /**
+     * Counts a get which found an unexpired record for the key.
+     * Stores which cache the absence of a value may count those as misses instead.
+     */
+    protected void onRecordHit(K key, V value, R record) {
+        nearCacheStats.incrementHits();
+    }
+
     protected void onGet(K key, V value, R record) {
 
     }
@@ -249,8 +257,8 @@ public abstract class AbstractNearCacheRecordStore<
                     return null;
                 }
                 onRecordAccess(record);
-                nearCacheStats.incrementHits();
                 value = recordToValue(record);
+                onRecordHit(key, value, record);
                 onGet(key, value, record);
                 return value;
             } else {
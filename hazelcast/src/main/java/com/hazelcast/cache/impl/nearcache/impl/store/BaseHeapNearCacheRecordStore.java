@@ -24,6 +24,7 @@ import com.hazelcast.config.EvictionConfig;
 import com.hazelcast.config.NearCacheConfig;
 
 import java.util.Map;
+import java.util.Set;
 
 public abstract class BaseHeapNearCacheRecordStore<K, V, R extends NearCacheRecord>
         extends AbstractNearCacheRecordStore<K, V, K, R, HeapNearCacheRecordMap<K, R>> {
@@ -82,6 +83,17 @@ public abstract class BaseHeapNearCacheRecordStore<K, V, R extends NearCacheReco
         nearCacheStats.decrementOwnedEntryMemoryCost(getTotalStorageMemoryCost(key, record));
     }
 
+    /**
+     * Returns a weakly consistent view of the keys held by this store.
+     *
+     * @return the keys held by this store
+     */
+    public Set<K> keySet() {
+        checkAvailable();
+
+        return records.keySet();
+    }
+
     @Override
     public void doExpiration() {
         for (Map.Entry<K, R> entry : records.entrySet()) {
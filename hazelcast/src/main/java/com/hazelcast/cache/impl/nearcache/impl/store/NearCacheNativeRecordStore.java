@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.cache.impl.nearcache.impl.store;
+
+import com.hazelcast.cache.impl.nearcache.NearCacheContext;
+import com.hazelcast.cache.impl.nearcache.NearCacheRecord;
+import com.hazelcast.cache.impl.nearcache.impl.record.NearCacheNativeRecord;
+import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.internal.storage.DataRef;
+import com.hazelcast.internal.storage.Storage;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.util.Clock;
+
+/**
+ * Near cache record store for the {@link com.hazelcast.config.InMemoryFormat#NATIVE} in memory format.
+ * <p/>
+ * Keys and records stay on heap, so sampling eviction works the same as for the other formats, but the
+ * serialized values are kept in the given native {@link Storage} and only their references are on heap.
+ * <p/>
+ * The value is given up whenever a record is removed, evicted, overwritten or cleared. Since concurrent readers
+ * may still be copying it out of the storage, values are reference counted and the storage is only released by
+ * whoever gives up the last reference.
+ */
+public class NearCacheNativeRecordStore<K, V>
+        extends BaseHeapNearCacheRecordStore<K, V, NearCacheNativeRecord> {
+
+    protected final Storage<DataRef> storage;
+
+    public NearCacheNativeRecordStore(NearCacheConfig nearCacheConfig, NearCacheContext nearCacheContext,
+                                      Storage<DataRef> storage) {
+        super(nearCacheConfig, nearCacheContext);
+        this.storage = storage;
+    }
+
+    @Override
+    protected long getKeyStorageMemoryCost(K key) {
+        if (key instanceof Data) {
+            return
+                // Reference to this key data inside map ("store" field)
+                REFERENCE_SIZE
+                // Heap cost of this key data
+                + ((Data) key).getHeapCost();
+        } else {
+            // Memory cost for non-data typed instance is not supported.
+            return 0L;
+        }
+    }
+
+    @Override
+    protected long getRecordStorageMemoryCost(NearCacheNativeRecord record) {
+        if (record == null) {
+            return 0L;
+        }
+        DataRef valueRef = record.getValue();
+        return
+            // Reference to this record inside map ("store" field)
+            REFERENCE_SIZE
+            // Reference to "value" field
+            + REFERENCE_SIZE
+            // Heap cost of the reference to the native value, the value itself is not on heap
+            + (valueRef != null ? valueRef.heapCost() : 0)
+            // 3 primitive long typed fields: "creationTime", "expirationTime" and "accessTime"
+            + (3 * (Long.SIZE / Byte.SIZE))
+            // Primitive int typed "hash" and "accessHit" fields
+            + (2 * (Integer.SIZE / Byte.SIZE));
+    }
+
+    @Override
+    protected NearCacheNativeRecord valueToRecord(V value) {
+        Data data = toData(value);
+        int hash = data != null ? data.getPartitionHash() : 0;
+        DataRef valueRef = data != null ? new ReferenceCountedDataRef(storage.put(hash, data)) : null;
+        long creationTime = Clock.currentTimeMillis();
+        if (timeToLiveMillis > 0) {
+            return new NearCacheNativeRecord(valueRef, hash, creationTime, creationTime + timeToLiveMillis);
+        } else {
+            return new NearCacheNativeRecord(valueRef, hash, creationTime, NearCacheRecord.TIME_NOT_SET);
+        }
+    }
+
+    @Override
+    protected V recordToValue(NearCacheNativeRecord record) {
+        return dataToValue(getData(record));
+    }
+
+    @Override
+    protected void onRecordHit(K key, V value, NearCacheNativeRecord record) {
+        if (value == null) {
+            // the value was given up concurrently
+            nearCacheStats.incrementMisses();
+        } else {
+            super.onRecordHit(key, value, record);
+        }
+    }
+
+    @Override
+    protected void putToRecord(NearCacheNativeRecord record, V value) {
+        Data data = toData(value);
+        DataRef valueRef = data != null ? new ReferenceCountedDataRef(storage.put(record.getHash(), data)) : null;
+        DataRef oldValueRef = record.getAndSetValue(valueRef);
+        if (oldValueRef == ReferenceCountedDataRef.RELEASED) {
+            // the record was removed meanwhile, the new value would never be released otherwise
+            record.setValue(ReferenceCountedDataRef.RELEASED);
+            release(record.getHash(), valueRef);
+        } else {
+            release(record.getHash(), oldValueRef);
+        }
+    }
+
+    @Override
+    protected NearCacheNativeRecord putRecord(K key, NearCacheNativeRecord record) {
+        NearCacheNativeRecord oldRecord = super.putRecord(key, record);
+        if (oldRecord != null) {
+            release(oldRecord);
+        }
+        return oldRecord;
+    }
+
+    @Override
+    protected NearCacheNativeRecord removeRecord(K key) {
+        NearCacheNativeRecord removedRecord = super.removeRecord(key);
+        if (removedRecord != null) {
+            release(removedRecord);
+        }
+        return removedRecord;
+    }
+
+    @Override
+    public void onEvict(K key, NearCacheNativeRecord record) {
+        super.onEvict(key, record);
+        release(record);
+    }
+
+    @Override
+    protected void clearRecords() {
+        for (NearCacheNativeRecord record : records.values()) {
+            release(record);
+        }
+        super.clearRecords();
+    }
+
+    @Override
+    public Object selectToSave(Object... candidates) {
+        Object selectedCandidate = null;
+        if (candidates != null && candidates.length > 0) {
+            for (Object candidate : candidates) {
+                // Give priority to Data typed candidate.
+                // So there will be no extra convertion from Object to Data.
+                if (candidate instanceof Data) {
+                    selectedCandidate = candidate;
+                    break;
+                }
+            }
+            if (selectedCandidate != null) {
+                return selectedCandidate;
+            } else {
+                // Select a non-null candidate
+                for (Object candidate : candidates) {
+                    if (candidate != null) {
+                        selectedCandidate = candidate;
+                        break;
+                    }
+                }
+            }
+        }
+        return selectedCandidate;
+    }
+
+    /**
+     * Reads the value of the record back from the native storage.
+     *
+     * @param record the record to read the value of
+     * @return the value of the record or <code>null</code> if it was stored without value or given up concurrently
+     */
+    protected Data getData(NearCacheNativeRecord record) {
+        DataRef valueRef = record.getValue();
+        while (valueRef != null) {
+            ReferenceCountedDataRef countedRef = (ReferenceCountedDataRef) valueRef;
+            if (countedRef.retain()) {
+                try {
+                    return storage.get(record.getHash(), countedRef.getRef());
+                } finally {
+                    release(record.getHash(), countedRef);
+                }
+            }
+            // given up by a concurrent update, removal or eviction; retry with the current value, if any
+            DataRef currentValueRef = record.getValue();
+            if (currentValueRef == valueRef) {
+                return null;
+            }
+            valueRef = currentValueRef;
+        }
+        return null;
+    }
+
+    private void release(NearCacheNativeRecord record) {
+        release(record.getHash(), record.getAndSetValue(ReferenceCountedDataRef.RELEASED));
+    }
+
+    private void release(int hash, DataRef valueRef) {
+        if (valueRef == null || valueRef == ReferenceCountedDataRef.RELEASED) {
+            return;
+        }
+        ReferenceCountedDataRef countedRef = (ReferenceCountedDataRef) valueRef;
+        if (countedRef.release()) {
+            storage.remove(hash, countedRef.getRef());
+        }
+    }
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.cache.impl.nearcache.impl.store;
+
+import com.hazelcast.internal.storage.DataRef;
+import com.hazelcast.util.JvmMemoryLayout;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * A {@link DataRef} of a native {@link com.hazelcast.internal.storage.Storage} together with a reference count.
+ * <p/>
+ * The record holding the value owns one reference. Readers {@link #retain()} the value while they copy it out of
+ * the storage, so the native memory is only freed after the record gave up the value and the last reader is done.
+ */
+final class ReferenceCountedDataRef implements DataRef {
+
+    /**
+     * Put into a record in place of its value when the record was removed, it can never be retained.
+     */
+    static final ReferenceCountedDataRef RELEASED = new ReferenceCountedDataRef(null, 0);
+
+    private static final long SHALLOW_SIZE = JvmMemoryLayout.shallowSizeOf(ReferenceCountedDataRef.class);
+
+    private static final AtomicIntegerFieldUpdater<ReferenceCountedDataRef> REFERENCE_COUNT_UPDATER =
+            AtomicIntegerFieldUpdater.newUpdater(ReferenceCountedDataRef.class, "referenceCount");
+
+    private final DataRef ref;
+    private volatile int referenceCount;
+
+    ReferenceCountedDataRef(DataRef ref) {
+        this(ref, 1);
+    }
+
+    private ReferenceCountedDataRef(DataRef ref, int referenceCount) {
+        this.ref = ref;
+        this.referenceCount = referenceCount;
+    }
+
+    DataRef getRef() {
+        return ref;
+    }
+
+    /**
+     * Takes a reference to the value.
+     *
+     * @return <code>false</code> if the value is already released and must not be read anymore
+     */
+    boolean retain() {
+        for (;;) {
+            int count = referenceCount;
+            if (count == 0) {
+                return false;
+            }
+            if (REFERENCE_COUNT_UPDATER.compareAndSet(this, count, count + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Gives up a reference to the value.
+     *
+     * @return <code>true</code> if this was the last reference and the value has to be removed from the storage
+     */
+    boolean release() {
+        return REFERENCE_COUNT_UPDATER.decrementAndGet(this) == 0;
+    }
+
+    @Override
+    public int size() {
+        return ref != null ? ref.size() : 0;
+    }
+
+    @Override
+    public int heapCost() {
+        return (int) SHALLOW_SIZE + (ref != null ? ref.heapCost() : 0);
+    }
+}
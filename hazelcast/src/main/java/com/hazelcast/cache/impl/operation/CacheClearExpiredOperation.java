@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.cache.impl.operation;
+
+import com.hazelcast.cache.impl.CacheExpirationManager;
+import com.hazelcast.cache.impl.CachePartitionSegment;
+import com.hazelcast.cache.impl.ICacheRecordStore;
+import com.hazelcast.cache.impl.ICacheService;
+import com.hazelcast.nio.Address;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.spi.AbstractOperation;
+import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.spi.PartitionAwareOperation;
+import com.hazelcast.spi.impl.MutatingOperation;
+import com.hazelcast.util.Clock;
+
+import java.io.IOException;
+import java.util.Iterator;
+
+/**
+ * Removes expired records from the caches of a partition. Runs locally on the partition thread and checks
+ * a bounded number of records per cache, see {@link ICacheRecordStore#evictExpiredEntries(int, boolean)}.
+ */
+public class CacheClearExpiredOperation
+        extends AbstractOperation
+        implements PartitionAwareOperation, MutatingOperation {
+
+    private final transient CacheExpirationManager expirationManager;
+    private final int maxScanCount;
+
+    public CacheClearExpiredOperation(CacheExpirationManager expirationManager, int maxScanCount) {
+        this.expirationManager = expirationManager;
+        this.maxScanCount = maxScanCount;
+    }
+
+    @Override
+    public String getServiceName() {
+        return ICacheService.SERVICE_NAME;
+    }
+
+    @Override
+    public void run() throws Exception {
+        final ICacheService service = getService();
+        final CachePartitionSegment segment = service.getSegment(getPartitionId());
+        final boolean backup = !isOwner();
+        int expiredCount = 0;
+        try {
+            final Iterator<ICacheRecordStore> iterator = segment.cacheIterator();
+            while (iterator.hasNext()) {
+                final ICacheRecordStore cache = iterator.next();
+                if (cache.size() > 0 && cache.isExpirable()) {
+                    expiredCount += cache.evictExpiredEntries(maxScanCount, backup);
+                }
+            }
+        } finally {
+            segment.finishCleanup(Clock.currentTimeMillis());
+            expirationManager.onCleanupFinished(expiredCount);
+        }
+    }
+
+    private boolean isOwner() {
+        final NodeEngine nodeEngine = getNodeEngine();
+        final Address owner = nodeEngine.getPartitionService().getPartitionOwner(getPartitionId());
+        return nodeEngine.getThisAddress().equals(owner);
+    }
+
+    @Override
+    public boolean returnsResponse() {
+        return false;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        throw new UnsupportedOperationException();
+    }
+}
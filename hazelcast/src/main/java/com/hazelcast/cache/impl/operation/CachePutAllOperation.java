@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.cache.impl.operation;
+
+import com.hazelcast.cache.impl.CacheDataSerializerHook;
+import com.hazelcast.cache.impl.CacheService;
+import com.hazelcast.cache.impl.ICacheRecordStore;
+import com.hazelcast.cache.impl.record.CacheRecord;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.spi.BackupAwareOperation;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.PartitionAwareOperation;
+import com.hazelcast.spi.impl.AbstractNamedOperation;
+
+import javax.cache.expiry.ExpiryPolicy;
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Puts the entries of a single partition, used by putAll. Every entry is put like by {@link CachePutOperation}, so
+ * listeners, expiry, write-through and statistics behave the same, but the partition is visited once and all
+ * records are backed up by a single {@link CachePutAllBackupOperation}. If a put fails, the records written before it
+ * are still backed up and the failure is returned to the caller afterwards.
+ */
+public class CachePutAllOperation
+        extends AbstractNamedOperation
+        implements PartitionAwareOperation, IdentifiedDataSerializable, BackupAwareOperation, MutableOperation {
+
+    private List<Map.Entry<Data, Data>> entries;
+    private ExpiryPolicy expiryPolicy;
+    private int completionId;
+
+    private transient ICacheRecordStore cache;
+    private transient Map<Data, CacheRecord> backupRecords;
+    private transient Throwable failure;
+
+    public CachePutAllOperation() {
+    }
+
+    public CachePutAllOperation(String name, List<Map.Entry<Data, Data>> entries, ExpiryPolicy expiryPolicy,
+                                int completionId) {
+        super(name);
+        this.entries = entries;
+        this.expiryPolicy = expiryPolicy;
+        this.completionId = completionId;
+    }
+
+    @Override
+    public void beforeRun()
+            throws Exception {
+        CacheService service = getService();
+        cache = service.getOrCreateCache(name, getPartitionId());
+    }
+
+    @Override
+    public void run()
+            throws Exception {
+        String callerUuid = getCallerUuid();
+        backupRecords = new HashMap<Data, CacheRecord>(entries.size());
+        try {
+            for (Map.Entry<Data, Data> entry : entries) {
+                Data key = entry.getKey();
+                cache.put(key, entry.getValue(), expiryPolicy, callerUuid, completionId);
+                CacheRecord record = cache.getRecord(key);
+                if (record != null) {
+                    backupRecords.put(key, record);
+                }
+            }
+        } catch (Throwable t) {
+            // throwing here would skip the backup of the entries already put, so the failure becomes the response,
+            // which the invocation rethrows to the caller once the backups are done
+            getLogger().finest("putAll on cache " + name + " failed after " + backupRecords.size() + " entries", t);
+            failure = t;
+        }
+    }
+
+    @Override
+    public Object getResponse() {
+        return failure;
+    }
+
+    @Override
+    public boolean shouldBackup() {
+        return !backupRecords.isEmpty();
+    }
+
+    @Override
+    public Operation getBackupOperation() {
+        return new CachePutAllBackupOperation(name, backupRecords);
+    }
+
+    @Override
+    public final int getSyncBackupCount() {
+        return cache != null ? cache.getConfig().getBackupCount() : 0;
+    }
+
+    @Override
+    public final int getAsyncBackupCount() {
+        return cache != null ? cache.getConfig().getAsyncBackupCount() : 0;
+    }
+
+    @Override
+    public int getCompletionId() {
+        return completionId;
+    }
+
+    @Override
+    public void setCompletionId(int completionId) {
+        this.completionId = completionId;
+    }
+
+    @Override
+    public int getFactoryId() {
+        return CacheDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getId() {
+        return CacheDataSerializerHook.PUT_ALL;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out)
+            throws IOException {
+        super.writeInternal(out);
+        out.writeObject(expiryPolicy);
+        out.writeInt(completionId);
+        out.writeInt(entries.size());
+        for (Map.Entry<Data, Data> entry : entries) {
+            out.writeData(entry.getKey());
+            out.writeData(entry.getValue());
+        }
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in)
+            throws IOException {
+        super.readInternal(in);
+        expiryPolicy = in.readObject();
+        completionId = in.readInt();
+        int size = in.readInt();
+        entries = new ArrayList<Map.Entry<Data, Data>>(size);
+        for (int i = 0; i < size; i++) {
+            Data key = in.readData();
+            Data value = in.readData();
+            entries.add(new AbstractMap.SimpleImmutableEntry<Data, Data>(key, value));
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.MessageTaskFactory;
+import com.hazelcast.client.impl.protocol.task.AbstractMessageTask;
+import com.hazelcast.client.impl.protocol.task.BatchResponse;
+import com.hazelcast.client.impl.protocol.task.MessageTask;
+import com.hazelcast.client.impl.protocol.task.MessageTaskBatch;
+import com.hazelcast.client.impl.protocol.util.ClientMessageBatch;
+import com.hazelcast.nio.Connection;
+import com.hazelcast.spi.impl.NodeEngineImpl;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executes the requests of a batch frame sent by a client.
+ * <p/>
+ * The requests of the same partition are run together in a single partition thread task, the others are run on the
+ * client executor one by one. The responses are collected by a {@link BatchResponse} and sent as a multi-response
+ * frame, at the latest after {@link com.hazelcast.instance.GroupProperties#PROP_CLIENT_BATCH_RESPONSE_MAX_WAIT_MICROS}.
+ */
+final class ClientBatchHandler {
+
+    private final NodeEngineImpl nodeEngine;
+    private final MessageTaskFactory messageTaskFactory;
+    private final Executor executor;
+    private final long responseMaxWaitMicros;
+
+    ClientBatchHandler(NodeEngineImpl nodeEngine, MessageTaskFactory messageTaskFactory, Executor executor) {
+        this.nodeEngine = nodeEngine;
+        this.messageTaskFactory = messageTaskFactory;
+        this.executor = executor;
+        this.responseMaxWaitMicros = nodeEngine.getGroupProperties().CLIENT_BATCH_RESPONSE_MAX_WAIT_MICROS.getLong();
+    }
+
+    void handle(ClientMessage batch, Connection connection) {
+        List<ClientMessage> messages = ClientMessageBatch.decode(batch);
+        BatchResponse batchResponse = new BatchResponse(connection, messages.size());
+        Map<Integer, MessageTaskBatch> partitionBatches = new HashMap<Integer, MessageTaskBatch>();
+        for (ClientMessage message : messages) {
+            MessageTask task = messageTaskFactory.create(message, connection);
+            if (task instanceof AbstractMessageTask) {
+                ((AbstractMessageTask) task).setBatchResponse(batchResponse);
+            }
+            int partitionId = message.getPartitionId();
+            if (partitionId < 0) {
+                executor.execute(task);
+                continue;
+            }
+            MessageTaskBatch partitionBatch = partitionBatches.get(partitionId);
+            if (partitionBatch == null) {
+                partitionBatch = new MessageTaskBatch(partitionId);
+                partitionBatches.put(partitionId, partitionBatch);
+            }
+            partitionBatch.add(task);
+        }
+        for (MessageTaskBatch partitionBatch : partitionBatches.values()) {
+            nodeEngine.getOperationService().execute(partitionBatch);
+        }
+        nodeEngine.getExecutionService().schedule(batchResponse, responseMaxWaitMicros, TimeUnit.MICROSECONDS);
+    }
+}
@@ -29,6 +29,7 @@ import com.hazelcast.client.impl.operations.PostJoinClientOperation;
 import com.hazelcast.client.impl.protocol.ClientMessage;
 import com.hazelcast.client.impl.protocol.MessageTaskFactory;
 import com.hazelcast.client.impl.protocol.task.MessageTask;
+import com.hazelcast.client.impl.protocol.util.ClientMessageBatch;
 import com.hazelcast.cluster.ClusterService;
 import com.hazelcast.config.Config;
 import com.hazelcast.core.Client;
@@ -114,6 +115,7 @@ public class ClientEngineImpl implements ClientEngine, CoreService, PostJoinAwar
     private final ConnectionListener connectionListener = new ConnectionListenerImpl();
 
     private final MessageTaskFactory messageTaskFactory;
+    private final ClientBatchHandler batchHandler;
 
     public ClientEngineImpl(Node node) {
         this.logger = node.getLogger(ClientEngine.class);
@@ -123,6 +125,7 @@ public class ClientEngineImpl implements ClientEngine, CoreService, PostJoinAwar
         this.endpointManager = new ClientEndpointManagerImpl(this, nodeEngine);
         this.executor = newExecutor();
         this.messageTaskFactory = node.getNodeExtension().createMessageTaskFactory(node);
+        this.batchHandler = new ClientBatchHandler(nodeEngine, messageTaskFactory, executor);
 
         ClientHeartbeatMonitor heartBeatMonitor = new ClientHeartbeatMonitor(
                 endpointManager, this, nodeEngine.getExecutionService(), node.groupProperties);
@@ -164,6 +167,10 @@ public class ClientEngineImpl implements ClientEngine, CoreService, PostJoinAwar
     }
 
     public void handleClientMessage(ClientMessage clientMessage, Connection connection) {
+        if (ClientMessageBatch.isBatch(clientMessage)) {
+            batchHandler.handle(clientMessage, connection);
+            return;
+        }
 
         //TODO: FIXME
         int partitionId = clientMessage.getPartitionId();
@@ -56,6 +56,8 @@ public abstract class AbstractMessageTask<P>
 
     private final Node node;
 
+    private BatchResponse batchResponse;
+
     protected AbstractMessageTask(ClientMessage clientMessage, Node node, Connection connection) {
         this.clientMessage = clientMessage;
         this.logger = node.getLogger(getClass());
@@ -69,6 +71,15 @@ public abstract class AbstractMessageTask<P>
         this.endpoint = getEndpoint();
     }
 
+    /**
+     * Makes the task send its response as part of the given batch response, used for requests sent in a batch frame.
+     *
+     * @param batchResponse the response of the batch this request came in
+     */
+    public void setBatchResponse(BatchResponse batchResponse) {
+        this.batchResponse = batchResponse;
+    }
+
     @SuppressWarnings("unchecked")
     public <S> S getService(String serviceName) {
         return (S) node.nodeEngine.getService(serviceName);
@@ -211,6 +222,11 @@ public abstract class AbstractMessageTask<P>
         resultClientMessage.setCorrelationId(clientMessage.getCorrelationId());
         resultClientMessage.addFlag(ClientMessage.BEGIN_AND_END_FLAGS);
         resultClientMessage.setVersion(ClientMessage.VERSION);
+        if (batchResponse != null && !resultClientMessage.isFlagSet(ClientMessage.LISTENER_EVENT_FLAG)
+                && batchResponse.add(resultClientMessage)) {
+            // events of listeners registered by the request don't count as its response
+            return;
+        }
         final Connection connection = endpoint.getConnection();
         //TODO framing not implemented yet, should be split into frames before writing to connection
         connection.write(resultClientMessage);
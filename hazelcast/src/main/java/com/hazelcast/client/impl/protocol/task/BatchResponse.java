@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl.protocol.task;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.util.ClientMessageBatch;
+import com.hazelcast.nio.Connection;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects the responses to the requests of a batch frame sent by a client and sends them back together, as a
+ * multi-response frame.
+ * <p/>
+ * The collected responses are sent when all requests of the batch are answered, or when the batch is flushed by
+ * {@link #run()}, which is scheduled to bound the time a slow request can hold back the others. Responses arriving
+ * after the flush are sent on their own.
+ */
+public final class BatchResponse implements Runnable {
+
+    private final Connection connection;
+    private final int requestCount;
+    private List<ClientMessage> responses;
+
+    public BatchResponse(Connection connection, int requestCount) {
+        this.connection = connection;
+        this.requestCount = requestCount;
+        this.responses = new ArrayList<ClientMessage>(requestCount);
+    }
+
+    /**
+     * Adds the response to the batch.
+     *
+     * @param response the complete response message
+     * @return <code>false</code> if the batch was already flushed, the response must then be sent on its own
+     */
+    public synchronized boolean add(ClientMessage response) {
+        if (responses == null) {
+            return false;
+        }
+        responses.add(response);
+        if (responses.size() == requestCount) {
+            flush();
+        }
+        return true;
+    }
+
+    /**
+     * Sends the responses collected so far, called when the maximum wait time is over.
+     */
+    @Override
+    public synchronized void run() {
+        if (responses != null) {
+            flush();
+        }
+    }
+
+    private void flush() {
+        List<ClientMessage> collected = responses;
+        responses = null;
+        if (collected.size() == 1) {
+            connection.write(collected.get(0));
+        } else if (!collected.isEmpty()) {
+            connection.write(ClientMessageBatch.encode(collected));
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl.protocol.task;
+
+import com.hazelcast.spi.impl.PartitionSpecificRunnable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs the message tasks of a client batch frame that target the same partition one after the other, in a single
+ * pass through the partition thread instead of one per task.
+ */
+public final class MessageTaskBatch implements PartitionSpecificRunnable {
+
+    private final int partitionId;
+    private final List<MessageTask> tasks = new ArrayList<MessageTask>();
+
+    public MessageTaskBatch(int partitionId) {
+        this.partitionId = partitionId;
+    }
+
+    public void add(MessageTask task) {
+        tasks.add(task);
+    }
+
+    @Override
+    public int getPartitionId() {
+        return partitionId;
+    }
+
+    @Override
+    public void run() {
+        for (MessageTask task : tasks) {
+            // message tasks handle their own failures
+            task.run();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "MessageTaskBatch{partitionId=" + partitionId + ", tasks=" + tasks.size() + '}';
+    }
+}
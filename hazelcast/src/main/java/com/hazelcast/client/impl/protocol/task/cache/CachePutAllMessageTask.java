@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.client.impl.protocol.task.cache;
+
+import com.hazelcast.cache.impl.CacheOperationProvider;
+import com.hazelcast.cache.impl.operation.CachePutAllOperation;
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.codec.CachePutAllCodec;
+import com.hazelcast.instance.Node;
+import com.hazelcast.nio.Connection;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.Operation;
+
+import javax.cache.expiry.ExpiryPolicy;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This client request specifically calls {@link CachePutAllOperation} on the server side.
+ * The client sends the entries of a single partition with each request.
+ *
+ * @see CachePutAllOperation
+ */
+public class CachePutAllMessageTask
+        extends AbstractCacheMessageTask<CachePutAllCodec.RequestParameters> {
+
+    public CachePutAllMessageTask(ClientMessage clientMessage, Node node, Connection connection) {
+        super(clientMessage, node, connection);
+    }
+
+    @Override
+    protected Operation prepareOperation() {
+        CacheOperationProvider operationProvider = getOperationProvider(parameters.name);
+        ExpiryPolicy expiryPolicy = (ExpiryPolicy) nodeEngine.toObject(parameters.expiryPolicy);
+        List<Map.Entry<Data, Data>> entries = new ArrayList<Map.Entry<Data, Data>>(parameters.entries.size());
+        for (Map.Entry<Data, Data> entry : parameters.entries.entrySet()) {
+            entries.add(new AbstractMap.SimpleImmutableEntry<Data, Data>(entry.getKey(), entry.getValue()));
+        }
+        return operationProvider.createPutAllOperation(entries, expiryPolicy, parameters.completionId);
+    }
+
+    @Override
+    protected CachePutAllCodec.RequestParameters decodeClientMessage(ClientMessage clientMessage) {
+        return CachePutAllCodec.decodeRequest(clientMessage);
+    }
+
+    @Override
+    protected ClientMessage encodeResponse(Object response) {
+        return CachePutAllCodec.encodeResponse();
+    }
+
+    @Override
+    public String getDistributedObjectName() {
+        return parameters.name;
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl.protocol.task.map;
+
+import com.hazelcast.client.ClientEndpoint;
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.codec.MapAddNearCacheInvalidationListenerCodec;
+import com.hazelcast.client.impl.protocol.task.AbstractCallableMessageTask;
+import com.hazelcast.instance.Node;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.NearCacheBatchInvalidationEvent;
+import com.hazelcast.map.impl.NearCacheInvalidationListener;
+import com.hazelcast.nio.Connection;
+import com.hazelcast.security.permission.ActionConstants;
+import com.hazelcast.security.permission.MapPermission;
+
+import java.security.Permission;
+
+public class MapAddNearCacheInvalidationListenerMessageTask
+        extends AbstractCallableMessageTask<MapAddNearCacheInvalidationListenerCodec.RequestParameters> {
+
+    public MapAddNearCacheInvalidationListenerMessageTask(ClientMessage clientMessage, Node node, Connection connection) {
+        super(clientMessage, node, connection);
+    }
+
+    @Override
+    protected Object call() {
+        final ClientEndpoint endpoint = getEndpoint();
+        final MapService mapService = getService(MapService.SERVICE_NAME);
+
+        final NearCacheInvalidationListener listener = new NearCacheInvalidationListener() {
+            @Override
+            public void onInvalidation(NearCacheBatchInvalidationEvent event) {
+                if (endpoint.isAlive()) {
+                    ClientMessage eventMessage =
+                            MapAddNearCacheInvalidationListenerCodec.encodeMapBatchInvalidationEvent(event.getKeys(),
+                                    event.getPartitionId(), event.getPartitionUuid(), event.getSequence());
+                    // keeps the batches of a partition in order on the client
+                    eventMessage.setPartitionId(event.getPartitionId());
+                    sendClientMessage(eventMessage);
+                }
+            }
+        };
+
+        String registrationId = mapService.getMapServiceContext().addNearCacheInvalidationListener(listener, parameters.name);
+        endpoint.setListenerRegistration(MapService.SERVICE_NAME, parameters.name, registrationId);
+        return registrationId;
+    }
+
+    @Override
+    protected MapAddNearCacheInvalidationListenerCodec.RequestParameters decodeClientMessage(ClientMessage clientMessage) {
+        return MapAddNearCacheInvalidationListenerCodec.decodeRequest(clientMessage);
+    }
+
+    @Override
+    protected ClientMessage encodeResponse(Object response) {
+        return MapAddNearCacheInvalidationListenerCodec.encodeResponse((String) response);
+    }
+
+    @Override
+    public String getServiceName() {
+        return MapService.SERVICE_NAME;
+    }
+
+    @Override
+    public String getMethodName() {
+        return "addNearCacheInvalidationListener";
+    }
+
+    @Override
+    public Object[] getParameters() {
+        return null;
+    }
+
+    @Override
+    public Permission getRequiredPermission() {
+        return new MapPermission(parameters.name, ActionConstants.ACTION_LISTEN);
+    }
+
+    @Override
+    public String getDistributedObjectName() {
+        return parameters.name;
+    }
+}
@@ -18,24 +18,28 @@ package com.hazelcast.client.impl.protocol.task.map;
 
 import com.hazelcast.client.impl.protocol.ClientMessage;
 import com.hazelcast.client.impl.protocol.codec.MapGetAllCodec;
-import com.hazelcast.client.impl.protocol.task.AbstractAllPartitionsMessageTask;
+import com.hazelcast.client.impl.protocol.task.AbstractMultiPartitionMessageTask;
 import com.hazelcast.instance.Node;
 import com.hazelcast.map.impl.MapEntrySet;
 import com.hazelcast.map.impl.MapService;
 import com.hazelcast.map.impl.operation.MapGetAllOperationFactory;
 import com.hazelcast.nio.Connection;
 import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.partition.InternalPartitionService;
 import com.hazelcast.security.permission.ActionConstants;
 import com.hazelcast.security.permission.MapPermission;
 import com.hazelcast.spi.OperationFactory;
 
 import java.security.Permission;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 
 public class MapGetAllMessageTask
-        extends AbstractAllPartitionsMessageTask<MapGetAllCodec.RequestParameters> {
+        extends AbstractMultiPartitionMessageTask<MapGetAllCodec.RequestParameters> {
 
 
     public MapGetAllMessageTask(ClientMessage clientMessage, Node node, Connection connection) {
@@ -61,6 +65,20 @@ public class MapGetAllMessageTask
         return dataMap;
     }
 
+    @Override
+    public Collection<Integer> getPartitions() {
+        InternalPartitionService partitionService = nodeEngine.getPartitionService();
+        int partitions = partitionService.getPartitionCount();
+        int capacity = Math.min(partitions, parameters.keys.size());
+        Set<Integer> partitionIds = new HashSet<Integer>(capacity);
+        Iterator<Data> iterator = parameters.keys.iterator();
+        while (iterator.hasNext() && partitionIds.size() < partitions) {
+            Data key = iterator.next();
+            partitionIds.add(partitionService.getPartitionId(key));
+        }
+        return partitionIds;
+    }
+
     @Override
     public String getServiceName() {
         return MapService.SERVICE_NAME;
@@ -18,23 +18,28 @@ package com.hazelcast.client.impl.protocol.task.map;
 
 import com.hazelcast.client.impl.protocol.ClientMessage;
 import com.hazelcast.client.impl.protocol.codec.MapPutAllCodec;
-import com.hazelcast.client.impl.protocol.task.AbstractAllPartitionsMessageTask;
+import com.hazelcast.client.impl.protocol.task.AbstractMultiPartitionMessageTask;
 import com.hazelcast.instance.Node;
 import com.hazelcast.map.impl.MapEntrySet;
 import com.hazelcast.map.impl.MapService;
 import com.hazelcast.map.impl.operation.MapPutAllOperationFactory;
 import com.hazelcast.nio.Connection;
 import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.partition.InternalPartitionService;
 import com.hazelcast.security.permission.ActionConstants;
 import com.hazelcast.security.permission.MapPermission;
 import com.hazelcast.spi.OperationFactory;
 import com.hazelcast.util.ExceptionUtil;
 
 import java.security.Permission;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
 
 public class MapPutAllMessageTask
-        extends AbstractAllPartitionsMessageTask<MapPutAllCodec.RequestParameters> {
+        extends AbstractMultiPartitionMessageTask<MapPutAllCodec.RequestParameters> {
 
     public MapPutAllMessageTask(ClientMessage clientMessage, Node node, Connection connection) {
         super(clientMessage, node, connection);
@@ -61,6 +66,20 @@ public class MapPutAllMessageTask
         return null;
     }
 
+    @Override
+    public Collection<Integer> getPartitions() {
+        InternalPartitionService partitionService = nodeEngine.getPartitionService();
+        int partitions = partitionService.getPartitionCount();
+        int capacity = Math.min(partitions, parameters.entries.size());
+        Set<Integer> partitionIds = new HashSet<Integer>(capacity);
+        Iterator<Data> iterator = parameters.entries.keySet().iterator();
+        while (iterator.hasNext() && partitionIds.size() < partitions) {
+            Data key = iterator.next();
+            partitionIds.add(partitionService.getPartitionId(key));
+        }
+        return partitionIds;
+    }
+
     @Override
     protected MapPutAllCodec.RequestParameters decodeClientMessage(ClientMessage clientMessage) {
         return MapPutAllCodec.decodeRequest(clientMessage);
@@ -24,6 +24,7 @@ import com.hazelcast.client.impl.protocol.ResponseMessageConst;
 import com.hazelcast.nio.serialization.Data;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 @GenerateCodec(id = TemplateConstants.JCACHE_TEMPLATE_ID, name = "Cache", ns = "Hazelcast.Client.Protocol.Cache")
@@ -105,4 +106,7 @@ public interface CacheCodecTemplate {
     @Request(id = 25, retryable = true, response = ResponseMessageConst.INTEGER)
     void size(String name);
 
+    @Request(id = 26, retryable = false, response = ResponseMessageConst.VOID)
+    void putAll(String name, Map<Data, Data> entries, @Nullable Data expiryPolicy, int completionId);
+
 }
@@ -70,6 +70,9 @@ public interface EventResponseTemplate {
     @EventResponse(EventMessageConst.EVENT_MAPPARTITIONLOST)
     void MapPartitionLost(int partitionId, String uuid);
 
+    @EventResponse(EventMessageConst.EVENT_MAPBATCHINVALIDATION)
+    void MapBatchInvalidation(List<Data> keys, int partitionId, String partitionUuid, long sequence);
+
     @EventResponse(EventMessageConst.EVENT_CACHE)
     void Cache(int type, Set<CacheEventData> keys, int completionId);
 
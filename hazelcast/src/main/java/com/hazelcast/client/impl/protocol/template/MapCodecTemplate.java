@@ -204,4 +204,8 @@ public interface MapCodecTemplate {
     @Request(id = 58, retryable = false, response = ResponseMessageConst.MAP_DATA_DATA)
     void entriesWithPagingPredicate(String name, Data predicate);
 
+    @Request(id = 59, retryable = true, response = ResponseMessageConst.STRING,
+            event = EventMessageConst.EVENT_MAPBATCHINVALIDATION)
+    void addNearCacheInvalidationListener(String name);
+
 }
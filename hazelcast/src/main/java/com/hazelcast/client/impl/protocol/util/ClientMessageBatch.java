@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl.protocol.util;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.nio.Bits;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Encodes and decodes batch frames, which carry several complete client messages in a single frame.
+ * <p/>
+ * A client sends the requests queued for a connection as one batch frame, and the member answers the requests of a
+ * batch with multi-response frames of the same layout. The payload of a batch frame is the number of messages
+ * followed by the messages themselves, each one a complete frame starting with its own frame length:
+ * <pre>
+ * +----------------+----------------------+----------------------+-----
+ * | Message Count  | Message 1 (frame)    | Message 2 (frame)    | ...
+ * +----------------+----------------------+----------------------+-----
+ * </pre>
+ * The correlation id of a batch frame is not used, the messages keep their own correlation ids.
+ */
+public final class ClientMessageBatch {
+
+    /**
+     * Message type of batch frames, outside of the range of the request, response and event types.
+     */
+    public static final int BATCH_MESSAGE_TYPE = 0xFFF0;
+
+    private ClientMessageBatch() {
+    }
+
+    public static boolean isBatch(ClientMessage message) {
+        return message.getMessageType() == BATCH_MESSAGE_TYPE;
+    }
+
+    /**
+     * Encodes the given complete messages into a single batch frame.
+     *
+     * @param messages the messages to encode, with their frame length set
+     * @return the batch frame
+     */
+    public static ClientMessage encode(List<ClientMessage> messages) {
+        int size = ClientMessage.HEADER_SIZE + Bits.INT_SIZE_IN_BYTES;
+        for (ClientMessage message : messages) {
+            size += message.getFrameLength();
+        }
+        ClientMessage batch = ClientMessage.createForEncode(size);
+        batch.setMessageType(BATCH_MESSAGE_TYPE);
+        batch.setVersion(ClientMessage.VERSION);
+        batch.addFlag(ClientMessage.BEGIN_AND_END_FLAGS);
+        batch.set(messages.size());
+        ClientProtocolBuffer buffer = batch.buffer();
+        for (ClientMessage message : messages) {
+            int frameLength = message.getFrameLength();
+            buffer.putBytes(batch.index(), message.buffer().byteArray(), 0, frameLength);
+            batch.index(batch.index() + frameLength);
+        }
+        return batch.updateFrameLength();
+    }
+
+    /**
+     * Decodes the messages of a batch frame. Each message gets its own copy of the bytes.
+     *
+     * @param batch the batch frame, positioned at its payload
+     * @return the messages of the batch, in the order they were encoded
+     */
+    public static List<ClientMessage> decode(ClientMessage batch) {
+        int count = batch.getInt();
+        List<ClientMessage> messages = new ArrayList<ClientMessage>(count);
+        ClientProtocolBuffer buffer = batch.buffer();
+        int index = batch.index();
+        for (int i = 0; i < count; i++) {
+            int frameLength = buffer.getInt(index);
+            byte[] bytes = new byte[frameLength];
+            buffer.getBytes(index, bytes);
+            messages.add(ClientMessage.createForDecode(new SafeBuffer(bytes), 0));
+            index += frameLength;
+        }
+        batch.index(index);
+        return messages;
+    }
+}
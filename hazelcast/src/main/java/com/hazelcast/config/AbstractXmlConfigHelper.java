@@ -348,6 +348,27 @@ public abstract class AbstractXmlConfigHelper {
         return socketInterceptorConfig;
     }
 
+    protected NearCachePreloaderConfig parseNearCachePreloaderConfig(final org.w3c.dom.Node node) {
+        NearCachePreloaderConfig preloaderConfig = new NearCachePreloaderConfig();
+        final String enabled = getAttribute(node, "enabled");
+        preloaderConfig.setEnabled(enabled != null && checkTrue(enabled.trim()));
+        final String directory = getAttribute(node, "directory");
+        if (directory != null) {
+            preloaderConfig.setDirectory(directory.trim());
+        }
+        final String initialDelay = getAttribute(node, "store-initial-delay-seconds");
+        if (initialDelay != null) {
+            preloaderConfig.setStoreInitialDelaySeconds(getIntegerValue("store-initial-delay-seconds", initialDelay.trim(),
+                    NearCachePreloaderConfig.DEFAULT_STORE_INITIAL_DELAY_SECONDS));
+        }
+        final String interval = getAttribute(node, "store-interval-seconds");
+        if (interval != null) {
+            preloaderConfig.setStoreIntervalSeconds(getIntegerValue("store-interval-seconds", interval.trim(),
+                    NearCachePreloaderConfig.DEFAULT_STORE_INTERVAL_SECONDS));
+        }
+        return preloaderConfig;
+    }
+
     protected void fillProperties(final org.w3c.dom.Node node, Properties properties) {
         if (properties == null) {
             return;
@@ -175,6 +175,8 @@ public class EvictionConfig
             return EvictionPolicyType.LFU;
         } else if (evictionPolicy == EvictionPolicy.LRU) {
             return EvictionPolicyType.LRU;
+        } else if (evictionPolicy == EvictionPolicy.RANDOM) {
+            return EvictionPolicyType.RANDOM;
         } else {
             return null;
         }
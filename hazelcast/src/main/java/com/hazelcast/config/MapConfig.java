@@ -113,6 +113,8 @@ public class MapConfig {
 
     private boolean optimizeQueries;
 
+    private boolean valueCompressionEnabled;
+
     private String mergePolicy = DEFAULT_MAP_MERGE_POLICY;
 
     private InMemoryFormat inMemoryFormat = DEFAULT_IN_MEMORY_FORMAT;
@@ -158,6 +160,7 @@ public class MapConfig {
         this.nearCacheConfig = config.nearCacheConfig != null ? new NearCacheConfig(config.nearCacheConfig) : null;
         this.readBackupData = config.readBackupData;
         this.optimizeQueries = config.optimizeQueries;
+        this.valueCompressionEnabled = config.valueCompressionEnabled;
         this.statisticsEnabled = config.statisticsEnabled;
         this.mergePolicy = config.mergePolicy;
         this.wanReplicationRef = config.wanReplicationRef != null ? new WanReplicationRef(config.wanReplicationRef) : null;
@@ -651,6 +654,31 @@ public class MapConfig {
         return this;
     }
 
+    /**
+     * Checks if stored values are compressed with a dictionary trained from sampled values of this map.
+     *
+     * @return True if value compression is enabled, false otherwise.
+     */
+    public boolean isValueCompressionEnabled() {
+        return valueCompressionEnabled;
+    }
+
+    /**
+     * Enables or disables dictionary based compression of the stored values.
+     * <p/>
+     * It only applies to maps with in-memory-format BINARY and without optimize-queries. The first stored values are
+     * sampled to train a dictionary of their common byte sequences; values stored after that are kept compressed
+     * against this dictionary and are decompressed whenever they are read. This trades CPU for memory and pays
+     * off for small values with a lot of repeated content, like serialized objects with the same field names.
+     *
+     * @param valueCompressionEnabled True to enable value compression, false to disable.
+     * @return The current map config instance.
+     */
+    public MapConfig setValueCompressionEnabled(boolean valueCompressionEnabled) {
+        this.valueCompressionEnabled = valueCompressionEnabled;
+        return this;
+    }
+
     public boolean isCompatible(MapConfig other) {
         if (this == other) {
             return true;
@@ -706,6 +734,7 @@ public class MapConfig {
                 .hashCode());
         result = prime * result + this.timeToLiveSeconds;
         result = prime * result + (this.readBackupData ? 1231 : 1237);
+        result = prime * result + (this.valueCompressionEnabled ? 1231 : 1237);
         return result;
     }
 
@@ -728,6 +757,7 @@ public class MapConfig {
                         && this.maxSizeConfig.getSize() == other.maxSizeConfig.getSize()
                         && this.timeToLiveSeconds == other.timeToLiveSeconds
                         && this.readBackupData == other.readBackupData
+                        && this.valueCompressionEnabled == other.valueCompressionEnabled
                         && (this.mergePolicy != null ? this.mergePolicy.equals(other.mergePolicy) : other.mergePolicy == null)
                         && (this.inMemoryFormat != null ? this.inMemoryFormat.equals(other.inMemoryFormat)
                         : other.inMemoryFormat == null)
@@ -754,6 +784,7 @@ public class MapConfig {
         sb.append(", minEvictionCheckMillis=").append(minEvictionCheckMillis);
         sb.append(", maxSizeConfig=").append(maxSizeConfig);
         sb.append(", readBackupData=").append(readBackupData);
+        sb.append(", valueCompressionEnabled=").append(valueCompressionEnabled);
         sb.append(", nearCacheConfig=").append(nearCacheConfig);
         sb.append(", mapStoreConfig=").append(mapStoreConfig);
         sb.append(", mergePolicyConfig='").append(mergePolicy).append('\'');
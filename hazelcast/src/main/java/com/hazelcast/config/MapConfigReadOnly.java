@@ -196,4 +196,8 @@ public class MapConfigReadOnly extends MapConfig {
         throw new UnsupportedOperationException("This config is read-only map: " + getName());
     }
 
+    public MapConfig setValueCompressionEnabled(boolean valueCompressionEnabled) {
+        throw new UnsupportedOperationException("This config is read-only map: " + getName());
+    }
+
 }
@@ -79,6 +79,8 @@ public class NearCacheConfig
     //      * LRU as eviction policy
     private EvictionConfig evictionConfig = new EvictionConfig();
 
+    private NearCachePreloaderConfig preloaderConfig = new NearCachePreloaderConfig();
+
     /**
      * Local Update Policy enum.
      */
@@ -133,6 +135,10 @@ public class NearCacheConfig
         if (config.evictionConfig != null) {
             this.evictionConfig = config.evictionConfig;
         }
+        // Preloader config cannot be null
+        if (config.preloaderConfig != null) {
+            this.preloaderConfig = new NearCachePreloaderConfig(config.preloaderConfig);
+        }
     }
 
     public NearCacheConfigReadOnly getAsReadOnly() {
@@ -384,6 +390,28 @@ public class NearCacheConfig
         return this;
     }
 
+    /**
+     * Gets the configuration of the preloader which stores the keys of the near cache and fills the near cache
+     * with their values when it is created again.
+     *
+     * @return The preloader config.
+     */
+    public NearCachePreloaderConfig getPreloaderConfig() {
+        return preloaderConfig;
+    }
+
+    /**
+     * Sets the configuration of the preloader which stores the keys of the near cache and fills the near cache
+     * with their values when it is created again.
+     *
+     * @param preloaderConfig The preloader config.
+     * @return This near cache config instance.
+     */
+    public NearCacheConfig setPreloaderConfig(NearCachePreloaderConfig preloaderConfig) {
+        this.preloaderConfig = checkNotNull(preloaderConfig, "Preloader config cannot be null !");
+        return this;
+    }
+
     @Override
     public void writeData(ObjectDataOutput out) throws IOException {
         out.writeUTF(name);
@@ -395,6 +423,7 @@ public class NearCacheConfig
         out.writeInt(inMemoryFormat.ordinal());
         out.writeInt(localUpdatePolicy.ordinal());
         out.writeObject(evictionConfig);
+        out.writeObject(preloaderConfig);
     }
 
     @Override
@@ -410,6 +439,7 @@ public class NearCacheConfig
         final int localUpdatePolicyInt = in.readInt();
         localUpdatePolicy = LocalUpdatePolicy.values()[localUpdatePolicyInt];
         evictionConfig = in.readObject();
+        preloaderConfig = in.readObject();
     }
 
     @Override
@@ -424,6 +454,7 @@ public class NearCacheConfig
         sb.append(", cacheLocalEntries=").append(cacheLocalEntries);
         sb.append(", localUpdatePolicy=").append(localUpdatePolicy);
         sb.append(", evictionConfig=").append(evictionConfig);
+        sb.append(", preloaderConfig=").append(preloaderConfig);
         sb.append('}');
         return sb.toString();
     }
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.config;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+
+import java.io.IOException;
+import java.io.Serializable;
+
+import static com.hazelcast.util.Preconditions.checkNotNull;
+import static com.hazelcast.util.Preconditions.checkPositive;
+
+/**
+ * Configuration for the near cache preloader.
+ * <p/>
+ * When enabled, the keys of the near cache are stored periodically to a file in the configured directory and
+ * the near cache is filled with the values of the stored keys when it is created again, e.g. after a restart.
+ */
+public class NearCachePreloaderConfig implements DataSerializable, Serializable {
+
+    /**
+     * Default initial delay in seconds before the keys are stored for the first time.
+     */
+    public static final int DEFAULT_STORE_INITIAL_DELAY_SECONDS = 600;
+    /**
+     * Default interval in seconds between two stores of the keys.
+     */
+    public static final int DEFAULT_STORE_INTERVAL_SECONDS = 600;
+
+    private boolean enabled;
+    private String directory = "";
+    private int storeInitialDelaySeconds = DEFAULT_STORE_INITIAL_DELAY_SECONDS;
+    private int storeIntervalSeconds = DEFAULT_STORE_INTERVAL_SECONDS;
+
+    public NearCachePreloaderConfig() {
+    }
+
+    public NearCachePreloaderConfig(boolean enabled, String directory) {
+        this.enabled = enabled;
+        this.directory = checkNotNull(directory, "Directory cannot be null !");
+    }
+
+    public NearCachePreloaderConfig(NearCachePreloaderConfig config) {
+        enabled = config.enabled;
+        directory = config.directory;
+        storeInitialDelaySeconds = config.storeInitialDelaySeconds;
+        storeIntervalSeconds = config.storeIntervalSeconds;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public NearCachePreloaderConfig setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        return this;
+    }
+
+    /**
+     * Gets the directory the key files are stored in. An empty directory means the working directory.
+     *
+     * @return the directory of the key files.
+     */
+    public String getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Sets the directory the key files are stored in. An empty directory means the working directory.
+     *
+     * @param directory the directory of the key files.
+     * @return this preloader config instance.
+     */
+    public NearCachePreloaderConfig setDirectory(String directory) {
+        this.directory = checkNotNull(directory, "Directory cannot be null !");
+        return this;
+    }
+
+    public int getStoreInitialDelaySeconds() {
+        return storeInitialDelaySeconds;
+    }
+
+    public NearCachePreloaderConfig setStoreInitialDelaySeconds(int storeInitialDelaySeconds) {
+        this.storeInitialDelaySeconds = checkPositive(storeInitialDelaySeconds,
+                "Store initial delay seconds must be positive !");
+        return this;
+    }
+
+    public int getStoreIntervalSeconds() {
+        return storeIntervalSeconds;
+    }
+
+    public NearCachePreloaderConfig setStoreIntervalSeconds(int storeIntervalSeconds) {
+        this.storeIntervalSeconds = checkPositive(storeIntervalSeconds, "Store interval seconds must be positive !");
+        return this;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeBoolean(enabled);
+        out.writeUTF(directory);
+        out.writeInt(storeInitialDelaySeconds);
+        out.writeInt(storeIntervalSeconds);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        enabled = in.readBoolean();
+        directory = in.readUTF();
+        storeInitialDelaySeconds = in.readInt();
+        storeIntervalSeconds = in.readInt();
+    }
+
+    @Override
+    public String toString() {
+        return "NearCachePreloaderConfig{"
+                + "enabled=" + enabled
+                + ", directory='" + directory + '\''
+                + ", storeInitialDelaySeconds=" + storeInitialDelaySeconds
+                + ", storeIntervalSeconds=" + storeIntervalSeconds
+                + '}';
+    }
+}
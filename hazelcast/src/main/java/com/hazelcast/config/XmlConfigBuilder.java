@@ -962,7 +962,13 @@ public class XmlConfigBuilder extends AbstractConfigBuilder implements ConfigBui
                 MapStoreConfig mapStoreConfig = createMapStoreConfig(node);
                 mapConfig.setMapStoreConfig(mapStoreConfig);
             } else if ("near-cache".equals(nodeName)) {
-                handleViaReflection(node, mapConfig, new NearCacheConfig());
+                NearCacheConfig nearCacheConfig = new NearCacheConfig();
+                handleViaReflection(node, mapConfig, nearCacheConfig);
+                for (org.w3c.dom.Node n : new IterableNodeList(node.getChildNodes())) {
+                    if ("preloader".equals(cleanNodeName(n))) {
+                        nearCacheConfig.setPreloaderConfig(parseNearCachePreloaderConfig(n));
+                    }
+                }
             } else if ("merge-policy".equals(nodeName)) {
                 mapConfig.setMergePolicy(value);
             } else if ("read-backup-data".equals(nodeName)) {
@@ -971,6 +977,8 @@ public class XmlConfigBuilder extends AbstractConfigBuilder implements ConfigBui
                 mapConfig.setStatisticsEnabled(checkTrue(value));
             } else if ("optimize-queries".equals(nodeName)) {
                 mapConfig.setOptimizeQueries(checkTrue(value));
+            } else if ("value-compression-enabled".equals(nodeName)) {
+                mapConfig.setValueCompressionEnabled(checkTrue(value));
             } else if ("wan-replication-ref".equals(nodeName)) {
                 mapWanReplicationRefHandle(node, mapConfig);
             } else if ("indexes".equals(nodeName)) {
@@ -1122,6 +1130,8 @@ public class XmlConfigBuilder extends AbstractConfigBuilder implements ConfigBui
                 nearCacheConfig.setCacheLocalEntries(Boolean.parseBoolean(value));
             } else if ("eviction".equals(nodeName)) {
                 nearCacheConfig.setEvictionConfig(getEvictionConfig(n));
+            } else if ("preloader".equals(nodeName)) {
+                nearCacheConfig.setPreloaderConfig(parseNearCachePreloaderConfig(n));
             }
         }
         return nearCacheConfig;
@@ -63,6 +63,40 @@ public class GroupProperties {
      */
     public static final String PROP_PERFORMANCE_MONITORING_DELAY_SECONDS = "hazelcast.performance.monitoring.delay.seconds";
 
+    /**
+     * The period in seconds between two publications of the metrics to the enabled metrics publishers.
+     */
+    public static final String PROP_METRICS_PUBLISH_PERIOD_SECONDS = "hazelcast.metrics.publish.period.seconds";
+    /**
+     * Publishes all metrics as the attributes of a single MBean, see {@link #PROP_METRICS_PUBLISH_PERIOD_SECONDS}.
+     */
+    public static final String PROP_METRICS_JMX_ENABLED = "hazelcast.metrics.jmx.enabled";
+    /**
+     * Writes all metrics to a rolling file in {@link #PROP_METRICS_FILE_DIRECTORY}.
+     */
+    public static final String PROP_METRICS_FILE_ENABLED = "hazelcast.metrics.file.enabled";
+    /**
+     * The directory of the metrics files, the working directory if empty.
+     */
+    public static final String PROP_METRICS_FILE_DIRECTORY = "hazelcast.metrics.file.directory";
+    /**
+     * The size in megabytes after which a metrics file is rolled over.
+     */
+    public static final String PROP_METRICS_FILE_MAX_SIZE_MB = "hazelcast.metrics.file.max.size.mb";
+    /**
+     * The number of rolled over metrics files to keep.
+     */
+    public static final String PROP_METRICS_FILE_MAX_ROLLED_COUNT = "hazelcast.metrics.file.max.rolled.count";
+    /**
+     * Makes the metrics available as text on the REST endpoint {@code /hazelcast/rest/metrics}.
+     * Needs {@link #PROP_REST_ENABLED}.
+     */
+    public static final String PROP_METRICS_REST_ENABLED = "hazelcast.metrics.rest.enabled";
+    /**
+     * Comma separated class names of additional {@link com.hazelcast.internal.metrics.MetricsPublisher}s.
+     */
+    public static final String PROP_METRICS_PUBLISHER_CLASSES = "hazelcast.metrics.publisher.classes";
+
     public static final String PROP_VERSION_CHECK_ENABLED = "hazelcast.version.check.enabled";
     public static final String PROP_PREFER_IPv4_STACK = "hazelcast.prefer.ipv4.stack";
     public static final String PROP_IO_THREAD_COUNT = "hazelcast.io.thread.count";
@@ -84,8 +118,28 @@ public class GroupProperties {
     public static final String PROP_PARTITION_OPERATION_THREAD_COUNT = "hazelcast.operation.thread.count";
     public static final String PROP_GENERIC_OPERATION_THREAD_COUNT = "hazelcast.operation.generic.thread.count";
     public static final String PROP_EVENT_THREAD_COUNT = "hazelcast.event.thread.count";
+    /**
+     * The maximum number of pending events of all local listeners together, see
+     * {@link #PROP_EVENT_LISTENER_QUEUE_CAPACITY} for the bound of a single listener. The default is 1000000.
+     */
     public static final String PROP_EVENT_QUEUE_CAPACITY = "hazelcast.event.queue.capacity";
     public static final String PROP_EVENT_QUEUE_TIMEOUT_MILLIS = "hazelcast.event.queue.timeout.millis";
+    /**
+     * The maximum number of pending events of a single local listener. Every listener has its own queue, so a slow
+     * listener can't cause events of other listeners to be dropped, as long as the pending events of all listeners
+     * stay below {@link #PROP_EVENT_QUEUE_CAPACITY}. The default is 100000.
+     */
+    public static final String PROP_EVENT_LISTENER_QUEUE_CAPACITY = "hazelcast.event.listener.queue.capacity";
+    /**
+     * What to do with an event when the queue of its listener is full: BLOCK the publisher for at most
+     * {@link #PROP_EVENT_QUEUE_TIMEOUT_MILLIS} and then drop the event, DROP_OLDEST pending event, or COALESCE the
+     * event with a pending event for the same key (dropping the oldest if there is none). The default is BLOCK;
+     * event threads, which also queue the events received from other members, never block and drop the oldest.
+     * <p/>
+     * The policy of a single service can be set with this property name followed by a dot and the service name, e.g.
+     * {@code hazelcast.event.listener.queue.overflow.policy.hz:impl:mapService}.
+     */
+    public static final String PROP_EVENT_LISTENER_QUEUE_OVERFLOW_POLICY = "hazelcast.event.listener.queue.overflow.policy";
     public static final String PROP_CONNECT_ALL_WAIT_SECONDS = "hazelcast.connect.all.wait.seconds";
     public static final String PROP_MEMCACHE_ENABLED = "hazelcast.memcache.enabled";
     public static final String PROP_REST_ENABLED = "hazelcast.rest.enabled";
@@ -113,6 +167,12 @@ public class GroupProperties {
     public static final String PROP_CLIENT_ENGINE_THREAD_COUNT = "hazelcast.clientengine.thread.count";
     public static final String PROP_SOCKET_RECEIVE_BUFFER_SIZE = "hazelcast.socket.receive.buffer.size";
     public static final String PROP_SOCKET_SEND_BUFFER_SIZE = "hazelcast.socket.send.buffer.size";
+    /**
+     * If the socket send buffer used by the {@link com.hazelcast.nio.tcp.WriteHandler} should be allocated in direct
+     * memory. A direct buffer is handed to the socket channel without the copy into a temporary direct buffer the
+     * JDK makes for heap buffers. The default is false.
+     */
+    public static final String PROP_SOCKET_BUFFER_DIRECT = "hazelcast.socket.buffer.direct";
     public static final String PROP_SOCKET_LINGER_SECONDS = "hazelcast.socket.linger.seconds";
     public static final String PROP_SOCKET_CONNECT_TIMEOUT_SECONDS = "hazelcast.socket.connect.timeout.seconds";
     public static final String PROP_SOCKET_KEEP_ALIVE = "hazelcast.socket.keep.alive";
@@ -220,6 +280,60 @@ public class GroupProperties {
     public static final String PROP_SLOW_OPERATION_DETECTOR_STACK_TRACE_LOGGING_ENABLED
             = "hazelcast.slow.operation.detector.stacktrace.logging.enabled";
 
+    /**
+     * Every how many operations an operation runner times an operation for the per operation class and per service
+     * profile, which is available as metrics and in the Management Center. 1 times every operation, 0 disables the
+     * profiler.
+     * <p/>
+     * A timed operation costs two {@link System#nanoTime()} calls and a few counter updates.
+     */
+    public static final String PROP_OPERATION_PROFILER_SAMPLE_RATE = "hazelcast.operation.profiler.sample.rate";
+
+    /**
+     * Every how many invocations, by call id, the phases of an invocation are traced. The trace of a traced
+     * invocation is added to its {@link com.hazelcast.core.OperationTimeoutException}. 0, the default, disables the
+     * tracer.
+     */
+    public static final String PROP_INVOCATION_TRACER_SAMPLE_RATE = "hazelcast.invocation.tracer.sample.rate";
+
+    /**
+     * The number of trace records kept per thread by the invocation tracer, rounded up to a power of two.
+     */
+    public static final String PROP_INVOCATION_TRACER_BUFFER_SIZE = "hazelcast.invocation.tracer.buffer.size";
+
+    /**
+     * Enables the partition load monitor, which tracks how busy every partition operation thread is and how many
+     * operations every partition executes, both as decaying averages, and reports the hottest partitions and keys.
+     * Disabled by default, since it times every task of the partition operation threads.
+     */
+    public static final String PROP_PARTITION_LOAD_MONITOR_ENABLED = "hazelcast.partition.load.monitor.enabled";
+
+    /**
+     * Every how many seconds the partition load monitor updates its averages.
+     */
+    public static final String PROP_PARTITION_LOAD_MONITOR_INTERVAL_SECONDS
+            = "hazelcast.partition.load.monitor.interval.seconds";
+
+    /**
+     * The number of hot partitions and hot keys reported by the partition load monitor.
+     */
+    public static final String PROP_PARTITION_LOAD_MONITOR_TOP_N = "hazelcast.partition.load.monitor.top.n";
+
+    /**
+     * Every how many key based operations a partition operation runner samples the key for the hot key report of the
+     * partition load monitor. 0 disables the hot key report.
+     */
+    public static final String PROP_PARTITION_LOAD_MONITOR_KEY_SAMPLE_RATE
+            = "hazelcast.partition.load.monitor.key.sample.rate";
+
+    /**
+     * Logs a warning when the utilization of the busiest partition operation thread exceeds this percentage of the
+     * average utilization of all partition operation threads, e.g. 200 when one thread is twice as busy as the average.
+     * Only checked while the busiest thread is at least half busy. 0, the default, disables the warning.
+     */
+    public static final String PROP_PARTITION_LOAD_MONITOR_IMBALANCE_WARNING_PERCENTAGE
+            = "hazelcast.partition.load.monitor.imbalance.warning.percentage";
+
     // OLD ELASTIC MEMORY PROPS
     public static final String PROP_ELASTIC_MEMORY_ENABLED = "hazelcast.elastic.memory.enabled";
     public static final String PROP_ELASTIC_MEMORY_TOTAL_SIZE = "hazelcast.elastic.memory.total.size";
@@ -279,6 +393,41 @@ public class GroupProperties {
     public static final String PROP_CACHE_INVALIDATION_MESSAGE_BATCH_FREQUENCY_SECONDS
             = "hazelcast.cache.invalidation.batchfrequency.seconds";
 
+    /**
+     * Defines how often, in seconds, the records of the caches are checked for expired entries in the background.
+     * Expired entries are removed on access anyway; this keeps rarely accessed caches from holding on to them.
+     */
+    public static final String PROP_CACHE_EXPIRATION_TASK_PERIOD_SECONDS
+            = "hazelcast.cache.expiration.task.period.seconds";
+
+    /**
+     * Defines the maximum number of records of a cache partition which are checked for expiration in one run of
+     * the background expiration task. Bounds the time the task holds a partition thread.
+     */
+    public static final String PROP_CACHE_EXPIRATION_MAX_SCAN_COUNT
+            = "hazelcast.cache.expiration.max.scan.count";
+
+    /**
+     * Defines map near cache invalidation event batch sending is enabled or not.
+     * When disabled, every invalidation is sent to the client near caches on its own.
+     */
+    public static final String PROP_MAP_INVALIDATION_MESSAGE_BATCH_ENABLED
+            = "hazelcast.map.invalidation.batch.enabled";
+
+    /**
+     * Defines the maximum number of keys of a partition sent to client near caches in a single invalidation batch.
+     */
+    public static final String PROP_MAP_INVALIDATION_MESSAGE_BATCH_SIZE
+            = "hazelcast.map.invalidation.batch.size";
+
+    /**
+     * Defines map near cache invalidation batch sending frequency in milliseconds.
+     * When a partition batch does not reach {@link #PROP_MAP_INVALIDATION_MESSAGE_BATCH_SIZE} keys in the given time
+     * period, it is sent as it is. This bounds the time a client near cache may serve a value after it was changed.
+     */
+    public static final String PROP_MAP_INVALIDATION_MESSAGE_BATCH_FREQUENCY_MILLIS
+            = "hazelcast.map.invalidation.batchfrequency.millis";
+
     /**
      * Defines timeout duration (in milliseconds) for a WAN replication event before retry.
      * If confirmation is not received in the period of timeout duration, event is resent to target cluster.
@@ -288,6 +437,13 @@ public class GroupProperties {
             = "hazelcast.enterprise.wanrep.optimeout.millis";
 
     public static final String PROP_CLIENT_MAX_NO_HEARTBEAT_SECONDS = "hazelcast.client.max.no.heartbeat.seconds";
+
+    /**
+     * How long the responses to a batch of client requests are collected into a single multi-response frame. The
+     * responses are sent as soon as all of them are there; responses arriving after this time are sent on their own,
+     * so a slow request delays the others of its batch by at most this time. The default is 1 millisecond.
+     */
+    public static final String PROP_CLIENT_BATCH_RESPONSE_MAX_WAIT_MICROS = "hazelcast.client.batch.response.max.wait.micros";
     public static final String PROP_MIGRATION_MIN_DELAY_ON_MEMBER_REMOVED_SECONDS
             = "hazelcast.migration.min.delay.on.member.removed.seconds";
 
@@ -423,6 +579,15 @@ public class GroupProperties {
 
     public final GroupProperty PERFORMANCE_MONITORING_DELAY_SECONDS;
 
+    public final GroupProperty METRICS_PUBLISH_PERIOD_SECONDS;
+    public final GroupProperty METRICS_JMX_ENABLED;
+    public final GroupProperty METRICS_FILE_ENABLED;
+    public final GroupProperty METRICS_FILE_DIRECTORY;
+    public final GroupProperty METRICS_FILE_MAX_SIZE_MB;
+    public final GroupProperty METRICS_FILE_MAX_ROLLED_COUNT;
+    public final GroupProperty METRICS_REST_ENABLED;
+    public final GroupProperty METRICS_PUBLISHER_CLASSES;
+
     public final GroupProperty IO_THREAD_COUNT;
 
     public final GroupProperty IO_BALANCER_INTERVAL_SECONDS;
@@ -431,6 +596,10 @@ public class GroupProperties {
 
     public final GroupProperty EVENT_QUEUE_TIMEOUT_MILLIS;
 
+    public final GroupProperty EVENT_LISTENER_QUEUE_CAPACITY;
+
+    public final GroupProperty EVENT_LISTENER_QUEUE_OVERFLOW_POLICY;
+
     public final GroupProperty PREFER_IPv4_STACK;
 
     public final GroupProperty CONNECT_ALL_WAIT_SECONDS;
@@ -463,6 +632,8 @@ public class GroupProperties {
     // number of kilobytes
     public final GroupProperty SOCKET_SEND_BUFFER_SIZE;
 
+    public final GroupProperty SOCKET_BUFFER_DIRECT;
+
     public final GroupProperty SOCKET_LINGER_SECONDS;
 
     public final GroupProperty SOCKET_CONNECT_TIMEOUT_SECONDS;
@@ -550,6 +721,14 @@ public class GroupProperties {
     public final GroupProperty SLOW_OPERATION_DETECTOR_STACK_TRACE_LOGGING_ENABLED;
 
     public final GroupProperty SLOW_INVOCATION_DETECTOR_THRESHOLD_MILLIS;
+    public final GroupProperty OPERATION_PROFILER_SAMPLE_RATE;
+    public final GroupProperty INVOCATION_TRACER_SAMPLE_RATE;
+    public final GroupProperty INVOCATION_TRACER_BUFFER_SIZE;
+    public final GroupProperty PARTITION_LOAD_MONITOR_ENABLED;
+    public final GroupProperty PARTITION_LOAD_MONITOR_INTERVAL_SECONDS;
+    public final GroupProperty PARTITION_LOAD_MONITOR_TOP_N;
+    public final GroupProperty PARTITION_LOAD_MONITOR_KEY_SAMPLE_RATE;
+    public final GroupProperty PARTITION_LOAD_MONITOR_IMBALANCE_WARNING_PERCENTAGE;
 
     public final GroupProperty ELASTIC_MEMORY_ENABLED;
 
@@ -583,9 +762,17 @@ public class GroupProperties {
     public final GroupProperty CACHE_INVALIDATION_MESSAGE_BATCH_ENABLED;
     public final GroupProperty CACHE_INVALIDATION_MESSAGE_BATCH_SIZE;
     public final GroupProperty CACHE_INVALIDATION_MESSAGE_BATCH_FREQUENCY_SECONDS;
+    public final GroupProperty CACHE_EXPIRATION_TASK_PERIOD_SECONDS;
+    public final GroupProperty CACHE_EXPIRATION_MAX_SCAN_COUNT;
+
+    public final GroupProperty MAP_INVALIDATION_MESSAGE_BATCH_ENABLED;
+    public final GroupProperty MAP_INVALIDATION_MESSAGE_BATCH_SIZE;
+    public final GroupProperty MAP_INVALIDATION_MESSAGE_BATCH_FREQUENCY_MILLIS;
 
     public final GroupProperty CLIENT_HEARTBEAT_TIMEOUT_SECONDS;
 
+    public final GroupProperty CLIENT_BATCH_RESPONSE_MAX_WAIT_MICROS;
+
     public final GroupProperty MIGRATION_MIN_DELAY_ON_MEMBER_REMOVED_SECONDS;
 
     public final GroupProperty BACKPRESSURE_ENABLED;
@@ -607,6 +794,15 @@ public class GroupProperties {
                 = new GroupProperty(config, PROP_PERFORMANCE_MONITORING_ENABLED, "false");
         PERFORMANCE_MONITORING_DELAY_SECONDS = new GroupProperty(config, PROP_PERFORMANCE_MONITORING_DELAY_SECONDS, "30");
 
+        METRICS_PUBLISH_PERIOD_SECONDS = new GroupProperty(config, PROP_METRICS_PUBLISH_PERIOD_SECONDS, "5");
+        METRICS_JMX_ENABLED = new GroupProperty(config, PROP_METRICS_JMX_ENABLED, "false");
+        METRICS_FILE_ENABLED = new GroupProperty(config, PROP_METRICS_FILE_ENABLED, "false");
+        METRICS_FILE_DIRECTORY = new GroupProperty(config, PROP_METRICS_FILE_DIRECTORY, "");
+        METRICS_FILE_MAX_SIZE_MB = new GroupProperty(config, PROP_METRICS_FILE_MAX_SIZE_MB, "10");
+        METRICS_FILE_MAX_ROLLED_COUNT = new GroupProperty(config, PROP_METRICS_FILE_MAX_ROLLED_COUNT, "5");
+        METRICS_REST_ENABLED = new GroupProperty(config, PROP_METRICS_REST_ENABLED, "false");
+        METRICS_PUBLISHER_CLASSES = new GroupProperty(config, PROP_METRICS_PUBLISHER_CLASSES, "");
+
         VERSION_CHECK_ENABLED = new GroupProperty(config, PROP_VERSION_CHECK_ENABLED, "true");
         PREFER_IPv4_STACK = new GroupProperty(config, PROP_PREFER_IPv4_STACK, "true");
         IO_THREAD_COUNT = new GroupProperty(config, PROP_IO_THREAD_COUNT, "3");
@@ -618,6 +814,8 @@ public class GroupProperties {
         EVENT_THREAD_COUNT = new GroupProperty(config, PROP_EVENT_THREAD_COUNT, "5");
         EVENT_QUEUE_CAPACITY = new GroupProperty(config, PROP_EVENT_QUEUE_CAPACITY, "1000000");
         EVENT_QUEUE_TIMEOUT_MILLIS = new GroupProperty(config, PROP_EVENT_QUEUE_TIMEOUT_MILLIS, "250");
+        EVENT_LISTENER_QUEUE_CAPACITY = new GroupProperty(config, PROP_EVENT_LISTENER_QUEUE_CAPACITY, "100000");
+        EVENT_LISTENER_QUEUE_OVERFLOW_POLICY = new GroupProperty(config, PROP_EVENT_LISTENER_QUEUE_OVERFLOW_POLICY, "BLOCK");
         CLIENT_ENGINE_THREAD_COUNT = new GroupProperty(config, PROP_CLIENT_ENGINE_THREAD_COUNT, "-1");
 
         CONNECT_ALL_WAIT_SECONDS = new GroupProperty(config, PROP_CONNECT_ALL_WAIT_SECONDS, "120");
@@ -635,6 +833,7 @@ public class GroupProperties {
         SOCKET_CLIENT_BIND = new GroupProperty(config, PROP_SOCKET_CLIENT_BIND, "true");
         SOCKET_RECEIVE_BUFFER_SIZE = new GroupProperty(config, PROP_SOCKET_RECEIVE_BUFFER_SIZE, "32");
         SOCKET_SEND_BUFFER_SIZE = new GroupProperty(config, PROP_SOCKET_SEND_BUFFER_SIZE, "32");
+        SOCKET_BUFFER_DIRECT = new GroupProperty(config, PROP_SOCKET_BUFFER_DIRECT, "false");
         SOCKET_LINGER_SECONDS = new GroupProperty(config, PROP_SOCKET_LINGER_SECONDS, "0");
         SOCKET_CONNECT_TIMEOUT_SECONDS = new GroupProperty(config, PROP_SOCKET_CONNECT_TIMEOUT_SECONDS, "0");
         SOCKET_KEEP_ALIVE = new GroupProperty(config, PROP_SOCKET_KEEP_ALIVE, "true");
@@ -691,6 +890,15 @@ public class GroupProperties {
                 = new GroupProperty(config, PROP_SLOW_OPERATION_DETECTOR_STACK_TRACE_LOGGING_ENABLED, "false");
         SLOW_INVOCATION_DETECTOR_THRESHOLD_MILLIS
                 = new GroupProperty(config, PROP_SLOW_INVOCATION_DETECTOR_THRESHOLD_MILLIS, "-1");
+        OPERATION_PROFILER_SAMPLE_RATE = new GroupProperty(config, PROP_OPERATION_PROFILER_SAMPLE_RATE, "16");
+        INVOCATION_TRACER_SAMPLE_RATE = new GroupProperty(config, PROP_INVOCATION_TRACER_SAMPLE_RATE, "0");
+        INVOCATION_TRACER_BUFFER_SIZE = new GroupProperty(config, PROP_INVOCATION_TRACER_BUFFER_SIZE, "1024");
+        PARTITION_LOAD_MONITOR_ENABLED = new GroupProperty(config, PROP_PARTITION_LOAD_MONITOR_ENABLED, "false");
+        PARTITION_LOAD_MONITOR_INTERVAL_SECONDS = new GroupProperty(config, PROP_PARTITION_LOAD_MONITOR_INTERVAL_SECONDS, "1");
+        PARTITION_LOAD_MONITOR_TOP_N = new GroupProperty(config, PROP_PARTITION_LOAD_MONITOR_TOP_N, "10");
+        PARTITION_LOAD_MONITOR_KEY_SAMPLE_RATE = new GroupProperty(config, PROP_PARTITION_LOAD_MONITOR_KEY_SAMPLE_RATE, "64");
+        PARTITION_LOAD_MONITOR_IMBALANCE_WARNING_PERCENTAGE
+                = new GroupProperty(config, PROP_PARTITION_LOAD_MONITOR_IMBALANCE_WARNING_PERCENTAGE, "0");
 
         ELASTIC_MEMORY_ENABLED = new GroupProperty(config, PROP_ELASTIC_MEMORY_ENABLED, "false");
         ELASTIC_MEMORY_TOTAL_SIZE = new GroupProperty(config, PROP_ELASTIC_MEMORY_TOTAL_SIZE, "128M");
@@ -713,8 +921,19 @@ public class GroupProperties {
                 = new GroupProperty(config, PROP_CACHE_INVALIDATION_MESSAGE_BATCH_SIZE, "100");
         CACHE_INVALIDATION_MESSAGE_BATCH_FREQUENCY_SECONDS
                 = new GroupProperty(config, PROP_CACHE_INVALIDATION_MESSAGE_BATCH_FREQUENCY_SECONDS, "10");
+        CACHE_EXPIRATION_TASK_PERIOD_SECONDS
+                = new GroupProperty(config, PROP_CACHE_EXPIRATION_TASK_PERIOD_SECONDS, "5");
+        CACHE_EXPIRATION_MAX_SCAN_COUNT
+                = new GroupProperty(config, PROP_CACHE_EXPIRATION_MAX_SCAN_COUNT, "256");
+        MAP_INVALIDATION_MESSAGE_BATCH_ENABLED
+                = new GroupProperty(config, PROP_MAP_INVALIDATION_MESSAGE_BATCH_ENABLED, "true");
+        MAP_INVALIDATION_MESSAGE_BATCH_SIZE
+                = new GroupProperty(config, PROP_MAP_INVALIDATION_MESSAGE_BATCH_SIZE, "100");
+        MAP_INVALIDATION_MESSAGE_BATCH_FREQUENCY_MILLIS
+                = new GroupProperty(config, PROP_MAP_INVALIDATION_MESSAGE_BATCH_FREQUENCY_MILLIS, "100");
 
         CLIENT_HEARTBEAT_TIMEOUT_SECONDS = new GroupProperty(config, PROP_CLIENT_MAX_NO_HEARTBEAT_SECONDS, "300");
+        CLIENT_BATCH_RESPONSE_MAX_WAIT_MICROS = new GroupProperty(config, PROP_CLIENT_BATCH_RESPONSE_MAX_WAIT_MICROS, "1000");
         MIGRATION_MIN_DELAY_ON_MEMBER_REMOVED_SECONDS
                 = new GroupProperty(config, PROP_MIGRATION_MIN_DELAY_ON_MEMBER_REMOVED_SECONDS, "5");
         BACKPRESSURE_ENABLED
@@ -18,6 +18,7 @@ package com.hazelcast.internal.ascii.rest;
 
 import com.hazelcast.internal.ascii.TextCommandService;
 import com.hazelcast.instance.Node;
+import com.hazelcast.internal.monitors.TextMetricsPublisher;
 import com.hazelcast.nio.ConnectionManager;
 
 import static com.hazelcast.util.StringUtil.stringToBytes;
@@ -62,6 +63,13 @@ public class HttpGetCommandProcessor extends HttpCommandProcessor<HttpGetCommand
             res.append("AllConnectionCount: ").append(connectionManager.getAllTextConnections());
             res.append("\n");
             command.setResponse(null, stringToBytes(res.toString()));
+        } else if (uri.startsWith(URI_METRICS)) {
+            TextMetricsPublisher publisher = textCommandService.getNode().nodeEngine.getMetricsMonitor().getTextPublisher();
+            if (publisher == null) {
+                command.send204();
+            } else {
+                command.setResponse(HttpCommand.CONTENT_TYPE_PLAIN_TEXT, publisher.getSnapshot());
+            }
         } else {
             command.send400();
         }
@@ -36,9 +36,12 @@ import com.hazelcast.internal.management.request.ClusterPropsRequest;
 import com.hazelcast.internal.management.request.ConsoleCommandRequest;
 import com.hazelcast.internal.management.request.ConsoleRequest;
 import com.hazelcast.internal.management.request.ExecuteScriptRequest;
+import com.hazelcast.internal.management.request.GetInvocationTracesRequest;
 import com.hazelcast.internal.management.request.GetLogsRequest;
 import com.hazelcast.internal.management.request.GetMapEntryRequest;
 import com.hazelcast.internal.management.request.GetMemberSystemPropertiesRequest;
+import com.hazelcast.internal.management.request.GetOperationProfileRequest;
+import com.hazelcast.internal.management.request.GetPartitionLoadRequest;
 import com.hazelcast.internal.management.request.GetSystemWarningsRequest;
 import com.hazelcast.internal.management.request.MapConfigRequest;
 import com.hazelcast.internal.management.request.MemberConfigRequest;
@@ -388,6 +391,9 @@ public class ManagementCenterService {
             register(new GetMapEntryRequest());
             register(new ShutdownMemberRequest());
             register(new GetSystemWarningsRequest());
+            register(new GetOperationProfileRequest());
+            register(new GetInvocationTracesRequest());
+            register(new GetPartitionLoadRequest());
         }
 
         public void register(ConsoleRequest consoleRequest) {
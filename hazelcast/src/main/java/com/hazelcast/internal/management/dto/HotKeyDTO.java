@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.management.dto;
+
+import com.eclipsesource.json.JsonObject;
+import com.hazelcast.internal.management.JsonSerializable;
+
+import static com.hazelcast.util.JsonUtil.getDouble;
+import static com.hazelcast.util.JsonUtil.getInt;
+import static com.hazelcast.util.JsonUtil.getString;
+
+/**
+ * A Serializable DTO for a hot key reported by the partition load monitor. The rate is estimated from the sampled keys.
+ */
+public class HotKeyDTO implements JsonSerializable {
+
+    public String serviceName;
+    public String name;
+    public String key;
+    public int partitionId;
+    public double operationsPerSecond;
+
+    public HotKeyDTO() {
+    }
+
+    public HotKeyDTO(String serviceName, String name, String key, int partitionId, double operationsPerSecond) {
+        this.serviceName = serviceName;
+        this.name = name;
+        this.key = key;
+        this.partitionId = partitionId;
+        this.operationsPerSecond = operationsPerSecond;
+    }
+
+    @Override
+    public JsonObject toJson() {
+        JsonObject root = new JsonObject();
+        root.add("serviceName", serviceName);
+        root.add("name", name);
+        root.add("key", key);
+        root.add("partitionId", partitionId);
+        root.add("operationsPerSecond", operationsPerSecond);
+        return root;
+    }
+
+    @Override
+    public void fromJson(JsonObject json) {
+        serviceName = getString(json, "serviceName");
+        name = getString(json, "name");
+        key = getString(json, "key");
+        partitionId = getInt(json, "partitionId");
+        operationsPerSecond = getDouble(json, "operationsPerSecond");
+    }
+
+    @Override
+    public String toString() {
+        return serviceName + " '" + name + "' key " + key + " in partition " + partitionId
+                + String.format(": ~%.1f ops/s", operationsPerSecond);
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.management.dto;
+
+import com.eclipsesource.json.JsonObject;
+import com.hazelcast.internal.management.JsonSerializable;
+
+import static com.hazelcast.util.JsonUtil.getDouble;
+import static com.hazelcast.util.JsonUtil.getInt;
+
+/**
+ * A Serializable DTO for a hot partition reported by the partition load monitor.
+ */
+public class HotPartitionDTO implements JsonSerializable {
+
+    public int partitionId;
+    public int threadIndex;
+    public double operationsPerSecond;
+
+    public HotPartitionDTO() {
+    }
+
+    public HotPartitionDTO(int partitionId, int threadIndex, double operationsPerSecond) {
+        this.partitionId = partitionId;
+        this.threadIndex = threadIndex;
+        this.operationsPerSecond = operationsPerSecond;
+    }
+
+    @Override
+    public JsonObject toJson() {
+        JsonObject root = new JsonObject();
+        root.add("partitionId", partitionId);
+        root.add("threadIndex", threadIndex);
+        root.add("operationsPerSecond", operationsPerSecond);
+        return root;
+    }
+
+    @Override
+    public void fromJson(JsonObject json) {
+        partitionId = getInt(json, "partitionId");
+        threadIndex = getInt(json, "threadIndex");
+        operationsPerSecond = getDouble(json, "operationsPerSecond");
+    }
+
+    @Override
+    public String toString() {
+        return "partition " + partitionId + " on thread " + threadIndex
+                + String.format(": %.1f ops/s", operationsPerSecond);
+    }
+}
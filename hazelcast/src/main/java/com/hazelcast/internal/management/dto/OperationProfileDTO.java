@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.management.dto;
+
+import com.eclipsesource.json.JsonArray;
+import com.eclipsesource.json.JsonObject;
+import com.eclipsesource.json.JsonValue;
+import com.hazelcast.internal.management.JsonSerializable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.hazelcast.util.JsonUtil.getArray;
+import static com.hazelcast.util.JsonUtil.getInt;
+
+/**
+ * A Serializable DTO for the profile of the executed operations, per operation class and per service.
+ */
+public class OperationProfileDTO implements JsonSerializable {
+
+    public int sampleRate;
+    public List<OperationProfileEntryDTO> operations;
+    public List<OperationProfileEntryDTO> services;
+
+    public OperationProfileDTO() {
+    }
+
+    public OperationProfileDTO(int sampleRate, List<OperationProfileEntryDTO> operations,
+                               List<OperationProfileEntryDTO> services) {
+        this.sampleRate = sampleRate;
+        this.operations = operations;
+        this.services = services;
+    }
+
+    @Override
+    public JsonObject toJson() {
+        JsonObject root = new JsonObject();
+        root.add("sampleRate", sampleRate);
+        root.add("operations", toJson(operations));
+        root.add("services", toJson(services));
+        return root;
+    }
+
+    @Override
+    public void fromJson(JsonObject json) {
+        sampleRate = getInt(json, "sampleRate");
+        operations = fromJson(getArray(json, "operations"));
+        services = fromJson(getArray(json, "services"));
+    }
+
+    private static JsonArray toJson(List<OperationProfileEntryDTO> entries) {
+        JsonArray array = new JsonArray();
+        for (OperationProfileEntryDTO entry : entries) {
+            array.add(entry.toJson());
+        }
+        return array;
+    }
+
+    private static List<OperationProfileEntryDTO> fromJson(JsonArray array) {
+        List<OperationProfileEntryDTO> entries = new ArrayList<OperationProfileEntryDTO>();
+        for (JsonValue jsonValue : array) {
+            OperationProfileEntryDTO entry = new OperationProfileEntryDTO();
+            entry.fromJson(jsonValue.asObject());
+            entries.add(entry);
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.management.dto;
+
+import com.eclipsesource.json.JsonObject;
+import com.hazelcast.internal.management.JsonSerializable;
+
+import static com.hazelcast.util.JsonUtil.getLong;
+import static com.hazelcast.util.JsonUtil.getString;
+
+/**
+ * A Serializable DTO for the profile of a single operation class or service.
+ * <p/>
+ * Only the sampled operations are counted, so {@code count} times the sample rate estimates the number of executed
+ * operations. The wait time is the time from the invocation until the execution started, so for remote operations it
+ * includes the network.
+ */
+public class OperationProfileEntryDTO implements JsonSerializable {
+
+    public String name;
+    public long count;
+    public long totalTimeNanos;
+    public long maxTimeNanos;
+    public long totalWaitMillis;
+    public long maxWaitMillis;
+
+    public OperationProfileEntryDTO() {
+    }
+
+    public OperationProfileEntryDTO(String name, long count, long totalTimeNanos, long maxTimeNanos,
+                                    long totalWaitMillis, long maxWaitMillis) {
+        this.name = name;
+        this.count = count;
+        this.totalTimeNanos = totalTimeNanos;
+        this.maxTimeNanos = maxTimeNanos;
+        this.totalWaitMillis = totalWaitMillis;
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    @Override
+    public JsonObject toJson() {
+        JsonObject root = new JsonObject();
+        root.add("name", name);
+        root.add("count", count);
+        root.add("totalTimeNanos", totalTimeNanos);
+        root.add("maxTimeNanos", maxTimeNanos);
+        root.add("totalWaitMillis", totalWaitMillis);
+        root.add("maxWaitMillis", maxWaitMillis);
+        return root;
+    }
+
+    @Override
+    public void fromJson(JsonObject json) {
+        name = getString(json, "name");
+        count = getLong(json, "count");
+        totalTimeNanos = getLong(json, "totalTimeNanos");
+        maxTimeNanos = getLong(json, "maxTimeNanos");
+        totalWaitMillis = getLong(json, "totalWaitMillis");
+        maxWaitMillis = getLong(json, "maxWaitMillis");
+    }
+
+    @Override
+    public String toString() {
+        return "OperationProfileEntryDTO{"
+                + "name='" + name + '\''
+                + ", count=" + count
+                + ", totalTimeNanos=" + totalTimeNanos
+                + ", maxTimeNanos=" + maxTimeNanos
+                + ", totalWaitMillis=" + totalWaitMillis
+                + ", maxWaitMillis=" + maxWaitMillis
+                + '}';
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.management.dto;
+
+import com.eclipsesource.json.JsonArray;
+import com.eclipsesource.json.JsonObject;
+import com.eclipsesource.json.JsonValue;
+import com.hazelcast.internal.management.JsonSerializable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static com.hazelcast.util.JsonUtil.getArray;
+import static com.hazelcast.util.JsonUtil.getDouble;
+
+/**
+ * A Serializable DTO for the load of the partition operation threads and the hottest partitions and keys, as
+ * tracked by the partition load monitor.
+ */
+public class PartitionLoadDTO implements JsonSerializable {
+
+    /**
+     * The utilization of the busiest partition operation thread divided by the average utilization.
+     */
+    public double imbalance;
+    public List<Double> threadUtilizations;
+    public List<HotPartitionDTO> hotPartitions;
+    public List<HotKeyDTO> hotKeys;
+
+    public PartitionLoadDTO() {
+        this(0, Collections.<Double>emptyList(), Collections.<HotPartitionDTO>emptyList(),
+                Collections.<HotKeyDTO>emptyList());
+    }
+
+    public PartitionLoadDTO(double imbalance, List<Double> threadUtilizations, List<HotPartitionDTO> hotPartitions,
+                            List<HotKeyDTO> hotKeys) {
+        this.imbalance = imbalance;
+        this.threadUtilizations = threadUtilizations;
+        this.hotPartitions = hotPartitions;
+        this.hotKeys = hotKeys;
+    }
+
+    @Override
+    public JsonObject toJson() {
+        JsonObject root = new JsonObject();
+        root.add("imbalance", imbalance);
+        JsonArray utilizations = new JsonArray();
+        for (Double utilization : threadUtilizations) {
+            utilizations.add(utilization);
+        }
+        root.add("threadUtilizations", utilizations);
+        JsonArray partitions = new JsonArray();
+        for (HotPartitionDTO partition : hotPartitions) {
+            partitions.add(partition.toJson());
+        }
+        root.add("hotPartitions", partitions);
+        JsonArray keys = new JsonArray();
+        for (HotKeyDTO key : hotKeys) {
+            keys.add(key.toJson());
+        }
+        root.add("hotKeys", keys);
+        return root;
+    }
+
+    @Override
+    public void fromJson(JsonObject json) {
+        imbalance = getDouble(json, "imbalance");
+        threadUtilizations = new ArrayList<Double>();
+        for (JsonValue jsonValue : getArray(json, "threadUtilizations")) {
+            threadUtilizations.add(jsonValue.asDouble());
+        }
+        hotPartitions = new ArrayList<HotPartitionDTO>();
+        for (JsonValue jsonValue : getArray(json, "hotPartitions")) {
+            HotPartitionDTO partition = new HotPartitionDTO();
+            partition.fromJson(jsonValue.asObject());
+            hotPartitions.add(partition);
+        }
+        hotKeys = new ArrayList<HotKeyDTO>();
+        for (JsonValue jsonValue : getArray(json, "hotKeys")) {
+            HotKeyDTO key = new HotKeyDTO();
+            key.fromJson(jsonValue.asObject());
+            hotKeys.add(key);
+        }
+    }
+}
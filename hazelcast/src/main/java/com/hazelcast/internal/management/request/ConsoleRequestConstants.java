@@ -36,6 +36,9 @@ public final class ConsoleRequestConstants {
     public static final int REQUEST_TYPE_LOG_VERSION_MISMATCH = 17;
     public static final int REQUEST_TYPE_MEMBER_SHUTDOWN = 18;
     public static final int REQUEST_TYPE_SYSTEM_WARNINGS = 20;
+    public static final int REQUEST_TYPE_OPERATION_PROFILE = 21;
+    public static final int REQUEST_TYPE_INVOCATION_TRACES = 22;
+    public static final int REQUEST_TYPE_PARTITION_LOAD = 23;
 
     private ConsoleRequestConstants() {
     }
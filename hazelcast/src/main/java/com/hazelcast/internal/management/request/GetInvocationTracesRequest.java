@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.management.request;
+
+import com.eclipsesource.json.JsonObject;
+import com.hazelcast.internal.management.ManagementCenterService;
+import com.hazelcast.spi.impl.operationservice.InternalOperationService;
+
+import static com.hazelcast.util.JsonUtil.getInt;
+import static com.hazelcast.util.JsonUtil.getString;
+
+/**
+ * Request for fetching the traces of the most recent traced invocations of a member.
+ */
+public class GetInvocationTracesRequest implements ConsoleRequest {
+
+    private static final int DEFAULT_MAX_COUNT = 100;
+
+    private int maxCount = DEFAULT_MAX_COUNT;
+
+    public GetInvocationTracesRequest() {
+    }
+
+    public GetInvocationTracesRequest(int maxCount) {
+        this.maxCount = maxCount;
+    }
+
+    @Override
+    public int getType() {
+        return ConsoleRequestConstants.REQUEST_TYPE_INVOCATION_TRACES;
+    }
+
+    @Override
+    public Object readResponse(JsonObject json) {
+        return getString(json, "traces", "");
+    }
+
+    @Override
+    public void writeResponse(ManagementCenterService mcs, JsonObject root) {
+        InternalOperationService operationService = mcs.getHazelcastInstance().node.nodeEngine.getOperationService();
+        JsonObject result = new JsonObject();
+        result.add("traces", operationService.getInvocationTraces(maxCount));
+        root.add("result", result);
+    }
+
+    @Override
+    public JsonObject toJson() {
+        JsonObject root = new JsonObject();
+        root.add("maxCount", maxCount);
+        return root;
+    }
+
+    @Override
+    public void fromJson(JsonObject json) {
+        maxCount = getInt(json, "maxCount", DEFAULT_MAX_COUNT);
+    }
+}
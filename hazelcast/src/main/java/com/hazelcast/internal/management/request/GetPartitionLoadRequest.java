@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.management.request;
+
+import com.eclipsesource.json.JsonObject;
+import com.hazelcast.internal.management.ManagementCenterService;
+import com.hazelcast.internal.management.dto.PartitionLoadDTO;
+import com.hazelcast.spi.impl.operationservice.InternalOperationService;
+
+import static com.hazelcast.util.JsonUtil.getObject;
+
+/**
+ * Request for fetching the utilization of the partition operation threads and the hottest partitions and keys.
+ */
+public class GetPartitionLoadRequest implements ConsoleRequest {
+
+    public GetPartitionLoadRequest() {
+    }
+
+    @Override
+    public int getType() {
+        return ConsoleRequestConstants.REQUEST_TYPE_PARTITION_LOAD;
+    }
+
+    @Override
+    public Object readResponse(JsonObject json) {
+        PartitionLoadDTO partitionLoad = new PartitionLoadDTO();
+        partitionLoad.fromJson(getObject(json, "partitionLoad"));
+        return partitionLoad;
+    }
+
+    @Override
+    public void writeResponse(ManagementCenterService mcs, JsonObject root) {
+        InternalOperationService operationService = mcs.getHazelcastInstance().node.nodeEngine.getOperationService();
+        JsonObject result = new JsonObject();
+        result.add("partitionLoad", operationService.getPartitionLoadDTO().toJson());
+        root.add("result", result);
+    }
+
+    @Override
+    public JsonObject toJson() {
+        return new JsonObject();
+    }
+
+    @Override
+    public void fromJson(JsonObject json) {
+    }
+}
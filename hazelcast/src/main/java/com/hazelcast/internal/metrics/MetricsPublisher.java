@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.metrics;
+
+/**
+ * Receives the values of all metrics of a {@link MetricsRegistry} on every publication cycle, e.g. to expose them
+ * through JMX or to write them to a file.
+ * <p/>
+ * A cycle is {@link #beginPublish(long)}, one {@code publishLong} or {@code publishDouble} call per metric in
+ * name order, and {@link #endPublish()}. Cycles are executed by a single thread, so implementations don't need to be
+ * thread-safe with respect to the publication calls. Values are passed as primitives so that publishing doesn't need
+ * to allocate; implementations should keep it that way since cycles run every few seconds.
+ * <p/>
+ * Publishers configured by class name need a public no-arg constructor.
+ */
+public interface MetricsPublisher {
+
+    /**
+     * Returns the name of this publisher, used for logging.
+     *
+     * @return the name of this publisher.
+     */
+    String getName();
+
+    /**
+     * Starts a publication cycle.
+     *
+     * @param timestamp the time of the cycle in milliseconds.
+     */
+    void beginPublish(long timestamp);
+
+    /**
+     * Publishes the value of a long metric.
+     *
+     * @param name  the name of the metric.
+     * @param value the current value.
+     */
+    void publishLong(String name, long value);
+
+    /**
+     * Publishes the value of a double metric.
+     *
+     * @param name  the name of the metric.
+     * @param value the current value.
+     */
+    void publishDouble(String name, double value);
+
+    /**
+     * Ends a publication cycle.
+     */
+    void endPublish();
+
+    /**
+     * Releases the resources of this publisher. No cycles are executed afterwards.
+     */
+    void shutdown();
+}
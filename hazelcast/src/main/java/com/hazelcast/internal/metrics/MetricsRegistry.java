@@ -143,4 +143,16 @@ public interface MetricsRegistry {
      * @return the modCount: the number of times Metrics are added or removed.
      */
     int modCount();
+
+    /**
+     * Passes the current value of every metric to the publisher, in name order. This is a single
+     * {@link MetricsPublisher} cycle including the begin and end calls.
+     *
+     * Publishing doesn't allocate unless metrics were added or removed since the previous call.
+     *
+     * @param publisher the publisher to pass the values to.
+     * @param timestamp the time of the cycle in milliseconds.
+     * @throws NullPointerException if publisher is null.
+     */
+    void publish(MetricsPublisher publisher, long timestamp);
 }
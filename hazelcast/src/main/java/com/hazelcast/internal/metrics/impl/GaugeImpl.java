@@ -20,6 +20,7 @@ import com.hazelcast.internal.metrics.DoubleProbe;
 import com.hazelcast.internal.metrics.Gauge;
 import com.hazelcast.internal.metrics.LongProbe;
 import com.hazelcast.internal.metrics.Metric;
+import com.hazelcast.internal.metrics.MetricsPublisher;
 import com.hazelcast.logging.ILogger;
 
 import static com.hazelcast.util.Preconditions.checkNotNull;
@@ -75,6 +76,38 @@ public class GaugeImpl<S> implements Gauge {
         }
     }
 
+    /**
+     * Passes the current value to the publisher, without boxing. Gauges without input are skipped.
+     */
+    void publish(MetricsPublisher publisher) {
+        Object input = this.input;
+        S source = this.source;
+
+        if (input == null || source == null) {
+            return;
+        }
+
+        if (input instanceof LongProbe) {
+            long value;
+            try {
+                value = ((LongProbe<S>) input).get(source);
+            } catch (Exception e) {
+                logger.warning("Failed to update metric:" + name, e);
+                return;
+            }
+            publisher.publishLong(name, value);
+        } else {
+            double value;
+            try {
+                value = ((DoubleProbe<S>) input).get(source);
+            } catch (Exception e) {
+                logger.warning("Failed to update metric:" + name, e);
+                return;
+            }
+            publisher.publishDouble(name, value);
+        }
+    }
+
     @Override
     public long readLong() {
         Object input = this.input;
@@ -19,6 +19,7 @@ package com.hazelcast.internal.metrics.impl;
 import com.hazelcast.internal.metrics.DoubleProbe;
 import com.hazelcast.internal.metrics.Gauge;
 import com.hazelcast.internal.metrics.LongProbe;
+import com.hazelcast.internal.metrics.MetricsPublisher;
 import com.hazelcast.internal.metrics.MetricsRegistry;
 import com.hazelcast.internal.metrics.metricsets.ClassLoadingMetricSet;
 import com.hazelcast.internal.metrics.metricsets.GarbageCollectionMetricSet;
@@ -27,6 +28,8 @@ import com.hazelcast.internal.metrics.metricsets.RuntimeMetricSet;
 import com.hazelcast.internal.metrics.metricsets.ThreadMetricSet;
 import com.hazelcast.logging.ILogger;
 
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -44,6 +47,13 @@ import static java.lang.String.format;
  */
 public class MetricsRegistryImpl implements MetricsRegistry {
 
+    private static final Comparator<GaugeImpl> GAUGE_NAME_COMPARATOR = new Comparator<GaugeImpl>() {
+        @Override
+        public int compare(GaugeImpl o1, GaugeImpl o2) {
+            return o1.getName().compareTo(o2.getName());
+        }
+    };
+
     private final ILogger logger;
     private final ScheduledExecutorService scheduledExecutorService = new ScheduledThreadPoolExecutor(2);
     private final AtomicInteger modCount = new AtomicInteger();
@@ -51,6 +61,9 @@ public class MetricsRegistryImpl implements MetricsRegistry {
     private final ConcurrentMap<Class<?>, SourceMetadata> metadataMap
             = new ConcurrentHashMap<Class<?>, SourceMetadata>();
 
+    // the gauges in name order, recreated only when the modCount has changed
+    private volatile SortedGauges sortedGauges = new SortedGauges(-1, new GaugeImpl[0]);
+
     /**
      * Creates a MetricsRegistryImpl instance.
      *
@@ -193,6 +206,31 @@ public class MetricsRegistryImpl implements MetricsRegistry {
         }
     }
 
+    @Override
+    public void publish(MetricsPublisher publisher, long timestamp) {
+        checkNotNull(publisher, "publisher can't be null");
+
+        GaugeImpl[] gauges = getSortedGauges();
+        publisher.beginPublish(timestamp);
+        for (GaugeImpl gauge : gauges) {
+            gauge.publish(publisher);
+        }
+        publisher.endPublish();
+    }
+
+    private GaugeImpl[] getSortedGauges() {
+        SortedGauges sorted = sortedGauges;
+        // read the modCount before the metrics; a concurrent change makes the next call sort again
+        int currentModCount = modCount.get();
+        if (sorted.modCount != currentModCount) {
+            GaugeImpl[] gauges = metrics.values().toArray(new GaugeImpl[0]);
+            Arrays.sort(gauges, GAUGE_NAME_COMPARATOR);
+            sorted = new SortedGauges(currentModCount, gauges);
+            sortedGauges = sorted;
+        }
+        return sorted.gauges;
+    }
+
     @Override
     public void scheduleAtFixedRate(final Runnable publisher, long period, TimeUnit timeUnit) {
         scheduledExecutorService.scheduleAtFixedRate(publisher, 0, period, timeUnit);
@@ -201,4 +239,14 @@ public class MetricsRegistryImpl implements MetricsRegistry {
     public void shutdown() {
         scheduledExecutorService.shutdown();
     }
+
+    private static final class SortedGauges {
+        final int modCount;
+        final GaugeImpl[] gauges;
+
+        SortedGauges(int modCount, GaugeImpl[] gauges) {
+            this.modCount = modCount;
+            this.gauges = gauges;
+        }
+    }
 }
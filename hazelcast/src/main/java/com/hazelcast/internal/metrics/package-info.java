@@ -18,5 +18,10 @@
  * Contains the Hazelcast Metrics.
  *
  * The MetricsRegistry records all kinds of internal metrics of Hazelcast, the OS, the JVM etc.
+ * <p/>
+ * Metric names are dot separated, starting with the subsystem they belong to, e.g. {@code operation.queueSize},
+ * {@code operation.invocations.pending}, {@code partitions.migrationQueueSize}, {@code event.queueSize} or
+ * {@code tcp.connection.activeCount}. Metrics of one instance out of many carry the instance in square brackets,
+ * e.g. {@code tcp.connection[/10.0.0.1:5701].out.writeQueueSize}.
  */
 package com.hazelcast.internal.metrics;
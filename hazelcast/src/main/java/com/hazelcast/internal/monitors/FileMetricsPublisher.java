@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.monitors;
+
+import com.hazelcast.internal.metrics.MetricsPublisher;
+import com.hazelcast.logging.ILogger;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+import static com.hazelcast.nio.IOUtil.closeResource;
+
+/**
+ * Writes all metrics to a rolling file, one line per cycle.
+ * <p/>
+ * To keep the file compact, the metric names are only written when they differ from the previous cycle, on a line
+ * starting with {@code #}. Every other line starts with the timestamp followed by the values in the same order as
+ * the names; all fields are tab separated:
+ * <pre>
+ * #    event.queueSize    operation.queueSize    ...
+ * 1439815328343    0    12    ...
+ * </pre>
+ * When a file exceeds its maximum size, it is renamed to {@code <file>.1}, the older files are shifted up to the
+ * maximum number of rolled over files and a new file is started with the names line. The size is counted in UTF-8
+ * encoded bytes.
+ * <p/>
+ * A cycle reuses the same buffers once they have grown to the size of a line. Longs are appended without allocating,
+ * doubles are formatted by the JDK which creates a temporary per value.
+ */
+public class FileMetricsPublisher implements MetricsPublisher {
+
+    private static final int INITIAL_METRIC_COUNT = 256;
+    private static final int INITIAL_LINE_LENGTH = 4096;
+    private static final char SEPARATOR = '\t';
+    private static final char NEW_LINE = '\n';
+    private static final char MIN_TWO_BYTE_CHAR = 0x80;
+    private static final char MIN_THREE_BYTE_CHAR = 0x800;
+
+    private final ILogger logger;
+    private final File file;
+    private final long maxFileSize;
+    private final int maxRolledCount;
+    private final StringBuilder line = new StringBuilder(INITIAL_LINE_LENGTH);
+    private final StringBuilder header = new StringBuilder(INITIAL_LINE_LENGTH);
+    private char[] chars = new char[INITIAL_LINE_LENGTH];
+    private String[] names = new String[INITIAL_METRIC_COUNT];
+    private int previousCount;
+    private int count;
+    private boolean namesChanged;
+    private Writer writer;
+    private long fileSize;
+
+    public FileMetricsPublisher(File file, long maxFileSize, int maxRolledCount, ILogger logger) {
+        this.file = file;
+        this.maxFileSize = maxFileSize;
+        this.maxRolledCount = maxRolledCount;
+        this.logger = logger;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    @Override
+    public String getName() {
+        return "file";
+    }
+
+    @Override
+    public void beginPublish(long timestamp) {
+        line.setLength(0);
+        line.append(timestamp);
+        count = 0;
+        namesChanged = false;
+    }
+
+    @Override
+    public void publishLong(String name, long value) {
+        addName(name);
+        line.append(SEPARATOR).append(value);
+    }
+
+    @Override
+    public void publishDouble(String name, double value) {
+        addName(name);
+        line.append(SEPARATOR).append(value);
+    }
+
+    private void addName(String name) {
+        if (count == names.length) {
+            String[] newNames = new String[names.length * 2];
+            System.arraycopy(names, 0, newNames, 0, count);
+            names = newNames;
+        }
+        // names of a metric are the same instance every cycle
+        if (names[count] != name) {
+            names[count] = name;
+            namesChanged = true;
+        }
+        count++;
+    }
+
+    @Override
+    public void endPublish() {
+        line.append(NEW_LINE);
+        try {
+            if (writer == null || fileSize > maxFileSize) {
+                rollOver();
+                namesChanged = true;
+            }
+            if (namesChanged || count != previousCount) {
+                writeNames();
+            }
+            write(line);
+            writer.flush();
+        } catch (IOException e) {
+            logger.warning("Failed to write metrics to " + file, e);
+            closeResource(writer);
+            writer = null;
+        }
+        previousCount = count;
+    }
+
+    private void writeNames() throws IOException {
+        header.append('#');
+        for (int i = 0; i < count; i++) {
+            header.append(SEPARATOR).append(names[i]);
+        }
+        header.append(NEW_LINE);
+        write(header);
+    }
+
+    private void write(StringBuilder sb) throws IOException {
+        int length = sb.length();
+        if (chars.length < length) {
+            chars = new char[Math.max(length, chars.length * 2)];
+        }
+        sb.getChars(0, length, chars, 0);
+        writer.write(chars, 0, length);
+        fileSize += utf8Length(chars, length);
+        sb.setLength(0);
+    }
+
+    private static int utf8Length(char[] chars, int length) {
+        int bytes = 0;
+        for (int i = 0; i < length; i++) {
+            char c = chars[i];
+            if (c < MIN_TWO_BYTE_CHAR) {
+                bytes++;
+            } else if (c < MIN_THREE_BYTE_CHAR || (c >= Character.MIN_SURROGATE && c <= Character.MAX_SURROGATE)) {
+                // a surrogate pair is encoded in 4 bytes
+                bytes += 2;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    private void rollOver() throws IOException {
+        closeResource(writer);
+        writer = null;
+        if (file.exists()) {
+            for (int i = maxRolledCount - 1; i > 0; i--) {
+                File rolled = rolledFile(i);
+                if (rolled.exists()) {
+                    rename(rolled, rolledFile(i + 1));
+                }
+            }
+            if (maxRolledCount > 0) {
+                rename(file, rolledFile(1));
+            } else {
+                deleteIfExists(file);
+            }
+        }
+        writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), "UTF-8"));
+        fileSize = 0;
+    }
+
+    private File rolledFile(int index) {
+        return new File(file.getPath() + "." + index);
+    }
+
+    private void rename(File from, File to) throws IOException {
+        deleteIfExists(to);
+        if (!from.renameTo(to)) {
+            throw new IOException("Could not rename " + from + " to " + to);
+        }
+    }
+
+    private static void deleteIfExists(File file) throws IOException {
+        if (file.exists() && !file.delete()) {
+            throw new IOException("Could not delete " + file);
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        closeResource(writer);
+        writer = null;
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.monitors;
+
+import com.hazelcast.internal.metrics.MetricsPublisher;
+import com.hazelcast.logging.ILogger;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.hazelcast.jmx.ManagementService.quote;
+
+/**
+ * Publishes all metrics as the read-only attributes of a single MBean named
+ * {@code com.hazelcast:instance=<instance name>,type=Metrics}.
+ * <p/>
+ * The values are kept in mutable holders, one per metric, which are only created for new metrics. Reading an
+ * attribute returns the value of the last cycle.
+ */
+public class JmxMetricsPublisher implements MetricsPublisher, DynamicMBean {
+
+    private final ILogger logger;
+    private final ObjectName objectName;
+    private final ConcurrentMap<String, MetricValue> values = new ConcurrentHashMap<String, MetricValue>();
+    private long cycle;
+    private int publishedCount;
+
+    public JmxMetricsPublisher(String instanceName, ILogger logger) {
+        this.logger = logger;
+        try {
+            this.objectName = new ObjectName("com.hazelcast:instance=" + quote(instanceName) + ",type=Metrics");
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid instance name: " + instanceName, e);
+        }
+        MBeanServer mbs = ManagementFactory.getPlatformMBeanServer();
+        try {
+            mbs.registerMBean(this, objectName);
+        } catch (Exception e) {
+            logger.warning("Unable to register metrics MBean " + objectName, e);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "jmx";
+    }
+
+    @Override
+    public void beginPublish(long timestamp) {
+        cycle++;
+        publishedCount = 0;
+    }
+
+    @Override
+    public void publishLong(String name, long value) {
+        MetricValue metricValue = getOrCreate(name, false);
+        metricValue.longValue = value;
+    }
+
+    @Override
+    public void publishDouble(String name, double value) {
+        MetricValue metricValue = getOrCreate(name, true);
+        metricValue.doubleValue = value;
+    }
+
+    private MetricValue getOrCreate(String name, boolean isDouble) {
+        MetricValue metricValue = values.get(name);
+        if (metricValue == null || metricValue.isDouble != isDouble) {
+            metricValue = new MetricValue(isDouble);
+            values.put(name, metricValue);
+        }
+        metricValue.cycle = cycle;
+        publishedCount++;
+        return metricValue;
+    }
+
+    @Override
+    public void endPublish() {
+        if (values.size() == publishedCount) {
+            return;
+        }
+        // some metrics have been removed
+        Iterator<MetricValue> iterator = values.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().cycle != cycle) {
+                iterator.remove();
+            }
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        MBeanServer mbs = ManagementFactory.getPlatformMBeanServer();
+        if (mbs.isRegistered(objectName)) {
+            try {
+                mbs.unregisterMBean(objectName);
+            } catch (Exception e) {
+                logger.warning("Error while un-registering " + objectName, e);
+            }
+        }
+        values.clear();
+    }
+
+    @Override
+    public Object getAttribute(String attribute) throws AttributeNotFoundException {
+        MetricValue metricValue = values.get(attribute);
+        if (metricValue == null) {
+            throw new AttributeNotFoundException(attribute);
+        }
+        return metricValue.get();
+    }
+
+    @Override
+    public AttributeList getAttributes(String[] attributes) {
+        AttributeList list = new AttributeList(attributes.length);
+        for (String attribute : attributes) {
+            MetricValue metricValue = values.get(attribute);
+            if (metricValue != null) {
+                list.add(new Attribute(attribute, metricValue.get()));
+            }
+        }
+        return list;
+    }
+
+    @Override
+    public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+        throw new AttributeNotFoundException("Metric " + attribute.getName() + " is read-only");
+    }
+
+    @Override
+    public AttributeList setAttributes(AttributeList attributes) {
+        return new AttributeList();
+    }
+
+    @Override
+    public Object invoke(String actionName, Object[] params, String[] signature) {
+        throw new UnsupportedOperationException(actionName);
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        List<MBeanAttributeInfo> attributes = new ArrayList<MBeanAttributeInfo>(values.size());
+        for (Map.Entry<String, MetricValue> entry : values.entrySet()) {
+            String type = entry.getValue().isDouble ? "double" : "long";
+            attributes.add(new MBeanAttributeInfo(entry.getKey(), type, entry.getKey(), true, false, false));
+        }
+        return new MBeanInfo(getClass().getName(), "Hazelcast metrics",
+                attributes.toArray(new MBeanAttributeInfo[attributes.size()]), null, null, null);
+    }
+
+    /**
+     * The last published value of a metric. Written by the publishing thread only.
+     */
+    private static final class MetricValue {
+        final boolean isDouble;
+        volatile long longValue;
+        volatile double doubleValue;
+        long cycle;
+
+        MetricValue(boolean isDouble) {
+            this.isDouble = isDouble;
+        }
+
+        Object get() {
+            return isDouble ? (Object) doubleValue : (Object) longValue;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.monitors;
+
+import com.hazelcast.instance.GroupProperties;
+import com.hazelcast.instance.Node;
+import com.hazelcast.internal.metrics.MetricsPublisher;
+import com.hazelcast.internal.metrics.MetricsRegistry;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.nio.ClassLoaderUtil;
+import com.hazelcast.util.Clock;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.util.StringUtil.isNullOrEmpty;
+
+/**
+ * Periodically publishes the metrics of the {@link MetricsRegistry} to the enabled {@link MetricsPublisher}s.
+ * <p/>
+ * The built-in publishers are enabled by group properties: JMX by {@link GroupProperties#PROP_METRICS_JMX_ENABLED},
+ * a rolling file by {@link GroupProperties#PROP_METRICS_FILE_ENABLED} and the text rendering for the REST endpoint by
+ * {@link GroupProperties#PROP_METRICS_REST_ENABLED}. Additional publishers can be configured by class name with
+ * {@link GroupProperties#PROP_METRICS_PUBLISHER_CLASSES} or added with {@link #addPublisher(MetricsPublisher)}.
+ */
+public class MetricsMonitor implements Runnable {
+
+    private static final long BYTES_PER_MB = 1024 * 1024;
+
+    private final Node node;
+    private final ILogger logger;
+    private final MetricsRegistry metricsRegistry;
+    private final TextMetricsPublisher textPublisher;
+    private volatile MetricsPublisher[] publishers = new MetricsPublisher[0];
+    private boolean shutdown;
+    private int periodSeconds;
+    private boolean scheduled;
+
+    public MetricsMonitor(Node node, MetricsRegistry metricsRegistry) {
+        this.node = node;
+        this.logger = node.getLogger(MetricsMonitor.class.getName());
+        this.metricsRegistry = metricsRegistry;
+        GroupProperties groupProperties = node.getGroupProperties();
+        this.textPublisher = groupProperties.METRICS_REST_ENABLED.getBoolean() ? new TextMetricsPublisher() : null;
+    }
+
+    /**
+     * Adds the enabled publishers. The publish cycle is only scheduled once there is a publisher.
+     */
+    public void start() {
+        GroupProperties groupProperties = node.getGroupProperties();
+        synchronized (this) {
+            periodSeconds = groupProperties.METRICS_PUBLISH_PERIOD_SECONDS.getInteger();
+        }
+        if (groupProperties.METRICS_JMX_ENABLED.getBoolean()) {
+            addPublisher(new JmxMetricsPublisher(node.getName(), logger));
+        }
+        if (groupProperties.METRICS_FILE_ENABLED.getBoolean()) {
+            addPublisher(createFilePublisher(groupProperties));
+        }
+        if (textPublisher != null) {
+            addPublisher(textPublisher);
+        }
+        addConfiguredPublishers(groupProperties.METRICS_PUBLISHER_CLASSES.getString());
+    }
+
+    private FileMetricsPublisher createFilePublisher(GroupProperties groupProperties) {
+        String directory = groupProperties.METRICS_FILE_DIRECTORY.getString();
+        String fileName = "metrics-" + node.getName().replaceAll("[^a-zA-Z0-9._-]", "_") + ".log";
+        File file = isNullOrEmpty(directory) ? new File(fileName) : new File(directory, fileName);
+        long maxFileSize = groupProperties.METRICS_FILE_MAX_SIZE_MB.getLong() * BYTES_PER_MB;
+        int maxRolledCount = groupProperties.METRICS_FILE_MAX_ROLLED_COUNT.getInteger();
+        logger.info("Writing metrics to " + file.getAbsolutePath());
+        return new FileMetricsPublisher(file, maxFileSize, maxRolledCount, logger);
+    }
+
+    private void addConfiguredPublishers(String classNames) {
+        if (isNullOrEmpty(classNames)) {
+            return;
+        }
+        for (String name : classNames.split(",")) {
+            String className = name.trim();
+            if (className.length() == 0) {
+                continue;
+            }
+            try {
+                MetricsPublisher publisher = ClassLoaderUtil.newInstance(node.getConfigClassLoader(), className);
+                addPublisher(publisher);
+            } catch (Exception e) {
+                logger.warning("Could not create metrics publisher " + className, e);
+            }
+        }
+    }
+
+    /**
+     * Adds a publisher, it takes part in the next cycle. The first publisher added after {@link #start()} schedules
+     * the cycle.
+     *
+     * @param publisher the publisher to add.
+     */
+    public synchronized void addPublisher(MetricsPublisher publisher) {
+        if (shutdown) {
+            publisher.shutdown();
+            return;
+        }
+        MetricsPublisher[] newPublishers = new MetricsPublisher[publishers.length + 1];
+        System.arraycopy(publishers, 0, newPublishers, 0, publishers.length);
+        newPublishers[publishers.length] = publisher;
+        publishers = newPublishers;
+        if (!scheduled && periodSeconds > 0) {
+            scheduled = true;
+            metricsRegistry.scheduleAtFixedRate(this, periodSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Returns the publisher rendering the metrics for the REST endpoint.
+     *
+     * @return the text publisher or null if {@link GroupProperties#PROP_METRICS_REST_ENABLED} is disabled.
+     */
+    public TextMetricsPublisher getTextPublisher() {
+        return textPublisher;
+    }
+
+    @Override
+    public synchronized void run() {
+        if (shutdown) {
+            return;
+        }
+        long now = Clock.currentTimeMillis();
+        for (MetricsPublisher publisher : publishers) {
+            try {
+                metricsRegistry.publish(publisher, now);
+            } catch (Throwable t) {
+                logger.warning("Failed to publish metrics to " + publisher.getName(), t);
+            }
+        }
+    }
+
+    public synchronized void shutdown() {
+        shutdown = true;
+        for (MetricsPublisher publisher : publishers) {
+            try {
+                publisher.shutdown();
+            } catch (Throwable t) {
+                logger.warning("Failed to shut down metrics publisher " + publisher.getName(), t);
+            }
+        }
+        publishers = new MetricsPublisher[0];
+    }
+}
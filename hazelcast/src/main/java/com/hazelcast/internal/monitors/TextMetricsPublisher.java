@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.monitors;
+
+import com.hazelcast.internal.metrics.MetricsPublisher;
+
+import static com.hazelcast.util.StringUtil.stringToBytes;
+
+/**
+ * Renders all metrics as plain text, one {@code name value} line per metric preceded by a
+ * {@code # timestamp} line, and keeps the rendering of the last cycle for the REST endpoint.
+ * <p/>
+ * A cycle renders into a buffer that is only visible to the publishing thread and then copies it into the snapshot
+ * under a lock; both buffers are reused once they have grown to the size of the rendering. Longs are appended without
+ * allocating, doubles are formatted by the JDK which creates a temporary per value. The requests for the snapshot
+ * allocate as well.
+ */
+public class TextMetricsPublisher implements MetricsPublisher {
+
+    private static final int INITIAL_CAPACITY = 16 * 1024;
+
+    private final StringBuilder buffer = new StringBuilder(INITIAL_CAPACITY);
+    private final StringBuilder snapshot = new StringBuilder(INITIAL_CAPACITY);
+
+    @Override
+    public String getName() {
+        return "text";
+    }
+
+    @Override
+    public void beginPublish(long timestamp) {
+        buffer.setLength(0);
+        buffer.append("# timestamp ").append(timestamp).append('\n');
+    }
+
+    @Override
+    public void publishLong(String name, long value) {
+        buffer.append(name).append(' ').append(value).append('\n');
+    }
+
+    @Override
+    public void publishDouble(String name, double value) {
+        buffer.append(name).append(' ').append(value).append('\n');
+    }
+
+    @Override
+    public void endPublish() {
+        synchronized (snapshot) {
+            snapshot.setLength(0);
+            snapshot.append(buffer);
+        }
+    }
+
+    /**
+     * Returns the rendering of the last cycle, empty if there was no cycle yet.
+     *
+     * @return the UTF-8 encoded rendering.
+     */
+    public byte[] getSnapshot() {
+        String text;
+        synchronized (snapshot) {
+            text = snapshot.toString();
+        }
+        return stringToBytes(text);
+    }
+
+    @Override
+    public void shutdown() {
+        synchronized (snapshot) {
+            snapshot.setLength(0);
+        }
+    }
+}
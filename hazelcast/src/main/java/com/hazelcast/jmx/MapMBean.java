@@ -35,6 +35,9 @@ import static com.hazelcast.util.EmptyStatement.ignore;
 @ManagedDescription("IMap")
 public class MapMBean extends HazelcastMBean<IMap> {
 
+    private static final double P99 = 99;
+    private static final double P999 = 99.9;
+
     private final AtomicLong totalAddedEntryCount = new AtomicLong();
     private final AtomicLong totalRemovedEntryCount = new AtomicLong();
     private final AtomicLong totalUpdatedEntryCount = new AtomicLong();
@@ -205,6 +208,42 @@ public class MapMBean extends HazelcastMBean<IMap> {
         return managedObject.getLocalMapStats().getMaxRemoveLatency();
     }
 
+    @ManagedAnnotation("localPutLatencyP99")
+    @ManagedDescription("the latency of put operations which 99% of them did not exceed, in microseconds")
+    public long getLocalPutLatencyP99() {
+        return managedObject.getLocalMapStats().getPutLatencyAtPercentile(P99);
+    }
+
+    @ManagedAnnotation("localPutLatencyP999")
+    @ManagedDescription("the latency of put operations which 99.9% of them did not exceed, in microseconds")
+    public long getLocalPutLatencyP999() {
+        return managedObject.getLocalMapStats().getPutLatencyAtPercentile(P999);
+    }
+
+    @ManagedAnnotation("localGetLatencyP99")
+    @ManagedDescription("the latency of get operations which 99% of them did not exceed, in microseconds")
+    public long getLocalGetLatencyP99() {
+        return managedObject.getLocalMapStats().getGetLatencyAtPercentile(P99);
+    }
+
+    @ManagedAnnotation("localGetLatencyP999")
+    @ManagedDescription("the latency of get operations which 99.9% of them did not exceed, in microseconds")
+    public long getLocalGetLatencyP999() {
+        return managedObject.getLocalMapStats().getGetLatencyAtPercentile(P999);
+    }
+
+    @ManagedAnnotation("localRemoveLatencyP99")
+    @ManagedDescription("the latency of remove operations which 99% of them did not exceed, in microseconds")
+    public long getLocalRemoveLatencyP99() {
+        return managedObject.getLocalMapStats().getRemoveLatencyAtPercentile(P99);
+    }
+
+    @ManagedAnnotation("localRemoveLatencyP999")
+    @ManagedDescription("the latency of remove operations which 99.9% of them did not exceed, in microseconds")
+    public long getLocalRemoveLatencyP999() {
+        return managedObject.getLocalMapStats().getRemoveLatencyAtPercentile(P999);
+    }
+
     @ManagedAnnotation("localEventOperationCount")
     @ManagedDescription("number of events received on this member")
     public long getLocalEventOperationCount() {
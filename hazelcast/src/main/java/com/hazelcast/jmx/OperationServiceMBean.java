@@ -17,8 +17,15 @@
 package com.hazelcast.jmx;
 
 import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.management.dto.HotKeyDTO;
+import com.hazelcast.internal.management.dto.HotPartitionDTO;
+import com.hazelcast.internal.management.dto.PartitionLoadDTO;
 import com.hazelcast.spi.OperationService;
+import com.hazelcast.spi.impl.operationservice.InternalOperationService;
+
+import java.util.ArrayList;
 import java.util.Hashtable;
+import java.util.List;
 
 import static com.hazelcast.jmx.ManagementService.quote;
 
@@ -77,4 +84,40 @@ public class OperationServiceMBean extends HazelcastMBean<OperationService> {
     public long getOperationThreadCount() {
         return managedObject.getPartitionOperationThreadCount();
     }
+
+    @ManagedAnnotation("partitionThreadImbalance")
+    @ManagedDescription("The utilization of the busiest partition operation thread divided by the average utilization")
+    public double getPartitionThreadImbalance() {
+        return getPartitionLoad().imbalance;
+    }
+
+    @ManagedAnnotation("partitionThreadUtilizations")
+    @ManagedDescription("The utilization of every partition operation thread, between 0 and 1")
+    public List<Double> getPartitionThreadUtilizations() {
+        return getPartitionLoad().threadUtilizations;
+    }
+
+    @ManagedAnnotation("hotPartitions")
+    @ManagedDescription("The partitions executing the most operations")
+    public List<String> getHotPartitions() {
+        List<String> hotPartitions = new ArrayList<String>();
+        for (HotPartitionDTO hotPartition : getPartitionLoad().hotPartitions) {
+            hotPartitions.add(hotPartition.toString());
+        }
+        return hotPartitions;
+    }
+
+    @ManagedAnnotation("hotKeys")
+    @ManagedDescription("The sampled keys with the most operations")
+    public List<String> getHotKeys() {
+        List<String> hotKeys = new ArrayList<String>();
+        for (HotKeyDTO hotKey : getPartitionLoad().hotKeys) {
+            hotKeys.add(hotKey.toString());
+        }
+        return hotKeys;
+    }
+
+    private PartitionLoadDTO getPartitionLoad() {
+        return ((InternalOperationService) managedObject).getPartitionLoadDTO();
+    }
 }
@@ -20,12 +20,14 @@ import com.hazelcast.nio.Address;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.impl.eventservice.CoalescableEvent;
+
 import java.io.IOException;
 
 /**
- * An entry's event data.
+ * An entry's event data. Events of the same key can be coalesced, the most recent one reflects the entry.
  */
-public class EntryEventData extends AbstractEventData {
+public class EntryEventData extends AbstractEventData implements CoalescableEvent {
 
     protected Data dataKey;
     protected Data dataNewValue;
@@ -56,6 +58,11 @@ public class EntryEventData extends AbstractEventData {
         return dataKey;
     }
 
+    @Override
+    public boolean canReplace(Object pendingEvent) {
+        return pendingEvent instanceof EntryEventData && ((EntryEventData) pendingEvent).getEventType() == getEventType();
+    }
+
     public Data getDataNewValue() {
         return dataNewValue;
     }
@@ -68,6 +75,11 @@ public class EntryEventData extends AbstractEventData {
         return dataMergingValue;
     }
 
+    @Override
+    public Object getCoalescingKey() {
+        return dataKey;
+    }
+
     @Override
     public void writeData(ObjectDataOutput out) throws IOException {
         super.writeData(out);
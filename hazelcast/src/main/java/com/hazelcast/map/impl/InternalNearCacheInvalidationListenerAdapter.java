@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl;
+
+import com.hazelcast.core.IMapEvent;
+import com.hazelcast.spi.annotation.PrivateApi;
+
+/**
+ * Responsible for dispatching invalidation batches to a {@link NearCacheInvalidationListener}.
+ */
+@PrivateApi
+class InternalNearCacheInvalidationListenerAdapter
+        implements ListenerAdapter {
+
+    private final NearCacheInvalidationListener invalidationListener;
+
+    public InternalNearCacheInvalidationListenerAdapter(NearCacheInvalidationListener invalidationListener) {
+        this.invalidationListener = invalidationListener;
+    }
+
+    @Override
+    public void onEvent(IMapEvent event) {
+        invalidationListener.onInvalidation((NearCacheBatchInvalidationEvent) event);
+    }
+
+}
@@ -80,6 +80,7 @@ public class LocalMapStatsProvider {
         localMapOnDemandCalculatedStats.setBackupCount(backupCount);
 
         addNearCacheStats(localMapStats, localMapOnDemandCalculatedStats, mapContainer);
+        localMapOnDemandCalculatedStats.incrementHeapCost(mapContainer.getIndexService().getHeapCost());
 
         for (int partitionId = 0; partitionId < partitionService.getPartitionCount(); partitionId++) {
             InternalPartition partition = partitionService.getPartition(partitionId);
@@ -67,7 +67,9 @@ class MapEventPublisherImpl implements MapEventPublisher {
                                 int numberOfEntriesAffected) {
         final Collection<EventRegistration> registrations = new LinkedList<EventRegistration>();
         for (EventRegistration registration : getRegistrations(mapName)) {
-            if (!(registration.getFilter() instanceof MapPartitionLostEventFilter)) {
+            final EventFilter filter = registration.getFilter();
+            // client near caches are invalidated by the partition operations, in the sequence of each partition
+            if (!(filter instanceof MapPartitionLostEventFilter) && !(filter instanceof NearCacheInvalidationEventFilter)) {
                 registrations.add(registration);
             }
         }
@@ -106,9 +108,14 @@ class MapEventPublisherImpl implements MapEventPublisher {
 
         List<EventRegistration> registrationsWithValue = null;
         List<EventRegistration> registrationsWithoutValue = null;
+        boolean nearCacheInvalidationRegistrationExists = false;
 
         for (final EventRegistration candidate : registrations) {
             final EventFilter filter = candidate.getFilter();
+            if (filter instanceof NearCacheInvalidationEventFilter) {
+                nearCacheInvalidationRegistrationExists = true;
+                continue;
+            }
             final Result result = applyEventFilter(filter, syntheticEvent, dataKey, dataOldValue, dataValue, eventType);
 
             registrationsWithValue = initRegistrationsWithValue(registrationsWithValue, result);
@@ -117,6 +124,10 @@ class MapEventPublisherImpl implements MapEventPublisher {
             registerCandidate(result, candidate, registrationsWithValue, registrationsWithoutValue);
         }
 
+        if (nearCacheInvalidationRegistrationExists && !syntheticEvent) {
+            mapServiceContext.getNearCacheBatchInvalidator().invalidate(mapName, dataKey);
+        }
+
         final boolean withValueRegistrationExists = isNotEmpty(registrationsWithValue);
         final boolean withoutValueRegistrationExists = isNotEmpty(registrationsWithoutValue);
 
@@ -192,7 +203,7 @@ class MapEventPublisherImpl implements MapEventPublisher {
     protected Result applyEventFilter(EventFilter filter, boolean syntheticEvent, Data dataKey,
                                       Data dataOldValue, Data dataValue, EntryEventType eventType) {
 
-        if (filter instanceof MapPartitionLostEventFilter) {
+        if (filter instanceof MapPartitionLostEventFilter || filter instanceof NearCacheInvalidationEventFilter) {
             return Result.NONE;
         }
 
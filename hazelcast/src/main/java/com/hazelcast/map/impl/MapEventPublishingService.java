@@ -56,6 +56,11 @@ class MapEventPublishingService implements EventPublishingService<EventData, Lis
             return;
         }
 
+        if (eventData instanceof NearCacheBatchInvalidationEventData) {
+            dispatchNearCacheBatchInvalidationEventData((NearCacheBatchInvalidationEventData) eventData, listener);
+            return;
+        }
+
         throw new IllegalArgumentException("Unknown map event data");
     }
 
@@ -86,6 +91,14 @@ class MapEventPublishingService implements EventPublishingService<EventData, Lis
                     mapPartitionEventData.getEventType(), mapPartitionEventData.getPartitionId());
     }
 
+    private void dispatchNearCacheBatchInvalidationEventData(NearCacheBatchInvalidationEventData eventData,
+                                                             ListenerAdapter listener) {
+        Member member = getMember(eventData);
+        NearCacheBatchInvalidationEvent event = new NearCacheBatchInvalidationEvent(eventData.getMapName(), member,
+                eventData.getKeys(), eventData.getPartitionId(), eventData.getPartitionUuid(), eventData.getSequence());
+        listener.onEvent(event);
+    }
+
     private void callListener(ListenerAdapter listener, IMapEvent event) {
         listener.onEvent(event);
         incrementEventStats(event);
@@ -21,6 +21,7 @@ import com.hazelcast.concurrent.lock.LockStoreInfo;
 import com.hazelcast.spi.ManagedService;
 import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.spi.ObjectNamespace;
+import com.hazelcast.spi.impl.NodeEngineImpl;
 import com.hazelcast.util.ConstructorFunction;
 
 import java.util.Properties;
@@ -47,6 +48,12 @@ class MapManagedService implements ManagedService {
                     new ObjectNamespaceLockStoreInfoConstructorFunction());
         }
         mapServiceContext.getExpirationManager().start();
+        NearCacheBatchInvalidator nearCacheBatchInvalidator = mapServiceContext.getNearCacheBatchInvalidator();
+        nearCacheBatchInvalidator.start();
+        if (nodeEngine instanceof NodeEngineImpl) {
+            ((NodeEngineImpl) nodeEngine).getMetricsRegistry()
+                    .scanAndRegister(nearCacheBatchInvalidator, "map.nearCacheInvalidation");
+        }
     }
 
     @Override
@@ -56,6 +63,7 @@ class MapManagedService implements ManagedService {
 
     @Override
     public void shutdown(boolean terminate) {
+        mapServiceContext.getNearCacheBatchInvalidator().shutdown();
         if (!terminate) {
             mapServiceContext.flushMaps();
             mapServiceContext.destroyMapStores();
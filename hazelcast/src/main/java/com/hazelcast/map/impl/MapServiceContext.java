@@ -76,6 +76,8 @@ public interface MapServiceContext extends MapServiceContextInterceptorSupport,
 
     NearCacheProvider getNearCacheProvider();
 
+    NearCacheBatchInvalidator getNearCacheBatchInvalidator();
+
     RecordStore getRecordStore(int partitionId, String mapName);
 
     RecordStore getExistingRecordStore(int partitionId, String mapName);
@@ -32,6 +32,8 @@ public interface MapServiceContextEventListenerSupport {
 
     String addPartitionLostListener(MapPartitionLostListener listener, String mapName);
 
+    String addNearCacheInvalidationListener(NearCacheInvalidationListener listener, String mapName);
+
     boolean removeEventListener(String mapName, String registrationId);
 
     boolean removePartitionLostListener(String mapName, String registrationId);
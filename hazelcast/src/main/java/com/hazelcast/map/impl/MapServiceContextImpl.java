@@ -72,6 +72,7 @@ class MapServiceContextImpl implements MapServiceContext {
     private final AtomicInteger writeBehindQueueItemCounter = new AtomicInteger(0);
     private final ExpirationManager expirationManager;
     private final NearCacheProvider nearCacheProvider;
+    private final NearCacheBatchInvalidator nearCacheBatchInvalidator;
     private final LocalMapStatsProvider localMapStatsProvider;
     private final MergePolicyProvider mergePolicyProvider;
     private final MapContextQuerySupport mapContextQuerySupport;
@@ -88,6 +89,7 @@ class MapServiceContextImpl implements MapServiceContext {
         this.expirationManager = new ExpirationManager(this, nodeEngine);
         this.evictionOperator = EvictionOperator.create(this);
         this.nearCacheProvider = new NearCacheProvider(this, nodeEngine);
+        this.nearCacheBatchInvalidator = new NearCacheBatchInvalidator(nodeEngine);
         this.localMapStatsProvider = new LocalMapStatsProvider(this, nodeEngine);
         this.mergePolicyProvider = new MergePolicyProvider(nodeEngine);
         this.mapEventPublisher = createMapEventPublisherSupport();
@@ -176,12 +178,14 @@ class MapServiceContextImpl implements MapServiceContext {
                 container.destroyMap(mapName);
             }
         }
+        nearCacheBatchInvalidator.destroy(mapName);
     }
 
     @Override
     public void reset() {
         clearPartitions();
         getNearCacheProvider().clear();
+        getNearCacheBatchInvalidator().reset();
     }
 
     @Override
@@ -189,6 +193,11 @@ class MapServiceContextImpl implements MapServiceContext {
         return nearCacheProvider;
     }
 
+    @Override
+    public NearCacheBatchInvalidator getNearCacheBatchInvalidator() {
+        return nearCacheBatchInvalidator;
+    }
+
     @Override
     public RecordStore getRecordStore(int partitionId, String mapName) {
         return getPartitionContainer(partitionId).getRecordStore(mapName);
@@ -462,6 +471,15 @@ class MapServiceContextImpl implements MapServiceContext {
         return registration.getId();
     }
 
+    @Override
+    public String addNearCacheInvalidationListener(NearCacheInvalidationListener listener, String mapName) {
+        final ListenerAdapter listenerAdapter = new InternalNearCacheInvalidationListenerAdapter(listener);
+        final EventFilter filter = new NearCacheInvalidationEventFilter();
+        final EventRegistration registration = nodeEngine.getEventService().registerListener(SERVICE_NAME, mapName, filter,
+                listenerAdapter);
+        return registration.getId();
+    }
+
     @Override
     public boolean removeEventListener(String mapName, String registrationId) {
         return nodeEngine.getEventService().deregisterListener(SERVICE_NAME, mapName, registrationId);
@@ -17,6 +17,7 @@
 package com.hazelcast.map.impl;
 
 import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.util.JvmMemoryLayout;
 
 /**
  * Size estimator for map.
@@ -47,9 +48,7 @@ class MapSizeEstimator<T extends Record> implements SizeEstimator<T> {
         if (cost == 0L) {
             return cost;
         }
-        final int numberOfIntegers = 4;
-        // entry size in CHM
-        long refSize = numberOfIntegers * ((Integer.SIZE / Byte.SIZE));
-        return refSize + cost;
+        // entry in the records map of the record store
+        return JvmMemoryLayout.CONCURRENT_HASH_MAP_ENTRY_COST + cost;
     }
 }
@@ -16,31 +16,47 @@
 
 package com.hazelcast.map.impl;
 
-import com.hazelcast.config.Config;
+import com.hazelcast.cache.impl.nearcache.NearCacheContext;
+import com.hazelcast.cache.impl.nearcache.NearCacheExecutor;
+import com.hazelcast.cache.impl.nearcache.impl.record.NearCacheDataRecord;
+import com.hazelcast.cache.impl.nearcache.impl.record.NearCacheNativeRecord;
+import com.hazelcast.cache.impl.nearcache.impl.record.NearCacheObjectRecord;
+import com.hazelcast.cache.impl.nearcache.impl.store.BaseHeapNearCacheRecordStore;
+import com.hazelcast.cache.impl.nearcache.impl.store.NearCacheDataRecordStore;
+import com.hazelcast.cache.impl.nearcache.impl.store.NearCacheNativeRecordStore;
+import com.hazelcast.cache.impl.nearcache.impl.store.NearCacheObjectRecordStore;
+import com.hazelcast.config.EvictionConfig;
 import com.hazelcast.config.EvictionPolicy;
 import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.config.NearCachePreloaderConfig;
+import com.hazelcast.internal.storage.DataRef;
+import com.hazelcast.internal.storage.Storage;
 import com.hazelcast.monitor.impl.NearCacheStatsImpl;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.nio.serialization.SerializationService;
-import com.hazelcast.spi.ExecutionService;
-import com.hazelcast.spi.NodeEngine;
-import com.hazelcast.util.Clock;
-import com.hazelcast.util.ExceptionUtil;
 
 import java.util.Collection;
-import java.util.Collections;
-import java.util.Comparator;
-import java.util.Map;
-import java.util.TreeSet;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.RejectedExecutionException;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.hazelcast.cache.impl.nearcache.NearCache.DEFAULT_EXPIRATION_TASK_DELAY_IN_SECONDS;
+import static com.hazelcast.cache.impl.nearcache.NearCache.DEFAULT_EXPIRATION_TASK_INITIAL_DELAY_IN_SECONDS;
 
 /**
- * NearCache.
+ * Near cache of an {@link com.hazelcast.core.IMap}, used on members and on clients.
+ * <p/>
+ * Entries are kept in a {@link com.hazelcast.cache.impl.nearcache.NearCacheRecordStore}, the same store
+ * implementations the JCache near caches use: BINARY and NATIVE keep the values as
+ * {@link Data}, the latter in a native {@link Storage}, OBJECT keeps them deserialized.
+ * <p/>
+ * The map style max-size and eviction-policy of the {@link NearCacheConfig} are applied on top of the store.
+ * When the max-size is reached, a fifth of the entries is evicted by sampling with the configured policy,
+ * instead of sorting all entries. With eviction-policy NONE, new entries are not cached anymore.
+ * Expired entries are removed periodically.
  */
 public class NearCache {
     /**
@@ -49,189 +65,130 @@ public class NearCache {
     public static final Object NULL_OBJECT = new Object();
     public static final String NEAR_CACHE_EXECUTOR_NAME = "hz:near-cache";
     private static final double EVICTION_FACTOR = 0.2;
-    private static final int CLEANUP_INTERVAL = 5000;
     private final int maxSize;
-    private volatile long lastCleanup;
-    private final long maxIdleMillis;
-    private final long timeToLiveMillis;
     private final EvictionPolicy evictionPolicy;
     private final InMemoryFormat inMemoryFormat;
-    private final NodeEngine nodeEngine;
-    private final AtomicBoolean canCleanUp;
-    private final AtomicBoolean canEvict;
-    private final ConcurrentMap<Data, NearCacheRecord> cache;
-    private final NearCacheStatsImpl nearCacheStats;
     private final SerializationService serializationService;
-    private final Comparator<NearCacheRecord> selectedComparator;
+    private final BaseHeapNearCacheRecordStore<Data, Object, ?> nearCacheRecordStore;
+    private final AtomicBoolean evictionInProgress = new AtomicBoolean(false);
+    private final AtomicLong reportedMemoryCost = new AtomicLong();
+    private final ScheduledFuture expirationTaskFuture;
+    private final String mapName;
+    private final NearCachePreloaderConfig preloaderConfig;
+    private final NearCacheExecutor nearCacheExecutor;
 
     private SizeEstimator nearCacheSizeEstimator;
+    private NearCachePreloader preloader;
+    private ScheduledFuture storeTaskFuture;
 
     /**
-     * @param mapName    name of map which owns near cache.
-     * @param nodeEngine node engine.
+     * @param mapName          name of map which owns near cache.
+     * @param nearCacheConfig  near cache config of the map.
+     * @param nearCacheContext context providing the serialization service and the executor of the near cache.
+     * @param nativeStorage    storage for the NATIVE in memory format, <code>null</code> if not available.
      */
-    public NearCache(String mapName, NodeEngine nodeEngine) {
-        this.nodeEngine = nodeEngine;
-        Config config = nodeEngine.getConfig();
-        NearCacheConfig nearCacheConfig = config.findMapConfig(mapName).getNearCacheConfig();
+    public NearCache(String mapName, NearCacheConfig nearCacheConfig, NearCacheContext nearCacheContext,
+                     Storage<DataRef> nativeStorage) {
         maxSize = nearCacheConfig.getMaxSize() <= 0 ? Integer.MAX_VALUE : nearCacheConfig.getMaxSize();
-        maxIdleMillis = TimeUnit.SECONDS.toMillis(nearCacheConfig.getMaxIdleSeconds());
-        inMemoryFormat = nearCacheConfig.getInMemoryFormat();
-        timeToLiveMillis = TimeUnit.SECONDS.toMillis(nearCacheConfig.getTimeToLiveSeconds());
         evictionPolicy = EvictionPolicy.valueOf(nearCacheConfig.getEvictionPolicy());
-        selectedComparator = NearCacheRecord.getComparator(evictionPolicy);
-        cache = new ConcurrentHashMap<Data, NearCacheRecord>();
-        canCleanUp = new AtomicBoolean(true);
-        canEvict = new AtomicBoolean(true);
-        nearCacheStats = new NearCacheStatsImpl();
-        lastCleanup = Clock.currentTimeMillis();
-        serializationService = nodeEngine.getSerializationService();
+        inMemoryFormat = nearCacheConfig.getInMemoryFormat();
+        serializationService = nearCacheContext.getSerializationService();
+        this.mapName = mapName;
+        preloaderConfig = nearCacheConfig.getPreloaderConfig();
+        nearCacheExecutor = nearCacheContext.getNearCacheExecutor();
+
+        NearCacheConfig recordStoreConfig = new NearCacheConfig(nearCacheConfig).setName(mapName);
+        recordStoreConfig.setEvictionConfig(new EvictionConfig(maxSize, EvictionConfig.MaxSizePolicy.ENTRY_COUNT,
+                evictionPolicy));
+        nearCacheRecordStore = createNearCacheRecordStore(recordStoreConfig, nearCacheContext, nativeStorage);
+        expirationTaskFuture = scheduleExpirationTask(nearCacheConfig, nearCacheExecutor);
     }
 
-    // this operation returns the given value in near-cache memory format (data or object)
-    public Object put(Data key, Data data) {
-        fireTtlCleanup();
-        if (evictionPolicy == EvictionPolicy.NONE && cache.size() >= maxSize) {
-            // no more space in near-cache -> return given value in near-cache format
-            if (data == null) {
-                return null;
-            } else {
-                return inMemoryFormat.equals(InMemoryFormat.OBJECT) ? serializationService.toObject(data) : data;
-            }
-        }
-        if (evictionPolicy != EvictionPolicy.NONE && cache.size() >= maxSize) {
-            fireEvictCache();
-        }
-        final Object value;
-        if (data == null) {
-            value = NULL_OBJECT;
-        } else {
-            value = inMemoryFormat.equals(InMemoryFormat.OBJECT) ? serializationService.toObject(data) : data;
-        }
-        final NearCacheRecord record = new NearCacheRecord(key, value);
-        cache.put(key, record);
-        updateSizeEstimator(calculateCost(record));
-        if (NULL_OBJECT.equals(value)) {
-            return null;
-        } else {
-            return value;
+    private BaseHeapNearCacheRecordStore<Data, Object, ?> createNearCacheRecordStore(NearCacheConfig nearCacheConfig,
+            NearCacheContext nearCacheContext, Storage<DataRef> nativeStorage) {
+        switch (inMemoryFormat) {
+            case BINARY:
+                return new DataRecordStore(nearCacheConfig, nearCacheContext);
+            case OBJECT:
+                return new ObjectRecordStore(nearCacheConfig, nearCacheContext);
+            case NATIVE:
+                if (nativeStorage == null) {
+                    throw new IllegalArgumentException("Near cache in memory format " + inMemoryFormat
+                            + " requires the Hazelcast Enterprise HD memory store");
+                }
+                return new NativeRecordStore(nearCacheConfig, nearCacheContext, nativeStorage);
+            default:
+                throw new IllegalArgumentException("Invalid in memory format: " + inMemoryFormat);
         }
     }
 
-    public NearCacheStatsImpl getNearCacheStats() {
-        return createNearCacheStats();
+    private ScheduledFuture scheduleExpirationTask(NearCacheConfig nearCacheConfig, NearCacheExecutor nearCacheExecutor) {
+        if (nearCacheConfig.getMaxIdleSeconds() <= 0 && nearCacheConfig.getTimeToLiveSeconds() <= 0) {
+            return null;
+        }
+        return nearCacheExecutor.scheduleWithFixedDelay(new ExpirationTask(),
+                DEFAULT_EXPIRATION_TASK_INITIAL_DELAY_IN_SECONDS,
+                DEFAULT_EXPIRATION_TASK_DELAY_IN_SECONDS,
+                TimeUnit.SECONDS);
     }
 
-    private NearCacheStatsImpl createNearCacheStats() {
-        long ownedEntryCount = 0;
-        long ownedEntryMemoryCost = 0;
-        for (NearCacheRecord record : cache.values()) {
-            ownedEntryCount++;
-            ownedEntryMemoryCost += record.getCost();
+    // this operation returns the given value in near-cache memory format (data or object)
+    public Object put(Data key, Object value) {
+        final Object cached = toNearCacheFormat(value);
+        if (evictionPolicy == EvictionPolicy.NONE && nearCacheRecordStore.size() >= maxSize) {
+            // no more space in near-cache -> return given value in near-cache format
+            return cached;
+        }
+        if (evictionPolicy != EvictionPolicy.NONE && nearCacheRecordStore.size() >= maxSize) {
+            evict();
         }
-        nearCacheStats.setOwnedEntryCount(ownedEntryCount);
-        nearCacheStats.setOwnedEntryMemoryCost(ownedEntryMemoryCost);
-        return nearCacheStats;
+        nearCacheRecordStore.put(key, cached == null ? NULL_OBJECT : cached);
+        updateSizeEstimator();
+        return cached;
     }
 
-    private void fireEvictCache() {
-        if (canEvict.compareAndSet(true, false)) {
-            try {
-                final ExecutionService executionService = nodeEngine.getExecutionService();
-                executionService.execute(NEAR_CACHE_EXECUTOR_NAME, new Runnable() {
-                    public void run() {
-                        try {
-                            TreeSet<NearCacheRecord> records = new TreeSet<NearCacheRecord>(selectedComparator);
-                            records.addAll(cache.values());
-                            int evictSize = (int) (cache.size() * EVICTION_FACTOR);
-                            int i = 0;
-                            for (NearCacheRecord record : records) {
-                                cache.remove(record.getKey());
-                                updateSizeEstimator(-calculateCost(record));
-                                if (++i > evictSize) {
-                                    break;
-                                }
-                            }
-                        } finally {
-                            canEvict.set(true);
-                        }
-
-                        if (cache.size() >= maxSize && canEvict.compareAndSet(true, false)) {
-                            try {
-                                executionService.execute(NEAR_CACHE_EXECUTOR_NAME, this);
-                            } catch (RejectedExecutionException e) {
-                                canEvict.set(true);
-                            }
-                        }
-                    }
-                });
-            } catch (RejectedExecutionException e) {
-                canEvict.set(true);
-            } catch (Exception e) {
-                throw ExceptionUtil.rethrow(e);
-            }
+    private Object toNearCacheFormat(Object value) {
+        if (value == null) {
+            return null;
         }
+        return inMemoryFormat == InMemoryFormat.OBJECT
+                ? serializationService.toObject(value) : serializationService.toData(value);
     }
 
-    private void fireTtlCleanup() {
-        if (Clock.currentTimeMillis() < (lastCleanup + CLEANUP_INTERVAL)) {
+    private void evict() {
+        if (!evictionInProgress.compareAndSet(false, true)) {
             return;
         }
-
-        if (canCleanUp.compareAndSet(true, false)) {
-            try {
-                nodeEngine.getExecutionService().execute(NEAR_CACHE_EXECUTOR_NAME, new Runnable() {
-                    public void run() {
-                        try {
-                            lastCleanup = Clock.currentTimeMillis();
-                            for (Map.Entry<Data, NearCacheRecord> entry : cache.entrySet()) {
-                                if (entry.getValue().isExpired(maxIdleMillis, timeToLiveMillis)) {
-                                    final Data key = entry.getKey();
-                                    final NearCacheRecord record = cache.remove(key);
-                                    //if a mapping exists.
-                                    if (record != null) {
-                                        updateSizeEstimator(-calculateCost(record));
-                                    }
-                                }
-                            }
-                        } finally {
-                            canCleanUp.set(true);
-                        }
-                    }
-                });
-            } catch (RejectedExecutionException e) {
-                canCleanUp.set(true);
-            } catch (Exception e) {
-                throw ExceptionUtil.rethrow(e);
+        try {
+            int evictSize = Math.max(1, (int) (nearCacheRecordStore.size() * EVICTION_FACTOR));
+            for (int i = 0; i < evictSize; i++) {
+                nearCacheRecordStore.doEviction();
             }
+        } finally {
+            evictionInProgress.set(false);
         }
     }
 
+    public NearCacheStatsImpl getNearCacheStats() {
+        return (NearCacheStatsImpl) nearCacheRecordStore.getNearCacheStats();
+    }
+
+    /**
+     * Returns the cached value in near-cache memory format, {@link #NULL_OBJECT} if the key is cached as
+     * nonexistent or <code>null</code> if it is not cached.
+     */
     public Object get(Data key) {
-        fireTtlCleanup();
-        NearCacheRecord record = cache.get(key);
-        if (record != null) {
-            if (record.isExpired(maxIdleMillis, timeToLiveMillis)) {
-                cache.remove(key);
-                updateSizeEstimator(-calculateCost(record));
-                nearCacheStats.incrementMisses();
-                return null;
-            }
-            nearCacheStats.incrementHits();
-            record.access();
-            return record.getValue();
-        } else {
-            nearCacheStats.incrementMisses();
-            return null;
+        Object value = nearCacheRecordStore.get(key);
+        if (value == null) {
+            // an expired record might have been removed
+            updateSizeEstimator();
         }
+        return value;
     }
 
     public void invalidate(Data key) {
-        final NearCacheRecord record = cache.remove(key);
-        // if a mapping exists for the key.
-        if (record != null) {
-            updateSizeEstimator(-calculateCost(record));
-        }
+        nearCacheRecordStore.remove(key);
+        updateSizeEstimator();
     }
 
     public void invalidate(Collection<Data> keys) {
@@ -239,33 +196,72 @@ public class NearCache {
             return;
         }
         for (Data key : keys) {
-            invalidate(key);
+            nearCacheRecordStore.remove(key);
         }
+        updateSizeEstimator();
     }
 
-    public int size() {
-        return cache.size();
+    /**
+     * Returns a weakly consistent view of the cached keys.
+     */
+    public Set<Data> keySet() {
+        return nearCacheRecordStore.keySet();
     }
 
-    public void clear() {
-        cache.clear();
-        resetSizeEstimator();
+    public int size() {
+        return nearCacheRecordStore.size();
     }
 
-    public Map<Data, NearCacheRecord> getReadonlyMap() {
-        return Collections.unmodifiableMap(cache);
+    public void clear() {
+        nearCacheRecordStore.clear();
+        updateSizeEstimator();
     }
 
-    private void resetSizeEstimator() {
-        getNearCacheSizeEstimator().reset();
+    /**
+     * Starts storing the keys of this near cache periodically if its preloader is enabled.
+     * The keys stored by a previous near cache of the same map and instance are still in the store file then,
+     * the caller is expected to preload them with the returned preloader before the near cache is used.
+     *
+     * @param instanceName name of the instance which owns the near cache.
+     * @return the preloader, or <code>null</code> if the preloader is not enabled or was started already.
+     */
+    public synchronized NearCachePreloader startPreloader(String instanceName) {
+        if (!preloaderConfig.isEnabled() || preloader != null) {
+            return null;
+        }
+        preloader = new NearCachePreloader(preloaderConfig, instanceName, mapName);
+        storeTaskFuture = nearCacheExecutor.scheduleWithFixedDelay(new StoreTask(preloader),
+                preloaderConfig.getStoreInitialDelaySeconds(),
+                preloaderConfig.getStoreIntervalSeconds(),
+                TimeUnit.SECONDS);
+        return preloader;
     }
 
-    private void updateSizeEstimator(long size) {
-        getNearCacheSizeEstimator().add(size);
+    /**
+     * Stops the expiration and the key storing of this near cache and clears it.
+     * The stored keys are kept, so the near cache can be preloaded when it is created again.
+     */
+    public void destroy() {
+        if (expirationTaskFuture != null) {
+            expirationTaskFuture.cancel(true);
+        }
+        synchronized (this) {
+            if (storeTaskFuture != null) {
+                storeTaskFuture.cancel(false);
+            }
+        }
+        clear();
     }
 
-    private long calculateCost(NearCacheRecord record) {
-        return getNearCacheSizeEstimator().getCost(record);
+    private void updateSizeEstimator() {
+        SizeEstimator sizeEstimator = getNearCacheSizeEstimator();
+        if (sizeEstimator == null) {
+            return;
+        }
+        long memoryCost = nearCacheRecordStore.getNearCacheStats().getOwnedEntryMemoryCost();
+        if (memoryCost != reportedMemoryCost.get()) {
+            sizeEstimator.add(memoryCost - reportedMemoryCost.getAndSet(memoryCost));
+        }
     }
 
     public SizeEstimator getNearCacheSizeEstimator() {
@@ -275,4 +271,130 @@ public class NearCache {
     public void setNearCacheSizeEstimator(SizeEstimator nearCacheSizeEstimator) {
         this.nearCacheSizeEstimator = nearCacheSizeEstimator;
     }
+
+    private class ExpirationTask implements Runnable {
+
+        private final AtomicBoolean expirationInProgress = new AtomicBoolean(false);
+
+        @Override
+        public void run() {
+            if (expirationInProgress.compareAndSet(false, true)) {
+                try {
+                    nearCacheRecordStore.doExpiration();
+                    updateSizeEstimator();
+                } finally {
+                    expirationInProgress.set(false);
+                }
+            }
+        }
+    }
+
+    private class StoreTask implements Runnable {
+
+        private final NearCachePreloader preloader;
+
+        StoreTask(NearCachePreloader preloader) {
+            this.preloader = preloader;
+        }
+
+        @Override
+        public void run() {
+            preloader.storeKeys(keySet());
+        }
+    }
+
+    /**
+     * Keeps the values deserialized, keys cached as nonexistent keep {@link #NULL_OBJECT} as value.
+     * Gets of those count as misses, as in the other stores.
+     */
+    private static final class ObjectRecordStore extends NearCacheObjectRecordStore<Data, Object> {
+
+        ObjectRecordStore(NearCacheConfig nearCacheConfig, NearCacheContext nearCacheContext) {
+            super(nearCacheConfig, nearCacheContext);
+        }
+
+        @Override
+        protected void onRecordHit(Data key, Object value, NearCacheObjectRecord record) {
+            if (value == NULL_OBJECT) {
+                nearCacheStats.incrementMisses();
+            } else {
+                super.onRecordHit(key, value, record);
+            }
+        }
+    }
+
+    /**
+     * Keeps the values as {@link Data} and returns them without deserializing, a record without value
+     * stands for a key cached as nonexistent.
+     */
+    private static final class DataRecordStore extends NearCacheDataRecordStore<Data, Object> {
+
+        DataRecordStore(NearCacheConfig nearCacheConfig, NearCacheContext nearCacheContext) {
+            super(nearCacheConfig, nearCacheContext);
+        }
+
+        @Override
+        protected NearCacheDataRecord valueToRecord(Object value) {
+            return super.valueToRecord(value == NULL_OBJECT ? null : value);
+        }
+
+        @Override
+        protected Object recordToValue(NearCacheDataRecord record) {
+            Data data = record.getValue();
+            return data != null ? data : NULL_OBJECT;
+        }
+
+        @Override
+        protected void putToRecord(NearCacheDataRecord record, Object value) {
+            super.putToRecord(record, value == NULL_OBJECT ? null : value);
+        }
+
+        @Override
+        protected void onRecordHit(Data key, Object value, NearCacheDataRecord record) {
+            if (value == NULL_OBJECT) {
+                nearCacheStats.incrementMisses();
+            } else {
+                super.onRecordHit(key, value, record);
+            }
+        }
+    }
+
+    /**
+     * Same as {@link DataRecordStore} for values kept in a native storage.
+     */
+    private static final class NativeRecordStore extends NearCacheNativeRecordStore<Data, Object> {
+
+        NativeRecordStore(NearCacheConfig nearCacheConfig, NearCacheContext nearCacheContext,
+                          Storage<DataRef> storage) {
+            super(nearCacheConfig, nearCacheContext, storage);
+        }
+
+        @Override
+        protected NearCacheNativeRecord valueToRecord(Object value) {
+            return super.valueToRecord(value == NULL_OBJECT ? null : value);
+        }
+
+        @Override
+        protected Object recordToValue(NearCacheNativeRecord record) {
+            if (record.getValue() == null) {
+                return NULL_OBJECT;
+            }
+            // null if the value was given up concurrently, which is a miss
+            return getData(record);
+        }
+
+        @Override
+        protected void putToRecord(NearCacheNativeRecord record, Object value) {
+            super.putToRecord(record, value == NULL_OBJECT ? null : value);
+        }
+
+        @Override
+        protected void onRecordHit(Data key, Object value, NearCacheNativeRecord record) {
+            if (value == NULL_OBJECT) {
+                nearCacheStats.incrementMisses();
+            } else {
+                super.onRecordHit(key, value, record);
+            }
+        }
+    }
 }
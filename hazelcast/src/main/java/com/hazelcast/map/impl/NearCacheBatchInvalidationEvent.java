@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl;
+
+import com.hazelcast.core.AbstractIMapEvent;
+import com.hazelcast.core.Member;
+import com.hazelcast.nio.serialization.Data;
+
+import java.util.List;
+
+/**
+ * An invalidation batch delivered to a {@link NearCacheInvalidationListener}.
+ *
+ * @see NearCacheBatchInvalidationEventData
+ */
+public class NearCacheBatchInvalidationEvent extends AbstractIMapEvent {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient List<Data> keys;
+    private final int partitionId;
+    private final String partitionUuid;
+    private final long sequence;
+
+    public NearCacheBatchInvalidationEvent(Object source, Member member, List<Data> keys,
+                                           int partitionId, String partitionUuid, long sequence) {
+        super(source, member, -1);
+        this.keys = keys;
+        this.partitionId = partitionId;
+        this.partitionUuid = partitionUuid;
+        this.sequence = sequence;
+    }
+
+    public List<Data> getKeys() {
+        return keys;
+    }
+
+    /**
+     * Returns the partition of the keys, or {@code -1} if all keys of the map are invalidated.
+     */
+    public int getPartitionId() {
+        return partitionId;
+    }
+
+    public String getPartitionUuid() {
+        return partitionUuid;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{"
+                + super.toString()
+                + ", partitionId=" + partitionId
+                + ", partitionUuid=" + partitionUuid
+                + ", sequence=" + sequence
+                + ", keyCount=" + keys.size()
+                + '}';
+    }
+}
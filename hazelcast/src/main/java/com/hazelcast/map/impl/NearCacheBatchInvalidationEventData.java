@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl;
+
+import com.hazelcast.nio.Address;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Contains the keys of a single partition to be invalidated in client near caches.
+ * <p/>
+ * The sequence is the invalidation sequence of the last key, so the keys carry the sequences
+ * {@code sequence - keys.size() + 1} to {@code sequence}. A partition id of {@code -1} with no keys means
+ * all keys of the map are invalidated.
+ */
+public class NearCacheBatchInvalidationEventData extends AbstractEventData {
+
+    private List<Data> keys;
+    private int partitionId;
+    private String partitionUuid;
+    private long sequence;
+
+    public NearCacheBatchInvalidationEventData() {
+    }
+
+    public NearCacheBatchInvalidationEventData(String source, String mapName, Address caller, List<Data> keys,
+                                               int partitionId, String partitionUuid, long sequence) {
+        super(source, mapName, caller, -1);
+        this.keys = keys;
+        this.partitionId = partitionId;
+        this.partitionUuid = partitionUuid;
+        this.sequence = sequence;
+    }
+
+    public List<Data> getKeys() {
+        return keys;
+    }
+
+    public int getPartitionId() {
+        return partitionId;
+    }
+
+    public String getPartitionUuid() {
+        return partitionUuid;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out)
+            throws IOException {
+        super.writeData(out);
+        out.writeInt(partitionId);
+        out.writeUTF(partitionUuid);
+        out.writeLong(sequence);
+        out.writeInt(keys.size());
+        for (Data key : keys) {
+            out.writeData(key);
+        }
+    }
+
+    @Override
+    public void readData(ObjectDataInput in)
+            throws IOException {
+        super.readData(in);
+        partitionId = in.readInt();
+        partitionUuid = in.readUTF();
+        sequence = in.readLong();
+        int size = in.readInt();
+        keys = new ArrayList<Data>(size);
+        for (int i = 0; i < size; i++) {
+            keys.add(in.readData());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "NearCacheBatchInvalidationEventData{"
+                + super.toString()
+                + ", partitionId=" + partitionId
+                + ", partitionUuid=" + partitionUuid
+                + ", sequence=" + sequence
+                + ", keyCount=" + keys.size()
+                + '}';
+    }
+}
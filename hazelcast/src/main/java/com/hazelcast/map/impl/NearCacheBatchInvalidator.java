@@ -0,0 +1,286 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl;
+
+import com.hazelcast.instance.GroupProperties;
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.EventRegistration;
+import com.hazelcast.spi.EventService;
+import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.util.ConstructorFunction;
+import com.hazelcast.util.UuidUtil;
+import com.hazelcast.util.counters.MwCounter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
+import static com.hazelcast.util.ConcurrencyUtil.getOrPutIfAbsent;
+import static com.hazelcast.util.counters.MwCounter.newMwCounter;
+
+/**
+ * Batches the invalidations sent to client near caches per partition.
+ * <p/>
+ * Every partition of every map has its own invalidation sequence on its owner, together with a UUID identifying
+ * that sequence. The sequence is assigned when a key is queued, so a batch only needs to carry the sequence of its
+ * last key. Batches of a partition are published in sequence order with the partition id as order key, which lets a
+ * client notice that it missed a batch (a gap in the sequence) or that the sequence was restarted (a new UUID, e.g.
+ * after the partition moved to another member) and drop the near cached entries of just that partition.
+ * <p/>
+ * A batch is sent when it reaches {@link GroupProperties#PROP_MAP_INVALIDATION_MESSAGE_BATCH_SIZE} keys or, at the
+ * latest, by the periodic sender every {@link GroupProperties#PROP_MAP_INVALIDATION_MESSAGE_BATCH_FREQUENCY_MILLIS}.
+ * When batching is disabled every key is sent on its own, still with its sequence.
+ * <p/>
+ * Clearing a partition sends a batch without keys, which invalidates all keys of the partition. It takes part in the
+ * sequence of the partition like any other batch, so it is ordered with the batches sent before and after it. The
+ * queued keys it replaces already took their sequences, the batch carries the sequence after them, so the client
+ * sees a jump over the dropped keys. Clients accept that jump without a repair, since the clear supersedes them.
+ */
+public class NearCacheBatchInvalidator {
+
+    private final NodeEngine nodeEngine;
+    private final int partitionCount;
+    private final int batchSize;
+    private final long batchFrequencyMillis;
+    private final ConcurrentMap<String, AtomicReferenceArray<PartitionBatch>> mapBatches
+            = new ConcurrentHashMap<String, AtomicReferenceArray<PartitionBatch>>();
+    private final AtomicBoolean batchSendInProgress = new AtomicBoolean(false);
+    private final ConstructorFunction<String, AtomicReferenceArray<PartitionBatch>> batchesConstructor =
+            new ConstructorFunction<String, AtomicReferenceArray<PartitionBatch>>() {
+                @Override
+                public AtomicReferenceArray<PartitionBatch> createNew(String mapName) {
+                    return new AtomicReferenceArray<PartitionBatch>(partitionCount);
+                }
+            };
+
+    @Probe
+    private final MwCounter invalidationsBatched = newMwCounter();
+    @Probe
+    private final MwCounter batchesSent = newMwCounter();
+
+    private volatile ScheduledFuture batchSender;
+
+    public NearCacheBatchInvalidator(NodeEngine nodeEngine) {
+        this.nodeEngine = nodeEngine;
+        this.partitionCount = nodeEngine.getPartitionService().getPartitionCount();
+        GroupProperties groupProperties = nodeEngine.getGroupProperties();
+        boolean batchingEnabled = groupProperties.MAP_INVALIDATION_MESSAGE_BATCH_ENABLED.getBoolean();
+        this.batchSize = batchingEnabled ? Math.max(1, groupProperties.MAP_INVALIDATION_MESSAGE_BATCH_SIZE.getInteger()) : 1;
+        this.batchFrequencyMillis = Math.max(1, groupProperties.MAP_INVALIDATION_MESSAGE_BATCH_FREQUENCY_MILLIS.getLong());
+    }
+
+    public void start() {
+        if (batchSize > 1) {
+            batchSender = nodeEngine.getExecutionService()
+                    .scheduleAtFixedRate(SERVICE_NAME + ":nearCacheBatchInvalidationSender",
+                            new BatchInvalidationSender(),
+                            batchFrequencyMillis,
+                            batchFrequencyMillis,
+                            TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public void shutdown() {
+        ScheduledFuture sender = batchSender;
+        if (sender != null) {
+            sender.cancel(true);
+        }
+        mapBatches.clear();
+    }
+
+    /**
+     * Forgets all sequences, clients see new partition UUIDs afterwards.
+     */
+    public void reset() {
+        mapBatches.clear();
+    }
+
+    public void destroy(String mapName) {
+        mapBatches.remove(mapName);
+    }
+
+    /**
+     * Queues the key for invalidation in the client near caches of the map. Called on the partition owner of the key.
+     */
+    public void invalidate(String mapName, Data key) {
+        int partitionId = nodeEngine.getPartitionService().getPartitionId(key);
+        AtomicReferenceArray<PartitionBatch> batches = getOrPutIfAbsent(mapBatches, mapName, batchesConstructor);
+        PartitionBatch batch = getOrCreateBatch(batches, partitionId);
+        synchronized (batch) {
+            batch.add(key);
+            invalidationsBatched.inc();
+            if (batch.size() >= batchSize) {
+                send(mapName, partitionId, batch, getInvalidationRegistrations(mapName));
+            }
+        }
+    }
+
+    /**
+     * Invalidates all keys of the partition in the client near caches of the map, e.g. after the partition was
+     * cleared. Called on the partition owner.
+     */
+    public void invalidatePartition(String mapName, int partitionId) {
+        Collection<EventRegistration> registrations = getInvalidationRegistrations(mapName);
+        if (registrations.isEmpty()) {
+            return;
+        }
+        AtomicReferenceArray<PartitionBatch> batches = getOrPutIfAbsent(mapBatches, mapName, batchesConstructor);
+        PartitionBatch batch = getOrCreateBatch(batches, partitionId);
+        synchronized (batch) {
+            batch.invalidateAll();
+            send(mapName, partitionId, batch, registrations);
+        }
+    }
+
+    private static PartitionBatch getOrCreateBatch(AtomicReferenceArray<PartitionBatch> batches, int partitionId) {
+        PartitionBatch batch = batches.get(partitionId);
+        if (batch != null) {
+            return batch;
+        }
+        PartitionBatch newBatch = new PartitionBatch(UuidUtil.buildRandomUuidString());
+        if (batches.compareAndSet(partitionId, null, newBatch)) {
+            return newBatch;
+        }
+        return batches.get(partitionId);
+    }
+
+    /**
+     * Sends the queued keys of the batch. Must be called while holding the lock of the batch, which keeps the
+     * batches of a partition published in sequence order.
+     */
+    private void send(String mapName, int partitionId, PartitionBatch batch, Collection<EventRegistration> registrations) {
+        List<Data> keys = batch.drain();
+        if (registrations.isEmpty()) {
+            return;
+        }
+        NearCacheBatchInvalidationEventData eventData = new NearCacheBatchInvalidationEventData(getThisNodesAddress(),
+                mapName, nodeEngine.getThisAddress(), keys, partitionId, batch.uuid, batch.sequence);
+        nodeEngine.getEventService().publishEvent(SERVICE_NAME, registrations, eventData, partitionId);
+        batchesSent.inc();
+    }
+
+    private Collection<EventRegistration> getInvalidationRegistrations(String mapName) {
+        EventService eventService = nodeEngine.getEventService();
+        Collection<EventRegistration> registrations = Collections.emptyList();
+        for (EventRegistration registration : eventService.getRegistrations(SERVICE_NAME, mapName)) {
+            if (registration.getFilter() instanceof NearCacheInvalidationEventFilter) {
+                if (registrations.isEmpty()) {
+                    registrations = new LinkedList<EventRegistration>();
+                }
+                registrations.add(registration);
+            }
+        }
+        return registrations;
+    }
+
+    private String getThisNodesAddress() {
+        return nodeEngine.getThisAddress().toString();
+    }
+
+    /**
+     * The queued keys and the invalidation sequence of a single partition of a map.
+     * Guarded by its own lock.
+     */
+    private static final class PartitionBatch {
+
+        final String uuid;
+        long sequence;
+        List<Data> keys = new ArrayList<Data>();
+
+        PartitionBatch(String uuid) {
+            this.uuid = uuid;
+        }
+
+        void add(Data key) {
+            keys.add(key);
+            sequence++;
+        }
+
+        /**
+         * Replaces the queued keys by an invalidation of all keys, which takes a sequence of its own after the
+         * sequences of the dropped keys.
+         */
+        void invalidateAll() {
+            keys.clear();
+            sequence++;
+        }
+
+        int size() {
+            return keys.size();
+        }
+
+        List<Data> drain() {
+            List<Data> drained = keys;
+            keys = new ArrayList<Data>();
+            return drained;
+        }
+    }
+
+    /**
+     * Periodically sends the batches which did not fill up.
+     */
+    private class BatchInvalidationSender implements Runnable {
+
+        @Override
+        public void run() {
+            // Don't let concurrent sending
+            if (!batchSendInProgress.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                for (Map.Entry<String, AtomicReferenceArray<PartitionBatch>> entry : mapBatches.entrySet()) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        break;
+                    }
+                    sendBatches(entry.getKey(), entry.getValue());
+                }
+            } finally {
+                batchSendInProgress.set(false);
+            }
+        }
+
+        private void sendBatches(String mapName, AtomicReferenceArray<PartitionBatch> batches) {
+            Collection<EventRegistration> registrations = null;
+            for (int partitionId = 0; partitionId < batches.length(); partitionId++) {
+                PartitionBatch batch = batches.get(partitionId);
+                if (batch == null) {
+                    continue;
+                }
+                synchronized (batch) {
+                    if (batch.size() == 0) {
+                        continue;
+                    }
+                    if (registrations == null) {
+                        registrations = getInvalidationRegistrations(mapName);
+                    }
+                    send(mapName, partitionId, batch, registrations);
+                }
+            }
+        }
+    }
+}
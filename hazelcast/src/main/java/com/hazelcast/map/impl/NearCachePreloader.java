@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl;
+
+import com.hazelcast.config.NearCachePreloaderConfig;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.logging.Logger;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.DefaultData;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static com.hazelcast.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.nio.IOUtil.closeResource;
+
+/**
+ * Stores the keys of a near cache to a file and loads them back, so a restarted near cache can be filled with
+ * the values of the keys which were hot before.
+ * <p/>
+ * The file starts with a magic number, the file format version and the number of keys, followed by every key as
+ * the length and the bytes of its serialized form. Keys are written to a temporary file first, which then replaces
+ * the previous file, so a crash while storing leaves the previous keys intact.
+ */
+public class NearCachePreloader {
+
+    /**
+     * Number of keys fetched with a single bulk get when the near cache is preloaded.
+     */
+    public static final int LOAD_BATCH_SIZE = 100;
+
+    static final int MAGIC = 0xE1D1C0DE;
+    static final int FILE_FORMAT = 1;
+    // magic number, file format and key count
+    static final int HEADER_LENGTH = 3 * INT_SIZE_IN_BYTES;
+
+    private static final int BUFFER_SIZE = 32 * 1024;
+
+    private final ILogger logger = Logger.getLogger(NearCachePreloader.class);
+    private final File storeFile;
+    private final File tmpStoreFile;
+
+    /**
+     * @param preloaderConfig preloader config of the near cache.
+     * @param instanceName    name of the instance which owns the near cache.
+     * @param mapName         name of the map which owns the near cache.
+     */
+    public NearCachePreloader(NearCachePreloaderConfig preloaderConfig, String instanceName, String mapName) {
+        String fileName = toFileName("nearCache-" + instanceName + "-" + mapName) + ".store";
+        String directory = preloaderConfig.getDirectory();
+        this.storeFile = directory.length() == 0 ? new File(fileName) : new File(directory, fileName);
+        this.tmpStoreFile = new File(storeFile.getParentFile(), storeFile.getName() + "~");
+    }
+
+    public File getStoreFile() {
+        return storeFile;
+    }
+
+    /**
+     * Writes the given keys to the store file, replacing the keys stored before.
+     *
+     * @param keys the keys to store.
+     * @return the number of stored keys, or -1 if the keys could not be stored.
+     */
+    public int storeKeys(Collection<Data> keys) {
+        File parent = storeFile.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            logger.warning("Could not create the near cache preloader directory " + parent.getAbsolutePath());
+            return -1;
+        }
+        // the key set is weakly consistent, its size may change while it is written
+        List<Data> snapshot = new ArrayList<Data>(keys);
+        DataOutputStream out = null;
+        try {
+            out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmpStoreFile), BUFFER_SIZE));
+            out.writeInt(MAGIC);
+            out.writeInt(FILE_FORMAT);
+            out.writeInt(snapshot.size());
+            for (Data key : snapshot) {
+                byte[] bytes = key.toByteArray();
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+            out.close();
+            out = null;
+            replaceStoreFile();
+            return snapshot.size();
+        } catch (IOException e) {
+            logger.warning("Could not store the near cache keys to " + storeFile.getAbsolutePath(), e);
+            return -1;
+        } finally {
+            closeResource(out);
+            if (tmpStoreFile.exists() && !tmpStoreFile.delete()) {
+                logger.finest("Could not delete " + tmpStoreFile.getAbsolutePath());
+            }
+        }
+    }
+
+    /**
+     * Reads the stored keys and hands them to the loader in batches of {@link #LOAD_BATCH_SIZE} keys.
+     * A missing, unreadable or corrupt store file is skipped, the near cache is simply not preloaded then.
+     *
+     * @param loader  the loader which fetches the values of the keys into the near cache.
+     * @param maxKeys the maximum number of keys to load, usually the max size of the near cache.
+     * @return the number of keys handed to the loader.
+     */
+    public int loadKeys(KeyLoader loader, int maxKeys) {
+        List<Data> keys = readKeys(maxKeys);
+        int loaded = 0;
+        while (loaded < keys.size()) {
+            List<Data> batch = new ArrayList<Data>(keys.subList(loaded, Math.min(loaded + LOAD_BATCH_SIZE, keys.size())));
+            loader.load(batch);
+            loaded += batch.size();
+        }
+        return loaded;
+    }
+
+    /**
+     * Reads up to the given number of keys. Every key length is checked against the bytes left in the file before
+     * it is allocated, so a corrupt file can't cause a huge allocation; the whole file is skipped then. The keys read
+     * from a truncated file are returned.
+     */
+    private List<Data> readKeys(int maxKeys) {
+        List<Data> keys = new ArrayList<Data>();
+        if (!storeFile.exists()) {
+            return keys;
+        }
+        long remaining = storeFile.length() - HEADER_LENGTH;
+        DataInputStream in = null;
+        try {
+            in = new DataInputStream(new BufferedInputStream(new FileInputStream(storeFile), BUFFER_SIZE));
+            if (in.readInt() != MAGIC || in.readInt() != FILE_FORMAT) {
+                logger.warning("Skipping near cache preloading, " + storeFile.getAbsolutePath()
+                        + " is not a near cache key file of this version");
+                return keys;
+            }
+            int count = Math.min(in.readInt(), maxKeys);
+            for (int i = 0; i < count; i++) {
+                int length = in.readInt();
+                remaining -= INT_SIZE_IN_BYTES;
+                if (length < DefaultData.DATA_OFFSET || length > remaining) {
+                    logger.warning("Skipping near cache preloading, " + storeFile.getAbsolutePath()
+                            + " is corrupt: key " + i + " has an invalid length of " + length + " bytes");
+                    keys.clear();
+                    return keys;
+                }
+                byte[] bytes = new byte[length];
+                in.readFully(bytes);
+                remaining -= length;
+                keys.add(new DefaultData(bytes));
+            }
+        } catch (EOFException e) {
+            logger.warning("Near cache key file " + storeFile.getAbsolutePath() + " is truncated, loading "
+                    + keys.size() + " keys");
+        } catch (IOException e) {
+            logger.warning("Could not load the near cache keys from " + storeFile.getAbsolutePath(), e);
+            keys.clear();
+        } finally {
+            closeResource(in);
+        }
+        return keys;
+    }
+
+    private void replaceStoreFile() throws IOException {
+        if (tmpStoreFile.renameTo(storeFile)) {
+            return;
+        }
+        // renaming over an existing file fails on some platforms
+        if (storeFile.exists() && !storeFile.delete()) {
+            throw new IOException("Could not delete " + storeFile.getAbsolutePath());
+        }
+        if (!tmpStoreFile.renameTo(storeFile)) {
+            throw new IOException("Could not rename " + tmpStoreFile.getAbsolutePath() + " to "
+                    + storeFile.getAbsolutePath());
+        }
+    }
+
+    private static String toFileName(String name) {
+        StringBuilder sb = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            sb.append(Character.isLetterOrDigit(c) || c == '-' || c == '.' ? c : '_');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Fetches the values of preloaded keys into the near cache, preferably with a single bulk get per batch.
+     */
+    public interface KeyLoader {
+
+        void load(List<Data> keys);
+    }
+}
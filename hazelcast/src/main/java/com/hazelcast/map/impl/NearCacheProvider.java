@@ -16,8 +16,14 @@
 
 package com.hazelcast.map.impl;
 
+import com.hazelcast.cache.impl.nearcache.NearCacheContext;
+import com.hazelcast.cache.impl.nearcache.NearCacheExecutor;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.NearCacheConfig;
 import com.hazelcast.core.HazelcastException;
 import com.hazelcast.instance.MemberImpl;
+import com.hazelcast.internal.storage.DataRef;
+import com.hazelcast.internal.storage.Storage;
 import com.hazelcast.map.impl.operation.InvalidateNearCacheOperation;
 import com.hazelcast.map.impl.operation.NearCacheKeySetInvalidationOperation;
 import com.hazelcast.nio.serialization.Data;
@@ -30,6 +36,10 @@ import java.util.Collection;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.map.impl.NearCache.NEAR_CACHE_EXECUTOR_NAME;
 
 /**
  * Provides near cache specific functionality.
@@ -42,7 +52,10 @@ public class NearCacheProvider {
         public NearCache createNew(String mapName) {
             final MapContainer mapContainer = mapServiceContext.getMapContainer(mapName);
             final SizeEstimator nearCacheSizeEstimator = mapContainer.getNearCacheSizeEstimator();
-            final NearCache nearCache = new NearCache(mapName, nodeEngine);
+            final NearCacheConfig nearCacheConfig = mapContainer.getMapConfig().getNearCacheConfig();
+            final Storage<DataRef> nativeStorage = nearCacheConfig.getInMemoryFormat() == InMemoryFormat.NATIVE
+                    ? nodeEngine.getOffHeapStorage() : null;
+            final NearCache nearCache = new NearCache(mapName, nearCacheConfig, nearCacheContext, nativeStorage);
             nearCache.setNearCacheSizeEstimator(nearCacheSizeEstimator);
             return nearCache;
         }
@@ -50,10 +63,12 @@ public class NearCacheProvider {
 
     private final MapServiceContext mapServiceContext;
     private final NodeEngine nodeEngine;
+    private final NearCacheContext nearCacheContext;
 
     public NearCacheProvider(MapServiceContext mapServiceContext, NodeEngine nodeEngine) {
         this.mapServiceContext = mapServiceContext;
         this.nodeEngine = nodeEngine;
+        this.nearCacheContext = new NearCacheContext(nodeEngine.getSerializationService(), new MemberNearCacheExecutor());
     }
 
     public NearCache getNearCache(String mapName) {
@@ -62,7 +77,7 @@ public class NearCacheProvider {
 
     public void clear() {
         for (NearCache nearCache : nearCacheMap.values()) {
-            nearCache.clear();
+            nearCache.destroy();
         }
         nearCacheMap.clear();
     }
@@ -70,7 +85,7 @@ public class NearCacheProvider {
     public void remove(String mapName) {
         final NearCache nearCache = nearCacheMap.remove(mapName);
         if (nearCache != null) {
-            nearCache.clear();
+            nearCache.destroy();
         }
     }
 
@@ -177,5 +192,16 @@ public class NearCacheProvider {
         NearCache nearCache = getNearCache(mapName);
         return nearCache.get(key);
     }
-}
 
+    /**
+     * Runs the near cache expiration tasks on the near cache executor of the member.
+     */
+    private class MemberNearCacheExecutor implements NearCacheExecutor {
+
+        @Override
+        public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+            return nodeEngine.getExecutionService()
+                    .scheduleWithFixedDelay(NEAR_CACHE_EXECUTOR_NAME, command, initialDelay, delay, unit);
+        }
+    }
+}
@@ -19,6 +19,7 @@ package com.hazelcast.map.impl;
 import com.hazelcast.config.EvictionPolicy;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.util.Clock;
+import com.hazelcast.util.JvmMemoryLayout;
 import com.hazelcast.util.QuickMath;
 
 import java.util.Comparator;
@@ -28,6 +29,9 @@ import java.util.concurrent.atomic.AtomicLong;
  * Entry holder to be used in Client and Node side Near cache
  */
 public class NearCacheRecord {
+    private static final long SHALLOW_SIZE = JvmMemoryLayout.shallowSizeOf(NearCacheRecord.class);
+    private static final long HIT_COUNTER_SIZE = JvmMemoryLayout.shallowSizeOf(AtomicLong.class);
+
     private static final Comparator<NearCacheRecord> LRU_COMPARATOR = new Comparator<NearCacheRecord>() {
         public int compare(NearCacheRecord o1, NearCacheRecord o2) {
             final int result = QuickMath.compareLongs(o1.lastAccessTime, o2.lastAccessTime);
@@ -91,13 +95,9 @@ public class NearCacheRecord {
             return 0;
         }
         // value is Data
-        return ((Data) key).getHeapCost()
-                + ((Data) value).getHeapCost()
-                + 2 * (Long.SIZE / Byte.SIZE)
-                // sizeof atomic long
-                + (Long.SIZE / Byte.SIZE)
-                // object references (key, value, hit)
-                + 3 * (Integer.SIZE / Byte.SIZE);
+        return SHALLOW_SIZE + HIT_COUNTER_SIZE
+                + ((Data) key).getHeapCost()
+                + ((Data) value).getHeapCost();
     }
 
     public boolean isExpired(long maxIdleMillis, long timeToLiveMillis) {
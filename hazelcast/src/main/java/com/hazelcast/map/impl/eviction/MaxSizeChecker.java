@@ -192,6 +192,7 @@ public class MaxSizeChecker {
             heapCost += getRecordStoreHeapCost(mapName, container);
         }
         heapCost += mapContainer.getNearCacheSizeEstimator().getSize();
+        heapCost += mapContainer.getIndexService().getHeapCost();
         return heapCost;
     }
 
@@ -47,6 +47,7 @@ public class ClearOperation extends AbstractMapOperation implements BackupAwareO
         // but it's still preferred to send a separate operation to clear near-cache.
         MapServiceContext mapServiceContext = mapService.getMapServiceContext();
         mapServiceContext.getNearCacheProvider().clearNearCache(name);
+        mapServiceContext.getNearCacheBatchInvalidator().invalidatePartition(name, getPartitionId());
 
         final RecordStore recordStore = mapServiceContext.getExistingRecordStore(getPartitionId(), name);
         //if there is no recordStore, then there is nothing to clear.
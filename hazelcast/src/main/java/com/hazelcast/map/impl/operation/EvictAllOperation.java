@@ -52,6 +52,7 @@ public class EvictAllOperation extends AbstractMapOperation implements BackupAwa
         // TODO this also clears locked keys from near cache which should be preserved.
         MapServiceContext mapServiceContext = mapService.getMapServiceContext();
         mapServiceContext.getNearCacheProvider().clearNearCache(name);
+        mapServiceContext.getNearCacheBatchInvalidator().invalidatePartition(name, getPartitionId());
 
         final RecordStore recordStore = mapServiceContext.getExistingRecordStore(getPartitionId(), name);
         if (recordStore == null) {
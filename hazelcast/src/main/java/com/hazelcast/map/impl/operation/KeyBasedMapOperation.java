@@ -24,13 +24,13 @@ import com.hazelcast.map.impl.RecordStore;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.Data;
-import com.hazelcast.spi.NamedOperation;
 import com.hazelcast.spi.Operation;
 import com.hazelcast.spi.PartitionAwareOperation;
+import com.hazelcast.spi.impl.KeyBasedOperation;
 import com.hazelcast.util.Clock;
 import java.io.IOException;
 
-public abstract class KeyBasedMapOperation extends Operation implements PartitionAwareOperation, NamedOperation {
+public abstract class KeyBasedMapOperation extends Operation implements PartitionAwareOperation, KeyBasedOperation {
 
     protected String name;
     protected Data dataKey;
@@ -75,10 +75,12 @@ public abstract class KeyBasedMapOperation extends Operation implements Partitio
         return MapService.SERVICE_NAME;
     }
 
+    @Override
     public final String getName() {
         return name;
     }
 
+    @Override
     public final Data getKey() {
         return dataKey;
     }
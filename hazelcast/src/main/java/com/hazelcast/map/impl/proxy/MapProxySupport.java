@@ -44,6 +44,7 @@ import com.hazelcast.map.impl.MapEventPublisher;
 import com.hazelcast.map.impl.MapService;
 import com.hazelcast.map.impl.MapServiceContext;
 import com.hazelcast.map.impl.NearCache;
+import com.hazelcast.map.impl.NearCachePreloader;
 import com.hazelcast.map.impl.NearCacheProvider;
 import com.hazelcast.map.impl.PartitionContainer;
 import com.hazelcast.map.impl.QueryEventFilter;
@@ -126,6 +127,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
@@ -147,6 +149,7 @@ abstract class MapProxySupport extends AbstractDistributedObject<MapService> imp
     protected final PartitioningStrategy partitionStrategy;
     private MapServiceContext mapServiceContext;
     private InternalPartitionService partitionService;
+    private volatile Future<Integer> nearCachePreloadFuture;
 
     protected MapProxySupport(final String name, final MapService service, NodeEngine nodeEngine) {
         super(nodeEngine, service);
@@ -163,6 +166,7 @@ abstract class MapProxySupport extends AbstractDistributedObject<MapService> imp
         initializeListeners();
         initializeIndexes();
         initializeMapStoreLoad();
+        initializeNearCachePreloader();
     }
 
     private void initializeMapStoreLoad() {
@@ -175,6 +179,44 @@ abstract class MapProxySupport extends AbstractDistributedObject<MapService> imp
         }
     }
 
+    private void initializeNearCachePreloader() {
+        if (!getMapConfig().isNearCacheEnabled()) {
+            return;
+        }
+        final NearCache nearCache = mapServiceContext.getNearCacheProvider().getNearCache(name);
+        final NearCachePreloader preloader = nearCache.startPreloader(getNodeEngine().getHazelcastInstance().getName());
+        if (preloader == null) {
+            return;
+        }
+        int maxSize = getMapConfig().getNearCacheConfig().getMaxSize();
+        final int maxKeys = maxSize <= 0 ? Integer.MAX_VALUE : maxSize;
+        final NearCachePreloader.KeyLoader keyLoader = new NearCachePreloader.KeyLoader() {
+            @Override
+            public void load(List<Data> keys) {
+                getAllObjectInternal(new HashSet<Data>(keys));
+            }
+        };
+        // a proxy created by another member is initialized on an event or operation thread,
+        // which must not wait for the remote calls of the bulk gets
+        nearCachePreloadFuture = getNodeEngine().getExecutionService().submit(ExecutionService.ASYNC_EXECUTOR,
+                new Callable<Integer>() {
+                    @Override
+                    public Integer call() {
+                        return preloader.loadKeys(keyLoader, maxKeys);
+                    }
+                });
+    }
+
+    /**
+     * Returns the future of the near cache preloading, which completes with the number of preloaded keys once they
+     * are in the near cache.
+     *
+     * @return the future, or {@code null} if the near cache of this map is not preloaded
+     */
+    public Future<Integer> getNearCachePreloadFuture() {
+        return nearCachePreloadFuture;
+    }
+
     private void initializeIndexes() {
         for (MapIndexConfig index : getMapConfig().getMapIndexConfigs()) {
             if (index.getAttribute() != null) {
@@ -426,18 +468,18 @@ abstract class MapProxySupport extends AbstractDistributedObject<MapService> imp
             Object o;
             OperationService operationService = nodeEngine.getOperationService();
             if (getMapConfig().isStatisticsEnabled()) {
-                long time = System.currentTimeMillis();
+                long startNanos = System.nanoTime();
                 f = operationService
                         .createInvocationBuilder(SERVICE_NAME, operation, partitionId)
                         .setResultDeserialized(false)
                         .invoke();
                 o = f.get();
                 if (operation instanceof BasePutOperation) {
-                    localMapStats.incrementPuts(System.currentTimeMillis() - time);
+                    localMapStats.incrementPutsNanos(System.nanoTime() - startNanos);
                 } else if (operation instanceof BaseRemoveOperation) {
-                    localMapStats.incrementRemoves(System.currentTimeMillis() - time);
+                    localMapStats.incrementRemovesNanos(System.nanoTime() - startNanos);
                 } else if (operation instanceof GetOperation) {
-                    localMapStats.incrementGets(System.currentTimeMillis() - time);
+                    localMapStats.incrementGetsNanos(System.nanoTime() - startNanos);
                 }
 
             } else {
@@ -16,6 +16,8 @@
 
 package com.hazelcast.map.impl.record;
 
+import com.hazelcast.util.JvmMemoryLayout;
+
 /**
  * @param <V>
  */
@@ -94,10 +96,19 @@ abstract class AbstractBaseRecord<V> implements Record<V> {
         this.creationTime = creationTime;
     }
 
+    /**
+     * Returns the heap cost of this record: its shallow size plus the heap cost of the objects it owns.
+     */
     @Override
     public long getCost() {
-        final int numberOfLongs = 6;
-        return numberOfLongs * (Long.SIZE / Byte.SIZE);
+        return getShallowCost();
+    }
+
+    /**
+     * Returns the shallow size of this record. Concrete records return a constant computed once for their class.
+     */
+    protected long getShallowCost() {
+        return JvmMemoryLayout.shallowSizeOf(getClass());
     }
 
 }
@@ -64,11 +64,8 @@ abstract class AbstractRecord<V> extends AbstractBaseRecord<V> {
 
     @Override
     public long getCost() {
-        long size = super.getCost();
-        final int objectReferenceInBytes = 4;
         // add key size.
-        size += objectReferenceInBytes + key.getHeapCost();
-        return size;
+        return super.getCost() + key.getHeapCost();
     }
 
     @Override
@@ -56,9 +56,6 @@ abstract class AbstractRecordWithStats<V> extends AbstractRecord<V> {
 
     @Override
     public long getCost() {
-        final long cost = super.getCost();
-        // reference cost of RecordStatistics object.
-        final int objectReferenceInBytes = 4;
-        return cost + objectReferenceInBytes + recordStatistics.size();
+        return super.getCost() + (recordStatistics == null ? 0L : recordStatistics.size());
     }
 }
@@ -17,12 +17,15 @@
 package com.hazelcast.map.impl.record;
 
 import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.util.JvmMemoryLayout;
 
 /**
  * CachedDataRecord.
  */
 class CachedDataRecord extends DataRecord {
 
+    private static final long SHALLOW_SIZE = JvmMemoryLayout.shallowSizeOf(CachedDataRecord.class);
+
     private transient volatile Object cachedValue;
 
     CachedDataRecord() {
@@ -51,4 +54,9 @@ class CachedDataRecord extends DataRecord {
         super.invalidate();
         cachedValue = null;
     }
+
+    @Override
+    protected long getShallowCost() {
+        return SHALLOW_SIZE;
+    }
 }
@@ -17,12 +17,15 @@
 package com.hazelcast.map.impl.record;
 
 import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.util.JvmMemoryLayout;
 
 /**
  * CachedDataRecordWithStats.
  */
 class CachedDataRecordWithStats extends DataRecordWithStats {
 
+    private static final long SHALLOW_SIZE = JvmMemoryLayout.shallowSizeOf(CachedDataRecordWithStats.class);
+
     private transient volatile Object cachedValue;
 
     public CachedDataRecordWithStats() {
@@ -51,4 +54,9 @@ class CachedDataRecordWithStats extends DataRecordWithStats {
         super.invalidate();
         cachedValue = null;
     }
+
+    @Override
+    protected long getShallowCost() {
+        return SHALLOW_SIZE;
+    }
 }
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.util.JvmMemoryLayout;
+
+/**
+ * A {@link DataRecord} alternative keeping its value compressed by the {@link DictionaryValueCompressor} of its map.
+ */
+class CompressedDataRecord extends AbstractRecord<Data> {
+
+    private static final long SHALLOW_SIZE = JvmMemoryLayout.shallowSizeOf(CompressedDataRecord.class);
+
+    private final DictionaryValueCompressor compressor;
+
+    // either the Data itself or its compressed bytes
+    private Object value;
+
+    CompressedDataRecord(Data keyData, Data value, DictionaryValueCompressor compressor) {
+        super(keyData);
+        this.compressor = compressor;
+        this.value = compressor.store(value);
+    }
+
+    /*
+    * get record size in bytes.
+    *
+    * */
+    @Override
+    public long getCost() {
+        // add value size, the compressor is shared by the records of the map.
+        return super.getCost() + compressor.getHeapCost(value);
+    }
+
+    public Data getValue() {
+        return compressor.load(value);
+    }
+
+    public void setValue(Data o) {
+        value = compressor.store(o);
+    }
+
+    public void invalidate() {
+        value = null;
+    }
+
+    @Override
+    protected long getShallowCost() {
+        return SHALLOW_SIZE;
+    }
+}
@@ -17,9 +17,12 @@
 package com.hazelcast.map.impl.record;
 
 import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.util.JvmMemoryLayout;
 
 class DataRecord extends AbstractRecord<Data> {
 
+    private static final long SHALLOW_SIZE = JvmMemoryLayout.shallowSizeOf(DataRecord.class);
+
     protected Data value;
 
     DataRecord(Data keyData, Data value) {
@@ -36,11 +39,8 @@ class DataRecord extends AbstractRecord<Data> {
     * */
     @Override
     public long getCost() {
-        long size = super.getCost();
-        final int objectReferenceInBytes = 4;
         // add value size.
-        size += objectReferenceInBytes + (value == null ? 0 : value.getHeapCost());
-        return size;
+        return super.getCost() + (value == null ? 0L : value.getHeapCost());
     }
 
     public Data getValue() {
@@ -55,4 +55,8 @@ class DataRecord extends AbstractRecord<Data> {
         value = null;
     }
 
+    @Override
+    protected long getShallowCost() {
+        return SHALLOW_SIZE;
+    }
 }
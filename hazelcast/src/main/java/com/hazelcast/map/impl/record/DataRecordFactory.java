@@ -19,6 +19,7 @@ package com.hazelcast.map.impl.record;
 import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.MapConfig;
 import com.hazelcast.core.PartitioningStrategy;
+import com.hazelcast.logging.Logger;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.nio.serialization.SerializationService;
 
@@ -28,6 +29,7 @@ public class DataRecordFactory implements RecordFactory<Data> {
     private final PartitioningStrategy partitionStrategy;
     private final boolean optimizeQuery;
     private final boolean statisticsEnabled;
+    private final DictionaryValueCompressor compressor;
 
     public DataRecordFactory(MapConfig config, SerializationService serializationService,
                              PartitioningStrategy partitionStrategy) {
@@ -35,6 +37,19 @@ public class DataRecordFactory implements RecordFactory<Data> {
         this.partitionStrategy = partitionStrategy;
         this.statisticsEnabled = config.isStatisticsEnabled();
         this.optimizeQuery = config.isOptimizeQueries();
+        this.compressor = createCompressor(config);
+    }
+
+    private static DictionaryValueCompressor createCompressor(MapConfig config) {
+        if (!config.isValueCompressionEnabled()) {
+            return null;
+        }
+        if (config.isOptimizeQueries()) {
+            Logger.getLogger(DataRecordFactory.class).warning("Value compression of map " + config.getName()
+                    + " is disabled since it can not be combined with optimize-queries");
+            return null;
+        }
+        return new DictionaryValueCompressor();
     }
 
     @Override
@@ -45,6 +60,10 @@ public class DataRecordFactory implements RecordFactory<Data> {
     @Override
     public Record<Data> newRecord(Data key, Object value) {
         final Data data = serializationService.toData(value, partitionStrategy);
+        if (compressor != null) {
+            return statisticsEnabled ? new CompressedDataRecordWithStats(key, data, compressor)
+                    : new CompressedDataRecord(key, data, compressor);
+        }
         if (optimizeQuery) {
             return statisticsEnabled ? new CachedDataRecordWithStats(key, data)
                     : new CachedDataRecord(key, data);
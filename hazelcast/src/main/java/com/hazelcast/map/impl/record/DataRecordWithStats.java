@@ -17,9 +17,12 @@
 package com.hazelcast.map.impl.record;
 
 import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.util.JvmMemoryLayout;
 
 class DataRecordWithStats extends AbstractRecordWithStats<Data> {
 
+    private static final long SHALLOW_SIZE = JvmMemoryLayout.shallowSizeOf(DataRecordWithStats.class);
+
     protected Data value;
 
     DataRecordWithStats(Data keyData, Data value) {
@@ -35,11 +38,8 @@ class DataRecordWithStats extends AbstractRecordWithStats<Data> {
      */
     @Override
     public long getCost() {
-        long cost = super.getCost();
-        final int objectReferenceInBytes = 4;
         // add value size.
-        cost += objectReferenceInBytes + (value == null ? 0L : value.getHeapCost());
-        return cost;
+        return super.getCost() + (value == null ? 0L : value.getHeapCost());
     }
 
     public Data getValue() {
@@ -53,4 +53,9 @@ class DataRecordWithStats extends AbstractRecordWithStats<Data> {
     public void invalidate() {
         value = null;
     }
+
+    @Override
+    protected long getShallowCost() {
+        return SHALLOW_SIZE;
+    }
 }
@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.core.HazelcastException;
+import com.hazelcast.nio.Bits;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.DefaultData;
+import com.hazelcast.util.JvmMemoryLayout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import static com.hazelcast.nio.Bits.INT_SIZE_IN_BYTES;
+
+/**
+ * Compresses the values of a single map with a preset deflate dictionary.
+ * <p/>
+ * The first {@link #SAMPLE_COUNT} values that are large enough are kept as samples and stored uncompressed. Once
+ * enough samples are collected, they are concatenated into a dictionary of at most {@link #MAX_DICTIONARY_SIZE}
+ * bytes, most recent sample last since deflate prefers the end of the dictionary. From then on every value is
+ * compressed against that dictionary. Small serialized values share most of their content (class and field names,
+ * common field values) with the samples, which is what makes them compress well even though they are far too
+ * small to compress on their own.
+ * <p/>
+ * The dictionary never changes after training, so values compressed with it can be decompressed at any time.
+ * It is local to the member: values leave the record store uncompressed, so backups and migrated partitions
+ * compress them again with the dictionary trained on their own member.
+ * <p/>
+ * A stored value is either the {@link Data} itself or the compressed bytes, prefixed with the uncompressed length.
+ */
+final class DictionaryValueCompressor {
+
+    static final int SAMPLE_COUNT = 16;
+    static final int MAX_DICTIONARY_SIZE = 4 * 1024;
+    static final int MIN_COMPRESSIBLE_SIZE = 64;
+
+    private static final ThreadLocal<Codec> CODEC = new ThreadLocal<Codec>() {
+        @Override
+        protected Codec initialValue() {
+            return new Codec();
+        }
+    };
+
+    private final List<byte[]> samples = new ArrayList<byte[]>(SAMPLE_COUNT);
+    private volatile byte[] dictionary;
+
+    /**
+     * Returns the representation of the value to keep in a record: the compressed bytes, or the given value itself
+     * if the dictionary is not trained yet or the value doesn't get smaller.
+     */
+    Object store(Data value) {
+        if (value == null) {
+            return null;
+        }
+        byte[] bytes = value.toByteArray();
+        if (bytes == null || bytes.length < MIN_COMPRESSIBLE_SIZE) {
+            return value;
+        }
+        byte[] dict = dictionary;
+        if (dict == null) {
+            sample(bytes);
+            return value;
+        }
+        byte[] compressed = CODEC.get().compress(bytes, dict);
+        return compressed != null ? compressed : value;
+    }
+
+    /**
+     * Returns the value of a representation returned by {@link #store(Data)}.
+     */
+    Data load(Object stored) {
+        if (stored instanceof byte[]) {
+            return new DefaultData(CODEC.get().decompress((byte[]) stored, dictionary));
+        }
+        return (Data) stored;
+    }
+
+    /**
+     * Returns the heap cost of a representation returned by {@link #store(Data)}, not including its reference.
+     */
+    long getHeapCost(Object stored) {
+        if (stored instanceof byte[]) {
+            return JvmMemoryLayout.sizeOfByteArray(((byte[]) stored).length);
+        }
+        return stored == null ? 0L : ((Data) stored).getHeapCost();
+    }
+
+    boolean isTrained() {
+        return dictionary != null;
+    }
+
+    private synchronized void sample(byte[] bytes) {
+        if (dictionary != null) {
+            return;
+        }
+        samples.add(bytes);
+        if (samples.size() < SAMPLE_COUNT) {
+            return;
+        }
+
+        int size = 0;
+        int first = samples.size();
+        while (first > 0 && size + samples.get(first - 1).length <= MAX_DICTIONARY_SIZE) {
+            size += samples.get(--first).length;
+        }
+        byte[] dict;
+        if (first == samples.size()) {
+            // even the most recent sample is larger than the dictionary; use its tail
+            byte[] last = samples.get(first - 1);
+            dict = new byte[MAX_DICTIONARY_SIZE];
+            System.arraycopy(last, last.length - MAX_DICTIONARY_SIZE, dict, 0, MAX_DICTIONARY_SIZE);
+        } else {
+            dict = new byte[size];
+            int pos = 0;
+            for (int i = first; i < samples.size(); i++) {
+                byte[] sample = samples.get(i);
+                System.arraycopy(sample, 0, dict, pos, sample.length);
+                pos += sample.length;
+            }
+        }
+        samples.clear();
+        dictionary = dict;
+    }
+
+    /**
+     * Per thread deflater and inflater, they hold native memory and are expensive to create.
+     */
+    private static final class Codec {
+
+        private final Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+        private final Inflater inflater = new Inflater(true);
+        private byte[] buffer = new byte[1024];
+
+        byte[] compress(byte[] bytes, byte[] dict) {
+            deflater.reset();
+            deflater.setDictionary(dict);
+            deflater.setInput(bytes);
+            deflater.finish();
+
+            int length = INT_SIZE_IN_BYTES;
+            while (!deflater.finished()) {
+                if (length >= bytes.length) {
+                    // doesn't get smaller
+                    return null;
+                }
+                if (length == buffer.length) {
+                    byte[] newBuffer = new byte[buffer.length << 1];
+                    System.arraycopy(buffer, 0, newBuffer, 0, length);
+                    buffer = newBuffer;
+                }
+                length += deflater.deflate(buffer, length, buffer.length - length);
+            }
+            if (length >= bytes.length) {
+                return null;
+            }
+
+            byte[] compressed = new byte[length];
+            Bits.writeIntB(compressed, 0, bytes.length);
+            System.arraycopy(buffer, INT_SIZE_IN_BYTES, compressed, INT_SIZE_IN_BYTES, length - INT_SIZE_IN_BYTES);
+            return compressed;
+        }
+
+        byte[] decompress(byte[] compressed, byte[] dict) {
+            byte[] bytes = new byte[Bits.readIntB(compressed, 0)];
+            inflater.reset();
+            inflater.setDictionary(dict);
+            inflater.setInput(compressed, INT_SIZE_IN_BYTES, compressed.length - INT_SIZE_IN_BYTES);
+            try {
+                int length = 0;
+                while (length < bytes.length) {
+                    int count = inflater.inflate(bytes, length, bytes.length - length);
+                    if (count == 0 && (inflater.finished() || inflater.needsInput())) {
+                        break;
+                    }
+                    length += count;
+                }
+                if (length != bytes.length) {
+                    throw new HazelcastException("Compressed value is truncated, expected " + bytes.length
+                            + " bytes but got " + length);
+                }
+                return bytes;
+            } catch (DataFormatException e) {
+                throw new HazelcastException("Could not decompress value", e);
+            }
+        }
+    }
+}
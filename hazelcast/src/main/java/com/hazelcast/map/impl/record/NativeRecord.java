@@ -19,9 +19,12 @@ package com.hazelcast.map.impl.record;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.internal.storage.DataRef;
 import com.hazelcast.internal.storage.Storage;
+import com.hazelcast.util.JvmMemoryLayout;
 
 class NativeRecord extends AbstractRecord<Data> {
 
+    private static final long SHALLOW_SIZE = JvmMemoryLayout.shallowSizeOf(NativeRecord.class);
+
     private Storage<DataRef> storage;
     private DataRef valueRef;
 
@@ -36,13 +39,8 @@ class NativeRecord extends AbstractRecord<Data> {
 
     @Override
     public long getCost() {
-        long size = super.getCost();
-        final int objectReferenceInBytes = 4;
-        // storage ref
-        size += objectReferenceInBytes;
-        // value size
-        size += objectReferenceInBytes + (valueRef == null ? 0 : valueRef.heapCost());
-        return size;
+        // value size, the storage is shared by the records of the map.
+        return super.getCost() + (valueRef == null ? 0L : valueRef.heapCost());
     }
 
     public Data getValue() {
@@ -65,4 +63,9 @@ class NativeRecord extends AbstractRecord<Data> {
         }
         valueRef = null;
     }
+
+    @Override
+    protected long getShallowCost() {
+        return SHALLOW_SIZE;
+    }
 }
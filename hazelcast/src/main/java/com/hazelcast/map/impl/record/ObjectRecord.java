@@ -17,23 +17,27 @@
 package com.hazelcast.map.impl.record;
 
 import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.util.JvmMemoryLayout;
 
-class ObjectRecord extends AbstractRecord<Object> implements Record<Object> {
+class ObjectRecord extends AbstractRecord<Object> implements Record<Object>, ObjectValueRecord {
+
+    private static final long SHALLOW_SIZE = JvmMemoryLayout.shallowSizeOf(ObjectRecord.class);
 
     private Object value;
+    // estimated when the value is set, so the cost doesn't change while the record is in the record store
+    private int valueCost;
 
     ObjectRecord() {
     }
 
-    ObjectRecord(Data key, Object value) {
+    ObjectRecord(Data key, Object value, int valueCost) {
         super(key);
-        this.value = value;
+        setValue(value, valueCost);
     }
 
-    // as there is no easy way to calculate the size of Object cost is not implemented for ObjectRecord
     @Override
     public long getCost() {
-        return 0L;
+        return super.getCost() + valueCost;
     }
 
     public Object getValue() {
@@ -41,10 +45,22 @@ class ObjectRecord extends AbstractRecord<Object> implements Record<Object> {
     }
 
     public void setValue(Object o) {
+        setValue(o, 0);
+    }
+
+    @Override
+    public void setValue(Object o, int cost) {
         value = o;
+        valueCost = cost;
     }
 
     public void invalidate() {
         value = null;
+        valueCost = 0;
+    }
+
+    @Override
+    protected long getShallowCost() {
+        return SHALLOW_SIZE;
     }
 }
@@ -18,17 +18,25 @@ package com.hazelcast.map.impl.record;
 
 import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.MaxSizeConfig.MaxSizePolicy;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.util.JvmMemoryLayout;
 
 public class ObjectRecordFactory implements RecordFactory<Object> {
 
     private final SerializationService serializationService;
     private final boolean statisticsEnabled;
+    // estimating the heap cost of a value walks its object graph, only done when the max-size policy needs it
+    private final JvmMemoryLayout.LayoutCache layoutCache;
 
     public ObjectRecordFactory(MapConfig config, SerializationService serializationService) {
         this.serializationService = serializationService;
         this.statisticsEnabled = config.isStatisticsEnabled();
+        MaxSizePolicy maxSizePolicy = config.getMaxSizeConfig().getMaxSizePolicy();
+        boolean heapBasedPolicy = maxSizePolicy == MaxSizePolicy.USED_HEAP_SIZE
+                || maxSizePolicy == MaxSizePolicy.USED_HEAP_PERCENTAGE;
+        this.layoutCache = heapBasedPolicy ? new JvmMemoryLayout.LayoutCache() : null;
     }
 
     @Override
@@ -39,7 +47,9 @@ public class ObjectRecordFactory implements RecordFactory<Object> {
     @Override
     public Record<Object> newRecord(Data key, Object value) {
         Object objectValue = serializationService.toObject(value);
-        return statisticsEnabled ? new ObjectRecordWithStats(key, objectValue) : new ObjectRecord(key, objectValue);
+        int valueCost = estimateValueCost(objectValue);
+        return statisticsEnabled ? new ObjectRecordWithStats(key, objectValue, valueCost)
+                : new ObjectRecord(key, objectValue, valueCost);
     }
 
     @Override
@@ -48,7 +58,11 @@ public class ObjectRecordFactory implements RecordFactory<Object> {
         if (value instanceof Data) {
             v = serializationService.toObject(value);
         }
-        record.setValue(v);
+        ((ObjectValueRecord) record).setValue(v, estimateValueCost(v));
+    }
+
+    private int estimateValueCost(Object value) {
+        return layoutCache == null ? 0 : Records.estimateValueCost(value, layoutCache);
     }
 
     @Override
@@ -17,17 +17,22 @@
 package com.hazelcast.map.impl.record;
 
 import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.util.JvmMemoryLayout;
 
-class ObjectRecordWithStats extends AbstractRecordWithStats<Object> {
+class ObjectRecordWithStats extends AbstractRecordWithStats<Object> implements ObjectValueRecord {
+
+    private static final long SHALLOW_SIZE = JvmMemoryLayout.shallowSizeOf(ObjectRecordWithStats.class);
 
     private Object value;
+    // estimated when the value is set, so the cost doesn't change while the record is in the record store
+    private int valueCost;
 
     public ObjectRecordWithStats() {
     }
 
-    public ObjectRecordWithStats(Data key, Object value) {
+    public ObjectRecordWithStats(Data key, Object value, int valueCost) {
         super(key);
-        this.value = value;
+        setValue(value, valueCost);
     }
 
     @Override
@@ -37,16 +42,28 @@ class ObjectRecordWithStats extends AbstractRecordWithStats<Object> {
 
     @Override
     public void setValue(Object value) {
+        setValue(value, 0);
+    }
+
+    @Override
+    public void setValue(Object value, int valueCost) {
         this.value = value;
+        this.valueCost = valueCost;
     }
 
     @Override
     public void invalidate() {
         value = null;
+        valueCost = 0;
     }
 
     @Override
     public long getCost() {
-        return 0L;
+        return super.getCost() + valueCost;
+    }
+
+    @Override
+    protected long getShallowCost() {
+        return SHALLOW_SIZE;
     }
 }
@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+/**
+ * A record keeping its value in {@link com.hazelcast.config.InMemoryFormat#OBJECT} format. The heap cost of the value
+ * is estimated by the {@link ObjectRecordFactory} and only if a heap based max-size policy needs it.
+ */
+interface ObjectValueRecord {
+
+    /**
+     * Sets the value together with its estimated heap cost.
+     *
+     * @param value     the new value
+     * @param valueCost the estimated heap cost of the value, 0 if not estimated
+     */
+    void setValue(Object value, int valueCost);
+}
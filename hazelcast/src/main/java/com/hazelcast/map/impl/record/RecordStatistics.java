@@ -20,6 +20,7 @@ import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.DataSerializable;
 import com.hazelcast.util.Clock;
+import com.hazelcast.util.JvmMemoryLayout;
 import java.io.IOException;
 
 /**
@@ -28,6 +29,8 @@ import java.io.IOException;
  */
 public class RecordStatistics implements DataSerializable {
 
+    private static final long SHALLOW_SIZE = JvmMemoryLayout.shallowSizeOf(RecordStatistics.class);
+
     // TODO is volatile needed? if yes then hits should be atomicnumber
     protected int hits;
     protected long lastStoredTime;
@@ -71,8 +74,7 @@ public class RecordStatistics implements DataSerializable {
 
     public long size() {
         //size of the instance.
-        final int numberOfLongVariables = 3;
-        return numberOfLongVariables * (Long.SIZE / Byte.SIZE) + (Integer.SIZE / Byte.SIZE);
+        return SHALLOW_SIZE;
     }
 
     public void writeData(ObjectDataOutput out) throws IOException {
@@ -16,6 +16,8 @@
 
 package com.hazelcast.map.impl.record;
 
+import com.hazelcast.util.JvmMemoryLayout;
+
 /**
  * Contains various factory & helper methods for a {@link com.hazelcast.map.impl.record.Record} object.
  */
@@ -44,5 +46,12 @@ public final class Records {
         return info;
     }
 
+    /**
+     * Estimates the heap cost of a value kept in {@link com.hazelcast.config.InMemoryFormat#OBJECT} format,
+     * see {@link JvmMemoryLayout#deepSizeOf(Object, JvmMemoryLayout.LayoutCache)}.
+     */
+    static int estimateValueCost(Object value, JvmMemoryLayout.LayoutCache layoutCache) {
+        return (int) Math.min(JvmMemoryLayout.deepSizeOf(value, layoutCache), Integer.MAX_VALUE);
+    }
 
 }
@@ -99,4 +99,31 @@ public interface LocalCacheStats extends LocalInstanceStats {
      */
     float getAverageRemoveTime();
 
+    /**
+     * Returns the time to execute gets on the cache at the given percentile, e.g. 99.9 for the time which 99.9% of
+     * the gets did not exceed.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the time in µs at the percentile, 0 if there were no gets
+     */
+    long getGetTimeAtPercentile(double percentile);
+
+    /**
+     * Returns the time to execute puts on the cache at the given percentile, e.g. 99.9 for the time which 99.9% of
+     * the puts did not exceed.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the time in µs at the percentile, 0 if there were no puts
+     */
+    long getPutTimeAtPercentile(double percentile);
+
+    /**
+     * Returns the time to execute removes on the cache at the given percentile, e.g. 99.9 for the time which 99.9%
+     * of the removes did not exceed.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the time in µs at the percentile, 0 if there were no removes
+     */
+    long getRemoveTimeAtPercentile(double percentile);
+
 }
@@ -169,6 +169,33 @@ public interface LocalMapStats extends LocalInstanceStats {
      */
     long getMaxRemoveLatency();
 
+    /**
+     * Returns the latency of put operations at the given percentile, e.g. 99.9 for the latency which 99.9% of the
+     * puts did not exceed. The latency is rounded up by at most 12.5%.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the latency of put operations at the percentile in microseconds, 0 if there were no puts
+     */
+    long getPutLatencyAtPercentile(double percentile);
+
+    /**
+     * Returns the latency of get operations at the given percentile, e.g. 99.9 for the latency which 99.9% of the
+     * gets did not exceed. The latency is rounded up by at most 12.5%.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the latency of get operations at the percentile in microseconds, 0 if there were no gets
+     */
+    long getGetLatencyAtPercentile(double percentile);
+
+    /**
+     * Returns the latency of remove operations at the given percentile, e.g. 99.9 for the latency which 99.9% of the
+     * removes did not exceed. The latency is rounded up by at most 12.5%.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the latency of remove operations at the percentile in microseconds, 0 if there were no removes
+     */
+    long getRemoveLatencyAtPercentile(double percentile);
+
     /**
      * Returns the number of Events Received
      *
@@ -0,0 +1,276 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.monitor.impl;
+
+import com.eclipsesource.json.JsonArray;
+import com.eclipsesource.json.JsonValue;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static com.hazelcast.util.Preconditions.checkTrue;
+
+/**
+ * A fixed size, lock-free histogram of latencies, used to report latency percentiles next to the totals and maxima
+ * of the local statistics. The unit of the recorded values is up to the owner.
+ * <p/>
+ * The buckets are log-linear like in HdrHistogram: values below {@value #SUB_BUCKET_COUNT} have a bucket of their
+ * own, larger values share a bucket with the values of the same power of two and the same three bits below the
+ * highest one bit. So a percentile is reported with a relative error of at most 12.5%, rounded up to the largest
+ * value of its bucket. Values above {@value #MAX_VALUE} are counted in the last bucket.
+ * <p/>
+ * Recording threads increment the buckets of one of {@value #DEFAULT_STRIPE_COUNT} stripes, chosen by thread id, and
+ * the stripes are merged when the histogram is read. Each stripe is an array of its own, so threads recording to
+ * different stripes don't share cache lines. This only reduces contention: threads whose ids map to the same stripe
+ * still increment the same counters atomically, so it is not a per-thread recorder. The stripe count is kept small
+ * since every map, cache and client proxy has a few of these histograms; the memory cost is fixed,
+ * {@value #BUCKET_COUNT} counters per stripe, regardless of the number of recorded values.
+ */
+public final class LatencyHistogram {
+
+    /**
+     * The largest value which is counted in a bucket of its own range.
+     */
+    public static final long MAX_VALUE = Integer.MAX_VALUE;
+
+    static final int SUB_BUCKET_BITS = 3;
+    static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    // the exponent of the highest one bit of MAX_VALUE
+    static final int MAX_EXPONENT = 30;
+    static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKET_COUNT;
+
+    private static final int DEFAULT_STRIPE_COUNT = 4;
+    private static final double HUNDRED_PERCENT = 100d;
+
+    private final int stripeMask;
+    private final AtomicLongArray[] stripes;
+
+    /**
+     * Creates a histogram for concurrent recording.
+     */
+    public LatencyHistogram() {
+        this(DEFAULT_STRIPE_COUNT);
+    }
+
+    /**
+     * Creates a histogram with the given number of stripes, a power of two.
+     * A single stripe is enough for copies which are not recorded to.
+     *
+     * @param stripeCount the number of stripes.
+     */
+    LatencyHistogram(int stripeCount) {
+        checkTrue(Integer.bitCount(stripeCount) == 1, "stripeCount must be a power of two");
+        this.stripeMask = stripeCount - 1;
+        this.stripes = new AtomicLongArray[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new AtomicLongArray(BUCKET_COUNT);
+        }
+    }
+
+    /**
+     * Records a value. Negative values are recorded as 0.
+     *
+     * @param value the value to record.
+     */
+    public void record(long value) {
+        int stripe = (int) Thread.currentThread().getId() & stripeMask;
+        stripes[stripe].incrementAndGet(bucketIndex(value));
+    }
+
+    /**
+     * Returns the number of recorded values.
+     *
+     * @return the number of recorded values.
+     */
+    public long getCount() {
+        long count = 0;
+        for (AtomicLongArray counts : stripes) {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                count += counts.get(i);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the value below or at which the given percentage of the recorded values are, rounded up to the
+     * largest value of its bucket.
+     *
+     * @param percentile the percentage, between 0 and 100, e.g. 99.9.
+     * @return the value at the percentile or 0 if no values are recorded.
+     */
+    public long getValueAtPercentile(double percentile) {
+        checkTrue(percentile >= 0 && percentile <= HUNDRED_PERCENT, "percentile must be between 0 and 100");
+
+        long[] merged = merge();
+        long total = 0;
+        for (long count : merged) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / HUNDRED_PERCENT * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += merged[i];
+            if (seen >= rank) {
+                return highestValueInBucket(i);
+            }
+        }
+        return highestValueInBucket(BUCKET_COUNT - 1);
+    }
+
+    /**
+     * Adds the recorded values of the other histogram to this one.
+     *
+     * @param other the histogram to add.
+     */
+    public void add(LatencyHistogram other) {
+        long[] merged = other.merge();
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            if (merged[i] != 0) {
+                stripes[0].addAndGet(i, merged[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns a single stripe copy of this histogram.
+     *
+     * @return the copy.
+     */
+    public LatencyHistogram copy() {
+        LatencyHistogram copy = new LatencyHistogram(1);
+        copy.add(this);
+        return copy;
+    }
+
+    /**
+     * Removes all recorded values. Values recorded concurrently may or may not be removed.
+     */
+    public void reset() {
+        for (AtomicLongArray counts : stripes) {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                counts.set(i, 0);
+            }
+        }
+    }
+
+    /**
+     * Renders the non-empty buckets as a flat array of bucket index and count pairs.
+     *
+     * @return the JSON array.
+     */
+    public JsonArray toJson() {
+        long[] merged = merge();
+        JsonArray array = new JsonArray();
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            if (merged[i] != 0) {
+                array.add(i);
+                array.add(merged[i]);
+            }
+        }
+        return array;
+    }
+
+    /**
+     * Adds the buckets rendered by {@link #toJson()}.
+     *
+     * @param array the JSON array, ignored if null.
+     */
+    public void fromJson(JsonArray array) {
+        if (array == null) {
+            return;
+        }
+        Iterator<JsonValue> iterator = array.iterator();
+        while (iterator.hasNext()) {
+            int index = iterator.next().asInt();
+            long count = iterator.next().asLong();
+            if (index >= 0 && index < BUCKET_COUNT) {
+                stripes[0].addAndGet(index, count);
+            }
+        }
+    }
+
+    /**
+     * Writes the non-empty buckets.
+     */
+    public void writeData(ObjectDataOutput out) throws IOException {
+        long[] merged = merge();
+        int nonEmpty = 0;
+        for (long count : merged) {
+            if (count != 0) {
+                nonEmpty++;
+            }
+        }
+        out.writeInt(nonEmpty);
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            if (merged[i] != 0) {
+                out.writeInt(i);
+                out.writeLong(merged[i]);
+            }
+        }
+    }
+
+    /**
+     * Adds the buckets written by {@link #writeData(ObjectDataOutput)}.
+     */
+    public void readData(ObjectDataInput in) throws IOException {
+        int nonEmpty = in.readInt();
+        for (int k = 0; k < nonEmpty; k++) {
+            int index = in.readInt();
+            long count = in.readLong();
+            if (index >= 0 && index < BUCKET_COUNT) {
+                stripes[0].addAndGet(index, count);
+            }
+        }
+    }
+
+    private long[] merge() {
+        long[] merged = new long[BUCKET_COUNT];
+        for (AtomicLongArray counts : stripes) {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                merged[i] += counts.get(i);
+            }
+        }
+        return merged;
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return value < 0 ? 0 : (int) value;
+        }
+        long v = Math.min(value, MAX_VALUE);
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(v);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (v >>> shift) - SUB_BUCKET_COUNT;
+        return (shift + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    static long highestValueInBucket(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        long mantissa = index % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+        return ((mantissa + 1) << shift) - 1;
+    }
+}
@@ -18,9 +18,11 @@ package com.hazelcast.monitor.impl;
 
 import com.eclipsesource.json.JsonObject;
 import com.hazelcast.cache.CacheStatistics;
+import com.hazelcast.cache.impl.CacheStatisticsImpl;
 import com.hazelcast.monitor.LocalCacheStats;
 import com.hazelcast.util.Clock;
 
+import static com.hazelcast.util.JsonUtil.getArray;
 import static com.hazelcast.util.JsonUtil.getFloat;
 import static com.hazelcast.util.JsonUtil.getLong;
 
@@ -54,6 +56,9 @@ public class LocalCacheStatsImpl implements LocalCacheStats {
     private float averageGetTime;
     private float averagePutTime;
     private float averageRemoveTime;
+    private LatencyHistogram getTimeHistogram = new LatencyHistogram(1);
+    private LatencyHistogram putTimeHistogram = new LatencyHistogram(1);
+    private LatencyHistogram removeTimeHistogram = new LatencyHistogram(1);
 
     public LocalCacheStatsImpl() {
     }
@@ -71,6 +76,12 @@ public class LocalCacheStatsImpl implements LocalCacheStats {
         averageGetTime = cacheStatistics.getAverageGetTime();
         averagePutTime = cacheStatistics.getAveragePutTime();
         averageRemoveTime = cacheStatistics.getAverageRemoveTime();
+        if (cacheStatistics instanceof CacheStatisticsImpl) {
+            CacheStatisticsImpl cacheStatisticsImpl = (CacheStatisticsImpl) cacheStatistics;
+            getTimeHistogram = cacheStatisticsImpl.getGetTimeHistogram();
+            putTimeHistogram = cacheStatisticsImpl.getPutTimeHistogram();
+            removeTimeHistogram = cacheStatisticsImpl.getRemoveTimeHistogram();
+        }
     }
 
     @Override
@@ -128,6 +139,21 @@ public class LocalCacheStatsImpl implements LocalCacheStats {
         return averageRemoveTime;
     }
 
+    @Override
+    public long getGetTimeAtPercentile(double percentile) {
+        return getTimeHistogram.getValueAtPercentile(percentile);
+    }
+
+    @Override
+    public long getPutTimeAtPercentile(double percentile) {
+        return putTimeHistogram.getValueAtPercentile(percentile);
+    }
+
+    @Override
+    public long getRemoveTimeAtPercentile(double percentile) {
+        return removeTimeHistogram.getValueAtPercentile(percentile);
+    }
+
     @Override
     public long getCreationTime() {
         return creationTime;
@@ -148,6 +174,9 @@ public class LocalCacheStatsImpl implements LocalCacheStats {
         root.add("averageGetTime", averageGetTime);
         root.add("averagePutTime", averagePutTime);
         root.add("averageRemoveTime", averageRemoveTime);
+        root.add("getTimeHistogram", getTimeHistogram.toJson());
+        root.add("putTimeHistogram", putTimeHistogram.toJson());
+        root.add("removeTimeHistogram", removeTimeHistogram.toJson());
         return root;
     }
 
@@ -165,6 +194,9 @@ public class LocalCacheStatsImpl implements LocalCacheStats {
         averageGetTime = getFloat(json, "averageGetTime", -1f);
         averagePutTime = getFloat(json, "averagePutTime", -1f);
         averageRemoveTime = getFloat(json, "averageRemoveTime", -1f);
+        getTimeHistogram.fromJson(getArray(json, "getTimeHistogram", null));
+        putTimeHistogram.fromJson(getArray(json, "putTimeHistogram", null));
+        removeTimeHistogram.fromJson(getArray(json, "removeTimeHistogram", null));
     }
 
     @Override
@@ -23,8 +23,11 @@ import com.hazelcast.util.Clock;
 
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 
+import static com.hazelcast.util.JsonUtil.getArray;
 import static com.hazelcast.util.JsonUtil.getInt;
 import static com.hazelcast.util.JsonUtil.getLong;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 /**
  * Default implementation of {@link LocalMapStats}
@@ -46,17 +49,17 @@ public class LocalMapStatsImpl implements LocalMapStats {
     private static final AtomicLongFieldUpdater<LocalMapStatsImpl> REMOVE_COUNT_UPDATER = AtomicLongFieldUpdater
             .newUpdater(LocalMapStatsImpl.class, "removeCount");
     private static final AtomicLongFieldUpdater<LocalMapStatsImpl> TOTAL_GET_LATENCIES_UPDATER = AtomicLongFieldUpdater
-            .newUpdater(LocalMapStatsImpl.class, "totalGetLatencies");
+            .newUpdater(LocalMapStatsImpl.class, "totalGetLatencyNanos");
     private static final AtomicLongFieldUpdater<LocalMapStatsImpl> TOTAL_PUT_LATENCIES_UPDATER = AtomicLongFieldUpdater
-            .newUpdater(LocalMapStatsImpl.class, "totalPutLatencies");
+            .newUpdater(LocalMapStatsImpl.class, "totalPutLatencyNanos");
     private static final AtomicLongFieldUpdater<LocalMapStatsImpl> TOTAL_REMOVE_LATENCIES_UPDATER = AtomicLongFieldUpdater
-            .newUpdater(LocalMapStatsImpl.class, "totalRemoveLatencies");
+            .newUpdater(LocalMapStatsImpl.class, "totalRemoveLatencyNanos");
     private static final AtomicLongFieldUpdater<LocalMapStatsImpl> MAX_GET_LATENCY_UPDATER = AtomicLongFieldUpdater
-            .newUpdater(LocalMapStatsImpl.class, "maxGetLatency");
+            .newUpdater(LocalMapStatsImpl.class, "maxGetLatencyNanos");
     private static final AtomicLongFieldUpdater<LocalMapStatsImpl> MAX_PUT_LATENCY_UPDATER = AtomicLongFieldUpdater
-            .newUpdater(LocalMapStatsImpl.class, "maxPutLatency");
+            .newUpdater(LocalMapStatsImpl.class, "maxPutLatencyNanos");
     private static final AtomicLongFieldUpdater<LocalMapStatsImpl> MAX_REMOVE_LATENCY_UPDATER = AtomicLongFieldUpdater
-            .newUpdater(LocalMapStatsImpl.class, "maxRemoveLatency");
+            .newUpdater(LocalMapStatsImpl.class, "maxRemoveLatencyNanos");
 
     // These fields are only accessed through the updaters
     private volatile long lastAccessTime;
@@ -67,12 +70,17 @@ public class LocalMapStatsImpl implements LocalMapStats {
     private volatile long getCount;
     private volatile long putCount;
     private volatile long removeCount;
-    private volatile long totalGetLatencies;
-    private volatile long totalPutLatencies;
-    private volatile long totalRemoveLatencies;
-    private volatile long maxGetLatency;
-    private volatile long maxPutLatency;
-    private volatile long maxRemoveLatency;
+    // kept in nanoseconds so sub-millisecond latencies add up, the getters report milliseconds
+    private volatile long totalGetLatencyNanos;
+    private volatile long totalPutLatencyNanos;
+    private volatile long totalRemoveLatencyNanos;
+    private volatile long maxGetLatencyNanos;
+    private volatile long maxPutLatencyNanos;
+    private volatile long maxRemoveLatencyNanos;
+
+    private final LatencyHistogram putLatencyHistogram = new LatencyHistogram();
+    private final LatencyHistogram getLatencyHistogram = new LatencyHistogram();
+    private final LatencyHistogram removeLatencyHistogram = new LatencyHistogram();
 
     private volatile long creationTime;
     private volatile long ownedEntryCount;
@@ -198,10 +206,21 @@ public class LocalMapStatsImpl implements LocalMapStats {
         return putCount;
     }
 
+    /**
+     * Records a put measured in milliseconds; its latency histogram only gets millisecond precision.
+     */
     public void incrementPuts(long latency) {
+        incrementPutsNanos(MILLISECONDS.toNanos(latency));
+    }
+
+    /**
+     * Records a put measured with {@link System#nanoTime()}.
+     */
+    public void incrementPutsNanos(long latencyNanos) {
         PUT_COUNT_UPDATER.incrementAndGet(this);
-        TOTAL_PUT_LATENCIES_UPDATER.addAndGet(this, latency);
-        MAX_PUT_LATENCY_UPDATER.set(this, Math.max(maxPutLatency, latency));
+        TOTAL_PUT_LATENCIES_UPDATER.addAndGet(this, latencyNanos);
+        MAX_PUT_LATENCY_UPDATER.set(this, Math.max(maxPutLatencyNanos, latencyNanos));
+        putLatencyHistogram.record(NANOSECONDS.toMicros(latencyNanos));
     }
 
     @Override
@@ -209,10 +228,21 @@ public class LocalMapStatsImpl implements LocalMapStats {
         return getCount;
     }
 
+    /**
+     * Records a get measured in milliseconds; its latency histogram only gets millisecond precision.
+     */
     public void incrementGets(long latency) {
+        incrementGetsNanos(MILLISECONDS.toNanos(latency));
+    }
+
+    /**
+     * Records a get measured with {@link System#nanoTime()}.
+     */
+    public void incrementGetsNanos(long latencyNanos) {
         GET_COUNT_UPDATER.incrementAndGet(this);
-        TOTAL_GET_LATENCIES_UPDATER.addAndGet(this, latency);
-        MAX_GET_LATENCY_UPDATER.set(this, Math.max(maxGetLatency, latency));
+        TOTAL_GET_LATENCIES_UPDATER.addAndGet(this, latencyNanos);
+        MAX_GET_LATENCY_UPDATER.set(this, Math.max(maxGetLatencyNanos, latencyNanos));
+        getLatencyHistogram.record(NANOSECONDS.toMicros(latencyNanos));
     }
 
     @Override
@@ -220,40 +250,66 @@ public class LocalMapStatsImpl implements LocalMapStats {
         return removeCount;
     }
 
+    /**
+     * Records a remove measured in milliseconds; its latency histogram only gets millisecond precision.
+     */
     public void incrementRemoves(long latency) {
+        incrementRemovesNanos(MILLISECONDS.toNanos(latency));
+    }
+
+    /**
+     * Records a remove measured with {@link System#nanoTime()}.
+     */
+    public void incrementRemovesNanos(long latencyNanos) {
         REMOVE_COUNT_UPDATER.incrementAndGet(this);
-        TOTAL_REMOVE_LATENCIES_UPDATER.addAndGet(this, latency);
-        MAX_REMOVE_LATENCY_UPDATER.set(this, Math.max(maxRemoveLatency, latency));
+        TOTAL_REMOVE_LATENCIES_UPDATER.addAndGet(this, latencyNanos);
+        MAX_REMOVE_LATENCY_UPDATER.set(this, Math.max(maxRemoveLatencyNanos, latencyNanos));
+        removeLatencyHistogram.record(NANOSECONDS.toMicros(latencyNanos));
     }
 
     @Override
     public long getTotalPutLatency() {
-        return totalPutLatencies;
+        return NANOSECONDS.toMillis(totalPutLatencyNanos);
     }
 
     @Override
     public long getTotalGetLatency() {
-        return totalGetLatencies;
+        return NANOSECONDS.toMillis(totalGetLatencyNanos);
     }
 
     @Override
     public long getTotalRemoveLatency() {
-        return totalRemoveLatencies;
+        return NANOSECONDS.toMillis(totalRemoveLatencyNanos);
     }
 
     @Override
     public long getMaxPutLatency() {
-        return maxPutLatency;
+        return NANOSECONDS.toMillis(maxPutLatencyNanos);
     }
 
     @Override
     public long getMaxGetLatency() {
-        return maxGetLatency;
+        return NANOSECONDS.toMillis(maxGetLatencyNanos);
     }
 
     @Override
     public long getMaxRemoveLatency() {
-        return maxRemoveLatency;
+        return NANOSECONDS.toMillis(maxRemoveLatencyNanos);
+    }
+
+    @Override
+    public long getPutLatencyAtPercentile(double percentile) {
+        return putLatencyHistogram.getValueAtPercentile(percentile);
+    }
+
+    @Override
+    public long getGetLatencyAtPercentile(double percentile) {
+        return getLatencyHistogram.getValueAtPercentile(percentile);
+    }
+
+    @Override
+    public long getRemoveLatencyAtPercentile(double percentile) {
+        return removeLatencyHistogram.getValueAtPercentile(percentile);
     }
 
     @Override
@@ -311,12 +367,15 @@ public class LocalMapStatsImpl implements LocalMapStats {
         root.add("creationTime", creationTime);
         root.add("lockedEntryCount", lockedEntryCount);
         root.add("dirtyEntryCount", dirtyEntryCount);
-        root.add("totalGetLatencies", totalGetLatencies);
-        root.add("totalPutLatencies", totalPutLatencies);
-        root.add("totalRemoveLatencies", totalRemoveLatencies);
-        root.add("maxGetLatency", maxGetLatency);
-        root.add("maxPutLatency", maxPutLatency);
-        root.add("maxRemoveLatency", maxRemoveLatency);
+        root.add("totalGetLatencies", getTotalGetLatency());
+        root.add("totalPutLatencies", getTotalPutLatency());
+        root.add("totalRemoveLatencies", getTotalRemoveLatency());
+        root.add("maxGetLatency", getMaxGetLatency());
+        root.add("maxPutLatency", getMaxPutLatency());
+        root.add("maxRemoveLatency", getMaxRemoveLatency());
+        root.add("putLatencyHistogram", putLatencyHistogram.toJson());
+        root.add("getLatencyHistogram", getLatencyHistogram.toJson());
+        root.add("removeLatencyHistogram", removeLatencyHistogram.toJson());
         root.add("heapCost", heapCost);
         if (nearCacheStats != null) {
             root.add("nearCacheStats", nearCacheStats.toJson());
@@ -333,12 +392,15 @@ public class LocalMapStatsImpl implements LocalMapStats {
         numberOfEvents = getLong(json, "numberOfEvents", -1L);
         lastAccessTime =  getLong(json, "lastAccessTime", -1L);
         lastUpdateTime = getLong(json, "lastUpdateTime", -1L);
-        totalGetLatencies = getLong(json, "totalGetLatencies", -1L);
-        totalPutLatencies = getLong(json, "totalPutLatencies", -1L);
-        totalRemoveLatencies = getLong(json, "totalRemoveLatencies", -1L);
-        maxGetLatency = getLong(json, "maxGetLatency", -1L);
-        maxPutLatency = getLong(json, "maxPutLatency", -1L);
-        maxRemoveLatency = getLong(json, "maxRemoveLatency", -1L);
+        totalGetLatencyNanos = MILLISECONDS.toNanos(getLong(json, "totalGetLatencies", -1L));
+        totalPutLatencyNanos = MILLISECONDS.toNanos(getLong(json, "totalPutLatencies", -1L));
+        totalRemoveLatencyNanos = MILLISECONDS.toNanos(getLong(json, "totalRemoveLatencies", -1L));
+        maxGetLatencyNanos = MILLISECONDS.toNanos(getLong(json, "maxGetLatency", -1L));
+        maxPutLatencyNanos = MILLISECONDS.toNanos(getLong(json, "maxPutLatency", -1L));
+        maxRemoveLatencyNanos = MILLISECONDS.toNanos(getLong(json, "maxRemoveLatency", -1L));
+        putLatencyHistogram.fromJson(getArray(json, "putLatencyHistogram", null));
+        getLatencyHistogram.fromJson(getArray(json, "getLatencyHistogram", null));
+        removeLatencyHistogram.fromJson(getArray(json, "removeLatencyHistogram", null));
         hits = getLong(json, "hits", -1L);
         ownedEntryCount = getLong(json, "ownedEntryCount", -1L);
         backupEntryCount = getLong(json, "backupEntryCount", -1L);
@@ -367,9 +429,9 @@ public class LocalMapStatsImpl implements LocalMapStats {
                 + ", getCount=" + getCount
                 + ", putCount=" + putCount
                 + ", removeCount=" + removeCount
-                + ", totalGetLatencies=" + totalGetLatencies
-                + ", totalPutLatencies=" + totalPutLatencies
-                + ", totalRemoveLatencies=" + totalRemoveLatencies
+                + ", totalGetLatencies=" + getTotalGetLatency()
+                + ", totalPutLatencies=" + getTotalPutLatency()
+                + ", totalRemoveLatencies=" + getTotalRemoveLatency()
                 + ", ownedEntryCount=" + ownedEntryCount
                 + ", backupEntryCount=" + backupEntryCount
                 + ", backupCount=" + backupCount
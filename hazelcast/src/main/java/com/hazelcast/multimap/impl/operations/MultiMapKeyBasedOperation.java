@@ -22,10 +22,11 @@ import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.spi.PartitionAwareOperation;
+import com.hazelcast.spi.impl.KeyBasedOperation;
 import java.io.IOException;
 import java.util.Collection;
 
-public abstract class MultiMapKeyBasedOperation extends MultiMapOperation implements PartitionAwareOperation {
+public abstract class MultiMapKeyBasedOperation extends MultiMapOperation implements PartitionAwareOperation, KeyBasedOperation {
 
     protected Data dataKey;
     protected long threadId;
@@ -44,6 +45,16 @@ public abstract class MultiMapKeyBasedOperation extends MultiMapOperation implem
         this.threadId = threadId;
     }
 
+    @Override
+    public final String getName() {
+        return name;
+    }
+
+    @Override
+    public final Data getKey() {
+        return dataKey;
+    }
+
     public long getThreadId() {
         return threadId;
     }
@@ -21,6 +21,7 @@ import com.hazelcast.internal.ascii.TextCommandService;
 import com.hazelcast.config.SSLConfig;
 import com.hazelcast.config.SocketInterceptorConfig;
 import com.hazelcast.config.SymmetricEncryptionConfig;
+import com.hazelcast.internal.metrics.MetricsRegistry;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.nio.serialization.SerializationService;
@@ -84,6 +85,8 @@ public interface IOService {
 
     int getSocketSendBufferSize();
 
+    boolean isSocketBufferDirect();
+
     int getSocketLingerSeconds();
 
     int getSocketConnectTimeoutSeconds();
@@ -126,4 +129,9 @@ public interface IOService {
     PacketReader createPacketReader(TcpIpConnection connection);
 
     PacketWriter createPacketWriter(TcpIpConnection connection);
+
+    /**
+     * @return the registry the connection manager and its connections register their metrics with.
+     */
+    MetricsRegistry getMetricsRegistry();
 }
@@ -159,10 +159,15 @@ public final class IOUtil {
                 }
             } else {
                 int srcPosition = src.position();
-                int destPosition = dest.position();
-                System.arraycopy(src.array(), srcPosition, dest.array(), destPosition, n);
+                if (dest.hasArray()) {
+                    int destPosition = dest.position();
+                    System.arraycopy(src.array(), srcPosition, dest.array(), destPosition, n);
+                    dest.position(destPosition + n);
+                } else {
+                    // the destination is the direct socket buffer of the WriteHandler
+                    dest.put(src.array(), srcPosition, n);
+                }
                 src.position(srcPosition + n);
-                dest.position(destPosition + n);
             }
         }
         return n;
@@ -26,6 +26,7 @@ import com.hazelcast.instance.HazelcastThreadGroup;
 import com.hazelcast.instance.MemberImpl;
 import com.hazelcast.instance.Node;
 import com.hazelcast.instance.OutOfMemoryErrorDispatcher;
+import com.hazelcast.internal.metrics.MetricsRegistry;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.nio.serialization.SerializationService;
@@ -200,6 +201,11 @@ public class NodeIOService implements IOService {
         return this.node.getGroupProperties().SOCKET_SEND_BUFFER_SIZE.getInteger();
     }
 
+    @Override
+    public boolean isSocketBufferDirect() {
+        return this.node.getGroupProperties().SOCKET_BUFFER_DIRECT.getBoolean();
+    }
+
     @Override
     public int getSocketLingerSeconds() {
         return this.node.getGroupProperties().SOCKET_LINGER_SECONDS.getInteger();
@@ -294,6 +300,11 @@ public class NodeIOService implements IOService {
         return node.getNodeExtension().createPacketWriter(connection, this);
     }
 
+    @Override
+    public MetricsRegistry getMetricsRegistry() {
+        return nodeEngine.getMetricsRegistry();
+    }
+
     @Override
     public Collection<Integer> getOutboundPorts() {
         final NetworkConfig networkConfig = node.getConfig().getNetworkConfig();
@@ -50,6 +50,7 @@ public final class Packet implements SocketWritable, SocketReadable {
     private short header;
     private int partitionId;
     private transient Connection conn;
+    private transient long receivedNanos;
 
     // These 2 fields are only used during read/write. Otherwise they have no meaning.
     private int valueOffset;
@@ -90,6 +91,25 @@ public final class Packet implements SocketWritable, SocketReadable {
         this.conn = conn;
     }
 
+    /**
+     * Gets the {@link System#nanoTime()} at which this Packet was received and handed to its executor.
+     *
+     * @return the receive time, or 0 if it wasn't recorded.
+     */
+    public long getReceivedNanos() {
+        return receivedNanos;
+    }
+
+    /**
+     * Sets the {@link System#nanoTime()} at which this Packet was received. It is only recorded on the reading
+     * side while invocations are traced, to tell the time spent in the operation queue from the time on the wire.
+     *
+     * @param receivedNanos the receive time.
+     */
+    public void setReceivedNanos(long receivedNanos) {
+        this.receivedNanos = receivedNanos;
+    }
+
     public void setHeader(int bit) {
         header |= 1 << bit;
     }
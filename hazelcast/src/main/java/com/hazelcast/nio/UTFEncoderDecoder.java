@@ -32,6 +32,13 @@ import java.lang.reflect.Field;
  */
 public final class UTFEncoderDecoder {
 
+    /**
+     * Strings up to this length are written as a single chunk. This allows the buffer based data inputs
+     * and outputs to encode and decode them straight from their backing arrays, see
+     * {@link #encodeUTF(String, byte[], int)} and {@link #decodeUTF(byte[], int, int, int)}.
+     */
+    public static final int MAX_SINGLE_CHUNK_LENGTH = 16 * 1024 - 1;
+
     private static final int STRING_CHUNK_SIZE = 16 * 1024;
 
     private static final UTFEncoderDecoder INSTANCE;
@@ -77,6 +84,141 @@ public final class UTFEncoderDecoder {
         return INSTANCE.readUTF0(in, buffer);
     }
 
+    /**
+     * Returns {@code true} if every chunk header carries an additional ASCII flag after the chunk length.
+     */
+    public static boolean isAsciiAware() {
+        return ASCII_AWARE;
+    }
+
+    /**
+     * Encodes the given string as modified UTF-8 straight into the given array, without a length header.
+     * The array needs room for at least 3 bytes per character.
+     *
+     * Pure ASCII strings are detected up front and copied in bulk; other strings are encoded char by char.
+     *
+     * @return the position after the last written byte
+     */
+    //CHECKSTYLE:OFF
+    @SuppressWarnings("deprecation")
+    public static int encodeUTF(final String str, final byte[] dest, final int destPos) {
+        final int length = str.length();
+        if (isAscii(str, length)) {
+            // copies the low byte of every char, which is exactly the encoding of an ASCII char
+            str.getBytes(0, length, dest, destPos);
+            return destPos + length;
+        }
+
+        int pos = destPos;
+        for (int i = 0; i < length; i++) {
+            int c = str.charAt(i);
+            if (c <= 0x007F && c >= 0x0001) {
+                dest[pos++] = (byte) c;
+            } else if (c > 0x07FF) {
+                dest[pos++] = (byte) (0xE0 | ((c >> 12) & 0x0F));
+                dest[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                dest[pos++] = (byte) (0x80 | ((c) & 0x3F));
+            } else {
+                dest[pos++] = (byte) (0xC0 | ((c >> 6) & 0x1F));
+                dest[pos++] = (byte) (0x80 | ((c) & 0x3F));
+            }
+        }
+        return pos;
+    }
+
+    /**
+     * Decodes a modified UTF-8 encoded string of {@code charCount} characters from the {@code utfLength}
+     * bytes starting at {@code srcPos}.
+     *
+     * Pure ASCII content is detected without branching per byte and turned into a string in bulk.
+     */
+    @SuppressWarnings("deprecation")
+    public static String decodeUTF(final byte[] src, final int srcPos, final int utfLength, final int charCount)
+            throws UTFDataFormatException {
+        if (utfLength == charCount && isAscii(src, srcPos, utfLength)) {
+            // high byte 0: every char gets the value of its ASCII byte
+            return new String(src, 0, srcPos, utfLength);
+        }
+
+        final char[] data = new char[charCount];
+        final int end = srcPos + utfLength;
+        int pos = srcPos;
+        int charArrCount = 0;
+        while (pos < end) {
+            if (charArrCount == charCount) {
+                throw new UTFDataFormatException("malformed input: more than " + charCount + " characters");
+            }
+            int c1 = src[pos++] & 0xFF;
+            int c2;
+            int c3;
+            switch (c1 >> 4) {
+                case 0:
+                case 1:
+                case 2:
+                case 3:
+                case 4:
+                case 5:
+                case 6:
+                case 7:
+                    /* 0xxxxxxx */
+                    data[charArrCount++] = (char) c1;
+                    break;
+                case 12:
+                case 13:
+                    /* 110x xxxx 10xx xxxx */
+                    if (pos + 1 > end) {
+                        throw new UTFDataFormatException("malformed input: partial character at end");
+                    }
+                    c2 = src[pos++] & 0xFF;
+                    if ((c2 & 0xC0) != 0x80) {
+                        throw new UTFDataFormatException("malformed input around byte " + (pos - srcPos - 1));
+                    }
+                    data[charArrCount++] = (char) (((c1 & 0x1F) << 6) | (c2 & 0x3F));
+                    break;
+                case 14:
+                    /* 1110 xxxx 10xx xxxx 10xx xxxx */
+                    if (pos + 2 > end) {
+                        throw new UTFDataFormatException("malformed input: partial character at end");
+                    }
+                    c2 = src[pos++] & 0xFF;
+                    c3 = src[pos++] & 0xFF;
+                    if (((c2 & 0xC0) != 0x80) || ((c3 & 0xC0) != 0x80)) {
+                        throw new UTFDataFormatException("malformed input around byte " + (pos - srcPos - 2));
+                    }
+                    data[charArrCount++] = (char) (((c1 & 0x0F) << 12) | ((c2 & 0x3F) << 6) | (c3 & 0x3F));
+                    break;
+                default:
+                    /* 10xx xxxx, 1111 xxxx */
+                    throw new UTFDataFormatException("malformed input around byte " + (pos - srcPos - 1));
+            }
+        }
+        if (charArrCount != charCount) {
+            throw new UTFDataFormatException("malformed input: expected " + charCount
+                    + " characters but found " + charArrCount);
+        }
+        return INSTANCE.stringCreator.buildString(data);
+    }
+    //CHECKSTYLE:ON
+
+    private static boolean isAscii(final String str, final int length) {
+        int bits = 0;
+        for (int i = 0; i < length; i++) {
+            int c = str.charAt(i);
+            // both a zero char (c - 1 == -1) and a char above 0x7F leave bits above 0x7F
+            bits |= c | (c - 1);
+        }
+        return (bits & ~0x7F) == 0;
+    }
+
+    private static boolean isAscii(final byte[] src, final int srcPos, final int length) {
+        int bits = 0;
+        for (int i = srcPos, end = srcPos + length; i < end; i++) {
+            bits |= src[i];
+        }
+        // any byte with the high bit set makes the result negative
+        return bits >= 0;
+    }
+
     // ********************************************************************* //
 
     public void writeUTF0(final DataOutput out,
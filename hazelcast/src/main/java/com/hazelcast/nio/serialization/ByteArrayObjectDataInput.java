@@ -23,6 +23,7 @@ import com.hazelcast.nio.UTFEncoderDecoder;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UTFDataFormatException;
 import java.nio.ByteOrder;
 
 import static com.hazelcast.nio.Bits.CHAR_SIZE_IN_BYTES;
@@ -348,6 +349,29 @@ class ByteArrayObjectDataInput extends InputStream implements BufferObjectDataIn
         return Bits.readShort(data, position, bigEndian);
     }
 
+    /**
+     * Decodes a single chunk string, written by {@link UTFEncoderDecoder}, straight from the data array.
+     */
+    private String readSingleChunkUTF(final int length) throws IOException {
+        final int lengthCheck = readInt();
+        if (length != lengthCheck) {
+            throw new UTFDataFormatException(
+                    "Length check failed, maybe broken bytestream or wrong stream position");
+        }
+        if (length == 0) {
+            return "";
+        }
+
+        final int utfLength = readShort() & 0xFFFF;
+        if (UTFEncoderDecoder.isAsciiAware()) {
+            readBoolean();
+        }
+        checkAvailable(pos, utfLength);
+        final String str = UTFEncoderDecoder.decodeUTF(data, pos, utfLength, length);
+        pos += utfLength;
+        return str;
+    }
+
     @Override
     public final short readShort(ByteOrder byteOrder) throws IOException {
         short s = readShort(pos, byteOrder);
@@ -491,6 +515,16 @@ class ByteArrayObjectDataInput extends InputStream implements BufferObjectDataIn
      * @see java.io.DataInputStream#readUTF(java.io.DataInput)
      */
     public final String readUTF() throws IOException {
+        final int start = pos;
+        if (readBoolean()) {
+            return null;
+        }
+        final int length = readInt();
+        if (length >= 0 && length <= UTFEncoderDecoder.MAX_SINGLE_CHUNK_LENGTH) {
+            return readSingleChunkUTF(length);
+        }
+        // multi chunk strings are decoded by the chunking decoder from the start
+        pos = start;
         if (utfBuffer == null) {
             utfBuffer = new byte[UTF_BUFFER_SIZE];
         }
@@ -224,12 +224,47 @@ class ByteArrayObjectDataOutput extends OutputStream implements BufferObjectData
     }
 
     public void writeUTF(final String str) throws IOException {
+        if (str != null && str.length() <= UTFEncoderDecoder.MAX_SINGLE_CHUNK_LENGTH) {
+            writeSingleChunkUTF(str);
+            return;
+        }
         if (utfBuffer == null) {
             utfBuffer = new byte[UTF_BUFFER_SIZE];
         }
         UTFEncoderDecoder.writeUTF(this, str, utfBuffer);
     }
 
+    /**
+     * Writes the same format as {@link UTFEncoderDecoder#writeUTF(java.io.DataOutput, String, byte[])} for
+     * a single chunk string, but encodes the characters straight into the buffer.
+     */
+    private void writeSingleChunkUTF(final String str) throws IOException {
+        final int length = str.length();
+        writeBoolean(false);
+        writeInt(length);
+        writeInt(length);
+        if (length == 0) {
+            return;
+        }
+
+        final int utfLengthPos = pos;
+        writeShort(0);
+        final boolean asciiAware = UTFEncoderDecoder.isAsciiAware();
+        if (asciiAware) {
+            writeBoolean(false);
+        }
+        // at most 3 bytes per char; a single chunk never exceeds the unsigned short utf length
+        ensureAvailable(length * 3);
+        final int end = UTFEncoderDecoder.encodeUTF(str, buffer, pos);
+        final int utfLength = end - pos;
+        pos = end;
+
+        writeShort(utfLengthPos, utfLength);
+        if (asciiAware) {
+            writeBoolean(utfLengthPos + SHORT_SIZE_IN_BYTES, utfLength == length);
+        }
+    }
+
     public void writeByteArray(byte[] bytes) throws IOException {
         int len = (bytes == null) ? 0 : bytes.length;
         writeInt(len);
@@ -28,6 +28,7 @@ class ClassDefinitionImpl implements ClassDefinition {
     private int classId;
     private int version = -1;
     private final Map<String, FieldDefinition> fieldDefinitionsMap = new LinkedHashMap<String, FieldDefinition>();
+    private volatile PortableFieldTable fieldTable;
 
     public ClassDefinitionImpl() {
     }
@@ -40,6 +41,16 @@ class ClassDefinitionImpl implements ClassDefinition {
 
     void addFieldDef(FieldDefinitionImpl fd) {
         fieldDefinitionsMap.put(fd.getName(), fd);
+        fieldTable = null;
+    }
+
+    PortableFieldTable getFieldTable() {
+        PortableFieldTable table = fieldTable;
+        if (table == null) {
+            table = new PortableFieldTable(this);
+            fieldTable = table;
+        }
+        return table;
     }
 
     public FieldDefinition getField(String name) {
@@ -52,9 +52,9 @@ public interface Data {
     int dataSize();
 
     /**
-     * Returns approximate heap cost of this Data object in bytes.
+     * Returns the heap cost of this Data object in bytes, including its byte array but not the references to it.
      *
-     * @return approximate heap cost
+     * @return heap cost
      */
     int getHeapCost();
 
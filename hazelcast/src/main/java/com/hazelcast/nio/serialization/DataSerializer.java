@@ -78,6 +78,14 @@ final class DataSerializer implements StreamSerializer<DataSerializable> {
         }
     }
 
+    DataSerializableFactory getFactory(int factoryId) {
+        final DataSerializableFactory dsf = factories.get(factoryId);
+        if (dsf == null) {
+            throw new HazelcastSerializationException("No DataSerializerFactory registered for namespace: " + factoryId);
+        }
+        return dsf;
+    }
+
     public int getTypeId() {
         return CONSTANT_TYPE_DATA_SERIALIZABLE;
     }
@@ -93,10 +101,7 @@ final class DataSerializer implements StreamSerializer<DataSerializable> {
             // BasicOperationService::extractOperationCallId
             if (identified) {
                 factoryId = in.readInt();
-                final DataSerializableFactory dsf = factories.get(factoryId);
-                if (dsf == null) {
-                    throw new HazelcastSerializationException("No DataSerializerFactory registered for namespace: " + factoryId);
-                }
+                final DataSerializableFactory dsf = getFactory(factoryId);
                 id = in.readInt();
                 ds = dsf.create(id);
                 if (ds == null) {
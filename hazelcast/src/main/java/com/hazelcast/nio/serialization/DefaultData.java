@@ -18,6 +18,7 @@ package com.hazelcast.nio.serialization;
 
 import com.hazelcast.nio.Bits;
 import com.hazelcast.util.HashUtil;
+import com.hazelcast.util.JvmMemoryLayout;
 
 import java.util.Arrays;
 
@@ -29,8 +30,7 @@ public final class DefaultData implements Data {
     public static final int PARTITION_HASH_BIT_OFFSET = 4;
     public static final int DATA_OFFSET = 5;
 
-    // array (12: array header, 4: length)
-    private static final int ARRAY_HEADER_SIZE_IN_BYTES = 16;
+    private static final long SHALLOW_SIZE = JvmMemoryLayout.shallowSizeOf(DefaultData.class);
 
     private byte[] data;
 
@@ -83,9 +83,7 @@ public final class DefaultData implements Data {
 
     @Override
     public int getHeapCost() {
-        // reference (assuming compressed oops)
-        int objectRef = Bits.INT_SIZE_IN_BYTES;
-        return objectRef + (data != null ? ARRAY_HEADER_SIZE_IN_BYTES + data.length : 0);
+        return (int) (SHALLOW_SIZE + (data != null ? JvmMemoryLayout.sizeOfByteArray(data.length) : 0));
     }
 
     @Override
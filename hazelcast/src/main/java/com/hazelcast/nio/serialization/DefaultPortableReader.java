@@ -30,15 +30,18 @@ public class DefaultPortableReader implements PortableReader {
 
     protected final ClassDefinition cd;
     protected final PortableSerializer serializer;
-    private final BufferObjectDataInput in;
+    protected final BufferObjectDataInput in;
     private final int finalPosition;
     private final int offset;
+    private final PortableFieldTable fieldTable;
+    private int nextField;
     private boolean raw;
 
     public DefaultPortableReader(PortableSerializer serializer, BufferObjectDataInput in, ClassDefinition cd) {
         this.in = in;
         this.serializer = serializer;
         this.cd = cd;
+        this.fieldTable = PortableFieldTable.of(cd);
         int fieldCount;
         try {
             // final position after portable is read
@@ -205,7 +208,7 @@ public class DefaultPortableReader implements PortableReader {
     public Portable readPortable(String fieldName) throws IOException {
         final int currentPos = in.position();
         try {
-            FieldDefinition fd = cd.getField(fieldName);
+            FieldDefinition fd = getField(fieldName);
             if (fd == null) {
                 throw throwUnknownFieldException(fieldName);
             }
@@ -234,7 +237,7 @@ public class DefaultPortableReader implements PortableReader {
     public Portable[] readPortableArray(String fieldName) throws IOException {
         final int currentPos = in.position();
         try {
-            FieldDefinition fd = cd.getField(fieldName);
+            FieldDefinition fd = getField(fieldName);
             if (fd == null) {
                 throw throwUnknownFieldException(fieldName);
             }
@@ -283,10 +286,8 @@ public class DefaultPortableReader implements PortableReader {
     }
 
     private int readPosition(String fieldName, FieldType type) throws IOException {
-        if (raw) {
-            throw new HazelcastSerializationException("Cannot read Portable fields after getRawDataInput() is called!");
-        }
-        FieldDefinition fd = cd.getField(fieldName);
+        checkNotRaw();
+        FieldDefinition fd = getField(fieldName);
         if (fd == null) {
             return readNestedPosition(fieldName, type);
         }
@@ -330,11 +331,42 @@ public class DefaultPortableReader implements PortableReader {
         throw throwUnknownFieldException(fieldName);
     }
 
+    /**
+     * Returns the definition of the given field of the class definition of this reader.
+     *
+     * Fields are mostly read in the order of the class definition, so the field following the last one read is
+     * checked first and the name lookup is only done when it doesn't match.
+     */
+    final FieldDefinition getField(String fieldName) {
+        FieldDefinition fd = fieldTable.getField(fieldName, nextField);
+        if (fd != null) {
+            nextField = fd.getIndex() + 1;
+        }
+        return fd;
+    }
+
+    /**
+     * Returns the position of the value of the given field, without checking its type.
+     *
+     * The field definition needs to be taken from the {@link ClassDefinition} of this reader.
+     */
+    final int fieldPosition(FieldDefinition fd) throws IOException {
+        checkNotRaw();
+        return readPosition(fd);
+    }
+
+    private void checkNotRaw() {
+        if (raw) {
+            throw new HazelcastSerializationException("Cannot read Portable fields after getRawDataInput() is called!");
+        }
+    }
+
     private int readPosition(FieldDefinition fd) throws IOException {
-        int pos = in.readInt(offset + fd.getIndex() * Bits.INT_SIZE_IN_BYTES);
-        short len = in.readShort(pos);
-        // name + len + type
-        return pos + Bits.SHORT_SIZE_IN_BYTES + len + 1;
+        int index = fd.getIndex();
+        int pos = in.readInt(offset + index * Bits.INT_SIZE_IN_BYTES);
+        // the class definition matches the stream, so the field header length is known up front
+        // and doesn't need to be read
+        return pos + fieldTable.getHeaderLength(index);
     }
 
     public ObjectDataInput getRawDataInput() throws IOException {
@@ -21,17 +21,17 @@ import com.hazelcast.nio.BufferObjectDataOutput;
 import com.hazelcast.nio.ObjectDataOutput;
 
 import java.io.IOException;
-import java.util.HashSet;
-import java.util.Set;
 
 public class DefaultPortableWriter implements PortableWriter {
 
     private final PortableSerializer serializer;
     private final ClassDefinition cd;
+    private final PortableFieldTable fieldTable;
     private final BufferObjectDataOutput out;
     private final int begin;
     private final int offset;
-    private final Set<String> writtenFields;
+    private final boolean[] writtenFields;
+    private int nextField;
     private boolean raw;
 
     public DefaultPortableWriter(PortableSerializer serializer, BufferObjectDataOutput out, ClassDefinition cd)
@@ -39,7 +39,8 @@ public class DefaultPortableWriter implements PortableWriter {
         this.serializer = serializer;
         this.out = out;
         this.cd = cd;
-        this.writtenFields = new HashSet<String>(cd.getFieldCount());
+        this.fieldTable = PortableFieldTable.of(cd);
+        this.writtenFields = new boolean[cd.getFieldCount()];
         this.begin = out.position();
 
         // room for final offset
@@ -195,21 +196,26 @@ public class DefaultPortableWriter implements PortableWriter {
         if (raw) {
             throw new HazelcastSerializationException("Cannot write Portable fields after getRawDataOutput() is called!");
         }
-        FieldDefinition fd = cd.getField(fieldName);
+        FieldDefinition fd = fieldTable.getField(fieldName, nextField);
         if (fd == null) {
             throw new HazelcastSerializationException("Invalid field name: '" + fieldName
                     + "' for ClassDefinition {id: " + cd.getClassId() + ", version: " + cd.getVersion() + "}");
         }
-        if (writtenFields.add(fieldName)) {
-            int pos = out.position();
-            int index = fd.getIndex();
-            out.writeInt(offset + index * Bits.INT_SIZE_IN_BYTES, pos);
-            out.writeShort(fieldName.length());
-            out.writeBytes(fieldName);
-            out.writeByte(fieldType.getId());
-        } else {
+        if (fd.getType() != fieldType) {
+            throw new HazelcastSerializationException("Not a '" + fieldType + "' field: " + fieldName);
+        }
+        int index = fd.getIndex();
+        if (writtenFields[index]) {
             throw new HazelcastSerializationException("Field '" + fieldName + "' has already been written!");
         }
+        writtenFields[index] = true;
+        nextField = index + 1;
+
+        int pos = out.position();
+        out.writeInt(offset + index * Bits.INT_SIZE_IN_BYTES, pos);
+        out.writeShort(fieldName.length());
+        out.write(fieldTable.getNameBytes(index));
+        out.writeByte(fieldType.getId());
         return fd;
     }
 
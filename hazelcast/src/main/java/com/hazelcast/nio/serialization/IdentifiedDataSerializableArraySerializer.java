@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.nio.serialization;
+
+import com.hazelcast.nio.ClassLoaderUtil;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+
+import static com.hazelcast.nio.serialization.SerializationConstants.AUTO_TYPE_IDENTIFIED_ARRAY;
+
+/**
+ * Serializer for arrays whose component type is an {@link IdentifiedDataSerializable}.
+ * <p/>
+ * When all elements are non-null and share the same factory-id and class-id, the factory-id and class-id
+ * are written once as a header, followed by the raw payloads written by each element's
+ * {@link IdentifiedDataSerializable#writeData(ObjectDataOutput)}. Reading resolves the factory once and
+ * skips the per-element type-id and serializer lookups entirely.
+ * <p/>
+ * Arrays with null or mixed elements fall back to writing every element with
+ * {@link ObjectDataOutput#writeObject(Object)}.
+ */
+final class IdentifiedDataSerializableArraySerializer implements StreamSerializer<IdentifiedDataSerializable[]> {
+
+    private final DataSerializer dataSerializer;
+
+    IdentifiedDataSerializableArraySerializer(DataSerializer dataSerializer) {
+        this.dataSerializer = dataSerializer;
+    }
+
+    @Override
+    public int getTypeId() {
+        return AUTO_TYPE_IDENTIFIED_ARRAY;
+    }
+
+    @Override
+    public void write(ObjectDataOutput out, IdentifiedDataSerializable[] array) throws IOException {
+        out.writeUTF(array.getClass().getComponentType().getName());
+        int length = array.length;
+        out.writeInt(length);
+        if (length == 0) {
+            return;
+        }
+
+        boolean homogeneous = isHomogeneous(array);
+        out.writeBoolean(homogeneous);
+        if (homogeneous) {
+            IdentifiedDataSerializable first = array[0];
+            out.writeInt(first.getFactoryId());
+            out.writeInt(first.getId());
+            for (IdentifiedDataSerializable element : array) {
+                element.writeData(out);
+            }
+        } else {
+            for (IdentifiedDataSerializable element : array) {
+                out.writeObject(element);
+            }
+        }
+    }
+
+    @Override
+    public IdentifiedDataSerializable[] read(ObjectDataInput in) throws IOException {
+        String componentClassName = in.readUTF();
+        int length = in.readInt();
+        IdentifiedDataSerializable[] array = newArray(in.getClassLoader(), componentClassName, length);
+        if (length == 0) {
+            return array;
+        }
+
+        boolean homogeneous = in.readBoolean();
+        if (homogeneous) {
+            int factoryId = in.readInt();
+            int id = in.readInt();
+            DataSerializableFactory factory = dataSerializer.getFactory(factoryId);
+            for (int i = 0; i < length; i++) {
+                IdentifiedDataSerializable element = factory.create(id);
+                if (element == null) {
+                    throw new HazelcastSerializationException(factory
+                            + " is not be able to create an instance for id: " + id + " on factoryId: " + factoryId);
+                }
+                element.readData(in);
+                array[i] = element;
+            }
+        } else {
+            for (int i = 0; i < length; i++) {
+                array[i] = in.readObject();
+            }
+        }
+        return array;
+    }
+
+    @Override
+    public void destroy() {
+    }
+
+    private static boolean isHomogeneous(IdentifiedDataSerializable[] array) {
+        IdentifiedDataSerializable first = array[0];
+        if (first == null) {
+            return false;
+        }
+        Class type = first.getClass();
+        int factoryId = first.getFactoryId();
+        int id = first.getId();
+        for (int i = 1; i < array.length; i++) {
+            IdentifiedDataSerializable element = array[i];
+            if (element == null || element.getClass() != type
+                    || element.getFactoryId() != factoryId || element.getId() != id) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static IdentifiedDataSerializable[] newArray(ClassLoader classLoader, String componentClassName, int length)
+            throws IOException {
+        try {
+            Class<?> componentType = ClassLoaderUtil.loadClass(classLoader, componentClassName);
+            return (IdentifiedDataSerializable[]) Array.newInstance(componentType, length);
+        } catch (ClassNotFoundException e) {
+            throw new HazelcastSerializationException("Could not load array component type: " + componentClassName, e);
+        }
+    }
+}
@@ -29,19 +29,20 @@ public class MorphingPortableReader extends DefaultPortableReader {
 
     @Override
     public int readInt(String fieldName) throws IOException {
-        FieldDefinition fd = cd.getField(fieldName);
+        FieldDefinition fd = getField(fieldName);
         if (fd == null) {
             return 0;
         }
+        int pos = fieldPosition(fd);
         switch (fd.getType()) {
             case INT:
-                return super.readInt(fieldName);
+                return in.readInt(pos);
             case BYTE:
-                return super.readByte(fieldName);
+                return in.readByte(pos);
             case CHAR:
-                return super.readChar(fieldName);
+                return in.readChar(pos);
             case SHORT:
-                return super.readShort(fieldName);
+                return in.readShort(pos);
             default:
                 throw new IncompatibleClassChangeError();
         }
@@ -49,21 +50,22 @@ public class MorphingPortableReader extends DefaultPortableReader {
 
     @Override
     public long readLong(String fieldName) throws IOException {
-        FieldDefinition fd = cd.getField(fieldName);
+        FieldDefinition fd = getField(fieldName);
         if (fd == null) {
             return 0L;
         }
+        int pos = fieldPosition(fd);
         switch (fd.getType()) {
             case LONG:
-                return super.readLong(fieldName);
+                return in.readLong(pos);
             case INT:
-                return super.readInt(fieldName);
+                return in.readInt(pos);
             case BYTE:
-                return super.readByte(fieldName);
+                return in.readByte(pos);
             case CHAR:
-                return super.readChar(fieldName);
+                return in.readChar(pos);
             case SHORT:
-                return super.readShort(fieldName);
+                return in.readShort(pos);
             default:
                 throw new IncompatibleClassChangeError();
         }
@@ -71,7 +73,7 @@ public class MorphingPortableReader extends DefaultPortableReader {
 
     @Override
     public String readUTF(String fieldName) throws IOException {
-        FieldDefinition fd = cd.getField(fieldName);
+        FieldDefinition fd = getField(fieldName);
         if (fd == null) {
             return null;
         }
@@ -83,61 +85,62 @@ public class MorphingPortableReader extends DefaultPortableReader {
 
     @Override
     public boolean readBoolean(String fieldName) throws IOException {
-        FieldDefinition fd = cd.getField(fieldName);
+        FieldDefinition fd = getField(fieldName);
         if (fd == null) {
             return false;
         }
         if (fd.getType() != FieldType.BOOLEAN) {
             throw new IncompatibleClassChangeError();
         }
-        return super.readBoolean(fieldName);
+        return in.readBoolean(fieldPosition(fd));
     }
 
     @Override
     public byte readByte(String fieldName) throws IOException {
-        FieldDefinition fd = cd.getField(fieldName);
+        FieldDefinition fd = getField(fieldName);
         if (fd == null) {
             return 0;
         }
         if (fd.getType() != FieldType.BYTE) {
             throw new IncompatibleClassChangeError();
         }
-        return super.readByte(fieldName);
+        return in.readByte(fieldPosition(fd));
     }
 
     @Override
     public char readChar(String fieldName) throws IOException {
-        FieldDefinition fd = cd.getField(fieldName);
+        FieldDefinition fd = getField(fieldName);
         if (fd == null) {
             return 0;
         }
         if (fd.getType() != FieldType.CHAR) {
             throw new IncompatibleClassChangeError();
         }
-        return super.readChar(fieldName);
+        return in.readChar(fieldPosition(fd));
     }
 
     @Override
     public double readDouble(String fieldName) throws IOException {
-        FieldDefinition fd = cd.getField(fieldName);
+        FieldDefinition fd = getField(fieldName);
         if (fd == null) {
             return 0d;
         }
+        int pos = fieldPosition(fd);
         switch (fd.getType()) {
             case DOUBLE:
-                return super.readDouble(fieldName);
+                return in.readDouble(pos);
             case LONG:
-                return super.readLong(fieldName);
+                return in.readLong(pos);
             case FLOAT:
-                return super.readFloat(fieldName);
+                return in.readFloat(pos);
             case INT:
-                return super.readInt(fieldName);
+                return in.readInt(pos);
             case BYTE:
-                return super.readByte(fieldName);
+                return in.readByte(pos);
             case CHAR:
-                return super.readChar(fieldName);
+                return in.readChar(pos);
             case SHORT:
-                return super.readShort(fieldName);
+                return in.readShort(pos);
             default:
                 throw new IncompatibleClassChangeError();
         }
@@ -145,21 +148,22 @@ public class MorphingPortableReader extends DefaultPortableReader {
 
     @Override
     public float readFloat(String fieldName) throws IOException {
-        FieldDefinition fd = cd.getField(fieldName);
+        FieldDefinition fd = getField(fieldName);
         if (fd == null) {
             return 0f;
         }
+        int pos = fieldPosition(fd);
         switch (fd.getType()) {
             case FLOAT:
-                return super.readFloat(fieldName);
+                return in.readFloat(pos);
             case INT:
-                return super.readInt(fieldName);
+                return in.readInt(pos);
             case BYTE:
-                return super.readByte(fieldName);
+                return in.readByte(pos);
             case CHAR:
-                return super.readChar(fieldName);
+                return in.readChar(pos);
             case SHORT:
-                return super.readShort(fieldName);
+                return in.readShort(pos);
             default:
                 throw new IncompatibleClassChangeError();
         }
@@ -167,15 +171,16 @@ public class MorphingPortableReader extends DefaultPortableReader {
 
     @Override
     public short readShort(String fieldName) throws IOException {
-        FieldDefinition fd = cd.getField(fieldName);
+        FieldDefinition fd = getField(fieldName);
         if (fd == null) {
             return 0;
         }
+        int pos = fieldPosition(fd);
         switch (fd.getType()) {
             case SHORT:
-                return super.readShort(fieldName);
+                return in.readShort(pos);
             case BYTE:
-                return super.readByte(fieldName);
+                return in.readByte(pos);
             default:
                 throw new IncompatibleClassChangeError();
         }
@@ -183,7 +188,7 @@ public class MorphingPortableReader extends DefaultPortableReader {
 
     @Override
     public byte[] readByteArray(String fieldName) throws IOException {
-        FieldDefinition fd = cd.getField(fieldName);
+        FieldDefinition fd = getField(fieldName);
         if (fd == null) {
             return new byte[0];
         }
@@ -195,7 +200,7 @@ public class MorphingPortableReader extends DefaultPortableReader {
 
     @Override
     public char[] readCharArray(String fieldName) throws IOException {
-        FieldDefinition fd = cd.getField(fieldName);
+        FieldDefinition fd = getField(fieldName);
         if (fd == null) {
             return new char[0];
         }
@@ -207,7 +212,7 @@ public class MorphingPortableReader extends DefaultPortableReader {
 
     @Override
     public int[] readIntArray(String fieldName) throws IOException {
-        FieldDefinition fd = cd.getField(fieldName);
+        FieldDefinition fd = getField(fieldName);
         if (fd == null) {
             return new int[0];
         }
@@ -219,7 +224,7 @@ public class MorphingPortableReader extends DefaultPortableReader {
 
     @Override
     public long[] readLongArray(String fieldName) throws IOException {
-        FieldDefinition fd = cd.getField(fieldName);
+        FieldDefinition fd = getField(fieldName);
         if (fd == null) {
             return new long[0];
         }
@@ -231,7 +236,7 @@ public class MorphingPortableReader extends DefaultPortableReader {
 
     @Override
     public double[] readDoubleArray(String fieldName) throws IOException {
-        FieldDefinition fd = cd.getField(fieldName);
+        FieldDefinition fd = getField(fieldName);
         if (fd == null) {
             return new double[0];
         }
@@ -243,7 +248,7 @@ public class MorphingPortableReader extends DefaultPortableReader {
 
     @Override
     public float[] readFloatArray(String fieldName) throws IOException {
-        FieldDefinition fd = cd.getField(fieldName);
+        FieldDefinition fd = getField(fieldName);
         if (fd == null) {
             return new float[0];
         }
@@ -255,7 +260,7 @@ public class MorphingPortableReader extends DefaultPortableReader {
 
     @Override
     public short[] readShortArray(String fieldName) throws IOException {
-        FieldDefinition fd = cd.getField(fieldName);
+        FieldDefinition fd = getField(fieldName);
         if (fd == null) {
             return new short[0];
         }
@@ -267,7 +272,7 @@ public class MorphingPortableReader extends DefaultPortableReader {
 
     @Override
     public Portable readPortable(String fieldName) throws IOException {
-        FieldDefinition fd = cd.getField(fieldName);
+        FieldDefinition fd = getField(fieldName);
         if (fd == null) {
             return null;
         }
@@ -279,7 +284,7 @@ public class MorphingPortableReader extends DefaultPortableReader {
 
     @Override
     public Portable[] readPortableArray(String fieldName) throws IOException {
-        FieldDefinition fd = cd.getField(fieldName);
+        FieldDefinition fd = getField(fieldName);
         if (fd == null) {
             return new Portable[0];
         }
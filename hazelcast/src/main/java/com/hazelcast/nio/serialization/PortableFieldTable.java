@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.nio.serialization;
+
+import com.hazelcast.nio.Bits;
+
+/**
+ * The field accessors of a {@link ClassDefinition}, computed once per class definition and shared by all the
+ * readers and writers using it.
+ * <p/>
+ * Holds the field definitions by their index together with the precomputed field header length and encoded field
+ * name. Portables usually write and read their fields in the order of the class definition (which is built from
+ * the write order), so readers and writers pass the index of the field they expect next and only fall back to the
+ * name lookup of the class definition when the requested field is not the expected one.
+ */
+final class PortableFieldTable {
+
+    private final ClassDefinition cd;
+    private final FieldDefinition[] fields;
+    private final int[] headerLengths;
+    private final byte[][] nameBytes;
+
+    PortableFieldTable(ClassDefinition cd) {
+        this.cd = cd;
+        int fieldCount = cd.getFieldCount();
+        this.fields = new FieldDefinition[fieldCount];
+        this.headerLengths = new int[fieldCount];
+        this.nameBytes = new byte[fieldCount][];
+        for (int i = 0; i < fieldCount; i++) {
+            FieldDefinition fd = cd.getField(i);
+            String name = fd.getName();
+            fields[i] = fd;
+            // name length (short) + name + type (byte)
+            headerLengths[i] = Bits.SHORT_SIZE_IN_BYTES + name.length() + 1;
+            nameBytes[i] = encode(name);
+        }
+    }
+
+    static PortableFieldTable of(ClassDefinition cd) {
+        if (cd instanceof ClassDefinitionImpl) {
+            return ((ClassDefinitionImpl) cd).getFieldTable();
+        }
+        return new PortableFieldTable(cd);
+    }
+
+    /**
+     * Returns the definition of the given field.
+     *
+     * @param fieldName     name of the field
+     * @param expectedIndex index of the field which is expected to be accessed next
+     * @return the field definition or {@code null} if there is no such field
+     */
+    FieldDefinition getField(String fieldName, int expectedIndex) {
+        if (expectedIndex < fields.length) {
+            FieldDefinition fd = fields[expectedIndex];
+            String name = fd.getName();
+            // field names are mostly string literals, so the identity check usually hits
+            if (name == fieldName || name.equals(fieldName)) {
+                return fd;
+            }
+        }
+        return cd.getField(fieldName);
+    }
+
+    /**
+     * @return the length of the header (name length, name and type) in front of the value of the field
+     */
+    int getHeaderLength(int index) {
+        return headerLengths[index];
+    }
+
+    /**
+     * @return the name of the field encoded the same way as {@link java.io.DataOutput#writeBytes(String)} does
+     */
+    byte[] getNameBytes(int index) {
+        return nameBytes[index];
+    }
+
+    private static byte[] encode(String name) {
+        int len = name.length();
+        byte[] bytes = new byte[len];
+        for (int i = 0; i < len; i++) {
+            bytes[i] = (byte) name.charAt(i);
+        }
+        return bytes;
+    }
+}
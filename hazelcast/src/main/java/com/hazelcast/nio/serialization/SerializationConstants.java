@@ -89,6 +89,8 @@ public final class SerializationConstants {
     public static final int AUTO_TYPE_JOB_PARTITION_STATE_ARRAY = -102;
 
     public static final int AUTO_TYPE_LINKED_LIST = -103;
+
+    public static final int AUTO_TYPE_IDENTIFIED_ARRAY = -104;
     // ------------------------------------------------------------
     // HIBERNATE SERIALIZERS
 
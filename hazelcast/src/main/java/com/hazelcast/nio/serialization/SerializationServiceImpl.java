@@ -97,9 +97,11 @@ public class SerializationServiceImpl implements SerializationService {
     private final ConcurrentMap<Class, SerializerAdapter> typeMap = new ConcurrentHashMap<Class, SerializerAdapter>();
     private final ConcurrentMap<Integer, SerializerAdapter> idMap = new ConcurrentHashMap<Integer, SerializerAdapter>();
     private final AtomicReference<SerializerAdapter> global = new AtomicReference<SerializerAdapter>();
+    private final SerializerAdapterCache serializerCache = new SerializerAdapterCache();
     private final PortableSerializer portableSerializer;
     private final SerializerAdapter dataSerializerAdapter;
     private final SerializerAdapter portableSerializerAdapter;
+    private final SerializerAdapter identifiedArraySerializerAdapter;
     private final ClassLoader classLoader;
     private final int outputBufferSize;
 
@@ -129,7 +131,10 @@ public class SerializationServiceImpl implements SerializationService {
             portableContext.registerClassDefinition(cd);
         }
 
-        dataSerializerAdapter = createSerializerAdapter(new DataSerializer(dataSerializableFactories, classLoader));
+        DataSerializer dataSerializer = new DataSerializer(dataSerializableFactories, classLoader);
+        dataSerializerAdapter = createSerializerAdapter(dataSerializer);
+        identifiedArraySerializerAdapter = createSerializerAdapter(
+                new IdentifiedDataSerializableArraySerializer(dataSerializer));
         portableSerializer = new PortableSerializer(portableContext, loader.getFactories());
         portableSerializerAdapter = createSerializerAdapter(portableSerializer);
 
@@ -146,6 +151,7 @@ public class SerializationServiceImpl implements SerializationService {
         safeRegister(Serializable.class, new ObjectSerializer(enableSharedObject, enableCompression));
         safeRegister(Class.class, new ClassSerializer());
         safeRegister(Enum.class, new EnumSerializer());
+        safeRegister(IdentifiedDataSerializable[].class, identifiedArraySerializerAdapter);
     }
 
     private void registerConstantSerializers() {
@@ -417,6 +423,7 @@ public class SerializationServiceImpl implements SerializationService {
                     + serializer.getTypeId() + ", Serializer: " + serializer);
         }
         safeRegister(type, createSerializerAdapter(serializer));
+        serializerCache.clear();
     }
 
     public final void registerGlobal(final Serializer serializer) {
@@ -430,6 +437,7 @@ public class SerializationServiceImpl implements SerializationService {
             throw new IllegalStateException("Serializer [" + current.getImpl()
                     + "] has been already registered for type-id: " + serializer.getTypeId());
         }
+        serializerCache.clear();
     }
 
     private SerializerAdapter createSerializerAdapter(Serializer serializer) {
@@ -446,6 +454,17 @@ public class SerializationServiceImpl implements SerializationService {
     }
 
     protected final SerializerAdapter serializerFor(final Class type) {
+        SerializerAdapter serializer = serializerCache.get(type);
+        if (serializer == null) {
+            // a register racing with the resolve clears the cache; the generation keeps the stale result out of it
+            int generation = serializerCache.generation();
+            serializer = resolveSerializer(type);
+            serializerCache.put(type, serializer, generation);
+        }
+        return serializer;
+    }
+
+    private SerializerAdapter resolveSerializer(final Class type) {
         SerializerAdapter serializer;
         if (overrideCustomSerialization) {
             serializer = lookupSerializer(type);
@@ -457,6 +476,10 @@ public class SerializationServiceImpl implements SerializationService {
             return dataSerializerAdapter;
         } else if (Portable.class.isAssignableFrom(type)) {
             return portableSerializerAdapter;
+        } else if (type.isArray() && IdentifiedDataSerializable.class.isAssignableFrom(type.getComponentType())) {
+            // a serializer registered for the array type itself takes precedence over the built-in one
+            serializer = typeMap.get(type);
+            return serializer != null ? serializer : identifiedArraySerializerAdapter;
         } else {
             serializer = constantTypesMap.get(type);
             if (serializer != null) {
@@ -569,6 +592,10 @@ public class SerializationServiceImpl implements SerializationService {
         return -typeId - 1;
     }
 
+    public BufferPoolThreadLocal getBufferPoolThreadLocal() {
+        return bufferPoolThreadLocal;
+    }
+
     public PortableContext getPortableContext() {
         return portableContext;
     }
@@ -591,6 +618,7 @@ public class SerializationServiceImpl implements SerializationService {
         idMap.clear();
         global.set(null);
         constantTypesMap.clear();
+        serializerCache.clear();
         bufferPoolThreadLocal.clear();
     }
 
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.nio.serialization;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A class-indexed cache of resolved {@link SerializerAdapter}s.
+ * <p/>
+ * Reads are lock-free and only compare class identities inside an identity-hashed table; there is no
+ * boxing, no {@code equals} call and no {@code isAssignableFrom} check on the hot path. Writes are rare
+ * (once per serialized class) and use copy-on-write under a lock, so readers always see a consistent table.
+ * <p/>
+ * The number of cached classes is bounded to prevent class-loader leaks when many classes are generated
+ * at runtime; classes beyond the bound are simply resolved through the slow path every time.
+ * <p/>
+ * Every {@link #clear()} starts a new generation. A serializer resolved before a clear may be stale, so it is only
+ * put if the generation it was resolved in is still the current one.
+ */
+final class SerializerAdapterCache {
+
+    static final int MAX_SIZE = 4096;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private volatile Entry[] table = new Entry[INITIAL_CAPACITY];
+    private final AtomicInteger generation = new AtomicInteger();
+    private int size;
+
+    SerializerAdapter get(Class type) {
+        Entry[] t = table;
+        int index = indexFor(type, t.length);
+        for (Entry e = t[index]; e != null; e = e.next) {
+            if (e.type == type) {
+                return e.serializer;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the current generation; to be read before resolving a serializer which is then passed to
+     * {@link #put(Class, SerializerAdapter, int)}.
+     */
+    int generation() {
+        return generation.get();
+    }
+
+    synchronized void put(Class type, SerializerAdapter serializer, int resolvedGeneration) {
+        if (resolvedGeneration != generation.get() || size >= MAX_SIZE || get(type) != null) {
+            return;
+        }
+        Entry[] current = table;
+        Entry[] copy = size + 1 > current.length * 3 / 4 ? rehash(current, current.length * 2) : current.clone();
+        int index = indexFor(type, copy.length);
+        copy[index] = new Entry(type, serializer, copy[index]);
+        size++;
+        table = copy;
+    }
+
+    synchronized void clear() {
+        generation.incrementAndGet();
+        table = new Entry[INITIAL_CAPACITY];
+        size = 0;
+    }
+
+    private static Entry[] rehash(Entry[] current, int capacity) {
+        Entry[] copy = new Entry[capacity];
+        for (Entry head : current) {
+            for (Entry e = head; e != null; e = e.next) {
+                int index = indexFor(e.type, capacity);
+                copy[index] = new Entry(e.type, e.serializer, copy[index]);
+            }
+        }
+        return copy;
+    }
+
+    private static int indexFor(Class type, int length) {
+        int h = System.identityHashCode(type);
+        // spread higher bits, identity hash codes tend to be clustered
+        h ^= h >>> 16;
+        return h & (length - 1);
+    }
+
+    private static final class Entry {
+        final Class type;
+        final SerializerAdapter serializer;
+        final Entry next;
+
+        Entry(Class type, SerializerAdapter serializer, Entry next) {
+            this.type = type;
+            this.serializer = serializer;
+            this.next = next;
+        }
+    }
+}
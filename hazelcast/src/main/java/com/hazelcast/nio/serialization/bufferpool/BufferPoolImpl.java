@@ -21,26 +21,68 @@ import com.hazelcast.nio.BufferObjectDataOutput;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.nio.serialization.DefaultData;
 import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.util.Clock;
+import com.hazelcast.util.counters.SwCounter;
 
 import java.io.Closeable;
 import java.util.ArrayDeque;
 import java.util.Queue;
+import java.util.concurrent.TimeUnit;
 
 import static com.hazelcast.nio.IOUtil.closeResource;
+import static com.hazelcast.util.counters.SwCounter.newSwCounter;
 
 /**
  * Default {BufferPool} implementation.
  *
+ * The output buffers are pooled in size classes, by the number of bytes they have written:
+ * <ol>
+ * <li>regular: buffers that have written at most {@link #LARGE_OUTPUT_THRESHOLD} bytes. They are cleared on return,
+ * which shrinks a grown buffer back to a bounded size.</li>
+ * <li>large: {@link #LARGE_SIZE_CLASSES} classes above {@link #LARGE_OUTPUT_THRESHOLD}, each one up to
+ * {@code 1 << }{@link #SIZE_CLASS_SHIFT} times as large as the previous one, up to {@link #MAX_RETAINED_LARGE_OUTPUT}
+ * bytes. A single buffer per class is retained with its grown capacity, so that a sequence of large values doesn't
+ * need to grow a buffer over and over again. A retained buffer which isn't taken for
+ * {@link #LARGE_OUTPUT_IDLE_MILLIS} is released the next time any output buffer is taken or returned. Buffers that
+ * have written more than {@link #MAX_RETAINED_LARGE_OUTPUT} bytes are never retained, so a single huge value can't
+ * permanently bloat the pool.</li>
+ * </ol>
+ * Which size class is taken is predicted from the size of the last returned output buffer; if there is no retained
+ * buffer of that class, one of a larger class is taken.
+ *
+ * The hit/miss counters are only written by the owning thread, but can be read by any thread.
+ *
  * This class is designed to that a subclass can be made. This is done for the Enterprise version.
  */
 public class BufferPoolImpl implements BufferPool {
     static final int MAX_POOLED_ITEMS = 3;
+    static final int LARGE_OUTPUT_THRESHOLD = 64 * 1024;
+    static final int SIZE_CLASS_SHIFT = 2;
+    static final int LARGE_SIZE_CLASSES = 3;
+    static final int MAX_RETAINED_LARGE_OUTPUT = LARGE_OUTPUT_THRESHOLD << (SIZE_CLASS_SHIFT * LARGE_SIZE_CLASSES);
+    static final long LARGE_OUTPUT_IDLE_MILLIS = TimeUnit.SECONDS.toMillis(10);
+
+    private static final int REGULAR_SIZE_CLASS = -1;
 
     protected final SerializationService serializationService;
 
     // accessible for testing.
     final Queue<BufferObjectDataOutput> outputQueue = new ArrayDeque<BufferObjectDataOutput>(MAX_POOLED_ITEMS);
     final Queue<BufferObjectDataInput> inputQueue = new ArrayDeque<BufferObjectDataInput>(MAX_POOLED_ITEMS);
+    final BufferObjectDataOutput[] largeOutputs = new BufferObjectDataOutput[LARGE_SIZE_CLASSES];
+
+    final SwCounter outputHits = newSwCounter();
+    final SwCounter outputMisses = newSwCounter();
+    final SwCounter inputHits = newSwCounter();
+    final SwCounter inputMisses = newSwCounter();
+    final SwCounter outputDiscards = newSwCounter();
+    // the number of bytes written by the retained large outputs; a lower bound of their capacity.
+    volatile long largeOutputBytes;
+
+    private final int[] largeOutputSizes = new int[LARGE_SIZE_CLASSES];
+    private final long[] largeOutputReturnTimes = new long[LARGE_SIZE_CLASSES];
+    private int retainedLargeOutputs;
+    private int lastSizeClass = REGULAR_SIZE_CLASS;
 
     public BufferPoolImpl(SerializationService serializationService) {
         this.serializationService = serializationService;
@@ -48,9 +90,23 @@ public class BufferPoolImpl implements BufferPool {
 
     @Override
     public BufferObjectDataOutput takeOutputBuffer() {
-        BufferObjectDataOutput out = outputQueue.poll();
+        BufferObjectDataOutput out = null;
+        if (retainedLargeOutputs > 0) {
+            releaseIdleLargeOutputs(currentTimeMillis());
+            if (lastSizeClass != REGULAR_SIZE_CLASS) {
+                out = takeLargeOutput(lastSizeClass);
+            }
+        }
+
+        if (out == null) {
+            out = outputQueue.poll();
+        }
+
         if (out == null) {
+            outputMisses.inc();
             out = serializationService.createObjectDataOutput();
+        } else {
+            outputHits.inc();
         }
         return out;
     }
@@ -61,16 +117,34 @@ public class BufferPoolImpl implements BufferPool {
             return;
         }
 
+        // a thread that only writes small values from now on never predicts a large class again,
+        // so idleness is checked on return as well and not only when a large output could be taken.
+        if (retainedLargeOutputs > 0) {
+            releaseIdleLargeOutputs(currentTimeMillis());
+        }
+
+        int size = out.position();
+        lastSizeClass = sizeClass(size);
+        if (lastSizeClass != REGULAR_SIZE_CLASS) {
+            retainOrCloseLargeOutput(out, size, lastSizeClass);
+            return;
+        }
+
         out.clear();
 
-        offerOrClose(outputQueue, out);
+        if (!offerOrClose(outputQueue, out)) {
+            outputDiscards.inc();
+        }
     }
 
     @Override
     public BufferObjectDataInput takeInputBuffer(Data data) {
         BufferObjectDataInput in = inputQueue.poll();
         if (in == null) {
+            inputMisses.inc();
             in = serializationService.createObjectDataInput((byte[]) null);
+        } else {
+            inputHits.inc();
         }
         in.init(data.toByteArray(), DefaultData.DATA_OFFSET);
         return in;
@@ -87,12 +161,79 @@ public class BufferPoolImpl implements BufferPool {
         offerOrClose(inputQueue, in);
     }
 
-    private static <C extends Closeable> void offerOrClose(Queue<C> queue, C item) {
+    // accessible for testing.
+    long currentTimeMillis() {
+        return Clock.currentTimeMillis();
+    }
+
+    /**
+     * Returns the size class of an output buffer which has written the given number of bytes: {@code -1} for the
+     * regular class, else the index of the large class. Sizes above {@link #MAX_RETAINED_LARGE_OUTPUT} get an index
+     * beyond the large classes.
+     */
+    static int sizeClass(int size) {
+        if (size <= LARGE_OUTPUT_THRESHOLD) {
+            return REGULAR_SIZE_CLASS;
+        }
+        int sizeClass = 0;
+        long limit = (long) LARGE_OUTPUT_THRESHOLD << SIZE_CLASS_SHIFT;
+        while (size > limit) {
+            sizeClass++;
+            limit <<= SIZE_CLASS_SHIFT;
+        }
+        return sizeClass;
+    }
+
+    private BufferObjectDataOutput takeLargeOutput(int sizeClass) {
+        for (int i = sizeClass; i < LARGE_SIZE_CLASSES; i++) {
+            if (largeOutputs[i] != null) {
+                return removeLargeOutput(i);
+            }
+        }
+        return null;
+    }
+
+    private BufferObjectDataOutput removeLargeOutput(int sizeClass) {
+        BufferObjectDataOutput out = largeOutputs[sizeClass];
+        largeOutputs[sizeClass] = null;
+        largeOutputBytes -= largeOutputSizes[sizeClass];
+        largeOutputSizes[sizeClass] = 0;
+        retainedLargeOutputs--;
+        return out;
+    }
+
+    private void releaseIdleLargeOutputs(long now) {
+        for (int i = 0; i < LARGE_SIZE_CLASSES; i++) {
+            if (largeOutputs[i] != null && now - largeOutputReturnTimes[i] >= LARGE_OUTPUT_IDLE_MILLIS) {
+                closeResource(removeLargeOutput(i));
+                outputDiscards.inc();
+            }
+        }
+    }
+
+    private void retainOrCloseLargeOutput(BufferObjectDataOutput out, int size, int sizeClass) {
+        if (sizeClass >= LARGE_SIZE_CLASSES || largeOutputs[sizeClass] != null) {
+            closeResource(out);
+            outputDiscards.inc();
+            return;
+        }
+
+        // we don't clear the buffer since that would shrink it; we only rewind it.
+        out.position(0);
+        largeOutputs[sizeClass] = out;
+        largeOutputSizes[sizeClass] = size;
+        largeOutputReturnTimes[sizeClass] = currentTimeMillis();
+        largeOutputBytes += size;
+        retainedLargeOutputs++;
+    }
+
+    private static <C extends Closeable> boolean offerOrClose(Queue<C> queue, C item) {
         if (queue.size() == MAX_POOLED_ITEMS) {
             closeResource(item);
-            return;
+            return false;
         }
 
         queue.offer(item);
+        return true;
     }
 }
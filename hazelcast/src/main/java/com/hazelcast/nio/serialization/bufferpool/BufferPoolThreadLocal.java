@@ -16,6 +16,7 @@
 
 package com.hazelcast.nio.serialization.bufferpool;
 
+import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.nio.serialization.SerializationService;
 import com.hazelcast.util.ConcurrentReferenceHashMap;
 
@@ -29,11 +30,21 @@ import java.util.concurrent.ConcurrentMap;
  * - buffers can contain references to hz instance specifics
  * - buffers for a given hz instance should be cleanable when the instance shuts down and we don't
  * want to have memory leaks.
+ *
+ * The probes aggregate the counters of all {@link BufferPoolImpl} instances; they are only evaluated when the
+ * metrics are read, so there is no overhead on taking and returning buffers.
  */
 public final class BufferPoolThreadLocal {
 
     private static final float LOAD_FACTOR = 0.91f;
 
+    private static final int OUTPUT_HITS = 0;
+    private static final int OUTPUT_MISSES = 1;
+    private static final int INPUT_HITS = 2;
+    private static final int INPUT_MISSES = 3;
+    private static final int OUTPUT_DISCARDS = 4;
+    private static final int LARGE_OUTPUT_BYTES = 5;
+
     private final ConcurrentMap<Thread, BufferPool> pools;
     private final SerializationService serializationService;
     private final BufferPoolFactory bufferPoolFactory;
@@ -59,4 +70,73 @@ public final class BufferPoolThreadLocal {
     public void clear() {
         pools.clear();
     }
+
+    @Probe
+    int poolCount() {
+        return pools.size();
+    }
+
+    @Probe
+    long outputHits() {
+        return sum(OUTPUT_HITS);
+    }
+
+    @Probe
+    long outputMisses() {
+        return sum(OUTPUT_MISSES);
+    }
+
+    @Probe
+    long inputHits() {
+        return sum(INPUT_HITS);
+    }
+
+    @Probe
+    long inputMisses() {
+        return sum(INPUT_MISSES);
+    }
+
+    @Probe
+    long outputDiscards() {
+        return sum(OUTPUT_DISCARDS);
+    }
+
+    @Probe
+    long largeOutputBytesRetained() {
+        return sum(LARGE_OUTPUT_BYTES);
+    }
+
+    private long sum(int metric) {
+        long sum = 0;
+        for (BufferPool pool : pools.values()) {
+            if (!(pool instanceof BufferPoolImpl)) {
+                continue;
+            }
+
+            BufferPoolImpl poolImpl = (BufferPoolImpl) pool;
+            switch (metric) {
+                case OUTPUT_HITS:
+                    sum += poolImpl.outputHits.get();
+                    break;
+                case OUTPUT_MISSES:
+                    sum += poolImpl.outputMisses.get();
+                    break;
+                case INPUT_HITS:
+                    sum += poolImpl.inputHits.get();
+                    break;
+                case INPUT_MISSES:
+                    sum += poolImpl.inputMisses.get();
+                    break;
+                case OUTPUT_DISCARDS:
+                    sum += poolImpl.outputDiscards.get();
+                    break;
+                case LARGE_OUTPUT_BYTES:
+                    sum += poolImpl.largeOutputBytes;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown metric: " + metric);
+            }
+        }
+        return sum;
+    }
 }
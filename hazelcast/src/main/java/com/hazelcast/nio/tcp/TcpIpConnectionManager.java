@@ -19,6 +19,8 @@ package com.hazelcast.nio.tcp;
 import com.hazelcast.cluster.impl.BindMessage;
 import com.hazelcast.config.SocketInterceptorConfig;
 import com.hazelcast.instance.HazelcastThreadGroup;
+import com.hazelcast.internal.metrics.MetricsRegistry;
+import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.logging.LoggingService;
 import com.hazelcast.nio.Address;
@@ -58,6 +60,8 @@ public class TcpIpConnectionManager implements ConnectionManager {
 
     final int socketSendBufferSize;
 
+    final boolean socketBufferDirect;
+
     private final ConstructorFunction<Address, TcpIpConnectionMonitor> monitorConstructor
             = new ConstructorFunction<Address, TcpIpConnectionMonitor>() {
         public TcpIpConnectionMonitor createNew(Address endpoint) {
@@ -75,19 +79,23 @@ public class TcpIpConnectionManager implements ConnectionManager {
 
     private final boolean socketNoDelay;
 
+    @Probe(name = "count")
     private final ConcurrentHashMap<Address, Connection> connectionsMap = new ConcurrentHashMap<Address, Connection>(100);
 
     private final ConcurrentHashMap<Address, TcpIpConnectionMonitor> monitors =
             new ConcurrentHashMap<Address, TcpIpConnectionMonitor>(100);
 
+    @Probe(name = "inProgressCount")
     private final Set<Address> connectionsInProgress =
             Collections.newSetFromMap(new ConcurrentHashMap<Address, Boolean>());
 
     private final Set<ConnectionListener> connectionListeners = new CopyOnWriteArraySet<ConnectionListener>();
 
+    @Probe(name = "acceptedSocketCount")
     private final Set<SocketChannelWrapper> acceptedSockets =
             Collections.newSetFromMap(new ConcurrentHashMap<SocketChannelWrapper, Boolean>());
 
+    @Probe(name = "activeCount")
     private final Set<TcpIpConnection> activeConnections =
             Collections.newSetFromMap(new ConcurrentHashMap<TcpIpConnection, Boolean>());
 
@@ -121,6 +129,7 @@ public class TcpIpConnectionManager implements ConnectionManager {
 
     private IOBalancer ioBalancer;
     private final LoggingService loggingService;
+    private final MetricsRegistry metricsRegistry;
 
     public TcpIpConnectionManager(IOService ioService, ServerSocketChannel serverSocketChannel,
                                   HazelcastThreadGroup hazelcastThreadGroup, LoggingService loggingService) {
@@ -130,6 +139,7 @@ public class TcpIpConnectionManager implements ConnectionManager {
         this.logger = loggingService.getLogger(TcpIpConnectionManager.class.getName());
         this.socketReceiveBufferSize = ioService.getSocketReceiveBufferSize() * IOService.KILO_BYTE;
         this.socketSendBufferSize = ioService.getSocketSendBufferSize() * IOService.KILO_BYTE;
+        this.socketBufferDirect = ioService.isSocketBufferDirect();
         this.socketLingerSeconds = ioService.getSocketLingerSeconds();
         this.socketConnectTimeoutSeconds = ioService.getSocketConnectTimeoutSeconds();
         this.socketKeepAlive = ioService.getSocketKeepAlive();
@@ -142,6 +152,8 @@ public class TcpIpConnectionManager implements ConnectionManager {
         this.outboundPorts.addAll(ports);
         this.socketChannelWrapperFactory = ioService.getSocketChannelWrapperFactory();
         this.loggingService = loggingService;
+        this.metricsRegistry = ioService.getMetricsRegistry();
+        metricsRegistry.scanAndRegister(this, "tcp.connection");
     }
 
     public void interceptSocket(Socket socket, boolean onAccept) throws IOException {
@@ -323,6 +335,8 @@ public class TcpIpConnectionManager implements ConnectionManager {
         activeConnections.add(connection);
         acceptedSockets.remove(channel);
 
+        metricsRegistry.scanAndRegister(connection.getWriteHandler(),
+                "tcp.connection[" + connection.getRemoteSocketAddress() + "].out");
         connection.start();
 
         log(Level.INFO, "Established socket connection between " + channel.socket().getLocalSocketAddress());
@@ -378,6 +392,9 @@ public class TcpIpConnectionManager implements ConnectionManager {
             log(Level.FINEST, "Destroying " + connection);
         }
         activeConnections.remove(connection);
+        if (connection instanceof TcpIpConnection) {
+            metricsRegistry.deregister(((TcpIpConnection) connection).getWriteHandler());
+        }
         final Address endPoint = connection.getEndPoint();
         if (endPoint != null) {
             connectionsInProgress.remove(endPoint);
@@ -16,11 +16,13 @@
 
 package com.hazelcast.nio.tcp;
 
+import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.nio.Protocols;
 import com.hazelcast.nio.SocketWritable;
 import com.hazelcast.nio.ascii.SocketTextWriter;
 import com.hazelcast.util.Clock;
 import com.hazelcast.util.EmptyStatement;
+import com.hazelcast.util.counters.SwCounter;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
@@ -30,9 +32,11 @@ import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 
 import static com.hazelcast.util.StringUtil.stringToBytes;
+import static com.hazelcast.util.counters.SwCounter.newSwCounter;
 
 /**
  * The writing side of the {@link TcpIpConnection}.
@@ -43,12 +47,21 @@ public final class WriteHandler extends AbstractSelectionHandler implements Runn
 
     private final Queue<SocketWritable> writeQueue = new ConcurrentLinkedQueue<SocketWritable>();
     private final Queue<SocketWritable> urgentWriteQueue = new ConcurrentLinkedQueue<SocketWritable>();
+    // the sizes of the queues, since the size() of a ConcurrentLinkedQueue walks the whole queue
+    @Probe(name = "writeQueueSize")
+    private final AtomicInteger writeQueueSize = new AtomicInteger();
+    @Probe(name = "priorityWriteQueueSize")
+    private final AtomicInteger urgentWriteQueueSize = new AtomicInteger();
+    // only incremented by the IO thread currently owning this handler
+    @Probe(name = "bytesWritten")
+    private final SwCounter bytesWritten = newSwCounter();
     private final AtomicBoolean scheduled = new AtomicBoolean(false);
     private final ByteBuffer outputBuffer;
     private SocketWritable currentPacket;
     private SocketWriter socketWriter;
     private volatile long lastHandle;
     //This field will be incremented by a single thread. It can be read by multiple threads.
+    @Probe(name = "eventCount")
     private volatile long eventCount;
     private boolean shutdown;
     // this field will be accessed by the IOSelector-thread or
@@ -58,7 +71,8 @@ public final class WriteHandler extends AbstractSelectionHandler implements Runn
 
     WriteHandler(TcpIpConnection connection, IOSelector ioSelector) {
         super(connection, ioSelector, SelectionKey.OP_WRITE);
-        this.outputBuffer = ByteBuffer.allocate(connectionManager.socketSendBufferSize);
+        int size = connectionManager.socketSendBufferSize;
+        this.outputBuffer = connectionManager.socketBufferDirect ? ByteBuffer.allocateDirect(size) : ByteBuffer.allocate(size);
     }
 
     long getLastHandle() {
@@ -104,8 +118,10 @@ public final class WriteHandler extends AbstractSelectionHandler implements Runn
 
     public void offer(SocketWritable packet) {
         if (packet.isUrgent()) {
+            urgentWriteQueueSize.incrementAndGet();
             urgentWriteQueue.offer(packet);
         } else {
+            writeQueueSize.incrementAndGet();
             writeQueue.offer(packet);
         }
 
@@ -116,8 +132,13 @@ public final class WriteHandler extends AbstractSelectionHandler implements Runn
         for (; ; ) {
             SocketWritable packet = urgentWriteQueue.poll();
 
-            if (packet == null) {
+            if (packet != null) {
+                urgentWriteQueueSize.decrementAndGet();
+            } else {
                 packet = writeQueue.poll();
+                if (packet != null) {
+                    writeQueueSize.decrementAndGet();
+                }
             }
 
             if (packet instanceof TaskPacket) {
@@ -261,7 +282,8 @@ public final class WriteHandler extends AbstractSelectionHandler implements Runn
         // So there is data for writing, so lets prepare the buffer for writing and then write it to the socketChannel.
         outputBuffer.flip();
         try {
-            socketChannel.write(outputBuffer);
+            int written = socketChannel.write(outputBuffer);
+            bytesWritten.inc(written);
         } catch (Exception e) {
             currentPacket = null;
             handleSocketException(e);
@@ -322,7 +344,9 @@ public final class WriteHandler extends AbstractSelectionHandler implements Runn
 
     public void shutdown() {
         writeQueue.clear();
+        writeQueueSize.set(0);
         urgentWriteQueue.clear();
+        urgentWriteQueueSize.set(0);
 
         ShutdownTask shutdownTask = new ShutdownTask();
         offer(shutdownTask);
@@ -26,6 +26,7 @@ import com.hazelcast.core.MigrationListener;
 import com.hazelcast.instance.MemberImpl;
 import com.hazelcast.instance.Node;
 import com.hazelcast.instance.OutOfMemoryErrorDispatcher;
+import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.logging.Logger;
 import com.hazelcast.nio.Address;
@@ -134,6 +135,7 @@ public class InternalPartitionServiceImpl implements InternalPartitionService, M
     private final PartitionServiceProxy proxy;
     private final Lock lock = new ReentrantLock();
     private final AtomicInteger stateVersion = new AtomicInteger();
+    @Probe(name = "migrationQueueSize")
     private final BlockingQueue<Runnable> migrationQueue = new LinkedBlockingQueue<Runnable>();
     private final AtomicBoolean migrationActive = new AtomicBoolean(true);
     private final AtomicLong lastRepartitionTime = new AtomicLong();
@@ -148,6 +150,7 @@ public class InternalPartitionServiceImpl implements InternalPartitionService, M
     private volatile boolean initialized;
 
     // updates will be done under lock, but reads will be multithreaded.
+    @Probe(name = "activeMigrations")
     private final ConcurrentMap<Integer, MigrationInfo> activeMigrations
             = new ConcurrentHashMap<Integer, MigrationInfo>(3, 0.75f, 1);
 
@@ -213,6 +216,8 @@ public class InternalPartitionServiceImpl implements InternalPartitionService, M
 
         maxParallelReplications = node.groupProperties.PARTITION_MAX_PARALLEL_REPLICATIONS.getInteger();
         replicaSyncProcessLock = new Semaphore(maxParallelReplications);
+
+        nodeEngine.getMetricsRegistry().scanAndRegister(this, "partitions");
     }
 
     private long calculateMaxMigrationDelayOnMemberRemoved() {
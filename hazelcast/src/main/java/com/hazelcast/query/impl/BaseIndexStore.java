@@ -16,19 +16,71 @@
 
 package com.hazelcast.query.impl;
 
+import com.hazelcast.util.JvmMemoryLayout;
+
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * Base class for concrete index store implementations
+ * <p/>
+ * Keeps track of the heap cost of the store: the map entries holding the indexed entries, the indexed
+ * {@link QueryableEntry} objects and the per value maps. Index values are accounted for by {@link IndexImpl}.
+ * The cost is only changed while holding the write lock.
  */
 public abstract class BaseIndexStore implements IndexStore {
 
     protected static final float LOAD_FACTOR = 0.75F;
 
+    // a map holding the entries of a single value, with its table of 2 slots
+    private static final long VALUE_MAP_COST = JvmMemoryLayout.shallowSizeOf(ConcurrentHashMap.class)
+            + JvmMemoryLayout.sizeOfReferenceArray(2);
+
     protected ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
     protected ReentrantReadWriteLock.ReadLock readLock = lock.readLock();
     protected ReentrantReadWriteLock.WriteLock writeLock = lock.writeLock();
 
+    private final long valueEntryCost;
+    private volatile long heapCost;
+
+    /**
+     * @param valueEntryCost the heap cost of an entry in the map from values to their entries
+     */
+    protected BaseIndexStore(long valueEntryCost) {
+        this.valueEntryCost = valueEntryCost;
+    }
+
+    @Override
+    public long getHeapCost() {
+        return heapCost;
+    }
+
+    @edu.umd.cs.findbugs.annotations.SuppressWarnings({"VO_VOLATILE_INCREMENT" })
+    protected void onEntryAdded(QueryableEntry entry) {
+        heapCost += JvmMemoryLayout.CONCURRENT_HASH_MAP_ENTRY_COST + JvmMemoryLayout.shallowSizeOf(entry.getClass());
+    }
+
+    @edu.umd.cs.findbugs.annotations.SuppressWarnings({"VO_VOLATILE_INCREMENT" })
+    protected void onEntryRemoved(QueryableEntry entry) {
+        if (entry != null) {
+            heapCost -= JvmMemoryLayout.CONCURRENT_HASH_MAP_ENTRY_COST + JvmMemoryLayout.shallowSizeOf(entry.getClass());
+        }
+    }
+
+    @edu.umd.cs.findbugs.annotations.SuppressWarnings({"VO_VOLATILE_INCREMENT" })
+    protected void onValueAdded() {
+        heapCost += valueEntryCost + VALUE_MAP_COST;
+    }
+
+    @edu.umd.cs.findbugs.annotations.SuppressWarnings({"VO_VOLATILE_INCREMENT" })
+    protected void onValueRemoved() {
+        heapCost -= valueEntryCost + VALUE_MAP_COST;
+    }
+
+    protected void resetHeapCost() {
+        heapCost = 0;
+    }
+
     protected void takeWriteLock() {
         writeLock.lock();
     }
@@ -42,4 +42,12 @@ public interface Index {
     String getAttributeName();
 
     boolean isOrdered();
+
+    /**
+     * Returns the heap cost of this index in bytes: its index values and the structures referencing the indexed
+     * entries, not including the indexed entries themselves.
+     *
+     * @return the heap cost of this index
+     */
+    long getHeapCost();
 }
@@ -19,11 +19,13 @@ package com.hazelcast.query.impl;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.query.QueryException;
 import com.hazelcast.query.impl.TypeConverters.TypeConverter;
+import com.hazelcast.util.JvmMemoryLayout;
 
 import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Implementation for {@link com.hazelcast.query.impl.Index}
@@ -40,6 +42,8 @@ public class IndexImpl implements Index {
     private final IndexStore indexStore;
     private final String attribute;
     private final boolean ordered;
+    // heap cost of the entries of recordValues and the index values they hold
+    private final AtomicLong heapCost = new AtomicLong();
 
     private volatile TypeConverter converter;
 
@@ -53,6 +57,7 @@ public class IndexImpl implements Index {
     public void removeEntryIndex(Data indexKey) {
         Comparable oldValue = recordValues.remove(indexKey);
         if (oldValue != null) {
+            heapCost.addAndGet(-(JvmMemoryLayout.CONCURRENT_HASH_MAP_ENTRY_COST + getHeapCost(oldValue)));
             indexStore.removeIndex(oldValue, indexKey);
         }
     }
@@ -61,6 +66,7 @@ public class IndexImpl implements Index {
     public void clear() {
         recordValues.clear();
         indexStore.clear();
+        heapCost.set(0);
         // Clear converter
         converter = null;
     }
@@ -95,9 +101,11 @@ public class IndexImpl implements Index {
         recordValues.put(key, newValue);
         if (oldValue == null) {
             // new
+            heapCost.addAndGet(JvmMemoryLayout.CONCURRENT_HASH_MAP_ENTRY_COST + getHeapCost(newValue));
             indexStore.newIndex(newValue, e);
         } else {
             // update
+            heapCost.addAndGet(getHeapCost(newValue) - getHeapCost(oldValue));
             indexStore.updateIndex(oldValue, newValue, e);
         }
     }
@@ -150,6 +158,15 @@ public class IndexImpl implements Index {
         return results;
     }
 
+    @Override
+    public long getHeapCost() {
+        return heapCost.get() + indexStore.getHeapCost();
+    }
+
+    private static long getHeapCost(Comparable value) {
+        return value instanceof NullObject ? 0L : JvmMemoryLayout.deepSizeOf(value);
+    }
+
     private Comparable convert(Comparable value) {
         return converter.convert(value);
     }
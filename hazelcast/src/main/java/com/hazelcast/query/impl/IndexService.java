@@ -77,6 +77,17 @@ public class IndexService {
         return hasIndex;
     }
 
+    /**
+     * Returns the total heap cost of the indexes in bytes.
+     */
+    public long getHeapCost() {
+        long heapCost = 0;
+        for (Index index : getIndexes()) {
+            heapCost += index.getHeapCost();
+        }
+        return heapCost;
+    }
+
     public void saveEntryIndex(QueryableEntry queryableEntry) throws QueryException {
         Index[] indexes = getIndexes();
         for (Index index : indexes) {
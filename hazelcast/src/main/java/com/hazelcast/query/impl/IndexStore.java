@@ -36,4 +36,9 @@ public interface IndexStore {
     Set<QueryableEntry> getRecords(Comparable value);
     void getRecords(MultiResultSet results, Set<Comparable> values);
     ConcurrentMap<Data, QueryableEntry> getRecordMap(Comparable indexValue);
+
+    /**
+     * Returns the heap cost of this index store in bytes, not including the indexed entries themselves.
+     */
+    long getHeapCost();
 }
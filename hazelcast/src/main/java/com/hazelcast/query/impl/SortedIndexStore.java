@@ -17,6 +17,7 @@
 package com.hazelcast.query.impl;
 
 import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.util.JvmMemoryLayout;
 
 import java.util.Map;
 import java.util.Set;
@@ -36,19 +37,28 @@ public class SortedIndexStore extends BaseIndexStore {
     private final ConcurrentSkipListMap<Comparable, ConcurrentMap<Data, QueryableEntry>> recordMap
             = new ConcurrentSkipListMap<Comparable, ConcurrentMap<Data, QueryableEntry>>();
 
+    public SortedIndexStore() {
+        super(JvmMemoryLayout.CONCURRENT_SKIP_LIST_MAP_ENTRY_COST);
+    }
+
     @Override
     public void newIndex(Comparable newValue, QueryableEntry record) {
         takeWriteLock();
         try {
             if (newValue instanceof IndexImpl.NullObject) {
-                recordsWithNullValue.put(record.getIndexKey(), record);
+                if (recordsWithNullValue.put(record.getIndexKey(), record) == null) {
+                    onEntryAdded(record);
+                }
             } else {
                 ConcurrentMap<Data, QueryableEntry> records = recordMap.get(newValue);
                 if (records == null) {
                     records = new ConcurrentHashMap<Data, QueryableEntry>(1, LOAD_FACTOR, 1);
                     recordMap.put(newValue, records);
+                    onValueAdded();
+                }
+                if (records.put(record.getIndexKey(), record) == null) {
+                    onEntryAdded(record);
                 }
-                records.put(record.getIndexKey(), record);
             }
         } finally {
             releaseWriteLock();
@@ -71,13 +81,14 @@ public class SortedIndexStore extends BaseIndexStore {
         takeWriteLock();
         try {
             if (oldValue instanceof IndexImpl.NullObject) {
-                recordsWithNullValue.remove(indexKey);
+                onEntryRemoved(recordsWithNullValue.remove(indexKey));
             } else {
                 ConcurrentMap<Data, QueryableEntry> records = recordMap.get(oldValue);
                 if (records != null) {
-                    records.remove(indexKey);
+                    onEntryRemoved(records.remove(indexKey));
                     if (records.size() == 0) {
                         recordMap.remove(oldValue);
+                        onValueRemoved();
                     }
                 }
             }
@@ -92,6 +103,7 @@ public class SortedIndexStore extends BaseIndexStore {
         try {
             recordsWithNullValue.clear();
             recordMap.clear();
+            resetHeapCost();
         } finally {
             releaseWriteLock();
         }
@@ -73,7 +73,7 @@ public abstract class AbstractReplicatedRecordStore<K, V>
     @Override
     public Object remove(Object key) {
         isNotNull(key, "key");
-        long time = Clock.currentTimeMillis();
+        long startNanos = System.nanoTime();
         storage.checkState();
         V oldValue;
         K marshalledKey = (K) marshallKey(key);
@@ -97,7 +97,7 @@ public abstract class AbstractReplicatedRecordStore<K, V>
         Object unmarshalledOldValue = unmarshallValue(oldValue);
         fireEntryListenerEvent(key, unmarshalledOldValue, null);
         if (replicatedMapConfig.isStatisticsEnabled()) {
-            mapStats.incrementRemoves(Clock.currentTimeMillis() - time);
+            mapStats.incrementRemovesNanos(System.nanoTime() - startNanos);
         }
         return unmarshalledOldValue;
     }
@@ -105,7 +105,7 @@ public abstract class AbstractReplicatedRecordStore<K, V>
     @Override
     public void evict(Object key) {
         isNotNull(key, "key");
-        long time = Clock.currentTimeMillis();
+        long startNanos = System.nanoTime();
         storage.checkState();
         V oldValue;
         K marshalledKey = (K) marshallKey(key);
@@ -125,14 +125,14 @@ public abstract class AbstractReplicatedRecordStore<K, V>
         Object unmarshalledOldValue = unmarshallValue(oldValue);
         fireEntryListenerEvent(key, unmarshalledOldValue, null, EntryEventType.EVICTED);
         if (replicatedMapConfig.isStatisticsEnabled()) {
-            mapStats.incrementRemoves(Clock.currentTimeMillis() - time);
+            mapStats.incrementRemovesNanos(System.nanoTime() - startNanos);
         }
     }
 
     @Override
     public Object get(Object key) {
         isNotNull(key, "key");
-        long time = Clock.currentTimeMillis();
+        long startNanos = System.nanoTime();
         storage.checkState();
         ReplicatedRecord replicatedRecord = storage.get(marshallKey(key));
 
@@ -144,7 +144,7 @@ public abstract class AbstractReplicatedRecordStore<K, V>
 
         Object value = replicatedRecord == null ? null : unmarshallValue(replicatedRecord.getValue());
         if (replicatedMapConfig.isStatisticsEnabled()) {
-            mapStats.incrementGets(Clock.currentTimeMillis() - time);
+            mapStats.incrementGetsNanos(System.nanoTime() - startNanos);
         }
         return value;
     }
@@ -165,7 +165,7 @@ public abstract class AbstractReplicatedRecordStore<K, V>
         if (ttl < 0) {
             throw new IllegalArgumentException("ttl must be a positive integer");
         }
-        long time = Clock.currentTimeMillis();
+        long startNanos = System.nanoTime();
         storage.checkState();
         V oldValue = null;
         K marshalledKey = (K) marshallKey(key);
@@ -194,7 +194,7 @@ public abstract class AbstractReplicatedRecordStore<K, V>
         Object unmarshalledOldValue = unmarshallValue(oldValue);
         fireEntryListenerEvent(key, unmarshalledOldValue, value);
         if (replicatedMapConfig.isStatisticsEnabled()) {
-            mapStats.incrementPuts(Clock.currentTimeMillis() - time);
+            mapStats.incrementPutsNanos(System.nanoTime() - startNanos);
         }
         return unmarshalledOldValue;
     }
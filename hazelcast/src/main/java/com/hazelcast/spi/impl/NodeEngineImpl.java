@@ -23,10 +23,14 @@ import com.hazelcast.instance.GroupProperties;
 import com.hazelcast.instance.MemberImpl;
 import com.hazelcast.instance.Node;
 import com.hazelcast.internal.management.ManagementCenterService;
+import com.hazelcast.internal.metrics.MetricsRegistry;
+import com.hazelcast.internal.metrics.impl.MetricsRegistryImpl;
+import com.hazelcast.internal.monitors.MetricsMonitor;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.nio.Address;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.nio.serialization.SerializationServiceImpl;
 import com.hazelcast.partition.InternalPartitionService;
 import com.hazelcast.partition.MigrationInfo;
 import com.hazelcast.quorum.impl.QuorumServiceImpl;
@@ -80,10 +84,15 @@ public class NodeEngineImpl implements NodeEngine {
     private final WanReplicationService wanReplicationService;
     private final PacketTransceiver packetTransceiver;
     private final QuorumServiceImpl quorumService;
+    private final MetricsRegistryImpl metricsRegistry;
+    private final MetricsMonitor metricsMonitor;
 
     public NodeEngineImpl(Node node) {
         this.node = node;
         this.logger = node.getLogger(NodeEngine.class.getName());
+        this.metricsRegistry = new MetricsRegistryImpl(node.getLogger(MetricsRegistryImpl.class.getName()));
+        this.metricsMonitor = new MetricsMonitor(node, metricsRegistry);
+        registerSerializationMetrics(node.getSerializationService());
         this.proxyService = new ProxyServiceImpl(this);
         this.serviceManager = new ServiceManagerImpl(this);
         this.executionService = new ExecutionServiceImpl(this);
@@ -97,13 +106,29 @@ public class NodeEngineImpl implements NodeEngine {
         quorumService = new QuorumServiceImpl(this);
     }
 
+    private void registerSerializationMetrics(SerializationService serializationService) {
+        if (serializationService instanceof SerializationServiceImpl) {
+            SerializationServiceImpl serializationServiceImpl = (SerializationServiceImpl) serializationService;
+            metricsRegistry.scanAndRegister(serializationServiceImpl.getBufferPoolThreadLocal(), "serialization.bufferPool");
+        }
+    }
+
     public PacketTransceiver getPacketTransceiver() {
         return packetTransceiver;
     }
 
+    public MetricsRegistry getMetricsRegistry() {
+        return metricsRegistry;
+    }
+
+    public MetricsMonitor getMetricsMonitor() {
+        return metricsMonitor;
+    }
+
     public void start() {
         serviceManager.start();
         proxyService.init();
+        metricsMonitor.start();
     }
 
     @Override
@@ -317,5 +342,7 @@ public class NodeEngineImpl implements NodeEngine {
         operationService.shutdown();
         wanReplicationService.shutdown();
         executionService.shutdown();
+        metricsMonitor.shutdown();
+        metricsRegistry.shutdown();
     }
 }
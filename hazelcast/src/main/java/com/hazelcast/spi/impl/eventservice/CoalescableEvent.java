@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.eventservice;
+
+/**
+ * An event that may be coalesced with a pending event for the same key when the queue of a listener overflows
+ * and the queue uses the COALESCE overflow policy. The listener then only receives the most recent of the events.
+ * Only events of the same kind are coalesced, see {@link #canReplace(Object)}.
+ */
+public interface CoalescableEvent {
+
+    /**
+     * Returns the key identifying the events that can be coalesced.
+     *
+     * @return the coalescing key, or {@code null} if this event can't be coalesced.
+     */
+    Object getCoalescingKey();
+
+    /**
+     * Checks if this event may replace the pending event with the same key, e.g. a removal must not replace an addition.
+     *
+     * @param pendingEvent the most recent pending event with the same coalescing key.
+     * @return {@code true} if the listener doesn't need to see the pending event when it sees this one.
+     */
+    boolean canReplace(Object pendingEvent);
+}
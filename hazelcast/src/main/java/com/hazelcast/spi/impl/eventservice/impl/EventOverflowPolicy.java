@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.eventservice.impl;
+
+import com.hazelcast.spi.impl.eventservice.CoalescableEvent;
+
+/**
+ * What a {@link ListenerQueue} does with an event when it is full.
+ */
+public enum EventOverflowPolicy {
+
+    /**
+     * The publisher waits for the listener to catch up, at most for the event queue timeout. The event is dropped
+     * if the queue is still full. Event threads never block, events they publish drop the oldest pending event.
+     */
+    BLOCK,
+
+    /**
+     * The oldest pending event is dropped.
+     */
+    DROP_OLDEST,
+
+    /**
+     * The most recent pending event with the same {@link CoalescableEvent#getCoalescingKey() key} is replaced by the
+     * event if the event {@link CoalescableEvent#canReplace(Object) can replace} it. Else the oldest pending event is
+     * dropped.
+     */
+    COALESCE
+}
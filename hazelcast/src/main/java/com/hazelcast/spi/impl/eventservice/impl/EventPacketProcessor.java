@@ -49,7 +49,11 @@ public class EventPacketProcessor implements StripedRunnable {
         if (registration == null) {
             return;
         }
-        service.dispatchEvent(eventObject, registration.getListener());
+        if (registration.getListenerQueue() == null) {
+            service.dispatchEvent(eventObject, registration.getListener());
+        } else {
+            eventService.enqueue(registration, eventObject);
+        }
     }
 
     private EventPublishingService<Object, Object> getPublishingService(String serviceName) {
@@ -20,6 +20,7 @@ import com.hazelcast.instance.GroupProperties;
 import com.hazelcast.instance.HazelcastThreadGroup;
 import com.hazelcast.instance.MemberImpl;
 import com.hazelcast.instance.Node;
+import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.nio.Address;
 import com.hazelcast.nio.Connection;
@@ -52,6 +53,7 @@ import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 
@@ -77,9 +79,16 @@ public class EventServiceImpl implements InternalEventService {
     private final ConcurrentMap<String, EventServiceSegment> segments;
     private final StripedExecutor eventExecutor;
     private final int eventQueueTimeoutMs;
+    private final int listenerQueueCapacity;
+    private final EventOverflowPolicy defaultOverflowPolicy;
+    @Probe(name = "threadCount")
     private final int eventThreadCount;
+    @Probe(name = "queueCapacity")
     private final int eventQueueCapacity;
+    @Probe(name = "totalFailures")
     private final AtomicLong totalFailures = new AtomicLong();
+    // the pending events of all listener queues, bounded by the event queue capacity
+    private final AtomicInteger pendingEventCount = new AtomicInteger();
 
     public EventServiceImpl(NodeEngineImpl nodeEngine) {
         this.nodeEngine = nodeEngine;
@@ -89,6 +98,9 @@ public class EventServiceImpl implements InternalEventService {
         this.eventThreadCount = groupProperties.EVENT_THREAD_COUNT.getInteger();
         this.eventQueueCapacity = groupProperties.EVENT_QUEUE_CAPACITY.getInteger();
         this.eventQueueTimeoutMs = groupProperties.EVENT_QUEUE_TIMEOUT_MILLIS.getInteger();
+        this.listenerQueueCapacity = groupProperties.EVENT_LISTENER_QUEUE_CAPACITY.getInteger();
+        this.defaultOverflowPolicy = EventOverflowPolicy.valueOf(
+                groupProperties.EVENT_LISTENER_QUEUE_OVERFLOW_POLICY.getString().toUpperCase());
         HazelcastThreadGroup threadGroup = node.getHazelcastThreadGroup();
         this.eventExecutor = new StripedExecutor(
                 node.getLogger(EventServiceImpl.class),
@@ -101,6 +113,7 @@ public class EventServiceImpl implements InternalEventService {
         this.deregistrationExceptionHandler
                 = new FutureUtilExceptionHandler(logger, "Member left while de-registering listener...");
         this.segments = new ConcurrentHashMap<String, EventServiceSegment>();
+        nodeEngine.getMetricsRegistry().scanAndRegister(this, "event");
     }
 
     @Override
@@ -129,9 +142,19 @@ public class EventServiceImpl implements InternalEventService {
         return eventQueueCapacity;
     }
 
+    @Probe(name = "queueSize")
     @Override
     public int getEventQueueSize() {
-        return eventExecutor.getWorkQueueSize();
+        return eventExecutor.getWorkQueueSize() + pendingEventCount.get();
+    }
+
+    @Probe(name = "listenerCount")
+    private int getRegistrationCount() {
+        int count = 0;
+        for (EventServiceSegment segment : segments.values()) {
+            count += segment.getRegistrationIdMap().size();
+        }
+        return count;
     }
 
     @Override
@@ -165,7 +188,9 @@ public class EventServiceImpl implements InternalEventService {
         EventServiceSegment segment = getSegment(serviceName, true);
         Registration reg = new Registration(UUID.randomUUID().toString(), serviceName, topic, filter,
                 nodeEngine.getThisAddress(), listener, localOnly);
+        createListenerQueue(reg);
         if (!segment.addRegistration(topic, reg)) {
+            destroyListenerQueue(reg);
             return null;
         }
 
@@ -175,6 +200,32 @@ public class EventServiceImpl implements InternalEventService {
         return reg;
     }
 
+    private void createListenerQueue(Registration reg) {
+        String serviceName = reg.getServiceName();
+        ListenerQueue listenerQueue = new ListenerQueue(this, reg, getOverflowPolicy(serviceName),
+                listenerQueueCapacity, eventQueueTimeoutMs);
+        reg.setListenerQueue(listenerQueue);
+        nodeEngine.getMetricsRegistry().scanAndRegister(listenerQueue,
+                "event.listener[" + serviceName + ":" + reg.getTopic() + ":" + reg.getId() + "]");
+    }
+
+    private void destroyListenerQueue(Registration reg) {
+        ListenerQueue listenerQueue = reg.getListenerQueue();
+        if (listenerQueue != null) {
+            nodeEngine.getMetricsRegistry().deregister(listenerQueue);
+            listenerQueue.clear();
+        }
+    }
+
+    private EventOverflowPolicy getOverflowPolicy(String serviceName) {
+        String name = GroupProperties.PROP_EVENT_LISTENER_QUEUE_OVERFLOW_POLICY + "." + serviceName;
+        String policy = nodeEngine.getConfig().getProperty(name);
+        if (policy == null) {
+            policy = System.getProperty(name);
+        }
+        return policy == null ? defaultOverflowPolicy : EventOverflowPolicy.valueOf(policy.toUpperCase());
+    }
+
     public boolean handleRegistration(Registration reg) {
         if (nodeEngine.getThisAddress().equals(reg.getSubscriber())) {
             return false;
@@ -188,8 +239,11 @@ public class EventServiceImpl implements InternalEventService {
         final EventServiceSegment segment = getSegment(serviceName, false);
         if (segment != null) {
             final Registration reg = segment.removeRegistration(topic, String.valueOf(id));
-            if (reg != null && !reg.isLocalOnly()) {
-                invokeDeregistrationOnOtherNodes(serviceName, topic, String.valueOf(id));
+            if (reg != null) {
+                destroyListenerQueue(reg);
+                if (!reg.isLocalOnly()) {
+                    invokeDeregistrationOnOtherNodes(serviceName, topic, String.valueOf(id));
+                }
             }
             return reg != null;
         }
@@ -200,7 +254,9 @@ public class EventServiceImpl implements InternalEventService {
     public void deregisterAllListeners(String serviceName, String topic) {
         final EventServiceSegment segment = getSegment(serviceName, false);
         if (segment != null) {
-            segment.removeRegistrations(topic);
+            for (Registration reg : segment.removeRegistrations(topic)) {
+                destroyListenerQueue(reg);
+            }
         }
     }
 
@@ -331,22 +387,68 @@ public class EventServiceImpl implements InternalEventService {
     private void executeLocal(String serviceName, Object event, EventRegistration registration, int orderKey) {
         if (nodeEngine.isActive()) {
             Registration reg = (Registration) registration;
-            try {
-                if (reg.getListener() != null) {
-                    eventExecutor.execute(new LocalEventDispatcher(this, serviceName, event, reg.getListener()
-                            , orderKey, eventQueueTimeoutMs));
-                } else {
-                    logger.warning("Something seems wrong! Listener instance is null! -> " + reg);
-                }
-            } catch (RejectedExecutionException e) {
-                if (eventExecutor.isLive()) {
-                    logFailure("EventQueue overloaded! %s failed to publish to %s:%s",
-                            event, reg.getServiceName(), reg.getTopic());
-                }
+            if (reg.getListener() != null) {
+                enqueue(reg, event);
+            } else {
+                logger.warning("Something seems wrong! Listener instance is null! -> " + reg);
             }
         }
     }
 
+    /**
+     * Queues the event for the local listener of the registration. Events are never dispatched on the calling thread,
+     * a full queue only affects its own listener.
+     */
+    void enqueue(Registration reg, Object event) {
+        ListenerQueue listenerQueue = reg.getListenerQueue();
+        if (listenerQueue == null) {
+            // only registrations made on this member have a queue
+            return;
+        }
+        if (!listenerQueue.offer(event)) {
+            logFailure("Listener queue overloaded! %s dropped an event for %s:%s",
+                    listenerQueue, reg.getServiceName(), reg.getTopic());
+        }
+    }
+
+    boolean isEventQueueFull() {
+        return pendingEventCount.get() >= eventQueueCapacity;
+    }
+
+    void onEventQueued() {
+        pendingEventCount.incrementAndGet();
+    }
+
+    void onEventsRemoved(int count) {
+        if (count > 0) {
+            pendingEventCount.addAndGet(-count);
+        }
+    }
+
+    void executeListenerQueue(ListenerQueue listenerQueue) {
+        eventExecutor.execute(listenerQueue);
+    }
+
+    /**
+     * Retries to schedule the listener queue later, its pending events would otherwise wait for the next event.
+     */
+    void onListenerQueueRejected(final ListenerQueue listenerQueue) {
+        if (!eventExecutor.isLive() || !nodeEngine.isActive()) {
+            return;
+        }
+        logFailure("EventQueue overloaded! Failed to schedule %s, retrying", listenerQueue);
+        nodeEngine.getExecutionService().schedule(new Runnable() {
+            @Override
+            public void run() {
+                listenerQueue.scheduleIfPending();
+            }
+        }, Math.max(1, eventQueueTimeoutMs), TimeUnit.MILLISECONDS);
+    }
+
+    boolean isEventThread() {
+        return eventExecutor.isWorkerThread(Thread.currentThread());
+    }
+
     private void sendEventPacket(Address subscriber, EventPacket eventPacket, int orderKey) {
         final String serviceName = eventPacket.getServiceName();
         final EventServiceSegment segment = getSegment(serviceName, true);
@@ -435,6 +537,9 @@ public class EventServiceImpl implements InternalEventService {
         logger.finest("Stopping event executor...");
         eventExecutor.shutdown();
         for (EventServiceSegment segment : segments.values()) {
+            for (Registration reg : segment.getRegistrationIdMap().values()) {
+                destroyListenerQueue(reg);
+            }
             segment.clear();
         }
         segments.clear();
@@ -447,7 +552,7 @@ public class EventServiceImpl implements InternalEventService {
         }
     }
 
-    private void logFailure(String message, Object... args) {
+    void logFailure(String message, Object... args) {
         Level level = totalFailures.getAndIncrement() % WARNING_LOG_FREQUENCY == 0
                 ? Level.WARNING : Level.FINEST;
 
@@ -81,13 +81,15 @@ public class EventServiceSegment {
         return registration;
     }
 
-    void removeRegistrations(String topic) {
+    Collection<Registration> removeRegistrations(String topic) {
         final Collection<Registration> all = registrations.remove(topic);
-        if (all != null) {
-            for (Registration reg : all) {
-                registrationIdMap.remove(reg.getId());
-            }
+        if (all == null) {
+            return Collections.emptySet();
+        }
+        for (Registration reg : all) {
+            registrationIdMap.remove(reg.getId());
         }
+        return all;
     }
 
     void clear() {
@@ -0,0 +1,317 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.eventservice.impl;
+
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.spi.EventPublishingService;
+import com.hazelcast.spi.impl.eventservice.CoalescableEvent;
+import com.hazelcast.util.counters.MwCounter;
+import com.hazelcast.util.executor.StripedRunnable;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.hazelcast.util.counters.MwCounter.newMwCounter;
+
+/**
+ * The bounded queue of pending events of a single local listener.
+ * <p/>
+ * Events are dispatched in the order they were queued by running the queue on the event executor. At most one run
+ * of a queue is scheduled at a time and a run dispatches at most {@link #DRAIN_BATCH_SIZE} events, so listeners
+ * sharing an event thread take turns. When the queue is full, its {@link EventOverflowPolicy} decides which event
+ * is given up; events of other listeners are never affected. The queue also counts as full while the pending events
+ * of all listeners reach the event queue capacity, then a listener without pending events drops the event.
+ * <p/>
+ * The BLOCK policy never blocks an event thread: the queue may be drained by that very thread, and a blocked event
+ * thread would stall the listeners sharing it. Events offered on an event thread, e.g. events received from other
+ * members, drop the oldest pending event instead.
+ */
+public final class ListenerQueue implements StripedRunnable {
+
+    static final int DRAIN_BATCH_SIZE = 64;
+
+    private final EventServiceImpl eventService;
+    private final Registration registration;
+    private final EventOverflowPolicy overflowPolicy;
+    private final long blockTimeoutNanos;
+    @Probe
+    private final int capacity;
+
+    private final Lock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private final ArrayDeque<PendingEvent> events = new ArrayDeque<PendingEvent>();
+    // the most recent pending event per coalescing key, only used by the COALESCE policy
+    private final Map<Object, PendingEvent> pendingByKey = new HashMap<Object, PendingEvent>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    @Probe
+    private final MwCounter published = newMwCounter();
+    @Probe
+    private final MwCounter dispatched = newMwCounter();
+    @Probe
+    private final MwCounter dropped = newMwCounter();
+    @Probe
+    private final MwCounter coalesced = newMwCounter();
+    @Probe
+    private final MwCounter failures = newMwCounter();
+
+    ListenerQueue(EventServiceImpl eventService, Registration registration, EventOverflowPolicy overflowPolicy,
+                  int capacity, long blockTimeoutMillis) {
+        this.eventService = eventService;
+        this.registration = registration;
+        this.overflowPolicy = overflowPolicy;
+        this.capacity = capacity;
+        this.blockTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(blockTimeoutMillis);
+    }
+
+    /**
+     * Queues the event and schedules the queue if needed. If the queue is full, the overflow policy is applied.
+     *
+     * @return {@code false} if an event was dropped, either this one or the oldest pending one.
+     */
+    boolean offer(Object event) {
+        Object key = getCoalescingKey(event);
+        boolean nothingDropped = true;
+        lock.lock();
+        try {
+            if (isFull()) {
+                if (key != null && coalesce(key, event)) {
+                    return true;
+                }
+                if (events.isEmpty()) {
+                    // only the pending events of other listeners fill up the event queue
+                    dropped.inc();
+                    return false;
+                }
+                if (overflowPolicy == EventOverflowPolicy.BLOCK && !eventService.isEventThread()) {
+                    if (!awaitNotFull()) {
+                        dropped.inc();
+                        return false;
+                    }
+                } else {
+                    dropOldest();
+                    nothingDropped = false;
+                }
+            }
+            PendingEvent pending = new PendingEvent(event, key);
+            events.add(pending);
+            eventService.onEventQueued();
+            if (key != null) {
+                pendingByKey.put(key, pending);
+            }
+            published.inc();
+        } finally {
+            lock.unlock();
+        }
+        schedule();
+        return nothingDropped;
+    }
+
+    @Probe
+    public int size() {
+        lock.lock();
+        try {
+            return events.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public EventOverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public long getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    /**
+     * Schedules the queue if it has pending events, used to retry after the event executor rejected it.
+     */
+    void scheduleIfPending() {
+        if (size() > 0) {
+            schedule();
+        }
+    }
+
+    /**
+     * Throws away all pending events, used when the listener is deregistered.
+     */
+    void clear() {
+        lock.lock();
+        try {
+            eventService.onEventsRemoved(events.size());
+            events.clear();
+            pendingByKey.clear();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void run() {
+        try {
+            for (int i = 0; i < DRAIN_BATCH_SIZE; i++) {
+                Object event = poll();
+                if (event == null) {
+                    break;
+                }
+                dispatch(event);
+            }
+        } finally {
+            scheduled.set(false);
+            scheduleIfPending();
+        }
+    }
+
+    @Override
+    public int getKey() {
+        // all runs of a listener are done by the same event thread
+        return registration.getId().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "ListenerQueue{"
+                + "serviceName=" + registration.getServiceName()
+                + ", topic=" + registration.getTopic()
+                + ", id=" + registration.getId()
+                + ", overflowPolicy=" + overflowPolicy
+                + ", capacity=" + capacity
+                + '}';
+    }
+
+    private Object getCoalescingKey(Object event) {
+        if (overflowPolicy != EventOverflowPolicy.COALESCE || !(event instanceof CoalescableEvent)) {
+            return null;
+        }
+        return ((CoalescableEvent) event).getCoalescingKey();
+    }
+
+    private boolean isFull() {
+        return events.size() >= capacity || eventService.isEventQueueFull();
+    }
+
+    private boolean awaitNotFull() {
+        long remainingNanos = blockTimeoutNanos;
+        try {
+            while (isFull()) {
+                if (remainingNanos <= 0) {
+                    return false;
+                }
+                remainingNanos = notFull.awaitNanos(remainingNanos);
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private boolean coalesce(Object key, Object event) {
+        // only the most recent pending event of the key may be replaced, else the listener would see the changes out of order
+        PendingEvent pending = pendingByKey.get(key);
+        if (pending == null || !((CoalescableEvent) event).canReplace(pending.event)) {
+            return false;
+        }
+        pending.event = event;
+        coalesced.inc();
+        return true;
+    }
+
+    private void dropOldest() {
+        forget(events.poll());
+        eventService.onEventsRemoved(1);
+        dropped.inc();
+    }
+
+    private Object poll() {
+        lock.lock();
+        try {
+            PendingEvent pending = events.poll();
+            if (pending == null) {
+                return null;
+            }
+            forget(pending);
+            eventService.onEventsRemoved(1);
+            notFull.signal();
+            return pending.event;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void forget(PendingEvent pending) {
+        if (pending != null && pending.key != null && pendingByKey.get(pending.key) == pending) {
+            pendingByKey.remove(pending.key);
+        }
+    }
+
+    private void schedule() {
+        if (!scheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            eventService.executeListenerQueue(this);
+        } catch (RejectedExecutionException e) {
+            scheduled.set(false);
+            eventService.onListenerQueueRejected(this);
+        }
+    }
+
+    private void dispatch(Object event) {
+        EventPublishingService<Object, Object> service = eventService.nodeEngine.getService(registration.getServiceName());
+        if (service == null) {
+            if (eventService.nodeEngine.isActive()) {
+                eventService.logger.warning("Service[" + registration.getServiceName() + "] could not be found!");
+            }
+            return;
+        }
+        try {
+            service.dispatchEvent(event, registration.getListener());
+            dispatched.inc();
+        } catch (Exception e) {
+            failures.inc();
+            eventService.logger.warning("Listener " + registration.getListener() + " failed to process " + event, e);
+        }
+    }
+
+    /**
+     * A queued event, the event is replaced when a later event is coalesced with it.
+     */
+    private static final class PendingEvent {
+        final Object key;
+        Object event;
+
+        PendingEvent(Object event, Object key) {
+            this.event = event;
+            this.key = key;
+        }
+    }
+}
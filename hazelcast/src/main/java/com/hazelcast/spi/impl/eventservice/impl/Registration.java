@@ -33,6 +33,7 @@ public class Registration implements EventRegistration {
     private Address subscriber;
     private transient boolean localOnly;
     private transient Object listener;
+    private transient ListenerQueue listenerQueue;
 
     public Registration() {
     }
@@ -80,6 +81,17 @@ public class Registration implements EventRegistration {
         return listener;
     }
 
+    /**
+     * Returns the queue of pending events of the listener, or {@code null} if the listener is not a local one.
+     */
+    ListenerQueue getListenerQueue() {
+        return listenerQueue;
+    }
+
+    void setListenerQueue(ListenerQueue listenerQueue) {
+        this.listenerQueue = listenerQueue;
+    }
+
     //CHECKSTYLE:OFF
     @Override
     public boolean equals(Object o) {
@@ -84,6 +84,23 @@ public interface OperationExecutor {
      */
     OperationRunner[] getGenericOperationRunners();
 
+    /**
+     * Returns the index of the partition operation thread that executes the operations of the given partition.
+     *
+     * @param partitionId the partition id.
+     * @return the index of the partition operation thread, between 0 and the partition operation thread count.
+     */
+    int toPartitionThreadIndex(int partitionId);
+
+    /**
+     * Returns the total time the partition operation thread with the given index spent processing tasks, so the
+     * utilization of the thread is the growth of this value divided by the elapsed time.
+     *
+     * @param threadIndex the index of the partition operation thread.
+     * @return the busy time in nanoseconds.
+     */
+    long getPartitionOperationThreadBusyNanos(int threadIndex);
+
     /**
      * Executes an Operation.
      *
@@ -18,6 +18,9 @@ package com.hazelcast.spi.impl.operationexecutor;
 
 import com.hazelcast.nio.Packet;
 import com.hazelcast.spi.Operation;
+import com.hazelcast.util.counters.SwCounter;
+
+import static com.hazelcast.util.counters.SwCounter.newSwCounter;
 
 /**
  * The OperationRunner is responsible for the actual running of operations.
@@ -38,6 +41,10 @@ public abstract class OperationRunner {
 
     private volatile Thread currentThread;
 
+    // Only updated by the thread running this OperationRunner; for the shared ad hoc OperationRunner the count is
+    // approximate.
+    private final SwCounter executedOperationCount = newSwCounter();
+
     public OperationRunner(int partitionId) {
         this.partitionId = partitionId;
     }
@@ -62,6 +69,25 @@ public abstract class OperationRunner {
         return currentTask;
     }
 
+    /**
+     * Returns the number of operations executed by this OperationRunner. For a partition specific OperationRunner, this
+     * is the number of operations executed for its partition.
+     * <p/>
+     * This method is thread-safe.
+     *
+     * @return the number of executed operations.
+     */
+    public final long executedOperationCount() {
+        return executedOperationCount.get();
+    }
+
+    /**
+     * Increments the number of executed operations. Should only be called by the thread running this OperationRunner.
+     */
+    protected final void incrementExecutedOperationCount() {
+        executedOperationCount.inc();
+    }
+
     /**
      * Sets the thread that is running this OperationRunner instance.
      * <p/>
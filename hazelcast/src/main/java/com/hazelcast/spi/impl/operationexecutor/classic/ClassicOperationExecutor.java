@@ -19,6 +19,7 @@ package com.hazelcast.spi.impl.operationexecutor.classic;
 import com.hazelcast.instance.GroupProperties;
 import com.hazelcast.instance.HazelcastThreadGroup;
 import com.hazelcast.instance.NodeExtension;
+import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.logging.LoggingService;
 import com.hazelcast.nio.Address;
@@ -78,6 +79,7 @@ public final class ClassicOperationExecutor implements OperationExecutor {
     private final NodeExtension nodeExtension;
     private final HazelcastThreadGroup threadGroup;
     private final OperationRunner adHocOperationRunner;
+    private final boolean stampReceivedPackets;
 
     public ClassicOperationExecutor(GroupProperties properties,
                                     LoggingService loggerService,
@@ -92,6 +94,8 @@ public final class ClassicOperationExecutor implements OperationExecutor {
         this.logger = loggerService.getLogger(ClassicOperationExecutor.class);
         this.responsePacketHandler = responsePacketHandler;
         this.genericScheduleQueue = new DefaultScheduleQueue();
+        // the receive time is only needed by the invocation tracer
+        this.stampReceivedPackets = properties.INVOCATION_TRACER_SAMPLE_RATE.getInteger() > 0;
 
         this.adHocOperationRunner = operationRunnerFactory.createAdHocRunner();
 
@@ -138,13 +142,15 @@ public final class ClassicOperationExecutor implements OperationExecutor {
             threadCount = Math.max(2, coreSize);
         }
 
+        // the busy time is only read by the partition load monitor
+        boolean trackBusyTime = properties.PARTITION_LOAD_MONITOR_ENABLED.getBoolean();
         PartitionOperationThread[] threads = new PartitionOperationThread[threadCount];
         for (int threadId = 0; threadId < threads.length; threadId++) {
             String threadName = threadGroup.getThreadPoolNamePrefix("partition-operation") + threadId;
             ScheduleQueue scheduleQueue = new DefaultScheduleQueue();
 
             PartitionOperationThread operationThread = new PartitionOperationThread(threadName, threadId, scheduleQueue, logger,
-                    threadGroup, nodeExtension, partitionOperationRunners);
+                    threadGroup, nodeExtension, partitionOperationRunners, trackBusyTime);
 
             threads[threadId] = operationThread;
             operationThread.start();
@@ -266,6 +272,7 @@ public final class ClassicOperationExecutor implements OperationExecutor {
         return toPartitionThreadIndex(op.getPartitionId()) == partitionThread.threadId;
     }
 
+    @Probe(name = "runningCount")
     @Override
     public int getRunningOperationCount() {
         int result = 0;
@@ -282,6 +289,7 @@ public final class ClassicOperationExecutor implements OperationExecutor {
         return result;
     }
 
+    @Probe(name = "queueSize")
     @Override
     public int getOperationExecutorQueueSize() {
         int size = 0;
@@ -295,6 +303,7 @@ public final class ClassicOperationExecutor implements OperationExecutor {
         return size;
     }
 
+    @Probe(name = "priorityQueueSize")
     @Override
     public int getPriorityOperationExecutorQueueSize() {
         int size = 0;
@@ -307,6 +316,7 @@ public final class ClassicOperationExecutor implements OperationExecutor {
         return size;
     }
 
+    @Probe(name = "responseQueueSize")
     @Override
     public int getResponseQueueSize() {
         return responseThread.workQueue.size();
@@ -355,6 +365,9 @@ public final class ClassicOperationExecutor implements OperationExecutor {
             responseThread.workQueue.add(packet);
         } else {
             // it must be an operation packet
+            if (stampReceivedPackets) {
+                packet.setReceivedNanos(System.nanoTime());
+            }
             int partitionId = packet.getPartitionId();
             boolean hasPriority = packet.isUrgent();
             execute(packet, partitionId, hasPriority);
@@ -418,10 +431,16 @@ public final class ClassicOperationExecutor implements OperationExecutor {
         }
     }
 
+    @Override
     public int toPartitionThreadIndex(int partitionId) {
         return partitionId % partitionOperationThreads.length;
     }
 
+    @Override
+    public long getPartitionOperationThreadBusyNanos(int threadIndex) {
+        return partitionOperationThreads[threadIndex].busyNanos.get();
+    }
+
     @Override
     public void shutdown() {
         responseThread.shutdown();
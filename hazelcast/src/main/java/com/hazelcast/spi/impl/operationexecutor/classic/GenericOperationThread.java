@@ -31,7 +31,7 @@ public final class GenericOperationThread extends OperationThread {
     public GenericOperationThread(String name, int threadId, ScheduleQueue scheduleQueue,
                                   ILogger logger, HazelcastThreadGroup threadGroup,
                                   NodeExtension nodeExtension,  OperationRunner operationRunner) {
-        super(name, threadId, scheduleQueue, logger, threadGroup, nodeExtension);
+        super(name, threadId, scheduleQueue, logger, threadGroup, nodeExtension, false);
         this.operationRunner = operationRunner;
     }
 
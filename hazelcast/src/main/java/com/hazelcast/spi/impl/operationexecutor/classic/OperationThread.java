@@ -23,11 +23,13 @@ import com.hazelcast.nio.Packet;
 import com.hazelcast.spi.Operation;
 import com.hazelcast.spi.impl.operationexecutor.OperationRunner;
 import com.hazelcast.spi.impl.PartitionSpecificRunnable;
+import com.hazelcast.util.counters.SwCounter;
 import com.hazelcast.util.executor.HazelcastManagedThread;
 
 import java.util.concurrent.TimeUnit;
 
 import static com.hazelcast.instance.OutOfMemoryErrorDispatcher.inspectOutputMemoryError;
+import static com.hazelcast.util.counters.SwCounter.newSwCounter;
 
 /**
  * The OperationThread is responsible for processing operations, packets containing operations and runnable's.
@@ -44,9 +46,13 @@ public abstract class OperationThread extends HazelcastManagedThread {
     final ScheduleQueue scheduleQueue;
     // This field is updated by this OperationThread (so a single writer) and can be read by other threads.
     volatile long processedCount;
+    // The total time spent processing tasks, only measured if trackBusyTime is set. Single writer, so it is
+    // published with an ordered store instead of a volatile one.
+    final SwCounter busyNanos = newSwCounter();
 
     private final NodeExtension nodeExtension;
     private final ILogger logger;
+    private final boolean trackBusyTime;
     private volatile boolean shutdown;
 
     // This field wil only be accessed by the thread itself when doing 'self' calls. So no need
@@ -54,13 +60,15 @@ public abstract class OperationThread extends HazelcastManagedThread {
     private OperationRunner currentOperationRunner;
 
     public OperationThread(String name, int threadId, ScheduleQueue scheduleQueue,
-                           ILogger logger, HazelcastThreadGroup threadGroup, NodeExtension nodeExtension) {
+                           ILogger logger, HazelcastThreadGroup threadGroup, NodeExtension nodeExtension,
+                           boolean trackBusyTime) {
         super(threadGroup.getInternalThreadGroup(), name);
         setContextClassLoader(threadGroup.getClassLoader());
         this.scheduleQueue = scheduleQueue;
         this.threadId = threadId;
         this.logger = logger;
         this.nodeExtension = nodeExtension;
+        this.trackBusyTime = trackBusyTime;
     }
 
     public OperationRunner getCurrentOperationRunner() {
@@ -106,6 +114,20 @@ public abstract class OperationThread extends HazelcastManagedThread {
     private void process(Object task) {
         processedCount++;
 
+        if (!trackBusyTime) {
+            dispatch(task);
+            return;
+        }
+
+        long startNanos = System.nanoTime();
+        try {
+            dispatch(task);
+        } finally {
+            busyNanos.inc(System.nanoTime() - startNanos);
+        }
+    }
+
+    private void dispatch(Object task) {
         if (task instanceof Operation) {
             processOperation((Operation) task);
             return;
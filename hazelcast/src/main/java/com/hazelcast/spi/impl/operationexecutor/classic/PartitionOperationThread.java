@@ -32,8 +32,8 @@ public final class PartitionOperationThread extends OperationThread {
     public PartitionOperationThread(String name, int threadId,
                                     ScheduleQueue scheduleQueue, ILogger logger,
                                     HazelcastThreadGroup threadGroup, NodeExtension nodeExtension,
-                                    OperationRunner[] partitionOperationRunners) {
-        super(name, threadId, scheduleQueue, logger, threadGroup, nodeExtension);
+                                    OperationRunner[] partitionOperationRunners, boolean trackBusyTime) {
+        super(name, threadId, scheduleQueue, logger, threadGroup, nodeExtension, trackBusyTime);
         this.partitionOperationRunners = partitionOperationRunners;
     }
 
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationexecutor.partitionload;
+
+import com.hazelcast.instance.GroupProperties;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.impl.KeyBasedOperation;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Collects the keys sampled by the partition operation runners for the hot key report of the
+ * {@link PartitionLoadMonitor}.
+ * <p/>
+ * A sample is written into a fixed size ring without any coordination other than claiming a slot, so it can be
+ * overwritten before the monitor drains it. This loses samples when the sampling outpaces the monitor, but never
+ * blocks a partition operation thread.
+ */
+public final class HotKeySampler {
+
+    static final int CAPACITY = 1024;
+
+    private final int sampleRate;
+    private final AtomicReferenceArray<KeySample> ring = new AtomicReferenceArray<KeySample>(CAPACITY);
+    private final AtomicLong sequence = new AtomicLong();
+
+    public HotKeySampler(GroupProperties groupProperties) {
+        boolean enabled = groupProperties.PARTITION_LOAD_MONITOR_ENABLED.getBoolean();
+        this.sampleRate = enabled ? Math.max(0, groupProperties.PARTITION_LOAD_MONITOR_KEY_SAMPLE_RATE.getInteger()) : 0;
+    }
+
+    /**
+     * Returns every how many key based operations a key should be sampled, 0 when no keys should be sampled.
+     *
+     * @return the sample rate.
+     */
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * Samples the key of the operation.
+     *
+     * @param op the operation, which has to implement {@link KeyBasedOperation}.
+     */
+    public void sample(Operation op) {
+        KeyBasedOperation keyBasedOp = (KeyBasedOperation) op;
+        KeySample sample = new KeySample(op.getServiceName(), keyBasedOp.getName(), keyBasedOp.getKey(),
+                op.getPartitionId());
+        int index = (int) (sequence.getAndIncrement() & (CAPACITY - 1));
+        ring.lazySet(index, sample);
+    }
+
+    void drainTo(Collection<KeySample> samples) {
+        for (int i = 0; i < CAPACITY; i++) {
+            KeySample sample = ring.getAndSet(i, null);
+            if (sample != null) {
+                samples.add(sample);
+            }
+        }
+    }
+}
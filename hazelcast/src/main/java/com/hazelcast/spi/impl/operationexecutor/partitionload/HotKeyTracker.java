@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationexecutor.partitionload;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tracks the decaying rate of the most frequently sampled keys with the space saving algorithm: a bounded number of
+ * keys is counted, and a new key replaces the key with the lowest rate and inherits that rate. This overestimates
+ * the rate of keys that were just added, but a hot key is never lost.
+ * <p/>
+ * Only accessed by the thread of the {@link PartitionLoadMonitor}.
+ */
+final class HotKeyTracker {
+
+    private static final double MIN_RATE = 0.01;
+
+    private final int capacity;
+    private final Map<KeySample, Counter> counters = new HashMap<KeySample, Counter>();
+
+    HotKeyTracker(int capacity) {
+        this.capacity = capacity;
+    }
+
+    void add(KeySample sample) {
+        Counter counter = counters.get(sample);
+        if (counter != null) {
+            counter.samples++;
+            return;
+        }
+
+        counter = new Counter();
+        if (counters.size() >= capacity) {
+            Counter evicted = counters.remove(findLowest());
+            counter.rate = evicted.rate;
+            counter.samples = evicted.samples;
+        }
+        counter.samples++;
+        counters.put(sample, counter);
+    }
+
+    /**
+     * Folds the samples counted since the last update into the decaying rates.
+     *
+     * @param alpha       the weight of the new rate.
+     * @param sampleRate  every how many key based operations a key was sampled.
+     * @param elapsedSecs the seconds elapsed since the last update.
+     */
+    void update(double alpha, int sampleRate, double elapsedSecs) {
+        Iterator<Counter> iterator = counters.values().iterator();
+        while (iterator.hasNext()) {
+            Counter counter = iterator.next();
+            double rate = counter.samples * sampleRate / elapsedSecs;
+            counter.rate += alpha * (rate - counter.rate);
+            counter.samples = 0;
+            if (counter.rate < MIN_RATE) {
+                iterator.remove();
+            }
+        }
+    }
+
+    List<Map.Entry<KeySample, Counter>> top(int count) {
+        List<Map.Entry<KeySample, Counter>> entries = new ArrayList<Map.Entry<KeySample, Counter>>(counters.entrySet());
+        Collections.sort(entries, new Comparator<Map.Entry<KeySample, Counter>>() {
+            @Override
+            public int compare(Map.Entry<KeySample, Counter> o1, Map.Entry<KeySample, Counter> o2) {
+                return Double.compare(o2.getValue().rate, o1.getValue().rate);
+            }
+        });
+        return entries.size() > count ? entries.subList(0, count) : entries;
+    }
+
+    private KeySample findLowest() {
+        KeySample lowest = null;
+        Counter lowestCounter = null;
+        for (Map.Entry<KeySample, Counter> entry : counters.entrySet()) {
+            Counter counter = entry.getValue();
+            if (lowestCounter == null || counter.isLowerThan(lowestCounter)) {
+                lowest = entry.getKey();
+                lowestCounter = counter;
+            }
+        }
+        return lowest;
+    }
+
+    static final class Counter {
+        double rate;
+        long samples;
+
+        // keys that were only sampled since the last update have no rate yet, so also look at the samples
+        boolean isLowerThan(Counter that) {
+            return rate < that.rate || (rate == that.rate && samples < that.samples);
+        }
+    }
+}
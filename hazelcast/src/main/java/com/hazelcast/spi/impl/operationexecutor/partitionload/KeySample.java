@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationexecutor.partitionload;
+
+import com.hazelcast.nio.serialization.Data;
+
+/**
+ * A key sampled from a key based operation, identified by the service, the data structure name and the key.
+ */
+final class KeySample {
+
+    final String serviceName;
+    final String name;
+    final Data key;
+    final int partitionId;
+
+    KeySample(String serviceName, String name, Data key, int partitionId) {
+        this.serviceName = serviceName;
+        this.name = name;
+        this.key = key;
+        this.partitionId = partitionId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof KeySample)) {
+            return false;
+        }
+        KeySample that = (KeySample) o;
+        return key.equals(that.key) && name.equals(that.name) && serviceName.equals(that.serviceName);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = serviceName.hashCode();
+        result = 31 * result + name.hashCode();
+        result = 31 * result + key.hashCode();
+        return result;
+    }
+}
@@ -0,0 +1,343 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationexecutor.partitionload;
+
+import com.hazelcast.instance.GroupProperties;
+import com.hazelcast.instance.HazelcastThreadGroup;
+import com.hazelcast.internal.management.dto.HotKeyDTO;
+import com.hazelcast.internal.management.dto.HotPartitionDTO;
+import com.hazelcast.internal.management.dto.PartitionLoadDTO;
+import com.hazelcast.internal.metrics.MetricsRegistry;
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.logging.LoggingService;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.spi.impl.operationexecutor.OperationExecutor;
+import com.hazelcast.spi.impl.operationexecutor.OperationRunner;
+import com.hazelcast.util.EmptyStatement;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.String.format;
+
+/**
+ * Monitors how busy the partition operation threads of the {@link OperationExecutor} are and how many operations
+ * every partition executes, to find partitions and keys that overload a single partition operation thread while the
+ * others are idle.
+ * <p/>
+ * Every interval the monitor folds the busy time of every partition operation thread, the executed operations of every
+ * partition and the keys sampled by the {@link HotKeySampler} into exponentially decaying averages with a time
+ * constant of {@link #DECAY_WINDOW_SECONDS}. The result is available as metrics, through JMX and in the Management
+ * Center. Optionally a warning is logged when the busiest thread is far busier than the average.
+ */
+public final class PartitionLoadMonitor {
+
+    static final double DECAY_WINDOW_SECONDS = 10;
+
+    private static final long ONE_SECOND_IN_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long MONITOR_THREAD_MAX_WAIT_TIME_TO_FINISH = TimeUnit.SECONDS.toMillis(10);
+    private static final long WARNING_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final double MIN_WARNING_UTILIZATION = 0.5;
+    private static final double PERCENT = 100;
+    private static final int HOT_KEY_CAPACITY_FACTOR = 8;
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final ILogger logger;
+    private final OperationExecutor operationExecutor;
+    private final OperationRunner[] partitionOperationRunners;
+    private final HotKeySampler hotKeySampler;
+    private final SerializationService serializationService;
+    private final long intervalNanos;
+    private final int topN;
+    private final int imbalanceWarningPercentage;
+
+    private final ThreadLoad[] threadLoads;
+    private final double[] partitionRates;
+    private final long[] lastOperationCounts;
+    private final HotKeyTracker hotKeyTracker;
+    private final List<KeySample> drainedSamples = new ArrayList<KeySample>();
+
+    private final MonitorThread monitorThread;
+
+    @Probe
+    private volatile double imbalance;
+    @Probe
+    private volatile double hottestPartitionRate;
+
+    private volatile PartitionLoadDTO partitionLoadDTO = new PartitionLoadDTO();
+
+    // only accessed by the monitor thread
+    private long lastWarningNanos;
+
+    public PartitionLoadMonitor(LoggingService loggingService,
+                                OperationExecutor operationExecutor,
+                                HotKeySampler hotKeySampler,
+                                SerializationService serializationService,
+                                MetricsRegistry metricsRegistry,
+                                GroupProperties groupProperties,
+                                HazelcastThreadGroup hazelcastThreadGroup) {
+        this.logger = loggingService.getLogger(PartitionLoadMonitor.class);
+        this.operationExecutor = operationExecutor;
+        this.partitionOperationRunners = operationExecutor.getPartitionOperationRunners();
+        this.hotKeySampler = hotKeySampler;
+        this.serializationService = serializationService;
+        this.intervalNanos = TimeUnit.SECONDS.toNanos(
+                Math.max(1, groupProperties.PARTITION_LOAD_MONITOR_INTERVAL_SECONDS.getInteger()));
+        this.topN = Math.max(1, groupProperties.PARTITION_LOAD_MONITOR_TOP_N.getInteger());
+        this.imbalanceWarningPercentage = groupProperties.PARTITION_LOAD_MONITOR_IMBALANCE_WARNING_PERCENTAGE.getInteger();
+
+        this.threadLoads = initThreadLoads(operationExecutor.getPartitionOperationThreadCount(), metricsRegistry);
+        this.partitionRates = new double[partitionOperationRunners.length];
+        this.lastOperationCounts = new long[partitionOperationRunners.length];
+        this.hotKeyTracker = new HotKeyTracker(topN * HOT_KEY_CAPACITY_FACTOR);
+        this.lastWarningNanos = System.nanoTime() - WARNING_INTERVAL_NANOS;
+
+        metricsRegistry.scanAndRegister(this, "operation.partitionLoad");
+        this.monitorThread = initMonitorThread(hazelcastThreadGroup, groupProperties);
+    }
+
+    /**
+     * Returns the load of the partition operation threads and the hottest partitions and keys, as of the last update.
+     *
+     * @return the partition load.
+     */
+    public PartitionLoadDTO getPartitionLoadDTO() {
+        return partitionLoadDTO;
+    }
+
+    public void shutdown() {
+        monitorThread.shutdown();
+    }
+
+    private static ThreadLoad[] initThreadLoads(int threadCount, MetricsRegistry metricsRegistry) {
+        ThreadLoad[] threadLoads = new ThreadLoad[threadCount];
+        for (int threadIndex = 0; threadIndex < threadCount; threadIndex++) {
+            threadLoads[threadIndex] = new ThreadLoad();
+            metricsRegistry.scanAndRegister(threadLoads[threadIndex], "operation.partitionThread[" + threadIndex + "]");
+        }
+        return threadLoads;
+    }
+
+    private MonitorThread initMonitorThread(HazelcastThreadGroup hazelcastThreadGroup, GroupProperties groupProperties) {
+        MonitorThread thread = new MonitorThread(hazelcastThreadGroup);
+        if (groupProperties.PARTITION_LOAD_MONITOR_ENABLED.getBoolean()) {
+            thread.start();
+        } else {
+            logger.finest("The PartitionLoadMonitor is disabled! Partition thread utilization and hot partitions "
+                    + "will not be reported.");
+        }
+        return thread;
+    }
+
+    /**
+     * Folds everything that happened since the last update into the averages and publishes the result.
+     *
+     * @param elapsedNanos the nanoseconds elapsed since the last update.
+     */
+    void update(long elapsedNanos) {
+        double elapsedSecs = (double) elapsedNanos / ONE_SECOND_IN_NANOS;
+        double alpha = 1 - Math.exp(-elapsedSecs / DECAY_WINDOW_SECONDS);
+
+        updateThreadLoads(alpha, elapsedNanos);
+        updatePartitionRates(alpha, elapsedSecs);
+        updateHotKeys(alpha, elapsedSecs);
+        publish();
+    }
+
+    private void updateThreadLoads(double alpha, long elapsedNanos) {
+        double max = 0;
+        double sum = 0;
+        for (int threadIndex = 0; threadIndex < threadLoads.length; threadIndex++) {
+            ThreadLoad load = threadLoads[threadIndex];
+            long busyNanos = operationExecutor.getPartitionOperationThreadBusyNanos(threadIndex);
+            // the busy time of a task is only added when it completes, so a long running task can exceed an interval
+            double utilization = Math.min(1, (double) (busyNanos - load.lastBusyNanos) / elapsedNanos);
+            load.lastBusyNanos = busyNanos;
+            load.utilization += alpha * (utilization - load.utilization);
+
+            max = Math.max(max, load.utilization);
+            sum += load.utilization;
+        }
+        double average = sum / threadLoads.length;
+        imbalance = average > 0 ? max / average : 0;
+    }
+
+    private void updatePartitionRates(double alpha, double elapsedSecs) {
+        for (int partitionId = 0; partitionId < partitionRates.length; partitionId++) {
+            long operationCount = partitionOperationRunners[partitionId].executedOperationCount();
+            double rate = (operationCount - lastOperationCounts[partitionId]) / elapsedSecs;
+            lastOperationCounts[partitionId] = operationCount;
+            partitionRates[partitionId] += alpha * (rate - partitionRates[partitionId]);
+        }
+    }
+
+    private void updateHotKeys(double alpha, double elapsedSecs) {
+        int sampleRate = hotKeySampler.getSampleRate();
+        if (sampleRate == 0) {
+            return;
+        }
+
+        hotKeySampler.drainTo(drainedSamples);
+        for (KeySample sample : drainedSamples) {
+            hotKeyTracker.add(sample);
+        }
+        drainedSamples.clear();
+        hotKeyTracker.update(alpha, sampleRate, elapsedSecs);
+    }
+
+    private void publish() {
+        List<Double> utilizations = new ArrayList<Double>(threadLoads.length);
+        for (ThreadLoad load : threadLoads) {
+            utilizations.add(load.utilization);
+        }
+
+        int[] hotPartitionIds = getHotPartitionIds();
+        List<HotPartitionDTO> hotPartitions = new ArrayList<HotPartitionDTO>(hotPartitionIds.length);
+        for (int partitionId : hotPartitionIds) {
+            hotPartitions.add(new HotPartitionDTO(partitionId, operationExecutor.toPartitionThreadIndex(partitionId),
+                    partitionRates[partitionId]));
+        }
+        hottestPartitionRate = hotPartitions.isEmpty() ? 0 : hotPartitions.get(0).operationsPerSecond;
+
+        List<Map.Entry<KeySample, HotKeyTracker.Counter>> topKeys = hotKeyTracker.top(topN);
+        List<HotKeyDTO> hotKeys = new ArrayList<HotKeyDTO>(topKeys.size());
+        for (Map.Entry<KeySample, HotKeyTracker.Counter> entry : topKeys) {
+            KeySample sample = entry.getKey();
+            hotKeys.add(new HotKeyDTO(sample.serviceName, sample.name, toString(sample.key), sample.partitionId,
+                    entry.getValue().rate));
+        }
+
+        partitionLoadDTO = new PartitionLoadDTO(imbalance, utilizations, hotPartitions, hotKeys);
+    }
+
+    /**
+     * Returns the ids of the partitions with the highest rate, highest first. Partitions without operations are skipped.
+     */
+    private int[] getHotPartitionIds() {
+        int[] top = new int[Math.min(topN, partitionRates.length)];
+        int size = 0;
+        for (int partitionId = 0; partitionId < partitionRates.length; partitionId++) {
+            double rate = partitionRates[partitionId];
+            if (rate <= 0 || (size == top.length && rate <= partitionRates[top[size - 1]])) {
+                continue;
+            }
+            int index = size == top.length ? size - 1 : size++;
+            while (index > 0 && partitionRates[top[index - 1]] < rate) {
+                top[index] = top[index - 1];
+                index--;
+            }
+            top[index] = partitionId;
+        }
+        int[] result = new int[size];
+        System.arraycopy(top, 0, result, 0, size);
+        return result;
+    }
+
+    private String toString(Data key) {
+        String string;
+        try {
+            string = String.valueOf((Object) serializationService.toObject(key));
+        } catch (Exception e) {
+            // e.g. the class of the key is not available on this member
+            string = key.toString();
+        }
+        return string.length() > MAX_KEY_LENGTH ? string.substring(0, MAX_KEY_LENGTH) + "..." : string;
+    }
+
+    private void checkImbalance(long nowNanos) {
+        if (imbalanceWarningPercentage <= 0 || imbalance * PERCENT < imbalanceWarningPercentage
+                || nowNanos - lastWarningNanos < WARNING_INTERVAL_NANOS) {
+            return;
+        }
+
+        PartitionLoadDTO load = partitionLoadDTO;
+        int busiestThreadIndex = 0;
+        for (int threadIndex = 1; threadIndex < threadLoads.length; threadIndex++) {
+            if (threadLoads[threadIndex].utilization > threadLoads[busiestThreadIndex].utilization) {
+                busiestThreadIndex = threadIndex;
+            }
+        }
+        if (threadLoads[busiestThreadIndex].utilization < MIN_WARNING_UTILIZATION) {
+            return;
+        }
+
+        lastWarningNanos = nowNanos;
+        logger.warning(format("Partition operation threads are imbalanced: partition thread %d is %.0f%% busy, "
+                        + "%.1f times the average.%nHot partitions: %s%nHot keys: %s",
+                busiestThreadIndex, threadLoads[busiestThreadIndex].utilization * PERCENT, load.imbalance,
+                load.hotPartitions, load.hotKeys));
+    }
+
+    /**
+     * The load of a single partition operation thread.
+     */
+    private static final class ThreadLoad {
+
+        @Probe
+        private volatile double utilization;
+
+        // only accessed by the monitor thread
+        private long lastBusyNanos;
+    }
+
+    private final class MonitorThread extends Thread {
+
+        private volatile boolean running = true;
+
+        private MonitorThread(HazelcastThreadGroup threadGroup) {
+            super(threadGroup.getInternalThreadGroup(), threadGroup.getThreadNamePrefix("PartitionLoadMonitorThread"));
+        }
+
+        @Override
+        public void run() {
+            long lastNanos = System.nanoTime();
+            while (running) {
+                sleepInterval(lastNanos);
+                if (!running) {
+                    return;
+                }
+
+                long nowNanos = System.nanoTime();
+                update(nowNanos - lastNanos);
+                checkImbalance(nowNanos);
+                lastNanos = nowNanos;
+            }
+        }
+
+        private void sleepInterval(long lastNanos) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(intervalNanos - (System.nanoTime() - lastNanos));
+            } catch (Exception ignored) {
+                EmptyStatement.ignore(ignored);
+            }
+        }
+
+        private void shutdown() {
+            running = false;
+            monitorThread.interrupt();
+            try {
+                monitorThread.join(MONITOR_THREAD_MAX_WAIT_TIME_TO_FINISH);
+            } catch (InterruptedException ignored) {
+                EmptyStatement.ignore(ignored);
+            }
+        }
+    }
+}
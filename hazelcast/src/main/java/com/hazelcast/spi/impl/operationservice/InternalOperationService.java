@@ -17,6 +17,8 @@
 package com.hazelcast.spi.impl.operationservice;
 
 import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.internal.management.dto.OperationProfileDTO;
+import com.hazelcast.internal.management.dto.PartitionLoadDTO;
 import com.hazelcast.internal.management.dto.SlowOperationDTO;
 import com.hazelcast.nio.Address;
 import com.hazelcast.spi.Operation;
@@ -86,6 +88,28 @@ public interface InternalOperationService extends OperationService {
      */
     List<SlowOperationDTO> getSlowOperationDTOs();
 
+    /**
+     * Returns the execution and wait times of the sampled operations per operation class and per service.
+     *
+     * @return the {@link OperationProfileDTO}.
+     */
+    OperationProfileDTO getOperationProfileDTO();
+
+    /**
+     * Returns the traces of the most recent traced invocations that passed this member.
+     *
+     * @param maxCount the maximum number of invocations.
+     * @return the traces, one invocation per line.
+     */
+    String getInvocationTraces(int maxCount);
+
+    /**
+     * Returns the utilization of the partition operation threads and the hottest partitions and keys.
+     *
+     * @return the {@link PartitionLoadDTO}.
+     */
+    PartitionLoadDTO getPartitionLoadDTO();
+
     <V> void asyncInvokeOnPartition(String serviceName, Operation op, int partitionId, ExecutionCallback<V> callback);
 
     <V> void asyncInvokeOnTarget(String serviceName, Operation op, Address target, ExecutionCallback<V> callback);
@@ -53,6 +53,11 @@ import static com.hazelcast.spi.impl.operationutil.Operations.isJoinOperation;
 import static com.hazelcast.spi.impl.operationutil.Operations.isMigrationOperation;
 import static com.hazelcast.spi.impl.operationutil.Operations.isWanReplicationOperation;
 import static com.hazelcast.spi.impl.operationservice.impl.InternalResponse.INTERRUPTED_RESPONSE;
+import static com.hazelcast.spi.impl.operationservice.impl.InvocationTracer.Phase.BACKUP_ACKNOWLEDGED;
+import static com.hazelcast.spi.impl.operationservice.impl.InvocationTracer.Phase.ENQUEUED;
+import static com.hazelcast.spi.impl.operationservice.impl.InvocationTracer.Phase.INVOKED;
+import static com.hazelcast.spi.impl.operationservice.impl.InvocationTracer.Phase.SENT;
+import static com.hazelcast.spi.impl.operationservice.impl.InvocationTracer.Phase.TIMED_OUT;
 import static com.hazelcast.spi.impl.operationservice.impl.InternalResponse.NULL_RESPONSE;
 import static com.hazelcast.spi.impl.operationservice.impl.InternalResponse.WAIT_RESPONSE;
 import static java.lang.Boolean.FALSE;
@@ -226,6 +231,7 @@ abstract class Invocation implements OperationResponseHandler, Runnable {
 
         setInvocationTime(op, nodeEngine.getClusterService().getClusterClock().getClusterTime());
         operationService.invocationsRegistry.register(this);
+        trace(INVOKED);
         if (remote) {
             doInvokeRemote();
         } else {
@@ -242,6 +248,7 @@ abstract class Invocation implements OperationResponseHandler, Runnable {
         op.setOperationResponseHandler(this);
 
         OperationExecutor executor = operationService.operationExecutor;
+        trace(ENQUEUED);
         if (isAsync) {
             executor.execute(op);
         } else {
@@ -252,7 +259,9 @@ abstract class Invocation implements OperationResponseHandler, Runnable {
 
     private void doInvokeRemote() {
         boolean sent = operationService.send(op, invTarget);
-        if (!sent) {
+        if (sent) {
+            trace(SENT);
+        } else {
             operationService.invocationsRegistry.deregister(this);
             notify(new RetryableIOException("Packet not send to -> " + invTarget));
         }
@@ -322,6 +331,7 @@ abstract class Invocation implements OperationResponseHandler, Runnable {
             throw new ResponseAlreadySentException("NormalResponse already responseReceived for callback: " + this
                     + ", current-response: : " + obj);
         }
+        trace(InvocationTracer.Phase.RESPONSE_RECEIVED);
         notify(obj);
     }
 
@@ -434,6 +444,7 @@ abstract class Invocation implements OperationResponseHandler, Runnable {
     }
 
     void notifySingleBackupComplete() {
+        trace(BACKUP_ACKNOWLEDGED);
         int newBackupsCompleted = BACKUPS_COMPLETED.incrementAndGet(this);
 
         Object pendingResponse = this.pendingResponse;
@@ -459,6 +470,13 @@ abstract class Invocation implements OperationResponseHandler, Runnable {
         invocationFuture.set(pendingResponse);
     }
 
+    /**
+     * Records that this invocation passed the phase, if it is traced.
+     */
+    void trace(InvocationTracer.Phase phase) {
+        operationService.invocationTracer.trace(op.getCallId(), phase);
+    }
+
     boolean checkInvocationTimeout() {
         long maxCallTimeout = invocationFuture.getMaxCallTimeout();
         long expirationTime = op.getInvocationTime() + maxCallTimeout;
@@ -482,18 +500,26 @@ abstract class Invocation implements OperationResponseHandler, Runnable {
         int backupsExpected = this.backupsExpected;
         int backupsCompleted = this.backupsCompleted;
 
+        trace(TIMED_OUT);
+        String trace = operationService.invocationTracer.describe(op.getCallId());
+        if (trace.length() > 0) {
+            trace = " " + trace;
+        }
+
         if (hasResponse) {
             return new OperationTimeoutException("No response for " + totalTimeoutMs + " ms."
                     + " Aborting invocation! " + toString()
                     + " Not all backups have completed! "
                     + " backups-expected:" + backupsExpected
-                    + " backups-completed: " + backupsCompleted);
+                    + " backups-completed: " + backupsCompleted
+                    + trace);
         } else {
             return new OperationTimeoutException("No response for " + totalTimeoutMs + " ms."
                     + " Aborting invocation! " + toString()
                     + " No response has been received! "
                     + " backups-expected:" + backupsExpected
-                    + " backups-completed: " + backupsCompleted);
+                    + " backups-completed: " + backupsCompleted
+                    + trace);
         }
     }
 
@@ -37,6 +37,7 @@ import static com.hazelcast.spi.impl.operationservice.impl.InternalResponse.INTE
 import static com.hazelcast.spi.impl.operationservice.impl.InternalResponse.NULL_RESPONSE;
 import static com.hazelcast.spi.impl.operationservice.impl.InternalResponse.TIMEOUT_RESPONSE;
 import static com.hazelcast.spi.impl.operationservice.impl.InternalResponse.WAIT_RESPONSE;
+import static com.hazelcast.spi.impl.operationservice.impl.InvocationTracer.Phase.COMPLETED;
 import static com.hazelcast.util.ExceptionUtil.fixRemoteStackTrace;
 import static com.hazelcast.util.Preconditions.isNotNull;
 import static java.lang.Math.min;
@@ -176,6 +177,7 @@ final class InvocationFuture<E> implements InternalCompletableFuture<E> {
             callbackHead = null;
             notifyAll();
 
+            invocation.trace(COMPLETED);
             operationService.invocationsRegistry.deregister(invocation);
         }
 
@@ -20,6 +20,7 @@ import com.hazelcast.core.HazelcastInstanceNotActiveException;
 import com.hazelcast.core.MemberLeftException;
 import com.hazelcast.instance.GroupProperties;
 import com.hazelcast.instance.MemberImpl;
+import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.nio.Address;
 import com.hazelcast.partition.ReplicaErrorLogger;
@@ -41,6 +42,7 @@ import java.util.concurrent.TimeUnit;
 import static com.hazelcast.instance.OutOfMemoryErrorDispatcher.inspectOutputMemoryError;
 import static com.hazelcast.spi.Operation.CALL_ID_LOCAL_SKIPPED;
 import static com.hazelcast.spi.OperationAccessor.setCallId;
+import static com.hazelcast.spi.impl.operationservice.impl.InvocationTracer.Phase.RESPONSE_RECEIVED;
 
 /**
  * The InvocationsRegistry is responsible for the registration of all pending invocations.
@@ -64,6 +66,7 @@ public class InvocationRegistry {
     private static final double HUNDRED_PERCENT = 100d;
 
     private final long backupTimeoutMillis;
+    @Probe(name = "pending")
     private final ConcurrentMap<Long, Invocation> invocations;
     private final NodeEngineImpl nodeEngine;
     private final ILogger logger;
@@ -93,6 +96,7 @@ public class InvocationRegistry {
         return thresholdMs;
     }
 
+    @Probe(name = "lastCallId")
     public long getLastCallId() {
         return callIdSequence.getLastCallId();
     }
@@ -137,6 +141,7 @@ public class InvocationRegistry {
         assert deleted : "failed to deregister callId:" + callId + " " + invocation;
     }
 
+    @Probe(name = "usedPercentage")
     public double getInvocationUsagePercentage() {
         return (HUNDRED_PERCENT * invocations.size()) / callIdSequence.getMaxConcurrentInvocations();
     }
@@ -209,6 +214,7 @@ public class InvocationRegistry {
             return;
         }
 
+        invocation.trace(RESPONSE_RECEIVED);
         invocation.notifyError(response.getCause());
     }
 
@@ -221,6 +227,7 @@ public class InvocationRegistry {
             }
             return;
         }
+        invocation.trace(RESPONSE_RECEIVED);
         invocation.notifyNormalResponse(response.getValue(), response.getBackupCount());
     }
 
@@ -233,6 +240,7 @@ public class InvocationRegistry {
             }
             return;
         }
+        invocation.trace(RESPONSE_RECEIVED);
         invocation.notifyCallTimeout();
     }
 
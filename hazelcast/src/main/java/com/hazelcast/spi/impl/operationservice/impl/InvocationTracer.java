@@ -0,0 +1,368 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationservice.impl;
+
+import com.hazelcast.nio.Address;
+import com.hazelcast.spi.Operation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static com.hazelcast.spi.Operation.CALL_ID_LOCAL_SKIPPED;
+import static com.hazelcast.util.QuickMath.nextPowerOfTwo;
+
+/**
+ * Records the phases of sampled invocations, like a flight recorder, so it can be seen where the time of an
+ * invocation went: the operation queue, the wire, the execution, the backups or the response thread.
+ * <p/>
+ * Every thread that passes a phase of a traced invocation writes a timestamped record into its own ring buffer, so
+ * tracing takes no locks and a thread only overwrites its own oldest records. Whether an invocation is traced
+ * depends only on its call id ({@link com.hazelcast.instance.GroupProperties#PROP_INVOCATION_TRACER_SAMPLE_RATE}),
+ * so the member executing a remote operation traces the same invocations as the calling member, given the same
+ * configuration. Untraced invocations only cost a modulo. Local invocations that don't need a call id, because
+ * they have no backups and no remote response, are not traced.
+ * <p/>
+ * Records are read without stopping the writers; every slot carries the sequence of its record, which the reader
+ * checks before and after reading the slot to skip records that are overwritten in the meantime. The timestamps
+ * are {@link System#nanoTime()} values, so only records of the same member are comparable.
+ * <p/>
+ * The trace of an invocation is added to its {@link com.hazelcast.core.OperationTimeoutException} and the traces of
+ * the most recent invocations can be dumped on demand.
+ */
+public class InvocationTracer {
+
+    /**
+     * The phases of an invocation, in the order they are normally passed.
+     */
+    public enum Phase {
+        /**
+         * The invocation was registered and is about to be sent; passed again on every retry.
+         */
+        INVOKED,
+        /**
+         * The operation was handed to the local operation executor.
+         */
+        ENQUEUED,
+        /**
+         * The operation packet was handed to the connection of the target.
+         */
+        SENT,
+        /**
+         * The target received the operation packet and put it into the queue of an operation thread. The time up
+         * to {@link #PACKET_DEQUEUED} is spent in that queue; nanoTime isn't comparable across members, so the time
+         * on the wire is what remains of the time between {@link #SENT} and {@link #RESPONSE_RECEIVED} on the caller
+         * after subtracting the time the target spent from this phase to {@link #RESPONSE_SENT}.
+         */
+        PACKET_RECEIVED,
+        /**
+         * An operation thread of the target took the packet from its queue.
+         */
+        PACKET_DEQUEUED,
+        /**
+         * The operation started executing.
+         */
+        EXECUTION_STARTED,
+        /**
+         * The backups were sent by the primary.
+         */
+        BACKUPS_SENT,
+        /**
+         * The executing member sent the response.
+         */
+        RESPONSE_SENT,
+        /**
+         * The operation finished executing.
+         */
+        EXECUTION_FINISHED,
+        /**
+         * The calling member received the response.
+         */
+        RESPONSE_RECEIVED,
+        /**
+         * The calling member received the acknowledgement of a backup.
+         */
+        BACKUP_ACKNOWLEDGED,
+        /**
+         * The future of the invocation was completed.
+         */
+        COMPLETED,
+        /**
+         * The invocation timed out.
+         */
+        TIMED_OUT
+    }
+
+    // sequence, call id, caller hash and phase, timestamp
+    private static final int SLOT_SIZE = 4;
+    private static final int PHASE_BITS = 32;
+    private static final long PHASE_MASK = (1L << PHASE_BITS) - 1;
+    private static final Phase[] PHASES = Phase.values();
+
+    private final Address thisAddress;
+    private final int sampleRate;
+    private final int bufferSize;
+    private final ConcurrentLinkedQueue<TraceBuffer> buffers = new ConcurrentLinkedQueue<TraceBuffer>();
+    private final ThreadLocal<TraceBuffer> threadBuffer = new ThreadLocal<TraceBuffer>() {
+        @Override
+        protected TraceBuffer initialValue() {
+            return newBuffer();
+        }
+    };
+
+    public InvocationTracer(Address thisAddress, int sampleRate, int bufferSize) {
+        this.thisAddress = thisAddress;
+        this.sampleRate = Math.max(0, sampleRate);
+        this.bufferSize = nextPowerOfTwo(Math.max(1, bufferSize));
+    }
+
+    public boolean isEnabled() {
+        return sampleRate > 0;
+    }
+
+    boolean isTraced(long callId) {
+        return sampleRate > 0 && callId > 0 && callId != CALL_ID_LOCAL_SKIPPED && callId % sampleRate == 0;
+    }
+
+    /**
+     * Records that an invocation of this member passed the phase.
+     */
+    void trace(long callId, Phase phase) {
+        if (isTraced(callId)) {
+            record(thisAddress, callId, phase, System.nanoTime());
+        }
+    }
+
+    /**
+     * Records that the operation passed the phase; the operation can be invoked by any member.
+     */
+    void trace(Operation op, Phase phase) {
+        if (isTraced(op.getCallId())) {
+            record(op.getCallerAddress(), op.getCallId(), phase, System.nanoTime());
+        }
+    }
+
+    /**
+     * Records that the operation passed the phase at the given {@link System#nanoTime()}.
+     */
+    void trace(Operation op, Phase phase, long nanos) {
+        if (isTraced(op.getCallId())) {
+            record(op.getCallerAddress(), op.getCallId(), phase, nanos);
+        }
+    }
+
+    /**
+     * Records that the invocation of the caller with the call id passed the phase.
+     */
+    void trace(Address caller, long callId, Phase phase) {
+        if (isTraced(callId)) {
+            record(caller, callId, phase, System.nanoTime());
+        }
+    }
+
+    private void record(Address caller, long callId, Phase phase, long nanos) {
+        long callerAndPhase = ((long) hash(caller) << PHASE_BITS) | phase.ordinal();
+        threadBuffer.get().add(callId, callerAndPhase, nanos);
+    }
+
+    /**
+     * Returns the trace of an invocation of this member, or an empty string if it isn't traced.
+     */
+    String describe(long callId) {
+        if (!isTraced(callId)) {
+            return "";
+        }
+        List<TraceRecord> records = new ArrayList<TraceRecord>();
+        int callerHash = hash(thisAddress);
+        for (TraceRecord record : collect()) {
+            if (record.callId == callId && record.callerHash == callerHash) {
+                records.add(record);
+            }
+        }
+        if (records.isEmpty()) {
+            return "";
+        }
+        Collections.sort(records, new Comparator<TraceRecord>() {
+            @Override
+            public int compare(TraceRecord r1, TraceRecord r2) {
+                return compareNanos(r1.nanos, r2.nanos);
+            }
+        });
+        StringBuilder sb = new StringBuilder();
+        appendTrace(sb, records);
+        return sb.toString();
+    }
+
+    /**
+     * Returns the traces of the most recent invocations that passed this member, oldest first.
+     *
+     * @param maxCount the maximum number of invocations.
+     */
+    public String dump(int maxCount) {
+        List<TraceRecord> records = collect();
+        Collections.sort(records, new Comparator<TraceRecord>() {
+            @Override
+            public int compare(TraceRecord r1, TraceRecord r2) {
+                if (r1.callerHash != r2.callerHash) {
+                    return r1.callerHash < r2.callerHash ? -1 : 1;
+                }
+                if (r1.callId != r2.callId) {
+                    return r1.callId < r2.callId ? -1 : 1;
+                }
+                return compareNanos(r1.nanos, r2.nanos);
+            }
+        });
+
+        List<List<TraceRecord>> traces = new ArrayList<List<TraceRecord>>();
+        List<TraceRecord> trace = null;
+        for (TraceRecord record : records) {
+            if (trace == null || trace.get(0).callId != record.callId || trace.get(0).callerHash != record.callerHash) {
+                trace = new ArrayList<TraceRecord>();
+                traces.add(trace);
+            }
+            trace.add(record);
+        }
+        Collections.sort(traces, new Comparator<List<TraceRecord>>() {
+            @Override
+            public int compare(List<TraceRecord> t1, List<TraceRecord> t2) {
+                return compareNanos(t1.get(t1.size() - 1).nanos, t2.get(t2.size() - 1).nanos);
+            }
+        });
+
+        StringBuilder sb = new StringBuilder();
+        int callerHash = hash(thisAddress);
+        for (List<TraceRecord> t : traces.subList(Math.max(0, traces.size() - maxCount), traces.size())) {
+            sb.append(t.get(0).callerHash == callerHash ? "local " : "remote ");
+            appendTrace(sb, t);
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static void appendTrace(StringBuilder sb, List<TraceRecord> records) {
+        long start = records.get(0).nanos;
+        sb.append("trace of call-id ").append(records.get(0).callId).append(':');
+        for (TraceRecord record : records) {
+            sb.append(' ').append(record.phase)
+                    .append(" +").append(TimeUnit.NANOSECONDS.toMicros(record.nanos - start)).append("us")
+                    .append(" [").append(record.threadName).append(']');
+        }
+    }
+
+    private static int compareNanos(long n1, long n2) {
+        // nanoTime values can only be compared by their difference
+        long diff = n1 - n2;
+        return diff < 0 ? -1 : (diff == 0 ? 0 : 1);
+    }
+
+    private static int hash(Address address) {
+        return address == null ? 0 : address.hashCode();
+    }
+
+    private List<TraceRecord> collect() {
+        List<TraceRecord> records = new ArrayList<TraceRecord>();
+        for (TraceBuffer buffer : buffers) {
+            buffer.collect(records);
+        }
+        return records;
+    }
+
+    private TraceBuffer newBuffer() {
+        // buffers of terminated threads are dropped, so short lived callers don't pile up
+        for (Iterator<TraceBuffer> it = buffers.iterator(); it.hasNext();) {
+            if (!it.next().owner.isAlive()) {
+                it.remove();
+            }
+        }
+        TraceBuffer buffer = new TraceBuffer(Thread.currentThread(), bufferSize);
+        buffers.add(buffer);
+        return buffer;
+    }
+
+    /**
+     * The ring buffer of a single thread; only written by its owner.
+     */
+    private static final class TraceBuffer {
+
+        private final Thread owner;
+        private final String threadName;
+        private final int mask;
+        private final AtomicLongArray slots;
+        private long sequence;
+
+        TraceBuffer(Thread owner, int size) {
+            this.owner = owner;
+            this.threadName = owner.getName();
+            this.mask = size - 1;
+            this.slots = new AtomicLongArray(size * SLOT_SIZE);
+            for (int i = 0; i < size; i++) {
+                slots.set(i * SLOT_SIZE, -1);
+            }
+        }
+
+        void add(long callId, long callerAndPhase, long nanos) {
+            long seq = sequence++;
+            int base = (int) (seq & mask) * SLOT_SIZE;
+            // marks the slot as being written before the old record is overwritten
+            slots.set(base, -1);
+            slots.lazySet(base + 1, callId);
+            slots.lazySet(base + 2, callerAndPhase);
+            slots.lazySet(base + 3, nanos);
+            slots.lazySet(base, seq);
+        }
+
+        void collect(List<TraceRecord> records) {
+            for (int base = 0; base < slots.length(); base += SLOT_SIZE) {
+                long seq = slots.get(base);
+                if (seq < 0) {
+                    continue;
+                }
+                long callId = slots.get(base + 1);
+                long callerAndPhase = slots.get(base + 2);
+                long nanos = slots.get(base + 3);
+                if (slots.get(base) != seq) {
+                    // overwritten while reading
+                    continue;
+                }
+                records.add(new TraceRecord(callId, (int) (callerAndPhase >>> PHASE_BITS),
+                        PHASES[(int) (callerAndPhase & PHASE_MASK)], nanos, threadName));
+            }
+        }
+    }
+
+    private static final class TraceRecord {
+
+        final long callId;
+        final int callerHash;
+        final Phase phase;
+        final long nanos;
+        final String threadName;
+
+        TraceRecord(long callId, int callerHash, Phase phase, long nanos, String threadName) {
+            this.callId = callId;
+            this.callerHash = callerHash;
+            this.phase = phase;
+            this.nanos = nanos;
+            this.threadName = threadName;
+        }
+    }
+}
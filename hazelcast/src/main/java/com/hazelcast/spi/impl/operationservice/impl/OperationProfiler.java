@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationservice.impl;
+
+import com.hazelcast.internal.management.dto.OperationProfileDTO;
+import com.hazelcast.internal.management.dto.OperationProfileEntryDTO;
+import com.hazelcast.internal.metrics.MetricsRegistry;
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.impl.NodeEngineImpl;
+import com.hazelcast.util.ConstructorFunction;
+import com.hazelcast.util.counters.MwCounter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.hazelcast.util.ConcurrencyUtil.getOrPutSynchronized;
+import static com.hazelcast.util.counters.MwCounter.newMwCounter;
+
+/**
+ * Accounts the execution and wait time of operations per operation class and per service.
+ * <p/>
+ * Unlike the {@link com.hazelcast.spi.impl.operationexecutor.slowoperationdetector.SlowOperationDetector}, which
+ * only sees operations that exceed a threshold, the profiler sees every operation type, which shows where the
+ * partition threads spend their time. To bound the overhead, each {@link OperationRunnerImpl} only times every
+ * {@link com.hazelcast.instance.GroupProperties#PROP_OPERATION_PROFILER_SAMPLE_RATE}th operation; the counts are
+ * the sampled counts.
+ * <p/>
+ * The profiles are registered as metrics when an operation class or service is seen for the first time, under
+ * {@code operation.profile[<class name>]} and {@code operation.serviceProfile[<service name>]}.
+ */
+public class OperationProfiler {
+
+    private final NodeEngineImpl nodeEngine;
+    private final MetricsRegistry metricsRegistry;
+    private final int sampleRate;
+    private final ConcurrentMap<Class, Profile> operationProfiles = new ConcurrentHashMap<Class, Profile>();
+    private final ConcurrentMap<String, Profile> serviceProfiles = new ConcurrentHashMap<String, Profile>();
+
+    private final ConstructorFunction<Class, Profile> operationProfileConstructor =
+            new ConstructorFunction<Class, Profile>() {
+                @Override
+                public Profile createNew(Class operationClass) {
+                    Profile profile = new Profile();
+                    metricsRegistry.scanAndRegister(profile, "operation.profile[" + operationClass.getName() + "]");
+                    return profile;
+                }
+            };
+
+    private final ConstructorFunction<String, Profile> serviceProfileConstructor =
+            new ConstructorFunction<String, Profile>() {
+                @Override
+                public Profile createNew(String serviceName) {
+                    Profile profile = new Profile();
+                    metricsRegistry.scanAndRegister(profile, "operation.serviceProfile[" + serviceName + "]");
+                    return profile;
+                }
+            };
+
+    public OperationProfiler(NodeEngineImpl nodeEngine) {
+        this.nodeEngine = nodeEngine;
+        this.metricsRegistry = nodeEngine.getMetricsRegistry();
+        this.sampleRate = Math.max(0, nodeEngine.getGroupProperties().OPERATION_PROFILER_SAMPLE_RATE.getInteger());
+    }
+
+    /**
+     * Returns every how many operations an operation is timed, 0 if the profiler is disabled.
+     */
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * Returns the time since the operation was invoked, -1 if it was not invoked through an invocation.
+     * Called just before the operation is executed.
+     */
+    long getWaitMillis(Operation op) {
+        long invocationTime = op.getInvocationTime();
+        if (invocationTime <= 0) {
+            return -1;
+        }
+        long now = nodeEngine.getClusterService().getClusterClock().getClusterTime();
+        return Math.max(0, now - invocationTime);
+    }
+
+    /**
+     * Records a sampled execution of the operation.
+     *
+     * @param op            the executed operation.
+     * @param durationNanos the execution time.
+     * @param waitMillis    the wait time returned by {@link #getWaitMillis(Operation)}.
+     */
+    void record(Operation op, long durationNanos, long waitMillis) {
+        String serviceName = op.getServiceName();
+        if (serviceName != null) {
+            getOrPutSynchronized(serviceProfiles, serviceName, serviceProfiles, serviceProfileConstructor)
+                    .record(durationNanos, waitMillis);
+        }
+        getOrPutSynchronized(operationProfiles, op.getClass(), operationProfiles, operationProfileConstructor)
+                .record(durationNanos, waitMillis);
+    }
+
+    public OperationProfileDTO getOperationProfileDTO() {
+        List<OperationProfileEntryDTO> operations = new ArrayList<OperationProfileEntryDTO>(operationProfiles.size());
+        for (Map.Entry<Class, Profile> entry : operationProfiles.entrySet()) {
+            operations.add(entry.getValue().toDTO(entry.getKey().getName()));
+        }
+        List<OperationProfileEntryDTO> services = new ArrayList<OperationProfileEntryDTO>(serviceProfiles.size());
+        for (Map.Entry<String, Profile> entry : serviceProfiles.entrySet()) {
+            services.add(entry.getValue().toDTO(entry.getKey()));
+        }
+        return new OperationProfileDTO(sampleRate, operations, services);
+    }
+
+    private static void updateMax(AtomicLong max, long value) {
+        for (; ; ) {
+            long current = max.get();
+            if (value <= current || max.compareAndSet(current, value)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * The sampled executions of an operation class or service; updated concurrently by all operation threads.
+     */
+    private static final class Profile {
+
+        @Probe
+        private final MwCounter count = newMwCounter();
+        @Probe
+        private final MwCounter totalTimeNanos = newMwCounter();
+        @Probe
+        private final AtomicLong maxTimeNanos = new AtomicLong();
+        @Probe
+        private final MwCounter totalWaitMillis = newMwCounter();
+        @Probe
+        private final AtomicLong maxWaitMillis = new AtomicLong();
+
+        void record(long durationNanos, long waitMillis) {
+            count.inc();
+            totalTimeNanos.inc(durationNanos);
+            updateMax(maxTimeNanos, durationNanos);
+            if (waitMillis >= 0) {
+                totalWaitMillis.inc(waitMillis);
+                updateMax(maxWaitMillis, waitMillis);
+            }
+        }
+
+        OperationProfileEntryDTO toDTO(String name) {
+            return new OperationProfileEntryDTO(name, count.get(), totalTimeNanos.get(), maxTimeNanos.get(),
+                    totalWaitMillis.get(), maxWaitMillis.get());
+        }
+    }
+}
@@ -39,8 +39,10 @@ import com.hazelcast.spi.exception.CallerNotMemberException;
 import com.hazelcast.spi.exception.PartitionMigratingException;
 import com.hazelcast.spi.exception.RetryableException;
 import com.hazelcast.spi.exception.WrongTargetException;
+import com.hazelcast.spi.impl.KeyBasedOperation;
 import com.hazelcast.spi.impl.NodeEngineImpl;
 import com.hazelcast.spi.impl.operationexecutor.OperationRunner;
+import com.hazelcast.spi.impl.operationexecutor.partitionload.HotKeySampler;
 import com.hazelcast.spi.impl.operationservice.impl.responses.CallTimeoutResponse;
 import com.hazelcast.spi.impl.operationservice.impl.responses.ErrorResponse;
 import com.hazelcast.spi.impl.operationservice.impl.responses.NormalResponse;
@@ -53,6 +55,12 @@ import static com.hazelcast.spi.Operation.CALL_ID_LOCAL_SKIPPED;
 import static com.hazelcast.spi.OperationAccessor.setCallerAddress;
 import static com.hazelcast.spi.OperationAccessor.setConnection;
 import static com.hazelcast.spi.impl.OperationResponseHandlerFactory.createEmptyResponseHandler;
+import static com.hazelcast.spi.impl.operationservice.impl.InvocationTracer.Phase.BACKUPS_SENT;
+import static com.hazelcast.spi.impl.operationservice.impl.InvocationTracer.Phase.EXECUTION_FINISHED;
+import static com.hazelcast.spi.impl.operationservice.impl.InvocationTracer.Phase.EXECUTION_STARTED;
+import static com.hazelcast.spi.impl.operationservice.impl.InvocationTracer.Phase.PACKET_DEQUEUED;
+import static com.hazelcast.spi.impl.operationservice.impl.InvocationTracer.Phase.PACKET_RECEIVED;
+import static com.hazelcast.spi.impl.operationservice.impl.InvocationTracer.Phase.RESPONSE_SENT;
 import static com.hazelcast.spi.impl.operationutil.Operations.isJoinOperation;
 import static com.hazelcast.spi.impl.operationutil.Operations.isMigrationOperation;
 import static com.hazelcast.spi.impl.operationutil.Operations.isWanReplicationOperation;
@@ -71,6 +79,16 @@ class OperationRunnerImpl extends OperationRunner {
     private final Node node;
     private final NodeEngineImpl nodeEngine;
     private final AtomicLong executedOperationsCount;
+    private final OperationProfiler operationProfiler;
+    private final InvocationTracer invocationTracer;
+    private final int profilerSampleRate;
+    private final HotKeySampler hotKeySampler;
+    private final int keySampleRate;
+
+    // Only updated by the thread running this OperationRunner; for the shared ad hoc OperationRunner a lost update
+    // just shifts the sample.
+    private int profilerSampleCounter;
+    private int keySampleCounter;
 
     // This field doesn't need additional synchronization, since a partition-specific OperationRunner
     // will never be called concurrently.
@@ -90,6 +108,12 @@ class OperationRunnerImpl extends OperationRunner {
         this.node = operationService.node;
         this.nodeEngine = operationService.nodeEngine;
         this.executedOperationsCount = operationService.executedOperationsCount;
+        this.operationProfiler = operationService.operationProfiler;
+        this.invocationTracer = operationService.invocationTracer;
+        this.profilerSampleRate = operationProfiler.getSampleRate();
+        this.hotKeySampler = operationService.hotKeySampler;
+        // generic operations are never key based
+        this.keySampleRate = partitionId >= 0 ? hotKeySampler.getSampleRate() : 0;
         this.remoteResponseHandler = new RemoteInvocationResponseHandler(operationService);
     }
 
@@ -117,6 +141,8 @@ class OperationRunnerImpl extends OperationRunner {
     @Override
     public void run(Operation op) {
         executedOperationsCount.incrementAndGet();
+        incrementExecutedOperationCount();
+        sampleKey(op);
 
         boolean publishCurrentTask = publishCurrentTask();
 
@@ -124,6 +150,17 @@ class OperationRunnerImpl extends OperationRunner {
             currentTask = op;
         }
 
+        boolean sampled = isSampled();
+        long startNanos = 0;
+        long waitMillis = 0;
+        if (sampled) {
+            waitMillis = operationProfiler.getWaitMillis(op);
+            startNanos = System.nanoTime();
+        }
+
+        // a local response deregisters the invocation, which resets the call id of the operation
+        long callId = op.getCallId();
+        invocationTracer.trace(op, EXECUTION_STARTED);
         try {
             if (timeout(op)) {
                 return;
@@ -145,12 +182,32 @@ class OperationRunnerImpl extends OperationRunner {
         } catch (Throwable e) {
             handleOperationError(op, e);
         } finally {
+            invocationTracer.trace(op.getCallerAddress(), callId, EXECUTION_FINISHED);
+            if (sampled) {
+                operationProfiler.record(op, System.nanoTime() - startNanos, waitMillis);
+            }
             if (publishCurrentTask) {
                 currentTask = null;
             }
         }
     }
 
+    private boolean isSampled() {
+        if (profilerSampleRate == 0 || ++profilerSampleCounter < profilerSampleRate) {
+            return false;
+        }
+        profilerSampleCounter = 0;
+        return true;
+    }
+
+    private void sampleKey(Operation op) {
+        if (keySampleRate == 0 || !(op instanceof KeyBasedOperation) || ++keySampleCounter < keySampleRate) {
+            return;
+        }
+        keySampleCounter = 0;
+        hotKeySampler.sample(op);
+    }
+
     private void ensureQuorumPresent(Operation op) {
         QuorumServiceImpl quorumService = operationService.nodeEngine.getQuorumService();
         quorumService.ensureQuorumPresent(op);
@@ -188,6 +245,7 @@ class OperationRunnerImpl extends OperationRunner {
             int syncBackupCount = 0;
             if (backupAwareOp.shouldBackup()) {
                 syncBackupCount = operationService.operationBackupHandler.backup(backupAwareOp);
+                invocationTracer.trace(op, BACKUPS_SENT);
             }
             if (returnsResponse) {
                 response = new NormalResponse(op.getResponse(), op.getCallId(), syncBackupCount, op.isUrgent());
@@ -206,6 +264,7 @@ class OperationRunnerImpl extends OperationRunner {
         if (responseHandler == null) {
             throw new IllegalStateException("ResponseHandler should not be null! " + op);
         }
+        invocationTracer.trace(op, RESPONSE_SENT);
         responseHandler.sendResponse(op, response);
     }
 
@@ -292,6 +351,8 @@ class OperationRunnerImpl extends OperationRunner {
             currentTask = packet;
         }
 
+        boolean tracing = invocationTracer.isEnabled();
+        long dequeuedNanos = tracing ? System.nanoTime() : 0;
         Connection connection = packet.getConn();
         Address caller = connection.getEndPoint();
         Data data = packet.getData();
@@ -300,6 +361,10 @@ class OperationRunnerImpl extends OperationRunner {
             Operation op = (Operation) object;
             op.setNodeEngine(nodeEngine);
             setCallerAddress(op, caller);
+            if (tracing) {
+                invocationTracer.trace(op, PACKET_RECEIVED, packet.getReceivedNanos());
+                invocationTracer.trace(op, PACKET_DEQUEUED, dequeuedNanos);
+            }
             setConnection(op, connection);
             setCallerUuidIfNotSet(caller, op);
             setOperationResponseHandler(op);
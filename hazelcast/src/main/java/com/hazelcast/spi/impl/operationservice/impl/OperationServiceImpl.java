@@ -20,7 +20,11 @@ import com.hazelcast.core.ExecutionCallback;
 import com.hazelcast.instance.GroupProperties;
 import com.hazelcast.instance.MemberImpl;
 import com.hazelcast.instance.Node;
+import com.hazelcast.internal.management.dto.OperationProfileDTO;
+import com.hazelcast.internal.management.dto.PartitionLoadDTO;
 import com.hazelcast.internal.management.dto.SlowOperationDTO;
+import com.hazelcast.internal.metrics.MetricsRegistry;
+import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.nio.Address;
 import com.hazelcast.nio.Connection;
@@ -38,6 +42,8 @@ import com.hazelcast.spi.impl.NodeEngineImpl;
 import com.hazelcast.spi.impl.PartitionSpecificRunnable;
 import com.hazelcast.spi.impl.operationexecutor.OperationExecutor;
 import com.hazelcast.spi.impl.operationexecutor.classic.ClassicOperationExecutor;
+import com.hazelcast.spi.impl.operationexecutor.partitionload.HotKeySampler;
+import com.hazelcast.spi.impl.operationexecutor.partitionload.PartitionLoadMonitor;
 import com.hazelcast.spi.impl.operationexecutor.slowoperationdetector.SlowOperationDetector;
 import com.hazelcast.spi.impl.operationservice.InternalOperationService;
 import com.hazelcast.spi.impl.operationservice.impl.responses.Response;
@@ -91,6 +97,7 @@ public final class OperationServiceImpl implements InternalOperationService {
     final OperationExecutor operationExecutor;
     final ILogger invocationLogger;
     final ManagedExecutorService asyncExecutor;
+    @Probe(name = "completedCount")
     final AtomicLong executedOperationsCount = new AtomicLong();
 
     final NodeEngineImpl nodeEngine;
@@ -99,8 +106,12 @@ public final class OperationServiceImpl implements InternalOperationService {
     final OperationBackupHandler operationBackupHandler;
     final BackpressureRegulator backpressureRegulator;
     final long defaultCallTimeoutMillis;
+    final OperationProfiler operationProfiler;
+    final InvocationTracer invocationTracer;
+    final HotKeySampler hotKeySampler;
 
     private final SlowOperationDetector slowOperationDetector;
+    private final PartitionLoadMonitor partitionLoadMonitor;
     private final IsStillRunningService isStillRunningService;
 
     public OperationServiceImpl(NodeEngineImpl nodeEngine) {
@@ -119,6 +130,11 @@ public final class OperationServiceImpl implements InternalOperationService {
 
         this.invocationsRegistry = new InvocationRegistry(nodeEngine, logger, backpressureRegulator, concurrencyLevel);
         this.operationBackupHandler = new OperationBackupHandler(this);
+        this.operationProfiler = new OperationProfiler(nodeEngine);
+        this.invocationTracer = new InvocationTracer(node.getThisAddress(),
+                groupProperties.INVOCATION_TRACER_SAMPLE_RATE.getInteger(),
+                groupProperties.INVOCATION_TRACER_BUFFER_SIZE.getInteger());
+        this.hotKeySampler = new HotKeySampler(groupProperties);
 
         this.operationExecutor = new ClassicOperationExecutor(
                 groupProperties,
@@ -137,6 +153,12 @@ public final class OperationServiceImpl implements InternalOperationService {
                 ASYNC_QUEUE_CAPACITY, ExecutorType.CONCRETE);
 
         this.slowOperationDetector = initSlowOperationDetector();
+        this.partitionLoadMonitor = initPartitionLoadMonitor();
+
+        MetricsRegistry metricsRegistry = nodeEngine.getMetricsRegistry();
+        metricsRegistry.scanAndRegister(this, "operation");
+        metricsRegistry.scanAndRegister(operationExecutor, "operation");
+        metricsRegistry.scanAndRegister(invocationsRegistry, "operation.invocations");
     }
 
     private SlowOperationDetector initSlowOperationDetector() {
@@ -147,6 +169,16 @@ public final class OperationServiceImpl implements InternalOperationService {
                 node.getHazelcastThreadGroup());
     }
 
+    private PartitionLoadMonitor initPartitionLoadMonitor() {
+        return new PartitionLoadMonitor(node.loggingService,
+                operationExecutor,
+                hotKeySampler,
+                nodeEngine.getSerializationService(),
+                nodeEngine.getMetricsRegistry(),
+                node.groupProperties,
+                node.getHazelcastThreadGroup());
+    }
+
     public IsStillRunningService getIsStillRunningService() {
         return isStillRunningService;
     }
@@ -167,6 +199,21 @@ public final class OperationServiceImpl implements InternalOperationService {
         return slowOperationDetector.getSlowOperationDTOs();
     }
 
+    @Override
+    public OperationProfileDTO getOperationProfileDTO() {
+        return operationProfiler.getOperationProfileDTO();
+    }
+
+    @Override
+    public String getInvocationTraces(int maxCount) {
+        return invocationTracer.dump(maxCount);
+    }
+
+    @Override
+    public PartitionLoadDTO getPartitionLoadDTO() {
+        return partitionLoadMonitor.getPartitionLoadDTO();
+    }
+
     public InvocationRegistry getInvocationsRegistry() {
         return invocationsRegistry;
     }
@@ -403,6 +450,7 @@ public final class OperationServiceImpl implements InternalOperationService {
         invocationsRegistry.shutdown();
         operationExecutor.shutdown();
         slowOperationDetector.shutdown();
+        partitionLoadMonitor.shutdown();
 
         try {
             invocationsRegistry.awaitTermination(TERMINATION_TIMEOUT_MILLIS);
@@ -0,0 +1,306 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.util;
+
+import java.util.Arrays;
+
+import static com.hazelcast.util.Preconditions.checkNotNull;
+import static com.hazelcast.util.Preconditions.checkPositive;
+
+/**
+ * Concurrent map with primitive int keys, e.g. for tracking requests by their correlation id.
+ * <p/>
+ * The map is split into a power of two number of segments, each an open addressing table with linear probing
+ * guarded by its own lock. Keys are never boxed and no entry objects are created, so {@link #get(int)},
+ * {@link #put(int, Object)} and {@link #remove(int)} don't allocate unless a segment has to grow.
+ * A lock is held for a few array accesses only, so with enough segments threads rarely wait for each other.
+ * <p/>
+ * Null values are not permitted. {@link #keys()} returns a snapshot, taken segment by segment.
+ *
+ * @param <V> type of the values
+ */
+public class ConcurrentInt2ObjectHashMap<V> {
+
+    /**
+     * Default number of segments.
+     */
+    public static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+
+    private static final int DEFAULT_SEGMENT_CAPACITY = 16;
+    private static final int MAX_SEGMENT_CAPACITY = 1 << 30;
+    private static final int INT_BITS = 32;
+
+    private final Segment<V>[] segments;
+    private final int segmentShift;
+
+    public ConcurrentInt2ObjectHashMap() {
+        this(DEFAULT_CONCURRENCY_LEVEL, DEFAULT_SEGMENT_CAPACITY);
+    }
+
+    /**
+     * @param concurrencyLevel number of segments, rounded up to a power of two.
+     * @param segmentCapacity  initial capacity of each segment, rounded up to a power of two.
+     */
+    @SuppressWarnings("unchecked")
+    public ConcurrentInt2ObjectHashMap(int concurrencyLevel, int segmentCapacity) {
+        checkPositive(concurrencyLevel, "concurrencyLevel must be positive");
+        checkPositive(segmentCapacity, "segmentCapacity must be positive");
+        int segmentCount = QuickMath.nextPowerOfTwo(concurrencyLevel);
+        int capacity = QuickMath.nextPowerOfTwo(Math.max(2, segmentCapacity));
+        segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment<V>(capacity);
+        }
+        segmentShift = INT_BITS - QuickMath.log2(segmentCount);
+    }
+
+    public V get(int key) {
+        int hash = hash(key);
+        return segmentFor(hash).get(key, hash);
+    }
+
+    public boolean containsKey(int key) {
+        return get(key) != null;
+    }
+
+    /**
+     * @return the previous value of the key, or <code>null</code> if there was none.
+     */
+    public V put(int key, V value) {
+        checkNotNull(value, "Value cannot be null");
+        int hash = hash(key);
+        return segmentFor(hash).put(key, hash, value);
+    }
+
+    /**
+     * @return the removed value, or <code>null</code> if the key was not mapped.
+     */
+    public V remove(int key) {
+        int hash = hash(key);
+        return segmentFor(hash).remove(key, hash, null);
+    }
+
+    /**
+     * Removes the key only if it is mapped to the given value, compared by identity.
+     *
+     * @return <code>true</code> if the key was removed.
+     */
+    public boolean remove(int key, V value) {
+        checkNotNull(value, "Value cannot be null");
+        int hash = hash(key);
+        return segmentFor(hash).remove(key, hash, value) != null;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment<V> segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    public boolean isEmpty() {
+        for (Segment<V> segment : segments) {
+            if (segment.size() > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void clear() {
+        for (Segment<V> segment : segments) {
+            segment.clear();
+        }
+    }
+
+    /**
+     * Returns a snapshot of the keys. Concurrent updates of a segment which was already copied are not reflected.
+     */
+    public int[] keys() {
+        int[] keys = new int[size()];
+        int count = 0;
+        for (Segment<V> segment : segments) {
+            int end = segment.copyKeysTo(keys, count);
+            while (end < 0) {
+                // the map grew while copying, continue with a larger array
+                keys = Arrays.copyOf(keys, keys.length * 2 + segment.size());
+                end = segment.copyKeysTo(keys, count);
+            }
+            count = end;
+        }
+        return count == keys.length ? keys : Arrays.copyOf(keys, count);
+    }
+
+    private Segment<V> segmentFor(int hash) {
+        // the segment is taken from the high bits, the slot within the segment from the low bits
+        return segments[segmentShift == INT_BITS ? 0 : hash >>> segmentShift];
+    }
+
+    private static int hash(int key) {
+        // keys are usually sequential, mix them to spread them over the segments
+        return HashUtil.MurmurHash3_fmix(key);
+    }
+
+    /**
+     * Open addressing table with linear probing, guarded by its own lock.
+     */
+    @SuppressWarnings("unchecked")
+    private static final class Segment<V> {
+
+        private static final int LOAD_FACTOR_PERCENT = 60;
+        private static final int PERCENT = 100;
+
+        private int[] keys;
+        private Object[] values;
+        private int mask;
+        private int resizeThreshold;
+        private volatile int size;
+
+        Segment(int capacity) {
+            allocate(capacity);
+        }
+
+        synchronized V get(int key, int hash) {
+            Object[] values = this.values;
+            int index = hash & mask;
+            Object value;
+            while ((value = values[index]) != null) {
+                if (keys[index] == key) {
+                    return (V) value;
+                }
+                index = (index + 1) & mask;
+            }
+            return null;
+        }
+
+        synchronized V put(int key, int hash, V value) {
+            int index = hash & mask;
+            Object current;
+            while ((current = values[index]) != null) {
+                if (keys[index] == key) {
+                    values[index] = value;
+                    return (V) current;
+                }
+                index = (index + 1) & mask;
+            }
+            keys[index] = key;
+            values[index] = value;
+            if (++size > resizeThreshold) {
+                grow();
+            }
+            return null;
+        }
+
+        /**
+         * Removes the key if it is mapped to the expected value or if no value is expected.
+         */
+        synchronized V remove(int key, int hash, V expected) {
+            int index = hash & mask;
+            Object value;
+            while ((value = values[index]) != null) {
+                if (keys[index] == key) {
+                    if (expected != null && expected != value) {
+                        return null;
+                    }
+                    values[index] = null;
+                    size--;
+                    compactChain(index);
+                    return (V) value;
+                }
+                index = (index + 1) & mask;
+            }
+            return null;
+        }
+
+        int size() {
+            return size;
+        }
+
+        synchronized void clear() {
+            Arrays.fill(values, null);
+            size = 0;
+        }
+
+        /**
+         * Copies the keys to the target starting at the offset.
+         *
+         * @return the offset after the copied keys, or -1 if the target is too small.
+         */
+        synchronized int copyKeysTo(int[] target, int offset) {
+            if (offset + size > target.length) {
+                return -1;
+            }
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] != null) {
+                    target[offset++] = keys[i];
+                }
+            }
+            return offset;
+        }
+
+        /**
+         * Moves the entries following a removed slot back, so no probe sequence is interrupted by the hole.
+         */
+        private void compactChain(int deleteIndex) {
+            int index = deleteIndex;
+            while (true) {
+                index = (index + 1) & mask;
+                if (values[index] == null) {
+                    return;
+                }
+                int home = HashUtil.MurmurHash3_fmix(keys[index]) & mask;
+                if ((index < home && (home <= deleteIndex || deleteIndex <= index))
+                        || (home <= deleteIndex && deleteIndex <= index)) {
+                    keys[deleteIndex] = keys[index];
+                    values[deleteIndex] = values[index];
+                    values[index] = null;
+                    deleteIndex = index;
+                }
+            }
+        }
+
+        private void grow() {
+            int[] oldKeys = keys;
+            Object[] oldValues = values;
+            if (oldValues.length == MAX_SEGMENT_CAPACITY) {
+                resizeThreshold = Integer.MAX_VALUE;
+                return;
+            }
+            allocate(oldValues.length << 1);
+            for (int i = 0; i < oldValues.length; i++) {
+                Object value = oldValues[i];
+                if (value != null) {
+                    int key = oldKeys[i];
+                    int index = HashUtil.MurmurHash3_fmix(key) & mask;
+                    while (values[index] != null) {
+                        index = (index + 1) & mask;
+                    }
+                    keys[index] = key;
+                    values[index] = value;
+                }
+            }
+        }
+
+        private void allocate(int capacity) {
+            keys = new int[capacity];
+            values = new Object[capacity];
+            mask = capacity - 1;
+            resizeThreshold = (int) ((long) capacity * LOAD_FACTOR_PERCENT / PERCENT);
+        }
+    }
+}
@@ -0,0 +1,435 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.util;
+
+import com.hazelcast.core.HazelcastInstance;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.hazelcast.nio.UnsafeHelper.UNSAFE;
+import static com.hazelcast.nio.UnsafeHelper.UNSAFE_AVAILABLE;
+
+/**
+ * The memory layout of objects on the running JVM, used to compute the heap cost of stored entries.
+ * <p/>
+ * The layout is detected once, when this class is loaded: the reference size, object header size and array base
+ * offsets from {@code sun.misc.Unsafe}, and the object alignment from the {@code ObjectAlignmentInBytes} option of
+ * the HotSpot diagnostic MBean. Whatever can't be detected falls back to a 64 bit JVM with compressed oops and
+ * 8 byte alignment, the default for heaps smaller than 32 GB.
+ * <p/>
+ * Shallow sizes are computed from the field offsets of a class, so they include the padding the JVM adds between
+ * fields. The layouts of classes loaded by the class loader of Hazelcast or one of its parents are cached for the
+ * life of the JVM. Other classes, like the value classes of an application that may be redeployed, are only cached in
+ * a {@link LayoutCache} owned by the caller, so they don't pin their class loader.
+ */
+public final class JvmMemoryLayout {
+
+    /**
+     * Size of an object reference in bytes.
+     */
+    public static final int REFERENCE_SIZE;
+
+    /**
+     * Size of the header of a non-array object in bytes.
+     */
+    public static final int OBJECT_HEADER_SIZE;
+
+    /**
+     * Alignment of objects on the heap in bytes.
+     */
+    public static final int OBJECT_ALIGNMENT;
+
+    /**
+     * Offset of the first element of a {@code byte[]} in bytes.
+     */
+    public static final int BYTE_ARRAY_BASE_OFFSET;
+
+    /**
+     * Offset of the first element of an {@code Object[]} in bytes.
+     */
+    public static final int OBJECT_ARRAY_BASE_OFFSET;
+
+    /**
+     * Heap cost of a single entry of a {@code ConcurrentHashMap}: its node and, on average, two table slots since
+     * the table is between 3/8 and 3/4 full. The key and value are not included.
+     */
+    public static final long CONCURRENT_HASH_MAP_ENTRY_COST;
+
+    /**
+     * Heap cost of a single entry of a {@code ConcurrentSkipListMap}: its node and, on average, half an index node.
+     * The key and value are not included.
+     */
+    public static final long CONCURRENT_SKIP_LIST_MAP_ENTRY_COST;
+
+    static final int MAX_DEEP_SIZE_OBJECTS = 1024;
+
+    private static final int DEFAULT_REFERENCE_SIZE = 4;
+    private static final int DEFAULT_OBJECT_HEADER_SIZE = 12;
+    private static final int DEFAULT_ARRAY_BASE_OFFSET = 16;
+    private static final int DEFAULT_OBJECT_ALIGNMENT = 8;
+    private static final String HOTSPOT_DIAGNOSTIC_MBEAN_NAME = "com.sun.management:type=HotSpotDiagnostic";
+
+    private static final ConcurrentMap<Class, ClassLayout> CLASS_LAYOUTS = new ConcurrentHashMap<Class, ClassLayout>();
+    private static final List<ClassLoader> CACHED_CLASS_LOADERS = classLoaderChain(JvmMemoryLayout.class);
+
+    static {
+        REFERENCE_SIZE = UNSAFE_AVAILABLE ? UNSAFE.arrayIndexScale(Object[].class) : DEFAULT_REFERENCE_SIZE;
+        OBJECT_HEADER_SIZE = detectObjectHeaderSize();
+        OBJECT_ALIGNMENT = detectObjectAlignment();
+        BYTE_ARRAY_BASE_OFFSET = UNSAFE_AVAILABLE ? UNSAFE.arrayBaseOffset(byte[].class) : DEFAULT_ARRAY_BASE_OFFSET;
+        OBJECT_ARRAY_BASE_OFFSET = UNSAFE_AVAILABLE ? UNSAFE.arrayBaseOffset(Object[].class) : DEFAULT_ARRAY_BASE_OFFSET;
+
+        long hashMapNode = shallowSizeOfFirstExisting("java.util.concurrent.ConcurrentHashMap$Node",
+                "java.util.concurrent.ConcurrentHashMap$HashEntry");
+        if (hashMapNode == 0) {
+            // hash, key, value and next
+            hashMapNode = align(OBJECT_HEADER_SIZE + (Integer.SIZE / Byte.SIZE) + 3 * REFERENCE_SIZE);
+        }
+        CONCURRENT_HASH_MAP_ENTRY_COST = hashMapNode + 2 * REFERENCE_SIZE;
+
+        long skipListNode = shallowSizeOfFirstExisting("java.util.concurrent.ConcurrentSkipListMap$Node");
+        long skipListIndex = shallowSizeOfFirstExisting("java.util.concurrent.ConcurrentSkipListMap$Index");
+        if (skipListNode == 0 || skipListIndex == 0) {
+            // key, value and next; node, down and right
+            skipListNode = align(OBJECT_HEADER_SIZE + 3 * REFERENCE_SIZE);
+            skipListIndex = skipListNode;
+        }
+        CONCURRENT_SKIP_LIST_MAP_ENTRY_COST = skipListNode + skipListIndex / 2;
+    }
+
+    private JvmMemoryLayout() {
+    }
+
+    /**
+     * Rounds the size up to the object alignment.
+     */
+    public static long align(long size) {
+        long mask = OBJECT_ALIGNMENT - 1;
+        return (size + mask) & ~mask;
+    }
+
+    /**
+     * Returns the size of an instance of the class itself, without the objects it references.
+     *
+     * @param type a non-array class
+     * @return the shallow size in bytes
+     */
+    public static long shallowSizeOf(Class type) {
+        if (type.isArray()) {
+            throw new IllegalArgumentException("The size of an array depends on its length: " + type);
+        }
+        return layoutOf(type, null).shallowSize;
+    }
+
+    /**
+     * Returns the size of the array itself, without the objects its elements reference.
+     */
+    public static long sizeOfArray(Object array) {
+        Class type = array.getClass();
+        long length = Array.getLength(array);
+        if (UNSAFE_AVAILABLE) {
+            return align(UNSAFE.arrayBaseOffset(type) + length * UNSAFE.arrayIndexScale(type));
+        }
+        return align(DEFAULT_ARRAY_BASE_OFFSET + length * sizeOfField(type.getComponentType()));
+    }
+
+    /**
+     * Returns the size of a {@code byte[]} of the given length.
+     */
+    public static long sizeOfByteArray(int length) {
+        return align(BYTE_ARRAY_BASE_OFFSET + (long) length);
+    }
+
+    /**
+     * Returns the size of an {@code Object[]} of the given length, without the objects its elements reference.
+     */
+    public static long sizeOfReferenceArray(int length) {
+        return align(OBJECT_ARRAY_BASE_OFFSET + (long) length * REFERENCE_SIZE);
+    }
+
+    /**
+     * Estimates the size of the object and of all objects reachable from it.
+     * <p/>
+     * Objects that are typically shared rather than owned (classes, class loaders, threads, enum constants and
+     * Hazelcast instances) are not followed. The walk stops after {@link #MAX_DEEP_SIZE_OBJECTS} objects, so the
+     * size of very large object graphs is underestimated.
+     *
+     * @param root the object, may be {@code null}
+     * @return the estimated size in bytes, 0 for {@code null}
+     */
+    public static long deepSizeOf(Object root) {
+        return deepSizeOf(root, null);
+    }
+
+    /**
+     * Estimates the size of the object and of all objects reachable from it, see {@link #deepSizeOf(Object)}.
+     *
+     * @param root  the object, may be {@code null}
+     * @param cache caches the layouts of classes that aren't cached globally, may be {@code null}
+     * @return the estimated size in bytes, 0 for {@code null}
+     */
+    public static long deepSizeOf(Object root, LayoutCache cache) {
+        if (root == null || isShared(root)) {
+            return 0L;
+        }
+        Class type = root.getClass();
+        if (type.isArray()) {
+            return type.getComponentType().isPrimitive() ? sizeOfArray(root) : walk(root, cache);
+        }
+        ClassLayout layout = layoutOf(type, cache);
+        // boxed primitives and other objects without references don't need a walk
+        return layout.referenceCount() == 0 ? layout.shallowSize : walk(root, cache);
+    }
+
+    private static long walk(Object root, LayoutCache cache) {
+        Map<Object, Boolean> visited = new IdentityHashMap<Object, Boolean>();
+        List<Object> pending = new ArrayList<Object>();
+        pending.add(root);
+        long size = 0;
+        while (!pending.isEmpty() && visited.size() < MAX_DEEP_SIZE_OBJECTS) {
+            Object object = pending.remove(pending.size() - 1);
+            if (visited.put(object, Boolean.TRUE) == null) {
+                size += sizeOfAndPushReferences(object, pending, cache);
+            }
+        }
+        return size;
+    }
+
+    private static long sizeOfAndPushReferences(Object object, List<Object> pending, LayoutCache cache) {
+        Class type = object.getClass();
+        if (type.isArray()) {
+            if (!type.getComponentType().isPrimitive()) {
+                for (Object element : (Object[]) object) {
+                    if (!push(element, pending)) {
+                        break;
+                    }
+                }
+            }
+            return sizeOfArray(object);
+        }
+        ClassLayout layout = layoutOf(type, cache);
+        for (int i = 0; i < layout.referenceCount(); i++) {
+            if (!push(layout.getReference(object, i), pending)) {
+                break;
+            }
+        }
+        return layout.shallowSize;
+    }
+
+    private static boolean push(Object object, List<Object> pending) {
+        if (pending.size() >= MAX_DEEP_SIZE_OBJECTS) {
+            return false;
+        }
+        if (object != null && !isShared(object)) {
+            pending.add(object);
+        }
+        return true;
+    }
+
+    private static boolean isShared(Object object) {
+        return object instanceof Class || object instanceof ClassLoader || object instanceof Thread
+                || object instanceof Enum || object instanceof HazelcastInstance;
+    }
+
+    private static ClassLayout layoutOf(Class type, LayoutCache cache) {
+        ConcurrentMap<Class, ClassLayout> layouts = isCachedGlobally(type) ? CLASS_LAYOUTS : null;
+        if (layouts == null && cache != null) {
+            layouts = cache.layouts;
+        }
+        if (layouts == null) {
+            return new ClassLayout(type);
+        }
+        ClassLayout layout = layouts.get(type);
+        if (layout == null) {
+            layout = new ClassLayout(type);
+            ClassLayout existing = layouts.putIfAbsent(type, layout);
+            layout = existing != null ? existing : layout;
+        }
+        return layout;
+    }
+
+    /**
+     * Classes of the class loader of Hazelcast and its parents can be cached globally: their class loaders live at
+     * least as long as Hazelcast does.
+     */
+    private static boolean isCachedGlobally(Class type) {
+        try {
+            ClassLoader classLoader = type.getClassLoader();
+            return classLoader == null || CACHED_CLASS_LOADERS.contains(classLoader);
+        } catch (SecurityException e) {
+            return false;
+        }
+    }
+
+    private static List<ClassLoader> classLoaderChain(Class type) {
+        List<ClassLoader> classLoaders = new ArrayList<ClassLoader>();
+        try {
+            for (ClassLoader c = type.getClassLoader(); c != null; c = c.getParent()) {
+                classLoaders.add(c);
+            }
+        } catch (SecurityException e) {
+            EmptyStatement.ignore(e);
+        }
+        return classLoaders;
+    }
+
+    /**
+     * Returns the shallow size of the first of the named classes that exists, or 0 if none does.
+     */
+    private static long shallowSizeOfFirstExisting(String... classNames) {
+        for (String className : classNames) {
+            try {
+                return shallowSizeOf(Class.forName(className));
+            } catch (ClassNotFoundException e) {
+                EmptyStatement.ignore(e);
+            } catch (SecurityException e) {
+                EmptyStatement.ignore(e);
+            }
+        }
+        return 0L;
+    }
+
+    private static long sizeOfField(Class type) {
+        if (!type.isPrimitive()) {
+            return REFERENCE_SIZE;
+        } else if (type == long.class || type == double.class) {
+            return Long.SIZE / Byte.SIZE;
+        } else if (type == int.class || type == float.class) {
+            return Integer.SIZE / Byte.SIZE;
+        } else if (type == short.class || type == char.class) {
+            return Short.SIZE / Byte.SIZE;
+        }
+        return 1;
+    }
+
+    private static int detectObjectHeaderSize() {
+        if (!UNSAFE_AVAILABLE) {
+            return DEFAULT_OBJECT_HEADER_SIZE;
+        }
+        try {
+            // the first field is placed right after the header
+            return (int) UNSAFE.objectFieldOffset(HeaderProbe.class.getDeclaredField("value"));
+        } catch (NoSuchFieldException e) {
+            return DEFAULT_OBJECT_HEADER_SIZE;
+        }
+    }
+
+    private static int detectObjectAlignment() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            CompositeData option = (CompositeData) server.invoke(new ObjectName(HOTSPOT_DIAGNOSTIC_MBEAN_NAME),
+                    "getVMOption", new Object[]{"ObjectAlignmentInBytes"}, new String[]{String.class.getName()});
+            int alignment = Integer.parseInt(String.valueOf(option.get("value")));
+            return QuickMath.isPowerOfTwo(alignment) ? alignment : DEFAULT_OBJECT_ALIGNMENT;
+        } catch (Exception e) {
+            // not a HotSpot JVM
+            return DEFAULT_OBJECT_ALIGNMENT;
+        }
+    }
+
+    /**
+     * Caches the layouts of the classes that aren't cached globally, like the value classes of an application.
+     * The cache should be owned by whatever holds the instances of those classes, a map for example, so it doesn't
+     * outlive them by much.
+     */
+    public static final class LayoutCache {
+
+        private final ConcurrentMap<Class, ClassLayout> layouts = new ConcurrentHashMap<Class, ClassLayout>();
+    }
+
+    /**
+     * A class with a single field, used to detect the object header size.
+     */
+    @SuppressWarnings("unused")
+    private static final class HeaderProbe {
+        private byte value;
+    }
+
+    /**
+     * The shallow size of a class and the instance fields holding references.
+     */
+    private static final class ClassLayout {
+
+        final long shallowSize;
+        final Field[] references;
+        final long[] referenceOffsets;
+
+        ClassLayout(Class type) {
+            List<Field> fields = new ArrayList<Field>();
+            long size = OBJECT_HEADER_SIZE;
+            for (Class c = type; c != null; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers())) {
+                        continue;
+                    }
+                    long fieldSize = sizeOfField(field.getType());
+                    if (UNSAFE_AVAILABLE) {
+                        size = Math.max(size, UNSAFE.objectFieldOffset(field) + fieldSize);
+                    } else {
+                        size += fieldSize;
+                    }
+                    if (!field.getType().isPrimitive() && (UNSAFE_AVAILABLE || makeAccessible(field))) {
+                        fields.add(field);
+                    }
+                }
+            }
+            shallowSize = align(size);
+            references = fields.toArray(new Field[fields.size()]);
+            referenceOffsets = new long[references.length];
+            for (int i = 0; UNSAFE_AVAILABLE && i < references.length; i++) {
+                referenceOffsets[i] = UNSAFE.objectFieldOffset(references[i]);
+            }
+        }
+
+        int referenceCount() {
+            return references.length;
+        }
+
+        Object getReference(Object object, int index) {
+            if (UNSAFE_AVAILABLE) {
+                return UNSAFE.getObject(object, referenceOffsets[index]);
+            }
+            try {
+                return references[index].get(object);
+            } catch (IllegalAccessException e) {
+                return null;
+            }
+        }
+
+        private static boolean makeAccessible(Field field) {
+            try {
+                field.setAccessible(true);
+                return true;
+            } catch (RuntimeException e) {
+                // denied by a security manager
+                return false;
+            }
+        }
+    }
+}
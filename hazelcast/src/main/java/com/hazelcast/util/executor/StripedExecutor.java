@@ -99,6 +99,21 @@ public final class StripedExecutor implements Executor {
         return live;
     }
 
+    /**
+     * Checks if the given thread is one of the worker threads of this StripedExecutor.
+     *
+     * @param thread the thread to check
+     * @return true if the thread is a worker thread of this StripedExecutor
+     */
+    public boolean isWorkerThread(Thread thread) {
+        for (Worker worker : workers) {
+            if (worker == thread) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     public void execute(Runnable command) {
         if (command == null) {
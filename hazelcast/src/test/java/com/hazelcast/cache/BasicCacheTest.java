@@ -53,6 +53,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -169,6 +170,29 @@ public class BasicCacheTest
         cacheManager.destroyCache(cacheName);
     }
 
+    @Test
+    public void testPutAll() {
+        final String cacheName = "simpleCache";
+
+        CacheManager cacheManager = cachingProvider1.getCacheManager();
+        CacheConfig<Integer, String> config = new CacheConfig<Integer, String>();
+        Cache<Integer, String> cache = cacheManager.createCache(cacheName, config);
+
+        Map<Integer, String> entries = new HashMap<Integer, String>();
+        for (int i = 0; i < 1000; i++) {
+            entries.put(i, "value" + i);
+        }
+        cache.putAll(entries);
+
+        Cache<Integer, String> cache2 = cachingProvider2.getCacheManager().getCache(cacheName);
+        assertEquals(entries.size(), ((ICache) cache2).size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals("value" + i, cache2.get(i));
+        }
+
+        cacheManager.destroyCache(cacheName);
+    }
+
     @Test
     public void testCompletionTest()
             throws InterruptedException {
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.cache;
+
+import com.hazelcast.cache.impl.HazelcastServerCachingProvider;
+import com.hazelcast.config.CacheConfig;
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.instance.GroupProperties;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import javax.cache.CacheManager;
+import javax.cache.expiry.CreatedExpiryPolicy;
+import javax.cache.expiry.Duration;
+import javax.cache.expiry.ExpiryPolicy;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class CacheExpirationTest
+        extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    private TestHazelcastInstanceFactory factory;
+    private HazelcastServerCachingProvider cachingProvider;
+
+    @Before
+    public void init() {
+        Config config = new Config();
+        config.setProperty(GroupProperties.PROP_CACHE_EXPIRATION_TASK_PERIOD_SECONDS, "1");
+        factory = new TestHazelcastInstanceFactory(2);
+        HazelcastInstance hz1 = factory.newHazelcastInstance(config);
+        factory.newHazelcastInstance(config);
+        cachingProvider = HazelcastServerCachingProvider.createCachingProvider(hz1);
+    }
+
+    @After
+    public void tear() {
+        cachingProvider.close();
+        factory.shutdownAll();
+    }
+
+    @Test
+    public void testExpiredEntriesAreRemovedWithoutAccess() {
+        final ICache<Integer, String> cache = createCache();
+        ExpiryPolicy expiryPolicy = new CreatedExpiryPolicy(new Duration(TimeUnit.SECONDS, 1));
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            cache.put(i, "value" + i, expiryPolicy);
+        }
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(0, cache.size());
+            }
+        });
+    }
+
+    @Test
+    public void testNotExpiredEntriesAreKept() {
+        final ICache<Integer, String> cache = createCache();
+        ExpiryPolicy expiryPolicy = new CreatedExpiryPolicy(new Duration(TimeUnit.SECONDS, 1));
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            if (i % 2 == 0) {
+                cache.put(i, "value" + i, expiryPolicy);
+            } else {
+                cache.put(i, "value" + i);
+            }
+        }
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(ENTRY_COUNT / 2, cache.size());
+            }
+        });
+        for (int i = 1; i < ENTRY_COUNT; i += 2) {
+            assertEquals("value" + i, cache.get(i));
+        }
+    }
+
+    private ICache<Integer, String> createCache() {
+        CacheManager cacheManager = cachingProvider.getCacheManager();
+        CacheConfig<Integer, String> config = new CacheConfig<Integer, String>();
+        return (ICache<Integer, String>) cacheManager.createCache(randomName(), config);
+    }
+}
@@ -19,11 +19,13 @@ package com.hazelcast.cache;
 import com.hazelcast.cache.impl.HazelcastServerCachingProvider;
 import com.hazelcast.config.CacheConfig;
 import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.partition.InternalPartitionService;
 import com.hazelcast.test.AssertTask;
 import com.hazelcast.test.HazelcastSerialClassRunner;
 import com.hazelcast.test.HazelcastTestSupport;
 import com.hazelcast.test.TestHazelcastInstanceFactory;
 import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.util.EmptyStatement;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -36,8 +38,11 @@ import javax.cache.configuration.CompleteConfiguration;
 import javax.cache.configuration.FactoryBuilder;
 import javax.cache.integration.CacheLoader;
 import javax.cache.integration.CacheLoaderException;
+import javax.cache.integration.CacheWriter;
+import javax.cache.integration.CacheWriterException;
 import javax.cache.integration.CompletionListener;
 import java.io.Serializable;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -47,6 +52,8 @@ import java.util.concurrent.CountDownLatch;
 import static junit.framework.Assert.assertNotNull;
 import static junit.framework.Assert.assertNull;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
 
 @RunWith(HazelcastSerialClassRunner.class)
 @Category(QuickTest.class)
@@ -157,6 +164,41 @@ public class ReadWriteThroughJCacheTests extends HazelcastTestSupport {
         assertEquals(100, cache.unwrap(ICache.class).size());
     }
 
+    @Test
+    public void test_putAll_writeThroughFails_thenEntriesWrittenBeforeAreBackedUp() {
+        String cacheName = randomMapName();
+        CacheManager cacheManager = cachingProvider1.getCacheManager();
+        CompleteConfiguration<Integer, Integer> config = new CacheConfig<Integer, Integer>()
+                .setTypes(Integer.class, Integer.class)
+                .setWriteThrough(true)
+                .setCacheWriterFactory(FactoryBuilder.factoryOf(new NegativeValueRejectingCacheWriter()));
+        Cache<Integer, Integer> cache = cacheManager.createCache(cacheName, config);
+
+        // all entries go to a single partition owned by the other member, so they are put by one operation
+        warmUpPartitions(hz1, hz2);
+        InternalPartitionService partitionService = getPartitionService(hz1);
+        int partitionId = partitionService.getPartitionId(generateKeyOwnedBy(hz2));
+        Map<Integer, Integer> entries = new HashMap<Integer, Integer>();
+        for (int key = 0; entries.size() < 20; key++) {
+            if (partitionService.getPartitionId(key) == partitionId) {
+                entries.put(key, entries.isEmpty() ? -1 : key);
+            }
+        }
+
+        try {
+            cache.putAll(entries);
+            fail("putAll should fail when the cache writer rejects an entry");
+        } catch (CacheWriterException expected) {
+            EmptyStatement.ignore(expected);
+        }
+        Map<Integer, Integer> written = cache.getAll(entries.keySet());
+        assertFalse(written.containsValue(-1));
+
+        hz2.getLifecycleService().terminate();
+
+        assertEquals(written, cache.getAll(entries.keySet()));
+    }
+
     public static class GetAllAsyncCacheLoader implements CacheLoader<Integer, Integer>, Serializable {
 
         @Override
@@ -177,4 +219,29 @@ public class ReadWriteThroughJCacheTests extends HazelcastTestSupport {
         }
     }
 
+    public static class NegativeValueRejectingCacheWriter implements CacheWriter<Integer, Integer>, Serializable {
+
+        @Override
+        public void write(Cache.Entry<? extends Integer, ? extends Integer> entry) throws CacheWriterException {
+            if (entry.getValue() < 0) {
+                throw new CacheWriterException("Rejected negative value of key " + entry.getKey());
+            }
+        }
+
+        @Override
+        public void writeAll(Collection<Cache.Entry<? extends Integer, ? extends Integer>> entries)
+                throws CacheWriterException {
+            for (Cache.Entry<? extends Integer, ? extends Integer> entry : entries) {
+                write(entry);
+            }
+        }
+
+        @Override
+        public void delete(Object key) throws CacheWriterException {
+        }
+
+        @Override
+        public void deleteAll(Collection<?> keys) throws CacheWriterException {
+        }
+    }
 }
\ No newline at end of file
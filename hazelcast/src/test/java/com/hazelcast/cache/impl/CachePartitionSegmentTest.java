@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.cache.impl;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class CachePartitionSegmentTest {
+
+    private static final long STALE_AFTER_MILLIS = 1000;
+
+    private final CachePartitionSegment segment = new CachePartitionSegment(null, 0);
+
+    @Test
+    public void testTryStartCleanup_whileRunning() {
+        assertTrue(segment.tryStartCleanup(100, STALE_AFTER_MILLIS));
+        assertFalse(segment.tryStartCleanup(200, STALE_AFTER_MILLIS));
+    }
+
+    @Test
+    public void testTryStartCleanup_afterFinish() {
+        assertTrue(segment.tryStartCleanup(100, STALE_AFTER_MILLIS));
+        segment.finishCleanup(150);
+
+        assertEquals(150, segment.getLastCleanupTime());
+        assertTrue(segment.tryStartCleanup(200, STALE_AFTER_MILLIS));
+    }
+
+    @Test
+    public void testTryStartCleanup_takesOverStaleCleanup() {
+        // e.g. the cleanup operation was rejected because the partition was migrating
+        assertTrue(segment.tryStartCleanup(100, STALE_AFTER_MILLIS));
+
+        assertTrue(segment.tryStartCleanup(100 + STALE_AFTER_MILLIS, STALE_AFTER_MILLIS));
+        assertFalse(segment.tryStartCleanup(200 + STALE_AFTER_MILLIS, STALE_AFTER_MILLIS));
+    }
+}
@@ -0,0 +1,62 @@
+package com.hazelcast.client.protocol;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.util.ClientMessageBatch;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class ClientMessageBatchTest {
+
+    @Test
+    public void testEncodeDecode() {
+        List<ClientMessage> messages = new ArrayList<ClientMessage>();
+        for (int i = 0; i < 10; i++) {
+            messages.add(createMessage(i));
+        }
+
+        ClientMessage batch = ClientMessageBatch.encode(messages);
+        assertTrue(ClientMessageBatch.isBatch(batch));
+
+        batch.index(batch.getDataOffset());
+        List<ClientMessage> decoded = ClientMessageBatch.decode(batch);
+
+        assertEquals(messages.size(), decoded.size());
+        for (int i = 0; i < decoded.size(); i++) {
+            ClientMessage message = decoded.get(i);
+            assertFalse(ClientMessageBatch.isBatch(message));
+            assertEquals(i, message.getCorrelationId());
+            assertEquals(i, message.getPartitionId());
+            assertEquals(messages.get(i).getFrameLength(), message.getFrameLength());
+            assertEquals("value-" + i, message.getStringUtf8());
+            assertEquals(i, message.getLong());
+        }
+        assertEquals(batch.getFrameLength(), batch.index());
+    }
+
+    @Test
+    public void testDecode_emptyBatch() {
+        ClientMessage batch = ClientMessageBatch.encode(new ArrayList<ClientMessage>());
+        batch.index(batch.getDataOffset());
+
+        assertTrue(ClientMessageBatch.decode(batch).isEmpty());
+    }
+
+    private static ClientMessage createMessage(int id) {
+        ClientMessage message = ClientMessage.createForEncode(ClientMessage.HEADER_SIZE + 128);
+        message.setMessageType(1).setCorrelationId(id).setPartitionId(id);
+        message.set("value-" + id).set((long) id);
+        return message.updateFrameLength();
+    }
+}
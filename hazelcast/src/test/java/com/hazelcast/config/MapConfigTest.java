@@ -347,4 +347,15 @@ public class MapConfigTest {
         assertNotEquals(config2, config3);
     }
 
+    @Test
+    public void testEquals_whenValueCompressionDiffers() {
+        MapConfig config1 = new MapConfig("map").setValueCompressionEnabled(true);
+        MapConfig config2 = new MapConfig("map").setValueCompressionEnabled(true);
+        MapConfig config3 = new MapConfig("map");
+
+        assertEquals(config1, config2);
+        assertEquals(config1.hashCode(), config2.hashCode());
+        assertNotEquals(config1, config3);
+    }
+
 }
@@ -599,6 +599,29 @@ public class XMLConfigBuilderTest extends HazelcastTestSupport {
         assertEquals(InMemoryFormat.OBJECT, ncConfig.getInMemoryFormat());
     }
 
+    @Test
+    public void testNearCachePreloader() {
+        String mapName = "testMapNearCachePreloader";
+        String xml =
+                "<hazelcast>\n" +
+                        "  <map name=\"" + mapName + "\">\n" +
+                        "    <near-cache>\n" +
+                        "      <max-size>5000</max-size>\n" +
+                        "      <preloader enabled=\"true\" directory=\"/tmp/near-cache\"" +
+                        " store-initial-delay-seconds=\"30\" store-interval-seconds=\"60\"/>\n" +
+                        "    </near-cache>\n" +
+                        "  </map>\n" +
+                        "</hazelcast>";
+        final Config config = buildConfig(xml);
+        NearCacheConfig ncConfig = config.getMapConfig(mapName).getNearCacheConfig();
+        NearCachePreloaderConfig preloaderConfig = ncConfig.getPreloaderConfig();
+        assertEquals(5000, ncConfig.getMaxSize());
+        assertTrue(preloaderConfig.isEnabled());
+        assertEquals("/tmp/near-cache", preloaderConfig.getDirectory());
+        assertEquals(30, preloaderConfig.getStoreInitialDelaySeconds());
+        assertEquals(60, preloaderConfig.getStoreIntervalSeconds());
+    }
+
     @Test
     public void testMapWanReplicationRef() {
         String mapName = "testMapWanReplicationRef";
@@ -0,0 +1,96 @@
+package com.hazelcast.internal.metrics;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.core.Message;
+import com.hazelcast.core.MessageListener;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class NodeMetricsTest extends HazelcastTestSupport {
+
+    private HazelcastInstance hz;
+    private MetricsRegistry metricsRegistry;
+
+    @Before
+    public void setup() {
+        hz = createHazelcastInstance();
+        metricsRegistry = getNode(hz).nodeEngine.getMetricsRegistry();
+    }
+
+    @Test
+    public void operationMetrics() {
+        assertRegistered("operation.queueSize", "operation.priorityQueueSize", "operation.responseQueueSize",
+                "operation.runningCount", "operation.completedCount");
+    }
+
+    @Test
+    public void completedCount_followsExecutedOperations() {
+        final Gauge gauge = metricsRegistry.getGauge("operation.completedCount");
+        final long before = gauge.readLong();
+
+        IMap<Integer, Integer> map = hz.getMap("map");
+        for (int i = 0; i < 10; i++) {
+            map.put(i, i);
+        }
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertTrue(gauge.readLong() >= before + 10);
+            }
+        });
+    }
+
+    @Test
+    public void invocationMetrics() {
+        assertRegistered("operation.invocations.pending", "operation.invocations.lastCallId",
+                "operation.invocations.usedPercentage");
+    }
+
+    @Test
+    public void partitionMetrics() {
+        assertRegistered("partitions.migrationQueueSize", "partitions.activeMigrations");
+    }
+
+    @Test
+    public void eventMetrics() {
+        assertRegistered("event.threadCount", "event.queueCapacity", "event.queueSize", "event.totalFailures",
+                "event.listenerCount");
+    }
+
+    @Test
+    public void listenerCount_followsRegistrations() {
+        HazelcastInstance hz = createHazelcastInstance();
+        Gauge gauge = getNode(hz).nodeEngine.getMetricsRegistry().getGauge("event.listenerCount");
+        long before = gauge.readLong();
+
+        hz.getTopic("topic").addMessageListener(new MessageListener<Object>() {
+            @Override
+            public void onMessage(Message<Object> message) {
+            }
+        });
+
+        assertEquals(before + 1, gauge.readLong());
+    }
+
+    private void assertRegistered(String... names) {
+        Set<String> registered = metricsRegistry.getNames();
+        for (String name : names) {
+            assertTrue(name + " is not registered", registered.contains(name));
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.hazelcast.internal.metrics.impl;
+
+import com.hazelcast.internal.metrics.DoubleProbe;
+import com.hazelcast.internal.metrics.LongProbe;
+import com.hazelcast.internal.metrics.MetricsPublisher;
+import com.hazelcast.logging.Logger;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class PublishMetricsTest extends HazelcastTestSupport {
+
+    private MetricsRegistryImpl metricsRegistry;
+    private RecordingPublisher publisher;
+
+    @Before
+    public void setup() {
+        metricsRegistry = new MetricsRegistryImpl(Logger.getLogger(MetricsRegistryImpl.class));
+        publisher = new RecordingPublisher();
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void whenNullPublisher() {
+        metricsRegistry.publish(null, 0);
+    }
+
+    @Test
+    public void publish_valuesInNameOrder() {
+        registerLong("z.long", 10);
+        registerDouble("a.double", 2.5);
+
+        metricsRegistry.publish(publisher, 100);
+
+        assertEquals(100, publisher.timestamp);
+        assertEquals(1, publisher.endCount);
+        assertEquals(10L, publisher.values.get("z.long"));
+        assertEquals(2.5, publisher.values.get("a.double"));
+        for (int i = 1; i < publisher.names.size(); i++) {
+            assertTrue(publisher.names.get(i - 1).compareTo(publisher.names.get(i)) < 0);
+        }
+    }
+
+    @Test
+    public void publish_skipsGaugesWithoutInput() {
+        metricsRegistry.getGauge("foo");
+
+        metricsRegistry.publish(publisher, 0);
+
+        assertFalse(publisher.names.contains("foo"));
+    }
+
+    @Test
+    public void publish_afterDeregister() {
+        Object source = registerLong("foo", 1);
+        metricsRegistry.publish(publisher, 0);
+        assertTrue(publisher.names.contains("foo"));
+
+        metricsRegistry.deregister(source);
+        publisher.names.clear();
+        metricsRegistry.publish(publisher, 0);
+
+        assertFalse(publisher.names.contains("foo"));
+    }
+
+    @Test
+    public void publish_whenProbeFails_otherMetricsArePublished() {
+        metricsRegistry.register(this, "failing", new LongProbe<PublishMetricsTest>() {
+            @Override
+            public long get(PublishMetricsTest source) throws Exception {
+                throw new Exception("expected");
+            }
+        });
+        registerLong("foo", 1);
+
+        metricsRegistry.publish(publisher, 0);
+
+        assertFalse(publisher.names.contains("failing"));
+        assertTrue(publisher.names.contains("foo"));
+    }
+
+    private Object registerLong(String name, final long value) {
+        Object source = new Object();
+        metricsRegistry.register(source, name, new LongProbe<Object>() {
+            @Override
+            public long get(Object source) {
+                return value;
+            }
+        });
+        return source;
+    }
+
+    private void registerDouble(String name, final double value) {
+        metricsRegistry.register(new Object(), name, new DoubleProbe<Object>() {
+            @Override
+            public double get(Object source) {
+                return value;
+            }
+        });
+    }
+
+    private static class RecordingPublisher implements MetricsPublisher {
+
+        final List<String> names = new ArrayList<String>();
+        final Map<String, Object> values = new HashMap<String, Object>();
+        long timestamp;
+        int endCount;
+
+        @Override
+        public String getName() {
+            return "recording";
+        }
+
+        @Override
+        public void beginPublish(long timestamp) {
+            this.timestamp = timestamp;
+        }
+
+        @Override
+        public void publishLong(String name, long value) {
+            names.add(name);
+            values.put(name, value);
+        }
+
+        @Override
+        public void publishDouble(String name, double value) {
+            names.add(name);
+            values.put(name, value);
+        }
+
+        @Override
+        public void endPublish() {
+            endCount++;
+        }
+
+        @Override
+        public void shutdown() {
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.hazelcast.internal.monitors;
+
+import com.hazelcast.logging.Logger;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class FileMetricsPublisherTest extends HazelcastTestSupport {
+
+    private File directory;
+    private File file;
+
+    @Before
+    public void setup() {
+        directory = new File(System.getProperty("java.io.tmpdir"), "metrics-" + randomString());
+        assertTrue(directory.mkdirs());
+        file = new File(directory, "metrics.log");
+    }
+
+    @After
+    public void tearDown() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File f : files) {
+                f.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    @Test
+    public void namesAreOnlyWrittenWhenChanged() throws IOException {
+        FileMetricsPublisher publisher = new FileMetricsPublisher(file, 1024 * 1024, 1, Logger.getLogger(getClass()));
+        String a = "a";
+        String b = "b";
+
+        publish(publisher, 1, a, 10, b, 2.5);
+        publish(publisher, 2, a, 11, b, 3.5);
+        publisher.beginPublish(3);
+        publisher.publishLong(a, 12);
+        publisher.endPublish();
+        publisher.shutdown();
+
+        assertEquals(asList("#\ta\tb", "1\t10\t2.5", "2\t11\t3.5", "#\ta", "3\t12"), readLines(file));
+    }
+
+    @Test
+    public void rollsOver_whenMaxSizeExceeded() throws IOException {
+        FileMetricsPublisher publisher = new FileMetricsPublisher(file, 10, 2, Logger.getLogger(getClass()));
+        String a = "a";
+        String b = "b";
+
+        for (int i = 1; i <= 4; i++) {
+            publish(publisher, i, a, i, b, i);
+        }
+        publisher.shutdown();
+
+        assertEquals(asList("#\ta\tb", "4\t4\t4.0"), readLines(file));
+        assertEquals(asList("#\ta\tb", "3\t3\t3.0"), readLines(new File(directory, "metrics.log.1")));
+        assertEquals(asList("#\ta\tb", "2\t2\t2.0"), readLines(new File(directory, "metrics.log.2")));
+        assertFalse(new File(directory, "metrics.log.3").exists());
+    }
+
+    @Test
+    public void rollsOver_whenEncodedSizeExceeded() throws IOException {
+        // the first cycle writes 12 chars, but 17 bytes
+        FileMetricsPublisher publisher = new FileMetricsPublisher(file, 14, 1, Logger.getLogger(getClass()));
+        String name = "\u00e4\u00e4\u00e4\u00e4\u00e4";
+
+        for (int i = 1; i <= 2; i++) {
+            publisher.beginPublish(i);
+            publisher.publishLong(name, i);
+            publisher.endPublish();
+        }
+        publisher.shutdown();
+
+        assertEquals(2, readLines(file).size());
+        assertEquals(2, readLines(new File(directory, "metrics.log.1")).size());
+        assertEquals(17, new File(directory, "metrics.log.1").length());
+    }
+
+    private static void publish(FileMetricsPublisher publisher, long timestamp,
+                                String longName, long longValue, String doubleName, double doubleValue) {
+        publisher.beginPublish(timestamp);
+        publisher.publishLong(longName, longValue);
+        publisher.publishDouble(doubleName, doubleValue);
+        publisher.endPublish();
+    }
+
+    private static List<String> readLines(File file) throws IOException {
+        List<String> lines = new ArrayList<String>();
+        BufferedReader reader = new BufferedReader(new FileReader(file));
+        try {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                lines.add(line);
+            }
+        } finally {
+            reader.close();
+        }
+        return lines;
+    }
+}
@@ -18,17 +18,26 @@ package com.hazelcast.map;
 
 import com.hazelcast.config.Config;
 import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.MapIndexConfig;
+import com.hazelcast.config.MaxSizeConfig;
 import com.hazelcast.config.NearCacheConfig;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.IMap;
+import com.hazelcast.nio.serialization.SerializationService;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.HazelcastTestSupport;
 import com.hazelcast.test.TestHazelcastInstanceFactory;
 import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.util.JvmMemoryLayout;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
+import static com.hazelcast.util.JvmMemoryLayout.CONCURRENT_HASH_MAP_ENTRY_COST;
+import static com.hazelcast.util.JvmMemoryLayout.OBJECT_HEADER_SIZE;
+import static com.hazelcast.util.JvmMemoryLayout.REFERENCE_SIZE;
+import static com.hazelcast.util.JvmMemoryLayout.align;
+import static com.hazelcast.util.JvmMemoryLayout.sizeOfByteArray;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
@@ -47,16 +56,15 @@ public class SizeEstimatorTest extends HazelcastTestSupport {
 
     @Test
     public void testSinglePut() throws InterruptedException {
-        final long expectedPerEntryHeapCost = 166L;
         final SizeEstimatorTestMapBuilder<Integer, Long> testMapBuilder = new SizeEstimatorTestMapBuilder<Integer, Long>(factory);
         final IMap<Integer, Long> map = testMapBuilder.withNodeCount(1).withBackupCount(0).build();
         map.put(0, 10L);
+        final long expectedPerEntryHeapCost = expectedPerEntryHeapCost(testMapBuilder.nodes[0], 0, 10L);
         assertEquals(expectedPerEntryHeapCost, testMapBuilder.totalHeapCost());
     }
 
     @Test
     public void testExactHeapCostAfterUpdateWithMultipleBackupNodes() throws InterruptedException {
-        final long expectedPerEntryHeapCost = 166L;
         final int putCount = 1;
         final int nodeCount = 1;
         final SizeEstimatorTestMapBuilder<Integer, Long> testMapBuilder = new SizeEstimatorTestMapBuilder<Integer, Long>(factory);
@@ -64,6 +72,7 @@ public class SizeEstimatorTest extends HazelcastTestSupport {
         for (int i = 0; i < putCount; i++) {
             map.put(i, System.currentTimeMillis());
         }
+        final long expectedPerEntryHeapCost = expectedPerEntryHeapCost(testMapBuilder.nodes[0], 0, 0L);
         final long heapCost = testMapBuilder.totalHeapCost();
         assertEquals("Heap cost calculation is wrong!",
                 expectedPerEntryHeapCost * putCount * nodeCount, heapCost);
@@ -177,7 +186,7 @@ public class SizeEstimatorTest extends HazelcastTestSupport {
 
         for (int i = 0; i < n; i++) {
             assertTrue(h[i].getMap(BINARY_MAP).getLocalMapStats().getHeapCost() > 0);
-            assertEquals(0, h[i].getMap(OBJECT_MAP).getLocalMapStats().getHeapCost());
+            assertTrue(h[i].getMap(OBJECT_MAP).getLocalMapStats().getHeapCost() > 0);
         }
 
         // clear map
@@ -190,6 +199,69 @@ public class SizeEstimatorTest extends HazelcastTestSupport {
         }
     }
 
+    @Test
+    public void testObjectFormat_valueCostOnlyEstimatedForHeapBasedPolicy() {
+        final String HEAP_POLICY_MAP = "heapPolicy";
+        final String ENTRY_POLICY_MAP = "entryPolicy";
+        final Config config = new Config();
+        config.getMapConfig(HEAP_POLICY_MAP).setInMemoryFormat(InMemoryFormat.OBJECT).setBackupCount(0)
+                .setMaxSizeConfig(new MaxSizeConfig(Integer.MAX_VALUE, MaxSizeConfig.MaxSizePolicy.USED_HEAP_SIZE));
+        config.getMapConfig(ENTRY_POLICY_MAP).setInMemoryFormat(InMemoryFormat.OBJECT).setBackupCount(0);
+
+        final HazelcastInstance instance = factory.newHazelcastInstance(config);
+        final IMap<Integer, String> heapPolicyMap = instance.getMap(HEAP_POLICY_MAP);
+        final IMap<Integer, String> entryPolicyMap = instance.getMap(ENTRY_POLICY_MAP);
+        for (int i = 0; i < 100; i++) {
+            heapPolicyMap.put(i, "value" + i);
+            entryPolicyMap.put(i, "value" + i);
+        }
+
+        final long valueCosts = heapPolicyMap.getLocalMapStats().getHeapCost() - entryPolicyMap.getLocalMapStats().getHeapCost();
+        assertTrue(valueCosts >= 100 * JvmMemoryLayout.deepSizeOf("value0"));
+    }
+
+    @Test
+    public void testIndexes() throws InterruptedException {
+        final String INDEXED_MAP = "testIndexed";
+        final String NOT_INDEXED_MAP = "testNotIndexed";
+        final Config config = new Config();
+        config.getMapConfig(INDEXED_MAP).setBackupCount(0).addMapIndexConfig(new MapIndexConfig("this", true));
+        config.getMapConfig(NOT_INDEXED_MAP).setBackupCount(0);
+
+        final HazelcastInstance node = factory.newHazelcastInstance(config);
+        final IMap<Integer, Integer> indexedMap = node.getMap(INDEXED_MAP);
+        final IMap<Integer, Integer> notIndexedMap = node.getMap(NOT_INDEXED_MAP);
+        for (int i = 0; i < 1000; i++) {
+            indexedMap.put(i, i % 10);
+            notIndexedMap.put(i, i % 10);
+        }
+
+        assertTrue(indexedMap.getLocalMapStats().getHeapCost() > notIndexedMap.getLocalMapStats().getHeapCost());
+
+        for (int i = 0; i < 1000; i++) {
+            indexedMap.remove(i);
+        }
+
+        assertEquals(0, indexedMap.getLocalMapStats().getHeapCost());
+    }
+
+    /**
+     * Heap cost of an entry of a map with statistics enabled in BINARY format: the records map entry, the record
+     * with its 6 long fields and references to key, value and statistics, the statistics with an int and 2 long
+     * fields, and the key and value Data with their byte arrays.
+     */
+    private static long expectedPerEntryHeapCost(HazelcastInstance node, Object key, Object value) {
+        final int longSize = Long.SIZE / Byte.SIZE;
+        final int intSize = Integer.SIZE / Byte.SIZE;
+        final SerializationService serializationService = getNode(node).getSerializationService();
+        final long dataCost = align(OBJECT_HEADER_SIZE + REFERENCE_SIZE);
+        return CONCURRENT_HASH_MAP_ENTRY_COST
+                + align(OBJECT_HEADER_SIZE + 6 * longSize + 3 * REFERENCE_SIZE)
+                + align(OBJECT_HEADER_SIZE + intSize + 2 * longSize)
+                + dataCost + sizeOfByteArray(serializationService.toData(key).totalSize())
+                + dataCost + sizeOfByteArray(serializationService.toData(value).totalSize());
+    }
+
     private static class SizeEstimatorTestMapBuilder<K, V> {
 
         private HazelcastInstance[] nodes;
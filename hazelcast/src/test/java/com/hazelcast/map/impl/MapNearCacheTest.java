@@ -0,0 +1,245 @@
+package com.hazelcast.map.impl;
+
+import com.hazelcast.cache.impl.nearcache.NearCacheContext;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.internal.storage.DataRef;
+import com.hazelcast.internal.storage.Storage;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class MapNearCacheTest extends HazelcastTestSupport {
+
+    private static final int MAX_SIZE = 100;
+
+    private SerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+
+    @Test
+    public void testBinary_keepsValuesAsData() {
+        NearCache nearCache = createNearCache(InMemoryFormat.BINARY, "LRU", null);
+        Data key = serializationService.toData(1);
+        Data value = serializationService.toData("value");
+
+        assertSame(value, nearCache.put(key, value));
+        assertEquals(value, nearCache.get(key));
+    }
+
+    @Test
+    public void testObject_keepsValuesDeserialized() {
+        NearCache nearCache = createNearCache(InMemoryFormat.OBJECT, "LRU", null);
+        Data key = serializationService.toData(1);
+
+        assertEquals("value", nearCache.put(key, serializationService.toData("value")));
+        assertEquals("value", nearCache.get(key));
+    }
+
+    @Test
+    public void testNullValue_cachedAsNullObject() {
+        for (InMemoryFormat inMemoryFormat : new InMemoryFormat[]{InMemoryFormat.BINARY, InMemoryFormat.OBJECT}) {
+            NearCache nearCache = createNearCache(inMemoryFormat, "LRU", null);
+            Data key = serializationService.toData(1);
+
+            assertNull(nearCache.put(key, null));
+            assertSame(NearCache.NULL_OBJECT, nearCache.get(key));
+            assertEquals(0, nearCache.getNearCacheStats().getHits());
+            assertEquals(1, nearCache.getNearCacheStats().getMisses());
+        }
+    }
+
+    @Test
+    public void testEviction_whenMaxSizeReached() {
+        for (String evictionPolicy : new String[]{"LRU", "LFU", "RANDOM"}) {
+            NearCache nearCache = createNearCache(InMemoryFormat.BINARY, evictionPolicy, null);
+            populate(nearCache, MAX_SIZE + 1);
+
+            assertTrue(evictionPolicy + " size " + nearCache.size(), nearCache.size() < MAX_SIZE);
+            assertEquals(nearCache.size(), nearCache.getNearCacheStats().getOwnedEntryCount());
+        }
+    }
+
+    @Test
+    public void testEvictionPolicyNone_doesNotCacheMoreThanMaxSize() {
+        NearCache nearCache = createNearCache(InMemoryFormat.BINARY, "NONE", null);
+        populate(nearCache, MAX_SIZE * 2);
+
+        assertEquals(MAX_SIZE, nearCache.size());
+        Data value = serializationService.toData("value");
+        assertEquals(value, nearCache.put(serializationService.toData(-1), value));
+    }
+
+    @Test
+    public void testSizeEstimator_followsOwnedEntryMemoryCost() {
+        NearCache nearCache = createNearCache(InMemoryFormat.BINARY, "LRU", null);
+        SizeEstimator sizeEstimator = SizeEstimators.createNearCacheSizeEstimator();
+        nearCache.setNearCacheSizeEstimator(sizeEstimator);
+        populate(nearCache, 10);
+
+        assertTrue(sizeEstimator.getSize() > 0);
+        assertEquals(nearCache.getNearCacheStats().getOwnedEntryMemoryCost(), sizeEstimator.getSize());
+
+        Data key = serializationService.toData(0);
+        nearCache.invalidate(key);
+        assertEquals(nearCache.getNearCacheStats().getOwnedEntryMemoryCost(), sizeEstimator.getSize());
+
+        nearCache.clear();
+        assertEquals(0, sizeEstimator.getSize());
+    }
+
+    @Test
+    public void testNative_keepsValuesInStorage() {
+        TestStorage storage = new TestStorage();
+        NearCache nearCache = createNearCache(InMemoryFormat.NATIVE, "LRU", storage);
+        Data key = serializationService.toData(1);
+        Data value = serializationService.toData("value");
+
+        nearCache.put(key, value);
+        assertEquals(1, storage.values.size());
+        assertEquals(value, nearCache.get(key));
+
+        nearCache.put(key, "otherValue");
+        assertEquals(1, storage.values.size());
+        assertEquals("otherValue", serializationService.toObject(nearCache.get(key)));
+
+        nearCache.invalidate(key);
+        assertEquals(0, storage.values.size());
+    }
+
+    @Test
+    public void testNative_releasesEvictedValues() {
+        TestStorage storage = new TestStorage();
+        NearCache nearCache = createNearCache(InMemoryFormat.NATIVE, "LRU", storage);
+        populate(nearCache, MAX_SIZE + 1);
+
+        assertEquals(nearCache.size(), storage.values.size());
+
+        nearCache.clear();
+        assertEquals(0, storage.values.size());
+    }
+
+    @Test
+    public void testNative_concurrentGetPutEvict_neverReadsReleasedValues() throws Exception {
+        final TestStorage storage = new TestStorage();
+        final NearCache nearCache = createNearCache(InMemoryFormat.NATIVE, "LRU", storage);
+        final int keyCount = MAX_SIZE * 2;
+        final AtomicBoolean stop = new AtomicBoolean();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            final boolean reader = t % 2 == 0;
+            threads[t] = new Thread() {
+                @Override
+                public void run() {
+                    Random random = new Random();
+                    while (!stop.get()) {
+                        Data key = serializationService.toData(random.nextInt(keyCount));
+                        if (reader) {
+                            Object value = nearCache.get(key);
+                            assertTrue(value == null || value instanceof Data);
+                        } else if (random.nextInt(10) == 0) {
+                            nearCache.invalidate(key);
+                        } else {
+                            nearCache.put(key, serializationService.toData("value" + random.nextInt()));
+                        }
+                    }
+                }
+            };
+            threads[t].start();
+        }
+        sleepSeconds(3);
+        stop.set(true);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(0, storage.releasedReads.get());
+        assertEquals(0, storage.doubleReleases.get());
+        assertEquals(nearCache.size(), storage.values.size());
+        nearCache.clear();
+        assertEquals(0, storage.values.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNative_withoutStorage() {
+        createNearCache(InMemoryFormat.NATIVE, "LRU", null);
+    }
+
+    private NearCache createNearCache(InMemoryFormat inMemoryFormat, String evictionPolicy, Storage<DataRef> storage) {
+        NearCacheConfig nearCacheConfig = new NearCacheConfig()
+                .setInMemoryFormat(inMemoryFormat)
+                .setEvictionPolicy(evictionPolicy)
+                .setMaxSize(MAX_SIZE);
+        return new NearCache("map", nearCacheConfig, new NearCacheContext(serializationService, null), storage);
+    }
+
+    private void populate(NearCache nearCache, int count) {
+        for (int i = 0; i < count; i++) {
+            nearCache.put(serializationService.toData(i), serializationService.toData("value" + i));
+        }
+    }
+
+    private static class TestStorage implements Storage<DataRef> {
+
+        final Map<DataRef, Data> values = new ConcurrentHashMap<DataRef, Data>();
+        final AtomicInteger releasedReads = new AtomicInteger();
+        final AtomicInteger doubleReleases = new AtomicInteger();
+
+        @Override
+        public DataRef put(int hash, Data data) {
+            final int size = data.totalSize();
+            DataRef ref = new DataRef() {
+                @Override
+                public int size() {
+                    return size;
+                }
+
+                @Override
+                public int heapCost() {
+                    return 16;
+                }
+            };
+            values.put(ref, data);
+            return ref;
+        }
+
+        @Override
+        public Data get(int hash, DataRef ref) {
+            Data data = values.get(ref);
+            if (data == null) {
+                // native memory would have been freed already
+                releasedReads.incrementAndGet();
+            }
+            return data;
+        }
+
+        @Override
+        public void remove(int hash, DataRef ref) {
+            if (values.remove(ref) == null) {
+                doubleReleases.incrementAndGet();
+            }
+        }
+
+        @Override
+        public void destroy() {
+            values.clear();
+        }
+    }
+}
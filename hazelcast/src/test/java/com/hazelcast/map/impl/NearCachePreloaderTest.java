@@ -0,0 +1,223 @@
+package com.hazelcast.map.impl;
+
+import com.hazelcast.cache.impl.nearcache.NearCacheContext;
+import com.hazelcast.cache.impl.nearcache.NearCacheExecutor;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.config.NearCachePreloaderConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.impl.proxy.MapProxyImpl;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.nio.Bits.INT_SIZE_IN_BYTES;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class NearCachePreloaderTest extends HazelcastTestSupport {
+
+    private SerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+    private File directory;
+    private NearCachePreloaderConfig preloaderConfig;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = File.createTempFile("near-cache", "");
+        assertTrue(directory.delete());
+        preloaderConfig = new NearCachePreloaderConfig(true, directory.getAbsolutePath());
+    }
+
+    @After
+    public void tearDown() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    @Test
+    public void testStoreAndLoadKeys() {
+        NearCachePreloader preloader = new NearCachePreloader(preloaderConfig, "instance", "map");
+        Set<Data> keys = createKeys(250);
+
+        assertEquals(250, preloader.storeKeys(keys));
+        assertTrue(preloader.getStoreFile().exists());
+
+        RecordingKeyLoader loader = new RecordingKeyLoader();
+        assertEquals(250, preloader.loadKeys(loader, Integer.MAX_VALUE));
+        assertEquals(3, loader.batches.size());
+        assertEquals(NearCachePreloader.LOAD_BATCH_SIZE, loader.batches.get(0).size());
+        assertEquals(keys, new HashSet<Data>(loader.keys));
+    }
+
+    @Test
+    public void testLoadKeys_limitedToMaxKeys() {
+        NearCachePreloader preloader = new NearCachePreloader(preloaderConfig, "instance", "map");
+        preloader.storeKeys(createKeys(250));
+
+        RecordingKeyLoader loader = new RecordingKeyLoader();
+        assertEquals(120, preloader.loadKeys(loader, 120));
+        assertEquals(120, loader.keys.size());
+    }
+
+    @Test
+    public void testStoreKeys_replacesPreviousKeys() {
+        NearCachePreloader preloader = new NearCachePreloader(preloaderConfig, "instance", "map");
+        preloader.storeKeys(createKeys(10));
+        preloader.storeKeys(createKeys(3));
+
+        RecordingKeyLoader loader = new RecordingKeyLoader();
+        assertEquals(3, preloader.loadKeys(loader, Integer.MAX_VALUE));
+        assertFalse(new File(directory, preloader.getStoreFile().getName() + "~").exists());
+    }
+
+    @Test
+    public void testLoadKeys_withoutStoreFile() {
+        NearCachePreloader preloader = new NearCachePreloader(preloaderConfig, "instance", "map");
+
+        RecordingKeyLoader loader = new RecordingKeyLoader();
+        assertEquals(0, preloader.loadKeys(loader, Integer.MAX_VALUE));
+        assertTrue(loader.batches.isEmpty());
+    }
+
+    @Test
+    public void testLoadKeys_skipsFileWithNegativeKeyLength() throws IOException {
+        testLoadKeys_skipsFileWithInvalidKeyLength(-1);
+    }
+
+    @Test
+    public void testLoadKeys_skipsFileWithKeyLengthBeyondFileSize() throws IOException {
+        testLoadKeys_skipsFileWithInvalidKeyLength(Integer.MAX_VALUE);
+    }
+
+    private void testLoadKeys_skipsFileWithInvalidKeyLength(int invalidLength) throws IOException {
+        NearCachePreloader preloader = new NearCachePreloader(preloaderConfig, "instance", "map");
+        preloader.storeKeys(createKeys(2));
+        // keeps the first key and corrupts the length of the second one, both keys have the same length
+        int keyLength = serializationService.toData("key0").toByteArray().length;
+        RandomAccessFile file = new RandomAccessFile(preloader.getStoreFile(), "rw");
+        file.seek(NearCachePreloader.HEADER_LENGTH + INT_SIZE_IN_BYTES + keyLength);
+        file.writeInt(invalidLength);
+        file.close();
+
+        RecordingKeyLoader loader = new RecordingKeyLoader();
+        assertEquals(0, preloader.loadKeys(loader, Integer.MAX_VALUE));
+        assertTrue(loader.batches.isEmpty());
+    }
+
+    @Test
+    public void testLoadKeys_skipsForeignFile() throws IOException {
+        NearCachePreloader preloader = new NearCachePreloader(preloaderConfig, "instance", "map");
+        assertTrue(directory.mkdirs());
+        FileOutputStream out = new FileOutputStream(preloader.getStoreFile());
+        out.write(new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12});
+        out.close();
+
+        RecordingKeyLoader loader = new RecordingKeyLoader();
+        assertEquals(0, preloader.loadKeys(loader, Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void testStoreFileName_isSanitized() {
+        NearCachePreloader preloader = new NearCachePreloader(preloaderConfig, "hz:client_0", "my/map");
+
+        assertEquals("nearCache-hz_client_0-my_map.store", preloader.getStoreFile().getName());
+    }
+
+    @Test
+    public void testStartPreloader_onlyOnceAndOnlyWhenEnabled() {
+        NearCacheConfig nearCacheConfig = new NearCacheConfig().setPreloaderConfig(preloaderConfig);
+        NearCache nearCache = new NearCache("map", nearCacheConfig,
+                new NearCacheContext(serializationService, new TestNearCacheExecutor()), null);
+
+        NearCachePreloader preloader = nearCache.startPreloader("instance");
+        assertEquals("nearCache-instance-map.store", preloader.getStoreFile().getName());
+        assertNull(nearCache.startPreloader("instance"));
+
+        NearCache disabled = new NearCache("map", new NearCacheConfig(),
+                new NearCacheContext(serializationService, new TestNearCacheExecutor()), null);
+        assertNull(disabled.startPreloader("instance"));
+    }
+
+    @Test
+    public void testPreload_whenProxyCreatedByAnotherMember() throws Exception {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        Config config = new Config();
+        config.getMapConfig("map").setNearCacheConfig(new NearCacheConfig().setPreloaderConfig(preloaderConfig));
+        final HazelcastInstance instance = factory.newHazelcastInstance(config);
+        HazelcastInstance other = factory.newHazelcastInstance(new Config());
+        new NearCachePreloader(preloaderConfig, instance.getName(), "map").storeKeys(createKeys(250));
+
+        // the proxy is created and initialized on an event thread of the instance, which must not wait for the preload
+        other.getMap("map").put("key0", "value0");
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertTrue(getNodeEngineImpl(instance).getProxyService()
+                        .getDistributedObjectNames(MapService.SERVICE_NAME).contains("map"));
+            }
+        });
+
+        MapProxyImpl map = (MapProxyImpl) instance.getMap("map");
+        assertEquals(250, (int) map.getNearCachePreloadFuture().get(ASSERT_TRUE_EVENTUALLY_TIMEOUT, TimeUnit.SECONDS));
+    }
+
+    private Set<Data> createKeys(int count) {
+        Set<Data> keys = new HashSet<Data>();
+        for (int i = 0; i < count; i++) {
+            Data key = serializationService.toData("key" + i);
+            keys.add(key);
+        }
+        return keys;
+    }
+
+    private static class RecordingKeyLoader implements NearCachePreloader.KeyLoader {
+
+        final List<List<Data>> batches = new ArrayList<List<Data>>();
+        final List<Data> keys = new ArrayList<Data>();
+
+        @Override
+        public void load(List<Data> batch) {
+            batches.add(batch);
+            keys.addAll(batch);
+        }
+    }
+
+    private static class TestNearCacheExecutor implements NearCacheExecutor {
+
+        @Override
+        public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+            // the store task is not run, the tests store the keys themselves
+            return null;
+        }
+    }
+}
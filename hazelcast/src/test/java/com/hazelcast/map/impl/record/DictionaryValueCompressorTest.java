@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class DictionaryValueCompressorTest extends HazelcastTestSupport {
+
+    private final SerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+    private final Random random = new Random();
+    private final DictionaryValueCompressor compressor = new DictionaryValueCompressor();
+
+    @Test
+    public void testStore_beforeTraining_keepsValue() {
+        Data value = newValue();
+
+        assertSame(value, compressor.store(value));
+        assertFalse(compressor.isTrained());
+    }
+
+    @Test
+    public void testStore_smallValue_keepsValue() {
+        train();
+        Data value = serializationService.toData("small");
+
+        assertSame(value, compressor.store(value));
+    }
+
+    @Test
+    public void testStore_afterTraining_compresses() {
+        train();
+        Data value = newValue();
+
+        Object stored = compressor.store(value);
+
+        assertTrue(stored instanceof byte[]);
+        assertEquals(value, compressor.load(stored));
+        assertTrue(compressor.getHeapCost(stored) * 2 < value.getHeapCost());
+    }
+
+    @Test
+    public void testStore_null() {
+        assertNull(compressor.store(null));
+        assertNull(compressor.load(null));
+    }
+
+    @Test
+    public void testRecordFactory_withValueCompression() {
+        MapConfig mapConfig = new MapConfig("map").setValueCompressionEnabled(true).setStatisticsEnabled(false);
+        DataRecordFactory factory = new DataRecordFactory(mapConfig, serializationService, null);
+        Data key = serializationService.toData("key");
+
+        Record<Data> record = null;
+        String value = null;
+        for (int i = 0; i <= DictionaryValueCompressor.SAMPLE_COUNT; i++) {
+            value = newJson();
+            record = factory.newRecord(key, value);
+        }
+
+        assertTrue(record instanceof CompressedDataRecord);
+        assertEquals(value, serializationService.toObject(record.getValue()));
+
+        String newValue = newJson();
+        factory.setValue(record, newValue);
+        assertEquals(newValue, serializationService.toObject(record.getValue()));
+    }
+
+    @Test
+    public void testRecordFactory_valueCompressionIgnored_whenOptimizeQueries() {
+        MapConfig mapConfig = new MapConfig("map").setValueCompressionEnabled(true).setOptimizeQueries(true);
+        DataRecordFactory factory = new DataRecordFactory(mapConfig, serializationService, null);
+
+        Record<Data> record = factory.newRecord(serializationService.toData("key"), newJson());
+
+        assertFalse(record instanceof CompressedDataRecordWithStats);
+    }
+
+    private void train() {
+        for (int i = 0; i < DictionaryValueCompressor.SAMPLE_COUNT; i++) {
+            compressor.store(newValue());
+        }
+        assertTrue(compressor.isTrained());
+    }
+
+    private Data newValue() {
+        return serializationService.toData(newJson());
+    }
+
+    private String newJson() {
+        return "{\"customerId\":" + random.nextInt(100000)
+                + ",\"firstName\":\"" + randomString() + "\",\"lastName\":\"" + randomString()
+                + "\",\"address\":{\"street\":\"Main Street " + random.nextInt(200)
+                + "\",\"city\":\"Springfield\",\"country\":\"US\"},\"status\":\"ACTIVE\",\"tags\":[\"gold\",\"newsletter\"]}";
+    }
+}
@@ -0,0 +1,130 @@
+package com.hazelcast.monitor.impl;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.monitor.impl.LatencyHistogram.BUCKET_COUNT;
+import static com.hazelcast.monitor.impl.LatencyHistogram.bucketIndex;
+import static com.hazelcast.monitor.impl.LatencyHistogram.highestValueInBucket;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class LatencyHistogramTest {
+
+    private LatencyHistogram histogram;
+
+    @Before
+    public void setUp() {
+        histogram = new LatencyHistogram();
+    }
+
+    @Test
+    public void testEmpty() {
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getValueAtPercentile(99));
+    }
+
+    @Test
+    public void testSmallValuesAreExact() {
+        for (int value = 0; value < 8; value++) {
+            LatencyHistogram h = new LatencyHistogram();
+            h.record(value);
+            assertEquals(value, h.getValueAtPercentile(100));
+        }
+    }
+
+    @Test
+    public void testValueIsRoundedUpToBucket() {
+        histogram.record(1000);
+
+        long value = histogram.getValueAtPercentile(50);
+        assertTrue(value >= 1000);
+        assertTrue(value <= 1000 * 1.125);
+    }
+
+    @Test
+    public void testNegativeValue() {
+        histogram.record(-5);
+
+        assertEquals(1, histogram.getCount());
+        assertEquals(0, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void testLargeValueIsClamped() {
+        histogram.record(Long.MAX_VALUE);
+
+        assertEquals(LatencyHistogram.MAX_VALUE, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void testPercentiles() {
+        for (int i = 0; i < 990; i++) {
+            histogram.record(1);
+        }
+        for (int i = 0; i < 9; i++) {
+            histogram.record(100);
+        }
+        histogram.record(5000);
+
+        assertEquals(1000, histogram.getCount());
+        assertEquals(1, histogram.getValueAtPercentile(50));
+        assertEquals(1, histogram.getValueAtPercentile(99));
+        assertEquals(highestValueInBucket(bucketIndex(100)), histogram.getValueAtPercentile(99.9));
+        assertEquals(highestValueInBucket(bucketIndex(5000)), histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void testBuckets() {
+        assertEquals(BUCKET_COUNT - 1, bucketIndex(LatencyHistogram.MAX_VALUE));
+        assertEquals(LatencyHistogram.MAX_VALUE, highestValueInBucket(BUCKET_COUNT - 1));
+        for (int index = 0; index < BUCKET_COUNT; index++) {
+            long highest = highestValueInBucket(index);
+            assertEquals(index, bucketIndex(highest));
+            if (index < BUCKET_COUNT - 1) {
+                assertEquals(index + 1, bucketIndex(highest + 1));
+            }
+        }
+    }
+
+    @Test
+    public void testAddCopyAndReset() {
+        histogram.record(1);
+        LatencyHistogram other = new LatencyHistogram();
+        other.record(2000);
+        histogram.add(other);
+
+        LatencyHistogram copy = histogram.copy();
+        histogram.reset();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(2, copy.getCount());
+        assertEquals(1, copy.getValueAtPercentile(50));
+        assertEquals(highestValueInBucket(bucketIndex(2000)), copy.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void testJson() {
+        histogram.record(3);
+        histogram.record(300);
+        histogram.record(300);
+
+        LatencyHistogram deserialized = new LatencyHistogram();
+        deserialized.fromJson(histogram.toJson());
+
+        assertEquals(3, deserialized.getCount());
+        assertEquals(3, deserialized.getValueAtPercentile(30));
+        assertEquals(histogram.getValueAtPercentile(100), deserialized.getValueAtPercentile(100));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidPercentile() {
+        histogram.getValueAtPercentile(101);
+    }
+}
@@ -8,9 +8,13 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
+import static com.hazelcast.monitor.impl.LatencyHistogram.bucketIndex;
+import static com.hazelcast.monitor.impl.LatencyHistogram.highestValueInBucket;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 @RunWith(HazelcastParallelClassRunner.class)
 @Category(QuickTest.class)
@@ -75,6 +79,11 @@ public class LocalMapStatsImplTest {
         assertEquals(5631, localMapStats.getMaxPutLatency());
         assertEquals(1233, localMapStats.getMaxGetLatency());
         assertEquals(1238, localMapStats.getMaxRemoveLatency());
+        // the percentiles are in microseconds
+        assertEquals(highestValueInBucket(bucketIndex(1000)), localMapStats.getPutLatencyAtPercentile(50));
+        assertEquals(highestValueInBucket(bucketIndex(9000)), localMapStats.getGetLatencyAtPercentile(50));
+        assertEquals(highestValueInBucket(bucketIndex(1233000)), localMapStats.getGetLatencyAtPercentile(99));
+        assertEquals(highestValueInBucket(bucketIndex(1238000)), localMapStats.getRemoveLatencyAtPercentile(99.9));
         assertEquals(5, localMapStats.getOtherOperationCount());
         assertEquals(2, localMapStats.getEventOperationCount());
 
@@ -83,6 +92,22 @@ public class LocalMapStatsImplTest {
         assertNotNull(localMapStats.toString());
     }
 
+    @Test
+    public void testIncrementNanos_accumulatesSubMillisecondLatenciesAndKeepsMicrosecondPercentiles() {
+        LocalMapStatsImpl stats = new LocalMapStatsImpl();
+        stats.incrementPutsNanos(MILLISECONDS.toNanos(2) + MICROSECONDS.toNanos(500));
+        for (int i = 0; i < 50; i++) {
+            stats.incrementPutsNanos(MICROSECONDS.toNanos(40));
+        }
+
+        assertEquals(51, stats.getPutOperationCount());
+        // 2.5 ms + 50 * 0.04 ms
+        assertEquals(4, stats.getTotalPutLatency());
+        assertEquals(2, stats.getMaxPutLatency());
+        assertEquals(highestValueInBucket(bucketIndex(40)), stats.getPutLatencyAtPercentile(50));
+        assertEquals(highestValueInBucket(bucketIndex(2500)), stats.getPutLatencyAtPercentile(100));
+    }
+
     @Test
     public void testSerialization() {
         JsonObject serialized = localMapStats.toJson();
@@ -111,6 +136,11 @@ public class LocalMapStatsImplTest {
         assertEquals(5631, deserialized.getMaxPutLatency());
         assertEquals(1233, deserialized.getMaxGetLatency());
         assertEquals(1238, deserialized.getMaxRemoveLatency());
+        // the percentiles are in microseconds
+        assertEquals(highestValueInBucket(bucketIndex(1000)), deserialized.getPutLatencyAtPercentile(50));
+        assertEquals(highestValueInBucket(bucketIndex(9000)), deserialized.getGetLatencyAtPercentile(50));
+        assertEquals(highestValueInBucket(bucketIndex(1233000)), deserialized.getGetLatencyAtPercentile(99));
+        assertEquals(highestValueInBucket(bucketIndex(1238000)), deserialized.getRemoveLatencyAtPercentile(99.9));
         assertEquals(5, deserialized.getOtherOperationCount());
         assertEquals(2, deserialized.getEventOperationCount());
 
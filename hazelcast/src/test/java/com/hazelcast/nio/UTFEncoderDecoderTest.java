@@ -460,6 +460,81 @@ public class UTFEncoderDecoderTest  {
         assertEquals(str, result);
     }
 
+    @Test
+    public void testEncodeUTF_sameBytesAsDataOutputStream() throws IOException {
+        assertEncodedLikeDataOutputStream("");
+        assertEncodedLikeDataOutputStream(randomAlphaNumeric(100));
+        assertEncodedLikeDataOutputStream("abc\u0000def");
+        assertEncodedLikeDataOutputStream("ascii prefix then åäö and \u20ac");
+        assertEncodedLikeDataOutputStream(random(1000));
+    }
+
+    private static void assertEncodedLikeDataOutputStream(String str) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        new DataOutputStream(baos).writeUTF(str);
+        byte[] expected = baos.toByteArray();
+
+        byte[] bytes = new byte[str.length() * 3 + 2];
+        int end = UTFEncoderDecoder.encodeUTF(str, bytes, 2);
+
+        assertEquals(expected.length, end);
+        for (int i = 2; i < end; i++) {
+            assertEquals(expected[i], bytes[i]);
+        }
+        assertEquals(str, UTFEncoderDecoder.decodeUTF(bytes, 2, end - 2, str.length()));
+    }
+
+    @Test(expected = UTFDataFormatException.class)
+    public void testDecodeUTF_partialCharacter() throws IOException {
+        UTFEncoderDecoder.decodeUTF(new byte[]{'a', (byte) 0xC3}, 0, 2, 2);
+    }
+
+    @Test(expected = UTFDataFormatException.class)
+    public void testDecodeUTF_charCountMismatch() throws IOException {
+        UTFEncoderDecoder.decodeUTF(new byte[]{'a', 'b', (byte) 0xC3, (byte) 0xA5}, 0, 4, 2);
+    }
+
+    @Test
+    public void testBufferedOutput_compatibleWithChunkedDecoder() throws IOException {
+        SerializationService ss = new DefaultSerializationServiceBuilder().build();
+        String[] values = {"", "ascii", "mixed åäö \u20ac", random(UTFEncoderDecoder.MAX_SINGLE_CHUNK_LENGTH),
+                createString(UTFEncoderDecoder.MAX_SINGLE_CHUNK_LENGTH + 1)};
+
+        BufferObjectDataOutput out = ss.createObjectDataOutput(16);
+        for (String value : values) {
+            out.writeUTF(value);
+        }
+        out.writeUTF(null);
+
+        byte[] buffer = new byte[1024];
+        DataInputStream dis = new DataInputStream(new ByteArrayInputStream(out.toByteArray()));
+        for (String value : values) {
+            assertEquals(value, UTFEncoderDecoder.readUTF(dis, buffer));
+        }
+        assertEquals(null, UTFEncoderDecoder.readUTF(dis, buffer));
+    }
+
+    @Test
+    public void testBufferedInput_compatibleWithChunkedEncoder() throws IOException {
+        SerializationService ss = new DefaultSerializationServiceBuilder().build();
+        String[] values = {"", "ascii", "mixed åäö \u20ac", random(UTFEncoderDecoder.MAX_SINGLE_CHUNK_LENGTH),
+                createString(UTFEncoderDecoder.MAX_SINGLE_CHUNK_LENGTH + 1)};
+
+        byte[] buffer = new byte[1024];
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        DataOutputStream dos = new DataOutputStream(baos);
+        for (String value : values) {
+            UTFEncoderDecoder.writeUTF(dos, value, buffer);
+        }
+        UTFEncoderDecoder.writeUTF(dos, null, buffer);
+
+        BufferObjectDataInput in = ss.createObjectDataInput(baos.toByteArray());
+        for (String value : values) {
+            assertEquals(value, in.readUTF());
+        }
+        assertEquals(null, in.readUTF());
+    }
+
     private String createString(int length) {
         char[] c = new char[length];
         for (int i = 0; i < c.length; i++) {
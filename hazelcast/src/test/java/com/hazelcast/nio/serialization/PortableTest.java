@@ -163,6 +163,33 @@ public class PortableTest {
         assertEquals(p, serializationService.toObject(data));
     }
 
+    @Test(expected = HazelcastSerializationException.class)
+    public void testWriteFieldWithWrongType() {
+        SerializationService serializationService = createSerializationService(1);
+        ClassDefinitionBuilder builder = new ClassDefinitionBuilder(PORTABLE_FACTORY_ID, WrongFieldTypePortable.CLASS_ID);
+        builder.addLongField("l");
+        serializationService.getPortableContext().registerClassDefinition(builder.build());
+
+        serializationService.toData(new WrongFieldTypePortable());
+    }
+
+    @Test
+    public void testReadFieldsInDifferentOrderThanWritten() {
+        SerializationService serializationService = new DefaultSerializationServiceBuilder()
+                .addPortableFactory(ReorderedFieldsPortable.FACTORY_ID, new PortableFactory() {
+                    @Override
+                    public Portable create(int classId) {
+                        return new ReorderedFieldsPortable();
+                    }
+                }).build();
+        ReorderedFieldsPortable p = new ReorderedFieldsPortable(1, "text", 2L);
+
+        ReorderedFieldsPortable deserialized = serializationService.toObject(serializationService.toData(p));
+        assertEquals(p.i, deserialized.i);
+        assertEquals(p.s, deserialized.s);
+        assertEquals(p.l, deserialized.l);
+    }
+
     @Test
     public void testClassDefinitionConfigWithErrors() throws Exception {
         SerializationConfig serializationConfig = new SerializationConfig();
@@ -678,6 +705,72 @@ public class PortableTest {
 
     }
 
+    static class ReorderedFieldsPortable implements Portable {
+        static final int FACTORY_ID = 99;
+        static final int CLASS_ID = 1;
+
+        int i;
+        String s;
+        long l;
+
+        ReorderedFieldsPortable() {
+        }
+
+        ReorderedFieldsPortable(int i, String s, long l) {
+            this.i = i;
+            this.s = s;
+            this.l = l;
+        }
+
+        @Override
+        public int getFactoryId() {
+            return FACTORY_ID;
+        }
+
+        @Override
+        public int getClassId() {
+            return CLASS_ID;
+        }
+
+        @Override
+        public void writePortable(PortableWriter writer) throws IOException {
+            writer.writeInt("i", i);
+            writer.writeUTF("s", s);
+            writer.writeLong("l", l);
+        }
+
+        @Override
+        public void readPortable(PortableReader reader) throws IOException {
+            l = reader.readLong("l");
+            i = reader.readInt("i");
+            s = reader.readUTF("s");
+        }
+    }
+
+    static class WrongFieldTypePortable implements Portable {
+        static final int CLASS_ID = 999;
+
+        @Override
+        public int getFactoryId() {
+            return PORTABLE_FACTORY_ID;
+        }
+
+        @Override
+        public int getClassId() {
+            return CLASS_ID;
+        }
+
+        @Override
+        public void writePortable(PortableWriter writer) throws IOException {
+            writer.writeInt("l", 1);
+        }
+
+        @Override
+        public void readPortable(PortableReader reader) throws IOException {
+            reader.readInt("l");
+        }
+    }
+
     static class ParentGenericPortable<T extends Portable> implements Portable {
         static final int CLASS_ID = 1;
 
@@ -54,7 +54,10 @@ import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
 
 /**
  * @author mdogan 30/10/13
@@ -224,6 +227,103 @@ public class SerializationTest
         assertArrayEquals(array, deserialized);
     }
 
+    @Test
+    public void testIdentifiedDataSerializableArraySerialization() {
+        SerializationService ss = new DefaultSerializationServiceBuilder()
+                .addDataSerializableFactory(TestSerializationConstants.DATA_SERIALIZABLE_FACTORY_ID,
+                        new PortableTest.TestDataSerializableFactory()).build();
+        SampleIdentifiedDataSerializable[] array = new SampleIdentifiedDataSerializable[100];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = new SampleIdentifiedDataSerializable((char) ('a' + i % 26), i);
+        }
+        Data data = ss.toData(array);
+        assertEquals(SerializationConstants.AUTO_TYPE_IDENTIFIED_ARRAY, data.getType());
+
+        SampleIdentifiedDataSerializable[] deserialized = ss.toObject(data);
+        assertArrayEquals(array, deserialized);
+    }
+
+    @Test
+    public void testIdentifiedDataSerializableArraySerialization_withNullElement() {
+        SerializationService ss = new DefaultSerializationServiceBuilder()
+                .addDataSerializableFactory(TestSerializationConstants.DATA_SERIALIZABLE_FACTORY_ID,
+                        new PortableTest.TestDataSerializableFactory()).build();
+        SampleIdentifiedDataSerializable[] array = new SampleIdentifiedDataSerializable[]{
+                new SampleIdentifiedDataSerializable('a', 1), null, new SampleIdentifiedDataSerializable('b', 2)};
+        Data data = ss.toData(array);
+        SampleIdentifiedDataSerializable[] deserialized = ss.toObject(data);
+        assertArrayEquals(array, deserialized);
+    }
+
+    @Test
+    public void testIdentifiedDataSerializableArraySerialization_whenEmpty() {
+        SerializationService ss = new DefaultSerializationServiceBuilder().build();
+        SampleIdentifiedDataSerializable[] array = new SampleIdentifiedDataSerializable[0];
+        Data data = ss.toData(array);
+        SampleIdentifiedDataSerializable[] deserialized = ss.toObject(data);
+        assertEquals(0, deserialized.length);
+    }
+
+    @Test
+    public void testIdentifiedDataSerializableArraySerialization_whenCustomSerializerRegisteredForArray() {
+        SerializationServiceImpl ss = (SerializationServiceImpl) new DefaultSerializationServiceBuilder().build();
+        ss.register(SampleIdentifiedDataSerializable[].class, new StreamSerializer<SampleIdentifiedDataSerializable[]>() {
+            public void write(ObjectDataOutput out, SampleIdentifiedDataSerializable[] array) throws IOException {
+                out.writeInt(array.length);
+            }
+
+            public SampleIdentifiedDataSerializable[] read(ObjectDataInput in) throws IOException {
+                return new SampleIdentifiedDataSerializable[in.readInt()];
+            }
+
+            public int getTypeId() {
+                return 124;
+            }
+
+            public void destroy() {
+            }
+        });
+        SampleIdentifiedDataSerializable[] array = new SampleIdentifiedDataSerializable[]{
+                new SampleIdentifiedDataSerializable('a', 1), new SampleIdentifiedDataSerializable('b', 2)};
+        Data data = ss.toData(array);
+        assertEquals(124, data.getType());
+
+        SampleIdentifiedDataSerializable[] deserialized = ss.toObject(data);
+        assertEquals(2, deserialized.length);
+    }
+
+    @Test
+    public void testSerializerCache_resolvesSerializerRegisteredAfterFailedLookup() {
+        SerializationServiceImpl ss = (SerializationServiceImpl) new DefaultSerializationServiceBuilder().build();
+        DummyValue value = new DummyValue("test", 111);
+        try {
+            ss.toData(value);
+            fail("DummyValue has no serializer yet!");
+        } catch (HazelcastSerializationException expected) {
+        }
+
+        ss.register(DummyValue.class, new StreamSerializer<DummyValue>() {
+            public void write(ObjectDataOutput out, DummyValue v) throws IOException {
+                out.writeUTF(v.s);
+                out.writeInt(v.k);
+            }
+
+            public DummyValue read(ObjectDataInput in) throws IOException {
+                return new DummyValue(in.readUTF(), in.readInt());
+            }
+
+            public int getTypeId() {
+                return 123;
+            }
+
+            public void destroy() {
+            }
+        });
+        Data data = ss.toData(value);
+        assertEquals(123, data.getType());
+        assertEquals(value, ss.toObject(data));
+    }
+
     @Test
     public void testPartitionHash() {
         PartitioningStrategy partitionStrategy = new PartitioningStrategy() {
@@ -283,6 +383,20 @@ public class SerializationTest
         testMemberLeftException(uuid, host, port, member);
     }
 
+    @Test
+    public void testSerializerAdapterCache_whenClearedWhileResolving_thenResolvedSerializerNotCached() {
+        SerializerAdapterCache cache = new SerializerAdapterCache();
+        SerializerAdapter serializer = mock(SerializerAdapter.class);
+
+        int generation = cache.generation();
+        cache.clear();
+        cache.put(String.class, serializer, generation);
+        assertNull(cache.get(String.class));
+
+        cache.put(String.class, serializer, cache.generation());
+        assertSame(serializer, cache.get(String.class));
+    }
+
     @Test
     public void testMemberLeftException_usingSimpleMember() throws IOException, ClassNotFoundException {
         String uuid = UuidUtil.buildRandomUuidString();
@@ -18,10 +18,13 @@ import java.io.IOException;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @RunWith(HazelcastParallelClassRunner.class)
 @Category(QuickTest.class)
@@ -87,6 +90,148 @@ public class BufferPoolTest extends HazelcastTestSupport {
         verify(out, times(1)).close();
     }
 
+    @Test
+    public void returnOutputBuffer_whenLarge_thenRetainedWithoutShrinking() throws IOException {
+        BufferObjectDataOutput out = mockOutput(BufferPoolImpl.LARGE_OUTPUT_THRESHOLD + 1);
+
+        bufferPool.returnOutputBuffer(out);
+
+        assertSame(out, bufferPool.largeOutputs[0]);
+        assertEquals(0, bufferPool.outputQueue.size());
+        assertEquals(BufferPoolImpl.LARGE_OUTPUT_THRESHOLD + 1, bufferPool.largeOutputBytes);
+        verify(out, never()).clear();
+        verify(out, times(1)).position(0);
+    }
+
+    @Test
+    public void returnOutputBuffer_whenTooLarge_thenClosed() throws IOException {
+        BufferObjectDataOutput out = mockOutput(BufferPoolImpl.MAX_RETAINED_LARGE_OUTPUT + 1);
+
+        bufferPool.returnOutputBuffer(out);
+
+        assertEquals(0, bufferPool.largeOutputBytes);
+        assertEquals(0, bufferPool.outputQueue.size());
+        assertEquals(1, bufferPool.outputDiscards.get());
+        verify(out, times(1)).close();
+    }
+
+    @Test
+    public void takeOutputBuffer_whenLastReturnedWasLarge_thenLargeOutputTaken() {
+        BufferObjectDataOutput small = mockOutput(10);
+        BufferObjectDataOutput large = mockOutput(BufferPoolImpl.LARGE_OUTPUT_THRESHOLD + 1);
+        bufferPool.returnOutputBuffer(small);
+        bufferPool.returnOutputBuffer(large);
+
+        BufferObjectDataOutput found = bufferPool.takeOutputBuffer();
+
+        assertSame(large, found);
+        assertNull(bufferPool.largeOutputs[0]);
+        assertEquals(0, bufferPool.largeOutputBytes);
+    }
+
+    @Test
+    public void returnOutputBuffer_whenLarge_thenRetainedPerSizeClass() {
+        BufferObjectDataOutput medium = mockOutput(BufferPoolImpl.LARGE_OUTPUT_THRESHOLD + 1);
+        BufferObjectDataOutput large = mockOutput(BufferPoolImpl.MAX_RETAINED_LARGE_OUTPUT);
+
+        bufferPool.returnOutputBuffer(medium);
+        bufferPool.returnOutputBuffer(large);
+
+        assertSame(medium, bufferPool.largeOutputs[0]);
+        assertSame(large, bufferPool.largeOutputs[BufferPoolImpl.LARGE_SIZE_CLASSES - 1]);
+        assertEquals(BufferPoolImpl.LARGE_OUTPUT_THRESHOLD + 1 + BufferPoolImpl.MAX_RETAINED_LARGE_OUTPUT,
+                bufferPool.largeOutputBytes);
+    }
+
+    @Test
+    public void takeOutputBuffer_whenPredictedSizeClassEmpty_thenLargerOneTaken() {
+        BufferObjectDataOutput medium = mockOutput(BufferPoolImpl.LARGE_OUTPUT_THRESHOLD + 1);
+        BufferObjectDataOutput large = mockOutput(BufferPoolImpl.MAX_RETAINED_LARGE_OUTPUT);
+        bufferPool.returnOutputBuffer(large);
+        bufferPool.returnOutputBuffer(medium);
+        assertSame(medium, bufferPool.takeOutputBuffer());
+
+        BufferObjectDataOutput found = bufferPool.takeOutputBuffer();
+
+        assertSame(large, found);
+    }
+
+    @Test
+    public void testSizeClass() {
+        assertEquals(-1, BufferPoolImpl.sizeClass(0));
+        assertEquals(-1, BufferPoolImpl.sizeClass(BufferPoolImpl.LARGE_OUTPUT_THRESHOLD));
+        assertEquals(0, BufferPoolImpl.sizeClass(BufferPoolImpl.LARGE_OUTPUT_THRESHOLD + 1));
+        assertEquals(0, BufferPoolImpl.sizeClass(BufferPoolImpl.LARGE_OUTPUT_THRESHOLD * 4));
+        assertEquals(1, BufferPoolImpl.sizeClass(BufferPoolImpl.LARGE_OUTPUT_THRESHOLD * 4 + 1));
+        assertEquals(BufferPoolImpl.LARGE_SIZE_CLASSES - 1, BufferPoolImpl.sizeClass(BufferPoolImpl.MAX_RETAINED_LARGE_OUTPUT));
+        assertEquals(BufferPoolImpl.LARGE_SIZE_CLASSES, BufferPoolImpl.sizeClass(BufferPoolImpl.MAX_RETAINED_LARGE_OUTPUT + 1));
+    }
+
+    @Test
+    public void takeOutputBuffer_whenLargeOutputIdle_thenReleased() throws IOException {
+        final long[] now = {0};
+        bufferPool = new BufferPoolImpl(serializationService) {
+            @Override
+            long currentTimeMillis() {
+                return now[0];
+            }
+        };
+        BufferObjectDataOutput large = mockOutput(BufferPoolImpl.LARGE_OUTPUT_THRESHOLD + 1);
+        bufferPool.returnOutputBuffer(large);
+        bufferPool.returnOutputBuffer(mockOutput(10));
+
+        now[0] = BufferPoolImpl.LARGE_OUTPUT_IDLE_MILLIS - 1;
+        bufferPool.returnOutputBuffer(bufferPool.takeOutputBuffer());
+        assertSame(large, bufferPool.largeOutputs[0]);
+
+        now[0] = BufferPoolImpl.LARGE_OUTPUT_IDLE_MILLIS;
+        bufferPool.returnOutputBuffer(bufferPool.takeOutputBuffer());
+
+        assertNull(bufferPool.largeOutputs[0]);
+        assertEquals(0, bufferPool.largeOutputBytes);
+        verify(large, times(1)).close();
+    }
+
+    @Test
+    public void returnOutputBuffer_whenLargeOutputIdle_thenReleased() throws IOException {
+        final long[] now = {0};
+        bufferPool = new BufferPoolImpl(serializationService) {
+            @Override
+            long currentTimeMillis() {
+                return now[0];
+            }
+        };
+        BufferObjectDataOutput large = mockOutput(BufferPoolImpl.LARGE_OUTPUT_THRESHOLD + 1);
+        bufferPool.returnOutputBuffer(large);
+
+        now[0] = BufferPoolImpl.LARGE_OUTPUT_IDLE_MILLIS - 1;
+        bufferPool.returnOutputBuffer(mockOutput(10));
+        assertSame(large, bufferPool.largeOutputs[0]);
+
+        now[0] = BufferPoolImpl.LARGE_OUTPUT_IDLE_MILLIS;
+        bufferPool.returnOutputBuffer(mockOutput(10));
+
+        assertNull(bufferPool.largeOutputs[0]);
+        assertEquals(0, bufferPool.largeOutputBytes);
+        verify(large, times(1)).close();
+    }
+
+    @Test
+    public void takeOutputBuffer_countsHitsAndMisses() {
+        BufferObjectDataOutput out = bufferPool.takeOutputBuffer();
+        bufferPool.returnOutputBuffer(out);
+        bufferPool.takeOutputBuffer();
+
+        assertEquals(1, bufferPool.outputMisses.get());
+        assertEquals(1, bufferPool.outputHits.get());
+    }
+
+    private static BufferObjectDataOutput mockOutput(int position) {
+        BufferObjectDataOutput out = mock(BufferObjectDataOutput.class);
+        when(out.position()).thenReturn(position);
+        return out;
+    }
+
     // ======================= in ==========================================
 
     @Test
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.nio.tcp;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.JoinConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.instance.HazelcastInstanceFactory;
+import com.hazelcast.internal.metrics.Gauge;
+import com.hazelcast.internal.metrics.MetricsRegistry;
+import com.hazelcast.nio.Packet;
+import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class WriteHandlerMetricsTest extends HazelcastTestSupport {
+
+    private SerializationService serializationService;
+    private WriteHandler writeHandler;
+    private Gauge writeQueueSize;
+    private Gauge priorityWriteQueueSize;
+
+    @Before
+    public void setup() {
+        Config config = new Config();
+        JoinConfig join = config.getNetworkConfig().getJoin();
+        join.getMulticastConfig().setEnabled(false);
+        join.getTcpIpConfig().setEnabled(true).addMember("127.0.0.1");
+
+        HazelcastInstance hz1 = Hazelcast.newHazelcastInstance(config);
+        final HazelcastInstance hz2 = Hazelcast.newHazelcastInstance(config);
+        assertClusterSizeEventually(2, hz1);
+
+        final TcpIpConnectionManager connectionManager = (TcpIpConnectionManager) getConnectionManager(hz1);
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertNotNull(connectionManager.getConnection(getAddress(hz2)));
+            }
+        });
+        TcpIpConnection connection = (TcpIpConnection) connectionManager.getConnection(getAddress(hz2));
+        writeHandler = connection.getWriteHandler();
+
+        serializationService = getNode(hz1).getSerializationService();
+        MetricsRegistry metricsRegistry = getNode(hz1).nodeEngine.getMetricsRegistry();
+        String prefix = "tcp.connection[" + connection.getRemoteSocketAddress() + "].out.";
+        writeQueueSize = metricsRegistry.getGauge(prefix + "writeQueueSize");
+        priorityWriteQueueSize = metricsRegistry.getGauge(prefix + "priorityWriteQueueSize");
+    }
+
+    @After
+    public void tearDown() {
+        HazelcastInstanceFactory.terminateAll();
+    }
+
+    @Test
+    public void queueSizes_countQueuedPackets() throws Exception {
+        // holds the IO thread of the write handler, so the packets offered meanwhile stay queued
+        final CountDownLatch ioThreadBlocked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        writeHandler.ioSelector.addTaskAndWakeup(new Runnable() {
+            @Override
+            public void run() {
+                ioThreadBlocked.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        ioThreadBlocked.await();
+
+        for (int i = 0; i < 5; i++) {
+            writeHandler.offer(newPacket(false));
+        }
+        for (int i = 0; i < 3; i++) {
+            writeHandler.offer(newPacket(true));
+        }
+
+        assertEquals(5, writeQueueSize.readLong());
+        assertEquals(3, priorityWriteQueueSize.readLong());
+
+        release.countDown();
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(0, writeQueueSize.readLong());
+                assertEquals(0, priorityWriteQueueSize.readLong());
+            }
+        });
+    }
+
+    /**
+     * A packet of no known type, the receiving member only logs it.
+     */
+    private Packet newPacket(boolean urgent) {
+        Packet packet = new Packet(serializationService.toData("metrics"));
+        if (urgent) {
+            packet.setHeader(Packet.HEADER_URGENT);
+        }
+        return packet;
+    }
+}
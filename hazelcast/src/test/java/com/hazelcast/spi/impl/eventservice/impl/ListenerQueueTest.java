@@ -0,0 +1,316 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.eventservice.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.EntryAdapter;
+import com.hazelcast.core.EntryEvent;
+import com.hazelcast.core.EntryEventType;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.core.ITopic;
+import com.hazelcast.core.Message;
+import com.hazelcast.core.MessageListener;
+import com.hazelcast.instance.GroupProperties;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.spi.EventRegistration;
+import com.hazelcast.spi.impl.eventservice.InternalEventService;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.topic.impl.TopicService;
+import com.hazelcast.util.executor.StripedRunnable;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class ListenerQueueTest extends HazelcastTestSupport {
+
+    private static final int CAPACITY = 10;
+    private static final int EVENT_COUNT = 100;
+
+    @Test
+    public void testSlowListener_doesNotAffectOtherListeners() {
+        HazelcastInstance hz = createHazelcastInstance(newConfig(TopicService.SERVICE_NAME, EventOverflowPolicy.DROP_OLDEST));
+        ITopic<Integer> topic = hz.getTopic("topic");
+        BlockingMessageListener slow = new BlockingMessageListener();
+        final BlockingMessageListener fast = new BlockingMessageListener();
+        fast.release.countDown();
+        String slowId = topic.addMessageListener(slow);
+        topic.addMessageListener(fast);
+
+        topic.publish(0);
+        assertOpenEventually(slow.entered);
+        for (int i = 1; i < EVENT_COUNT; i++) {
+            topic.publish(i);
+        }
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(EVENT_COUNT, fast.messages.size());
+            }
+        });
+
+        ListenerQueue slowQueue = getListenerQueue(hz, TopicService.SERVICE_NAME, "topic", slowId);
+        assertEquals(EventOverflowPolicy.DROP_OLDEST, slowQueue.getOverflowPolicy());
+        assertEquals(EVENT_COUNT - 1 - CAPACITY, slowQueue.getDroppedCount());
+
+        slow.release.countDown();
+        assertSizeEventually(CAPACITY + 1, slow.messages);
+        // the most recent events are kept, in order
+        assertEquals(EVENT_COUNT - CAPACITY, (int) slow.messages.get(1));
+        assertEquals(EVENT_COUNT - 1, (int) slow.messages.get(CAPACITY));
+    }
+
+    @Test
+    public void testCoalesce_keepsMostRecentEventOfKey() {
+        HazelcastInstance hz = createHazelcastInstance(newConfig(MapService.SERVICE_NAME, EventOverflowPolicy.COALESCE));
+        IMap<String, Integer> map = hz.getMap("map");
+        final BlockingEntryListener listener = new BlockingEntryListener();
+        String id = map.addEntryListener(listener, true);
+
+        map.put("key", 0);
+        assertOpenEventually(listener.entered);
+        for (int i = 1; i < EVENT_COUNT; i++) {
+            map.put("key", i);
+        }
+
+        // map events are published by the partition thread, possibly after the put returned
+        final ListenerQueue queue = getListenerQueue(hz, MapService.SERVICE_NAME, "map", id);
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(EVENT_COUNT - 1 - CAPACITY, queue.getCoalescedCount());
+            }
+        });
+        assertEquals(0, queue.getDroppedCount());
+
+        listener.release.countDown();
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(CAPACITY + 1, listener.values.size());
+                assertEquals(EVENT_COUNT - 1, (int) listener.values.get(CAPACITY));
+            }
+        });
+    }
+
+    @Test
+    public void testCoalesce_keepsEventsOfOtherType() {
+        HazelcastInstance hz = createHazelcastInstance(newConfig(MapService.SERVICE_NAME, EventOverflowPolicy.COALESCE));
+        IMap<String, Integer> map = hz.getMap("map");
+        final BlockingEntryListener listener = new BlockingEntryListener();
+        String id = map.addEntryListener(listener, true);
+
+        map.put("blocker", 0);
+        assertOpenEventually(listener.entered);
+        map.put("other", 0);
+        map.put("key", 1);
+        for (int i = 2; i < CAPACITY; i++) {
+            map.put("other", i);
+        }
+        // the queue is full, the removal must not replace the pending addition of the key
+        map.remove("key");
+
+        final ListenerQueue queue = getListenerQueue(hz, MapService.SERVICE_NAME, "map", id);
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(1, queue.getDroppedCount());
+            }
+        });
+        assertEquals(0, queue.getCoalescedCount());
+
+        listener.release.countDown();
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(CAPACITY + 1, listener.types.size());
+                assertEquals(EntryEventType.ADDED, listener.types.get(1));
+                assertEquals(EntryEventType.REMOVED, listener.types.get(CAPACITY));
+            }
+        });
+    }
+
+    @Test
+    public void testEventQueueCapacity_boundsAllListeners() {
+        Config config = newConfig(TopicService.SERVICE_NAME, EventOverflowPolicy.DROP_OLDEST);
+        config.setProperty(GroupProperties.PROP_EVENT_QUEUE_CAPACITY, String.valueOf(CAPACITY / 2));
+        final HazelcastInstance hz = createHazelcastInstance(config);
+        ITopic<Integer> topic = hz.getTopic("topic");
+        BlockingMessageListener listener = new BlockingMessageListener();
+        String id = topic.addMessageListener(listener);
+
+        topic.publish(0);
+        assertOpenEventually(listener.entered);
+        for (int i = 1; i < EVENT_COUNT; i++) {
+            topic.publish(i);
+        }
+
+        ListenerQueue queue = getListenerQueue(hz, TopicService.SERVICE_NAME, "topic", id);
+        assertEquals(CAPACITY / 2, queue.size());
+        assertEquals(CAPACITY / 2, getNodeEngineImpl(hz).getEventService().getEventQueueSize());
+        assertEquals(EVENT_COUNT - 1 - CAPACITY / 2, queue.getDroppedCount());
+
+        listener.release.countDown();
+        assertSizeEventually(CAPACITY / 2 + 1, listener.messages);
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(0, getNodeEngineImpl(hz).getEventService().getEventQueueSize());
+            }
+        });
+    }
+
+    @Test
+    public void testBlock_dropsEventAfterTimeout() {
+        Config config = newConfig(TopicService.SERVICE_NAME, EventOverflowPolicy.BLOCK);
+        config.setProperty(GroupProperties.PROP_EVENT_QUEUE_TIMEOUT_MILLIS, "1");
+        HazelcastInstance hz = createHazelcastInstance(config);
+        ITopic<Integer> topic = hz.getTopic("topic");
+        BlockingMessageListener listener = new BlockingMessageListener();
+        String id = topic.addMessageListener(listener);
+
+        topic.publish(0);
+        assertOpenEventually(listener.entered);
+        for (int i = 1; i <= CAPACITY + 1; i++) {
+            topic.publish(i);
+        }
+
+        ListenerQueue queue = getListenerQueue(hz, TopicService.SERVICE_NAME, "topic", id);
+        assertEquals(1, queue.getDroppedCount());
+        assertEquals(CAPACITY, queue.size());
+
+        listener.release.countDown();
+        assertSizeEventually(CAPACITY + 1, listener.messages);
+        // the blocked publisher gave up on its own event, the pending ones are kept
+        assertEquals(CAPACITY, (int) listener.messages.get(CAPACITY));
+    }
+
+    @Test
+    public void testBlock_neverBlocksEventThread() {
+        Config config = newConfig(TopicService.SERVICE_NAME, EventOverflowPolicy.BLOCK);
+        config.setProperty(GroupProperties.PROP_EVENT_QUEUE_TIMEOUT_MILLIS, "60000");
+        HazelcastInstance hz = createHazelcastInstance(config);
+        final ITopic<Integer> target = hz.getTopic("target");
+        BlockingMessageListener slow = new BlockingMessageListener();
+        String id = target.addMessageListener(slow);
+        target.publish(0);
+        assertOpenEventually(slow.entered);
+
+        // publishes on an event thread other than the one of the slow listener, it must not wait for the slow listener
+        final CountDownLatch republished = new CountDownLatch(1);
+        InternalEventService eventService = getNodeEngineImpl(hz).getEventService();
+        final int stripe = (Math.abs(id.hashCode() % eventService.getEventThreadCount()) + 1)
+                % eventService.getEventThreadCount();
+        eventService.executeEventCallback(new StripedRunnable() {
+            @Override
+            public int getKey() {
+                return stripe;
+            }
+
+            @Override
+            public void run() {
+                for (int i = 1; i <= CAPACITY + 1; i++) {
+                    target.publish(i);
+                }
+                republished.countDown();
+            }
+        });
+        assertOpenEventually(republished, 10);
+
+        ListenerQueue queue = getListenerQueue(hz, TopicService.SERVICE_NAME, "target", id);
+        assertEquals(1, queue.getDroppedCount());
+        slow.release.countDown();
+        assertSizeEventually(CAPACITY + 1, slow.messages);
+        assertEquals(CAPACITY + 1, (int) slow.messages.get(CAPACITY));
+    }
+
+    @Test
+    public void testDeregister_clearsQueue() {
+        HazelcastInstance hz = createHazelcastInstance(newConfig(TopicService.SERVICE_NAME, EventOverflowPolicy.DROP_OLDEST));
+        ITopic<Integer> topic = hz.getTopic("topic");
+        BlockingMessageListener listener = new BlockingMessageListener();
+        String id = topic.addMessageListener(listener);
+
+        topic.publish(0);
+        assertOpenEventually(listener.entered);
+        topic.publish(1);
+        ListenerQueue queue = getListenerQueue(hz, TopicService.SERVICE_NAME, "topic", id);
+        assertEquals(1, queue.size());
+
+        assertTrue(topic.removeMessageListener(id));
+        assertEquals(0, queue.size());
+        listener.release.countDown();
+    }
+
+    private static Config newConfig(String serviceName, EventOverflowPolicy policy) {
+        Config config = new Config();
+        config.setProperty(GroupProperties.PROP_EVENT_LISTENER_QUEUE_CAPACITY, String.valueOf(CAPACITY));
+        config.setProperty(GroupProperties.PROP_EVENT_LISTENER_QUEUE_OVERFLOW_POLICY + "." + serviceName, policy.name());
+        return config;
+    }
+
+    private static ListenerQueue getListenerQueue(HazelcastInstance hz, String serviceName, String topic, String id) {
+        for (EventRegistration registration : getNodeEngineImpl(hz).getEventService().getRegistrations(serviceName, topic)) {
+            if (registration.getId().equals(id)) {
+                return ((Registration) registration).getListenerQueue();
+            }
+        }
+        throw new AssertionError("No registration " + id + " for " + serviceName + ":" + topic);
+    }
+
+    private static class BlockingMessageListener implements MessageListener<Integer> {
+
+        final List<Integer> messages = new CopyOnWriteArrayList<Integer>();
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void onMessage(Message<Integer> message) {
+            messages.add(message.getMessageObject());
+            entered.countDown();
+            assertOpenEventually(release);
+        }
+    }
+
+    private static class BlockingEntryListener extends EntryAdapter<String, Integer> {
+
+        final List<Integer> values = new CopyOnWriteArrayList<Integer>();
+        final List<EntryEventType> types = new CopyOnWriteArrayList<EntryEventType>();
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void onEntryEvent(EntryEvent<String, Integer> event) {
+            values.add(event.getValue());
+            types.add(event.getEventType());
+            entered.countDown();
+            assertOpenEventually(release);
+        }
+    }
+}
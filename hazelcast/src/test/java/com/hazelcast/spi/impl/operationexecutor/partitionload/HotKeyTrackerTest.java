@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationexecutor.partitionload;
+
+import com.hazelcast.nio.serialization.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class HotKeyTrackerTest {
+
+    private final SerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+
+    @Test
+    public void testHotKeySurvivesManyColdKeys() {
+        // the space saving algorithm keeps every key sampled more than samples / capacity times
+        HotKeyTracker tracker = new HotKeyTracker(20);
+        for (int i = 0; i < 10; i++) {
+            tracker.add(sample("hot"));
+        }
+        for (int i = 0; i < 100; i++) {
+            tracker.add(sample("cold" + i));
+        }
+        tracker.update(1, 1, 1);
+
+        List<Map.Entry<KeySample, HotKeyTracker.Counter>> top = tracker.top(1);
+        assertEquals(1, top.size());
+        assertEquals(sample("hot"), top.get(0).getKey());
+        assertEquals(10, top.get(0).getValue().rate, 0);
+    }
+
+    @Test
+    public void testRateIsScaledBySampleRateAndElapsedTime() {
+        HotKeyTracker tracker = new HotKeyTracker(2);
+        for (int i = 0; i < 10; i++) {
+            tracker.add(sample("key"));
+        }
+        tracker.update(0.5, 4, 2);
+
+        // 10 samples of every 4th operation in 2 seconds, half weighted
+        assertEquals(10, tracker.top(1).get(0).getValue().rate, 0.001);
+    }
+
+    @Test
+    public void testRateDecays_andKeyIsRemoved() {
+        HotKeyTracker tracker = new HotKeyTracker(2);
+        tracker.add(sample("key"));
+        tracker.update(1, 1, 1);
+        assertEquals(1, tracker.top(1).size());
+
+        tracker.update(1, 1, 1);
+        assertTrue(tracker.top(1).isEmpty());
+    }
+
+    private KeySample sample(String key) {
+        return new KeySample("service", "name", serializationService.toData(key), 0);
+    }
+}
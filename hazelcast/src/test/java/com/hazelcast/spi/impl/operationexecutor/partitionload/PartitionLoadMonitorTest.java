@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationexecutor.partitionload;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.instance.GroupProperties;
+import com.hazelcast.internal.management.dto.HotKeyDTO;
+import com.hazelcast.internal.management.dto.HotPartitionDTO;
+import com.hazelcast.internal.management.dto.PartitionLoadDTO;
+import com.hazelcast.internal.metrics.MetricsRegistry;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.instance.TestUtil.getNode;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class PartitionLoadMonitorTest extends HazelcastTestSupport {
+
+    private static final int PARTITION_THREAD_COUNT = 2;
+
+    @Test
+    public void testHotPartitionAndHotKeyAreReported() {
+        final HazelcastInstance hz = createHazelcastInstance(newConfig(true));
+        final String mapName = randomMapName();
+        IMap<String, String> map = hz.getMap(mapName);
+        for (int i = 0; i < 10; i++) {
+            map.put("cold" + i, "value");
+        }
+        for (int i = 0; i < 1000; i++) {
+            map.put("hot", "value");
+        }
+        final int hotPartitionId = hz.getPartitionService().getPartition("hot").getPartitionId();
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                PartitionLoadDTO load = getOperationService(hz).getPartitionLoadDTO();
+                assertEquals(PARTITION_THREAD_COUNT, load.threadUtilizations.size());
+                assertFalse(load.hotPartitions.isEmpty());
+                HotPartitionDTO hotPartition = load.hotPartitions.get(0);
+                assertEquals(hotPartitionId, hotPartition.partitionId);
+                assertEquals(hotPartitionId % PARTITION_THREAD_COUNT, hotPartition.threadIndex);
+                assertTrue(hotPartition.operationsPerSecond > 0);
+
+                assertFalse(load.hotKeys.isEmpty());
+                HotKeyDTO hotKey = load.hotKeys.get(0);
+                assertEquals(MapService.SERVICE_NAME, hotKey.serviceName);
+                assertEquals(mapName, hotKey.name);
+                assertEquals("hot", hotKey.key);
+                assertEquals(hotPartitionId, hotKey.partitionId);
+                assertTrue(hotKey.operationsPerSecond > 0);
+            }
+        });
+    }
+
+    @Test
+    public void testThreadUtilizationIsRegisteredAsMetrics() {
+        HazelcastInstance hz = createHazelcastInstance(newConfig(true));
+        MetricsRegistry metricsRegistry = getNode(hz).nodeEngine.getMetricsRegistry();
+
+        for (int threadIndex = 0; threadIndex < PARTITION_THREAD_COUNT; threadIndex++) {
+            assertTrue(metricsRegistry.getNames().contains("operation.partitionThread[" + threadIndex + "].utilization"));
+        }
+        assertTrue(metricsRegistry.getNames().contains("operation.partitionLoad.imbalance"));
+        assertTrue(metricsRegistry.getNames().contains("operation.partitionLoad.hottestPartitionRate"));
+    }
+
+    @Test
+    public void testNothingIsReported_whenDisabled() {
+        HazelcastInstance hz = createHazelcastInstance(newConfig(false));
+        IMap<String, String> map = hz.getMap(randomMapName());
+        for (int i = 0; i < 100; i++) {
+            map.put("hot", "value");
+        }
+        sleepSeconds(2);
+
+        PartitionLoadDTO load = getOperationService(hz).getPartitionLoadDTO();
+        assertTrue(load.threadUtilizations.isEmpty());
+        assertTrue(load.hotPartitions.isEmpty());
+        assertTrue(load.hotKeys.isEmpty());
+    }
+
+    private static Config newConfig(boolean enabled) {
+        Config config = new Config();
+        config.setProperty(GroupProperties.PROP_PARTITION_OPERATION_THREAD_COUNT, String.valueOf(PARTITION_THREAD_COUNT));
+        config.setProperty(GroupProperties.PROP_PARTITION_LOAD_MONITOR_ENABLED, String.valueOf(enabled));
+        config.setProperty(GroupProperties.PROP_PARTITION_LOAD_MONITOR_INTERVAL_SECONDS, "1");
+        config.setProperty(GroupProperties.PROP_PARTITION_LOAD_MONITOR_KEY_SAMPLE_RATE, "1");
+        return config;
+    }
+}
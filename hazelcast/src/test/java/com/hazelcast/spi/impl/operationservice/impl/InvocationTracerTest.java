@@ -0,0 +1,212 @@
+package com.hazelcast.spi.impl.operationservice.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.instance.GroupProperties;
+import com.hazelcast.nio.Address;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.spi.OperationAccessor.setCallId;
+import static com.hazelcast.spi.OperationAccessor.setCallerAddress;
+import static com.hazelcast.spi.impl.operationservice.impl.InvocationTracer.Phase.COMPLETED;
+import static com.hazelcast.spi.impl.operationservice.impl.InvocationTracer.Phase.ENQUEUED;
+import static com.hazelcast.spi.impl.operationservice.impl.InvocationTracer.Phase.EXECUTION_FINISHED;
+import static com.hazelcast.spi.impl.operationservice.impl.InvocationTracer.Phase.EXECUTION_STARTED;
+import static com.hazelcast.spi.impl.operationservice.impl.InvocationTracer.Phase.INVOKED;
+import static com.hazelcast.spi.impl.operationservice.impl.InvocationTracer.Phase.PACKET_DEQUEUED;
+import static com.hazelcast.spi.impl.operationservice.impl.InvocationTracer.Phase.PACKET_RECEIVED;
+import static com.hazelcast.spi.impl.operationservice.impl.InvocationTracer.Phase.RESPONSE_RECEIVED;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class InvocationTracerTest extends HazelcastTestSupport {
+
+    private Address thisAddress;
+    private Address remoteAddress;
+
+    @Before
+    public void setup() throws Exception {
+        thisAddress = new Address("127.0.0.1", 5701);
+        remoteAddress = new Address("127.0.0.1", 5702);
+    }
+
+    @Test
+    public void testOnlySampledCallIdsAreTraced() {
+        InvocationTracer tracer = new InvocationTracer(thisAddress, 4, 16);
+        assertTrue(tracer.isEnabled());
+        assertFalse(tracer.isTraced(0));
+        assertFalse(tracer.isTraced(-1));
+        assertFalse(tracer.isTraced(3));
+        assertTrue(tracer.isTraced(4));
+        assertTrue(tracer.isTraced(8));
+
+        tracer.trace(3, INVOKED);
+        tracer.trace(4, INVOKED);
+        assertEquals("", tracer.describe(3));
+        assertTrue(tracer.describe(4).startsWith("trace of call-id 4: INVOKED +0us"));
+    }
+
+    @Test
+    public void testDisabled() {
+        InvocationTracer tracer = new InvocationTracer(thisAddress, 0, 16);
+        assertFalse(tracer.isEnabled());
+        assertFalse(tracer.isTraced(1));
+
+        tracer.trace(1, INVOKED);
+        assertEquals("", tracer.describe(1));
+        assertEquals("", tracer.dump(10));
+    }
+
+    @Test
+    public void testDescribe_phasesInOrder() {
+        InvocationTracer tracer = new InvocationTracer(thisAddress, 1, 16);
+        tracer.trace(1, INVOKED);
+        tracer.trace(1, ENQUEUED);
+        tracer.trace(2, INVOKED);
+        tracer.trace(1, RESPONSE_RECEIVED);
+        tracer.trace(1, COMPLETED);
+
+        String trace = tracer.describe(1);
+        assertTrue(trace, trace.startsWith("trace of call-id 1:"));
+        assertPhasesInOrder(trace, INVOKED, ENQUEUED, RESPONSE_RECEIVED, COMPLETED);
+        assertTrue(trace, trace.contains("[" + Thread.currentThread().getName() + "]"));
+    }
+
+    @Test
+    public void testDescribe_ignoresOperationsOfOtherCallers() {
+        InvocationTracer tracer = new InvocationTracer(thisAddress, 1, 16);
+        tracer.trace(newOperation(remoteAddress, 1), EXECUTION_STARTED);
+
+        assertEquals("", tracer.describe(1));
+        assertTrue(tracer.dump(10).startsWith("remote trace of call-id 1: EXECUTION_STARTED"));
+    }
+
+    @Test
+    public void testRecordsOfOtherThreadsAreIncluded() throws Exception {
+        final InvocationTracer tracer = new InvocationTracer(thisAddress, 1, 16);
+        tracer.trace(1, INVOKED);
+        Thread thread = new Thread("tracer-test-thread") {
+            @Override
+            public void run() {
+                tracer.trace(newOperation(thisAddress, 1), EXECUTION_STARTED);
+            }
+        };
+        thread.start();
+        thread.join();
+
+        String trace = tracer.describe(1);
+        assertPhasesInOrder(trace, INVOKED, EXECUTION_STARTED);
+        assertTrue(trace, trace.contains("[tracer-test-thread]"));
+    }
+
+    @Test
+    public void testBufferOverwritesOldestRecords() {
+        InvocationTracer tracer = new InvocationTracer(thisAddress, 1, 4);
+        for (int callId = 1; callId <= 6; callId++) {
+            tracer.trace(callId, INVOKED);
+        }
+
+        assertEquals("", tracer.describe(1));
+        assertEquals("", tracer.describe(2));
+        assertTrue(tracer.describe(3).length() > 0);
+        assertTrue(tracer.describe(6).length() > 0);
+    }
+
+    @Test
+    public void testDump_mostRecentInvocations() {
+        InvocationTracer tracer = new InvocationTracer(thisAddress, 1, 16);
+        tracer.trace(1, INVOKED);
+        sleepMillis(1);
+        tracer.trace(2, INVOKED);
+        sleepMillis(1);
+        tracer.trace(3, INVOKED);
+        sleepMillis(1);
+        tracer.trace(1, COMPLETED);
+
+        String[] lines = tracer.dump(2).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0], lines[0].startsWith("local trace of call-id 3: INVOKED"));
+        assertTrue(lines[1], lines[1].startsWith("local trace of call-id 1: INVOKED"));
+        assertTrue(lines[1], lines[1].contains("COMPLETED"));
+    }
+
+    @Test
+    public void testInvocationIsTraced() {
+        Config config = new Config();
+        config.setProperty(GroupProperties.PROP_INVOCATION_TRACER_SAMPLE_RATE, "1");
+        final HazelcastInstance hz = createHazelcastInstance(config);
+        hz.getMap(randomMapName()).put(1, 1);
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                // the put is one of the most recent invocations, but not necessarily the last one
+                String traces = getOperationService(hz).getInvocationTraces(100);
+                boolean found = false;
+                for (String trace : traces.split("\n")) {
+                    found |= containsPhasesInOrder(trace,
+                            INVOKED, ENQUEUED, EXECUTION_STARTED, RESPONSE_RECEIVED, COMPLETED, EXECUTION_FINISHED);
+                }
+                assertTrue(traces, found);
+            }
+        });
+    }
+
+    @Test
+    public void testRemoteOperationIsTracedFromPacketReceive() {
+        Config config = new Config();
+        config.setProperty(GroupProperties.PROP_INVOCATION_TRACER_SAMPLE_RATE, "1");
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        HazelcastInstance hz1 = factory.newHazelcastInstance(config);
+        final HazelcastInstance hz2 = factory.newHazelcastInstance(config);
+        hz1.getMap(randomMapName()).put(generateKeyOwnedBy(hz2), 1);
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                String traces = getOperationService(hz2).getInvocationTraces(100);
+                boolean found = false;
+                for (String trace : traces.split("\n")) {
+                    found |= trace.startsWith("remote ")
+                            && containsPhasesInOrder(trace, PACKET_RECEIVED, PACKET_DEQUEUED, EXECUTION_STARTED);
+                }
+                assertTrue(traces, found);
+            }
+        });
+    }
+
+    private static Operation newOperation(Address caller, long callId) {
+        Operation op = new DummyOperation();
+        setCallerAddress(op, caller);
+        setCallId(op, callId);
+        return op;
+    }
+
+    private static void assertPhasesInOrder(String trace, InvocationTracer.Phase... phases) {
+        assertTrue("phases missing or out of order in " + trace, containsPhasesInOrder(trace, phases));
+    }
+
+    private static boolean containsPhasesInOrder(String trace, InvocationTracer.Phase... phases) {
+        int index = -1;
+        for (InvocationTracer.Phase phase : phases) {
+            int next = trace.indexOf(" " + phase.name() + " ", index + 1);
+            if (next <= index) {
+                return false;
+            }
+            index = next;
+        }
+        return true;
+    }
+}
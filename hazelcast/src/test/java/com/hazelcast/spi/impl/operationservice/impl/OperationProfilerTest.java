@@ -0,0 +1,169 @@
+package com.hazelcast.spi.impl.operationservice.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.instance.GroupProperties;
+import com.hazelcast.internal.management.dto.OperationProfileDTO;
+import com.hazelcast.internal.management.dto.OperationProfileEntryDTO;
+import com.hazelcast.internal.metrics.MetricsRegistry;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.operation.PutOperation;
+import com.hazelcast.spi.AbstractOperation;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+
+import static com.hazelcast.instance.TestUtil.getNode;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class OperationProfilerTest extends HazelcastTestSupport {
+
+    private static final String SERVICE_NAME = "profilerTestService";
+
+    @Test
+    public void testMapOperationsAreProfiled() {
+        HazelcastInstance hz = createInstance(1);
+        IMap<Integer, Integer> map = hz.getMap(randomMapName());
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+        // the profile is updated after the response is sent
+        assertPutCountEventually(hz, 100);
+
+        OperationProfileDTO profile = getOperationService(hz).getOperationProfileDTO();
+        assertEquals(1, profile.sampleRate);
+        OperationProfileEntryDTO put = find(profile.operations, PutOperation.class.getName());
+        assertNotNull(put);
+        assertEquals(100, put.count);
+        assertTrue(put.totalTimeNanos > 0);
+        assertTrue(put.maxTimeNanos <= put.totalTimeNanos);
+        assertTrue(put.maxWaitMillis <= put.totalWaitMillis);
+
+        OperationProfileEntryDTO mapService = find(profile.services, MapService.SERVICE_NAME);
+        assertNotNull(mapService);
+        assertTrue(mapService.count >= put.count);
+    }
+
+    @Test
+    public void testProfileIsRegisteredAsMetrics() {
+        HazelcastInstance hz = createInstance(1);
+        IMap<Integer, Integer> map = hz.getMap(randomMapName());
+        map.put(1, 1);
+        assertPutCountEventually(hz, 1);
+
+        MetricsRegistry metricsRegistry = getNode(hz).nodeEngine.getMetricsRegistry();
+        String prefix = "operation.profile[" + PutOperation.class.getName() + "]";
+        assertEquals(1, metricsRegistry.getGauge(prefix + ".count").readLong());
+        assertTrue(metricsRegistry.getGauge(prefix + ".totalTimeNanos").readLong() > 0);
+        assertTrue(metricsRegistry.getGauge("operation.serviceProfile[" + MapService.SERVICE_NAME + "].count")
+                .readLong() >= 1);
+    }
+
+    @Test
+    public void testOnlyEverySampleRateOperationIsTimed() {
+        HazelcastInstance hz = createInstance(4);
+        OperationServiceImpl operationService = (OperationServiceImpl) getOperationService(hz);
+        OperationRunnerImpl operationRunner = new OperationRunnerImpl(operationService, -1);
+        for (int i = 0; i < 10; i++) {
+            operationRunner.run(new ProfiledOperation());
+        }
+
+        OperationProfileDTO profile = operationService.getOperationProfileDTO();
+        assertEquals(4, profile.sampleRate);
+        OperationProfileEntryDTO entry = find(profile.operations, ProfiledOperation.class.getName());
+        assertNotNull(entry);
+        assertEquals(2, entry.count);
+        // not invoked, so there is no wait time
+        assertEquals(0, entry.totalWaitMillis);
+        assertEquals(2, find(profile.services, SERVICE_NAME).count);
+    }
+
+    @Test
+    public void testDisabled() {
+        HazelcastInstance hz = createInstance(0);
+        IMap<Integer, Integer> map = hz.getMap(randomMapName());
+        map.put(1, 1);
+
+        OperationProfileDTO profile = getOperationService(hz).getOperationProfileDTO();
+        assertEquals(0, profile.sampleRate);
+        assertNull(find(profile.operations, PutOperation.class.getName()));
+        assertTrue(profile.services.isEmpty());
+    }
+
+    @Test
+    public void testJson() {
+        HazelcastInstance hz = createInstance(1);
+        hz.getMap(randomMapName()).put(1, 1);
+        assertPutCountEventually(hz, 1);
+        OperationProfileDTO profile = getOperationService(hz).getOperationProfileDTO();
+
+        OperationProfileDTO deserialized = new OperationProfileDTO();
+        deserialized.fromJson(profile.toJson());
+
+        assertEquals(profile.sampleRate, deserialized.sampleRate);
+        assertEquals(profile.operations.size(), deserialized.operations.size());
+        assertEquals(profile.services.size(), deserialized.services.size());
+        OperationProfileEntryDTO expected = find(profile.operations, PutOperation.class.getName());
+        OperationProfileEntryDTO actual = find(deserialized.operations, PutOperation.class.getName());
+        assertEquals(expected.count, actual.count);
+        assertEquals(expected.totalTimeNanos, actual.totalTimeNanos);
+        assertEquals(expected.maxTimeNanos, actual.maxTimeNanos);
+        assertEquals(expected.totalWaitMillis, actual.totalWaitMillis);
+        assertEquals(expected.maxWaitMillis, actual.maxWaitMillis);
+    }
+
+    private HazelcastInstance createInstance(int sampleRate) {
+        Config config = new Config();
+        config.setProperty(GroupProperties.PROP_OPERATION_PROFILER_SAMPLE_RATE, String.valueOf(sampleRate));
+        return createHazelcastInstance(config);
+    }
+
+    private static void assertPutCountEventually(final HazelcastInstance hz, final long expected) {
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                OperationProfileDTO profile = getOperationService(hz).getOperationProfileDTO();
+                OperationProfileEntryDTO put = find(profile.operations, PutOperation.class.getName());
+                assertNotNull(put);
+                assertEquals(expected, put.count);
+            }
+        });
+    }
+
+    private static OperationProfileEntryDTO find(List<OperationProfileEntryDTO> entries, String name) {
+        for (OperationProfileEntryDTO entry : entries) {
+            if (entry.name.equals(name)) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    private static class ProfiledOperation extends AbstractOperation {
+
+        ProfiledOperation() {
+            setServiceName(SERVICE_NAME);
+        }
+
+        @Override
+        public void run() throws Exception {
+        }
+
+        @Override
+        public boolean returnsResponse() {
+            return false;
+        }
+    }
+}
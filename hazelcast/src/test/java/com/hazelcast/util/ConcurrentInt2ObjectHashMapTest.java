@@ -0,0 +1,134 @@
+package com.hazelcast.util;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class ConcurrentInt2ObjectHashMapTest extends HazelcastTestSupport {
+
+    private final ConcurrentInt2ObjectHashMap<String> map = new ConcurrentInt2ObjectHashMap<String>(4, 2);
+
+    @Test
+    public void testPutGetRemove() {
+        assertNull(map.put(1, "one"));
+        assertEquals("one", map.put(1, "uno"));
+        assertEquals("uno", map.get(1));
+        assertTrue(map.containsKey(1));
+        assertEquals(1, map.size());
+
+        assertEquals("uno", map.remove(1));
+        assertNull(map.get(1));
+        assertNull(map.remove(1));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testRemoveWithValue_comparesIdentity() {
+        String value = new String("value");
+        map.put(1, value);
+
+        assertFalse(map.remove(1, new String("value")));
+        assertTrue(map.remove(1, value));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testGrowAndRemove_keepsAllProbeChains() {
+        Map<Integer, String> expected = new HashMap<Integer, String>();
+        Random random = new Random(1);
+        for (int i = 0; i < 10000; i++) {
+            int key = random.nextInt(2000) - 1000;
+            if (random.nextBoolean()) {
+                String value = "v" + i;
+                assertEquals(expected.put(key, value), map.put(key, value));
+            } else {
+                assertEquals(expected.remove(key), map.remove(key));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (Map.Entry<Integer, String> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+    }
+
+    @Test
+    public void testKeys() {
+        for (int i = 0; i < 100; i++) {
+            map.put(i, "v" + i);
+        }
+        map.remove(50);
+
+        int[] keys = map.keys();
+        Arrays.sort(keys);
+        assertEquals(99, keys.length);
+        assertEquals(0, keys[0]);
+        assertEquals(51, keys[50]);
+    }
+
+    @Test
+    public void testClear() {
+        for (int i = 0; i < 100; i++) {
+            map.put(i, "v" + i);
+        }
+        map.clear();
+
+        assertTrue(map.isEmpty());
+        assertArrayEquals(new int[0], map.keys());
+        assertNull(map.get(1));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testPut_nullValue() {
+        map.put(1, null);
+    }
+
+    @Test
+    public void testConcurrentPutAndRemove() throws InterruptedException {
+        final int threadCount = 8;
+        final int keysPerThread = 10000;
+        final CountDownLatch latch = new CountDownLatch(threadCount);
+        final AtomicInteger failures = new AtomicInteger();
+        for (int t = 0; t < threadCount; t++) {
+            final int base = t * keysPerThread;
+            new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        for (int i = base; i < base + keysPerThread; i++) {
+                            String value = "v" + i;
+                            map.put(i, value);
+                            if (map.get(i) != value || !map.remove(i, value)) {
+                                failures.incrementAndGet();
+                            }
+                        }
+                    } finally {
+                        latch.countDown();
+                    }
+                }
+            }.start();
+        }
+
+        assertOpenEventually(latch);
+        assertEquals(0, failures.get());
+        assertTrue(map.isEmpty());
+    }
+}
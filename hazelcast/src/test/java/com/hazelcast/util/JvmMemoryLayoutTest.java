@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.util;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.hazelcast.util.JvmMemoryLayout.MAX_DEEP_SIZE_OBJECTS;
+import static com.hazelcast.util.JvmMemoryLayout.OBJECT_ALIGNMENT;
+import static com.hazelcast.util.JvmMemoryLayout.OBJECT_HEADER_SIZE;
+import static com.hazelcast.util.JvmMemoryLayout.REFERENCE_SIZE;
+import static com.hazelcast.util.JvmMemoryLayout.align;
+import static com.hazelcast.util.JvmMemoryLayout.deepSizeOf;
+import static com.hazelcast.util.JvmMemoryLayout.shallowSizeOf;
+import static com.hazelcast.util.JvmMemoryLayout.sizeOfArray;
+import static com.hazelcast.util.JvmMemoryLayout.sizeOfByteArray;
+import static com.hazelcast.util.JvmMemoryLayout.sizeOfReferenceArray;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class JvmMemoryLayoutTest {
+
+    @Test
+    public void testLayout() {
+        assertTrue(REFERENCE_SIZE == 4 || REFERENCE_SIZE == 8);
+        assertTrue(OBJECT_HEADER_SIZE >= 8);
+        assertTrue(QuickMath.isPowerOfTwo(OBJECT_ALIGNMENT));
+    }
+
+    @Test
+    public void testAlign() {
+        assertEquals(0, align(0));
+        assertEquals(OBJECT_ALIGNMENT, align(1));
+        assertEquals(OBJECT_ALIGNMENT, align(OBJECT_ALIGNMENT));
+        assertEquals(2 * OBJECT_ALIGNMENT, align(OBJECT_ALIGNMENT + 1));
+    }
+
+    @Test
+    public void testShallowSizeOf() {
+        assertEquals(align(OBJECT_HEADER_SIZE), shallowSizeOf(Object.class));
+        assertEquals(align(OBJECT_HEADER_SIZE + Long.SIZE / Byte.SIZE), shallowSizeOf(Long.class));
+        assertEquals(align(OBJECT_HEADER_SIZE + 2 * REFERENCE_SIZE), shallowSizeOf(TwoReferences.class));
+        assertTrue(shallowSizeOf(ThreeReferences.class) >= shallowSizeOf(TwoReferences.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testShallowSizeOf_array() {
+        shallowSizeOf(byte[].class);
+    }
+
+    @Test
+    public void testArrays() {
+        assertEquals(sizeOfByteArray(10), sizeOfArray(new byte[10]));
+        assertEquals(sizeOfReferenceArray(10), sizeOfArray(new Object[10]));
+        assertTrue(sizeOfByteArray(100) >= 100);
+        assertEquals(0, sizeOfByteArray(100) % OBJECT_ALIGNMENT);
+    }
+
+    @Test
+    public void testDeepSizeOf_null() {
+        assertEquals(0, deepSizeOf(null));
+    }
+
+    @Test
+    public void testDeepSizeOf_boxed() {
+        assertEquals(shallowSizeOf(Integer.class), deepSizeOf(1));
+    }
+
+    @Test
+    public void testDeepSizeOf_string() {
+        String string = "value";
+        assertTrue(deepSizeOf(string) > shallowSizeOf(String.class));
+        assertTrue(deepSizeOf(string + string + string) > deepSizeOf(string));
+    }
+
+    @Test
+    public void testDeepSizeOf_sharedObjectCountedOnce() {
+        Long shared = 1L;
+        TwoReferences object = new TwoReferences(shared, shared);
+        assertEquals(shallowSizeOf(TwoReferences.class) + shallowSizeOf(Long.class), deepSizeOf(object));
+    }
+
+    @Test
+    public void testDeepSizeOf_cycle() {
+        TwoReferences first = new TwoReferences(null, null);
+        TwoReferences second = new TwoReferences(first, null);
+        first.first = second;
+        assertEquals(2 * shallowSizeOf(TwoReferences.class), deepSizeOf(first));
+    }
+
+    @Test
+    public void testDeepSizeOf_enumNotFollowed() {
+        TwoReferences object = new TwoReferences(TimeUnitLike.SECONDS, null);
+        assertEquals(shallowSizeOf(TwoReferences.class), deepSizeOf(object));
+    }
+
+    @Test
+    public void testDeepSizeOf_bounded() {
+        List<Object> list = new ArrayList<Object>();
+        for (int i = 0; i < 10 * MAX_DEEP_SIZE_OBJECTS; i++) {
+            list.add(new Object());
+        }
+        long size = deepSizeOf(list);
+        assertTrue(size > 0);
+        assertTrue(size < (long) MAX_DEEP_SIZE_OBJECTS * shallowSizeOf(Object.class) + sizeOfArray(list.toArray()) * 2);
+    }
+
+    @Test
+    public void testDeepSizeOf_withLayoutCache() {
+        JvmMemoryLayout.LayoutCache cache = new JvmMemoryLayout.LayoutCache();
+        ThreeReferences object = new ThreeReferences();
+        object.first = "value";
+        object.third = new TwoReferences(1L, null);
+
+        assertEquals(deepSizeOf(object), deepSizeOf(object, cache));
+        assertEquals(deepSizeOf(object), deepSizeOf(object, cache));
+    }
+
+    private enum TimeUnitLike {
+        SECONDS
+    }
+
+    private static class TwoReferences {
+        Object first;
+        Object second;
+
+        TwoReferences(Object first, Object second) {
+            this.first = first;
+            this.second = second;
+        }
+    }
+
+    private static class ThreeReferences extends TwoReferences {
+        Object third;
+
+        ThreeReferences() {
+            super(null, null);
+        }
+    }
+}